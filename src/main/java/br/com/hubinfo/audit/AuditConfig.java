@@ -1,9 +1,19 @@
 package br.com.hubinfo.audit;
 
+import br.com.hubinfo.audit.adapter.out.buffer.BufferedAuditEventWriter;
+import br.com.hubinfo.audit.adapter.out.persistence.AuditEventPersistenceAdapter;
+import br.com.hubinfo.audit.config.AuditWriterProperties;
+import br.com.hubinfo.audit.usecase.ListAuditEventsUseCase;
 import br.com.hubinfo.audit.usecase.RecordAuditEventUseCase;
+import br.com.hubinfo.audit.usecase.port.AuditEventQueryPort;
 import br.com.hubinfo.audit.usecase.port.AuditEventRepositoryPort;
+import br.com.hubinfo.audit.usecase.port.AuditEventSpillPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 import java.time.Clock;
 
@@ -19,4 +29,23 @@ public class AuditConfig {
     public RecordAuditEventUseCase recordAuditEventUseCase(AuditEventRepositoryPort repositoryPort, Clock clock) {
         return new RecordAuditEventUseCase(repositoryPort, clock);
     }
+
+    @Bean
+    public ListAuditEventsUseCase listAuditEventsUseCase(AuditEventQueryPort queryPort) {
+        return new ListAuditEventsUseCase(queryPort);
+    }
+
+    /**
+     * mode=buffered (padrão): quem audita (RecordAuditEventUseCase, AuditServiceImpl) recebe o writer em lote;
+     * o adapter JDBC fica por trás dele. Com mode=sync, o próprio adapter é o único AuditEventRepositoryPort.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "hubinfo.audit.writer", name = "mode", havingValue = "buffered", matchIfMissing = true)
+    public BufferedAuditEventWriter bufferedAuditEventWriter(AuditEventPersistenceAdapter persistence,
+                                                             AuditWriterProperties properties,
+                                                             ObjectProvider<AuditEventSpillPort> spill,
+                                                             ObjectProvider<MeterRegistry> meters) {
+        return new BufferedAuditEventWriter(persistence, properties, spill.getIfAvailable(), meters.getIfAvailable());
+    }
 }
@@ -0,0 +1,155 @@
+package br.com.hubinfo.audit.adapter.in.maintenance;
+
+import br.com.hubinfo.audit.adapter.out.persistence.AuditPartitionJdbcAdapter;
+import br.com.hubinfo.audit.config.AuditPartitionProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Manutenção das partições mensais de audit_events: cria meses futuros e arquiva os antigos.
+ *
+ * Fluxo (cron, um nó por vez via GET_LOCK):
+ * 1) Termina arquivamentos interrompidos (tabelas destacadas que ficaram para trás).
+ * 2) Cria as partições até atual + months-ahead.
+ * 3) Para cada mês fora da retenção: destaca (EXCHANGE + DROP PARTITION), exporta para
+ *    archive-dir/audit_events_archive_YYYYMM.ndjson.gz, confere a contagem e só então apaga a tabela.
+ *    Partição já vazia (destacada numa rodada interrompida) só é removida.
+ *
+ * Regras:
+ * - Nenhum DELETE em audit_events: a remoção é sempre de partição inteira.
+ * - Arquivo existente nunca é sobrescrito: exportação repetida do mesmo mês (queda entre o move e o
+ *   DROP TABLE) vai para audit_events_archive_YYYYMM-N.ndjson.gz. Tabela destacada vazia não gera arquivo.
+ * - Na subida só garante os meses futuros (rápido); o arquivamento fica para o cron.
+ * - Falha não derruba a aplicação: pmax recebe os eventos se faltar partição, e o arquivamento
+ *   é retomado na próxima rodada.
+ */
+@Component
+@ConditionalOnProperty(prefix = "hubinfo.audit.partitions", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AuditPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditPartitionMaintenance.class);
+
+    private static final String LOCK_NAME = "hubinfo.audit.partitions";
+
+    private final AuditPartitionJdbcAdapter partitions;
+    private final AuditPartitionProperties properties;
+    private final Clock clock;
+
+    public AuditPartitionMaintenance(AuditPartitionJdbcAdapter partitions,
+                                     AuditPartitionProperties properties,
+                                     Clock clock) {
+        this.partitions = partitions;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureFuturePartitions() {
+        run(false);
+    }
+
+    @Scheduled(cron = "${hubinfo.audit.partitions.cron:0 30 3 * * *}", zone = "UTC")
+    public void maintain() {
+        run(true);
+    }
+
+    private void run(boolean archive) {
+        try {
+            boolean ran = partitions.withLock(LOCK_NAME, () -> {
+                if (archive) {
+                    partitions.detachedTables().forEach(this::archive);
+                }
+
+                AuditPartitionPlan plan = AuditPartitionPlan.of(
+                        YearMonth.now(clock.withZone(ZoneOffset.UTC)),
+                        partitions.monthlyPartitions(),
+                        properties.getMonthsAhead(),
+                        properties.getRetentionMonths());
+
+                for (YearMonth month : plan.toCreate()) {
+                    partitions.addMonth(month);
+                    log.info("Auditoria: partição {} criada.", AuditPartitionJdbcAdapter.partitionName(month));
+                }
+                if (archive) {
+                    for (YearMonth month : plan.toArchive()) {
+                        partitions.detach(month).ifPresent(this::archive);
+                    }
+                }
+                return true;
+            }).orElse(false);
+
+            if (!ran) {
+                log.debug("Manutenção de partições de auditoria em andamento em outro nó.");
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Manutenção de partições de auditoria falhou; nova tentativa na próxima rodada.", ex);
+        }
+    }
+
+    /**
+     * Exporta a tabela destacada para arquivo (gravação atômica) e a remove se a contagem conferir.
+     */
+    private void archive(String detachedTable) {
+        long expected = partitions.count(detachedTable);
+        if (expected == 0) {
+            // Queda antes do EXCHANGE: tabela criada e nunca preenchida; nada a arquivar.
+            partitions.drop(detachedTable);
+            log.info("Auditoria: tabela destacada vazia {} removida.", detachedTable);
+            return;
+        }
+
+        Path dir = Path.of(properties.getArchiveDir());
+        Path part = dir.resolve(detachedTable + ".ndjson.gz.part");
+        Path target;
+        long written;
+        try {
+            Files.createDirectories(dir);
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(part), 64 * 1024))) {
+                written = partitions.export(detachedTable, out, properties.getExportBatchSize());
+            }
+            if (written != expected) {
+                Files.delete(part);
+                throw new IllegalStateException("Arquivo de " + detachedTable + " com " + written
+                        + " evento(s), esperado " + expected + "; tabela mantida.");
+            }
+            try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE)) {
+                channel.force(true); // no disco antes do move e do DROP TABLE
+            }
+            // Sem REPLACE_EXISTING e com nome livre (um nó por vez, sob GET_LOCK).
+            target = freeTarget(dir, detachedTable);
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao arquivar " + detachedTable + ".", ex);
+        }
+
+        partitions.drop(detachedTable);
+        log.info("Auditoria: {} evento(s) arquivados em {}.", written, target);
+    }
+
+    private static Path freeTarget(Path dir, String detachedTable) {
+        Path target = dir.resolve(detachedTable + ".ndjson.gz");
+        for (int n = 1; Files.exists(target); n++) {
+            target = dir.resolve(detachedTable + "-" + n + ".ndjson.gz");
+        }
+        return target;
+    }
+}
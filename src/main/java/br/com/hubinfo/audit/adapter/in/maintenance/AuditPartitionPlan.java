@@ -0,0 +1,42 @@
+package br.com.hubinfo.audit.adapter.in.maintenance;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * O que a manutenção deve fazer com as partições mensais de audit_events.
+ *
+ * Regras:
+ * - Cria, em ordem, os meses entre o último existente e atual + monthsAhead (cobre lacunas
+ *   se a rotina ficou parada: as linhas em pmax são redistribuídas pelo REORGANIZE).
+ * - Arquiva os meses anteriores a atual - retentionMonths; o mês atual nunca é arquivado.
+ * - Tabela sem partições mensais (não particionada): nada a fazer.
+ */
+record AuditPartitionPlan(List<YearMonth> toCreate, List<YearMonth> toArchive) {
+
+    static AuditPartitionPlan of(YearMonth current, List<YearMonth> existing, int monthsAhead, int retentionMonths) {
+        if (existing.isEmpty()) {
+            return new AuditPartitionPlan(List.of(), List.of());
+        }
+
+        YearMonth last = existing.stream().max(YearMonth::compareTo).orElseThrow();
+        YearMonth until = current.plusMonths(Math.max(0, monthsAhead));
+        List<YearMonth> toCreate = new ArrayList<>();
+        for (YearMonth m = last.plusMonths(1); !m.isAfter(until); m = m.plusMonths(1)) {
+            toCreate.add(m);
+        }
+
+        YearMonth oldestKept = current.minusMonths(Math.max(0, retentionMonths));
+        List<YearMonth> toArchive = existing.stream()
+                .filter(m -> m.isBefore(oldestKept))
+                .sorted()
+                .toList();
+
+        return new AuditPartitionPlan(List.copyOf(toCreate), toArchive);
+    }
+
+    boolean isEmpty() {
+        return toCreate.isEmpty() && toArchive.isEmpty();
+    }
+}
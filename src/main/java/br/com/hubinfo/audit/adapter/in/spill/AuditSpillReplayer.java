@@ -0,0 +1,80 @@
+package br.com.hubinfo.audit.adapter.in.spill;
+
+import br.com.hubinfo.audit.adapter.out.persistence.AuditEventPersistenceAdapter;
+import br.com.hubinfo.audit.adapter.out.spill.MappedAuditSpillLog;
+import br.com.hubinfo.audit.config.AuditSpillProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Leva os eventos do spill em disco para audit_events quando o banco está disponível.
+ *
+ * Regras:
+ * - Roda a cada replay-interval; se o banco falhar, o segmento fica para a próxima rodada.
+ * - Grava direto no adapter JDBC (não no writer em lote), para não realimentar o spill.
+ *
+ * Métricas:
+ * - hubinfo.audit.spill.replay.lag: idade (s) do evento mais antigo ainda não levado ao banco.
+ * - hubinfo.audit.spill.segments: segmentos pendentes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "hubinfo.audit.spill", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AuditSpillReplayer {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditSpillReplayer.class);
+
+    private final MappedAuditSpillLog spillLog;
+    private final AuditEventPersistenceAdapter persistence;
+    private final AuditSpillProperties properties;
+    private final Clock clock;
+
+    public AuditSpillReplayer(MappedAuditSpillLog spillLog,
+                              AuditEventPersistenceAdapter persistence,
+                              AuditSpillProperties properties,
+                              Clock clock,
+                              ObjectProvider<MeterRegistry> meters) {
+        this.spillLog = spillLog;
+        this.persistence = persistence;
+        this.properties = properties;
+        this.clock = clock;
+
+        MeterRegistry registry = meters.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("hubinfo.audit.spill.replay.lag", this, r -> r.spillLog.replayLag(Instant.now(r.clock)).toMillis() / 1000.0)
+                    .description("Idade do evento de auditoria mais antigo ainda no spill")
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("hubinfo.audit.spill.segments", spillLog, MappedAuditSpillLog::pendingSegments)
+                    .description("Segmentos de spill de auditoria pendentes de replay")
+                    .register(registry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hubinfo.audit.spill.replay-interval:PT5S}")
+    public void replay() {
+        spillLog.force();
+
+        if (spillLog.pendingSegments() == 0) {
+            return;
+        }
+
+        try {
+            int replayed = spillLog.replay(persistence, properties.getReplayBatchSize());
+            if (replayed > 0) {
+                log.info("Spill de auditoria: {} evento(s) levados ao banco.", replayed);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Replay do spill de auditoria falhou (lag {}); nova tentativa na próxima rodada.",
+                    spillLog.replayLag(Instant.now(clock)), ex);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package br.com.hubinfo.audit.adapter.in.web;
+
+import br.com.hubinfo.audit.adapter.in.web.dto.AuditEventResponse;
+import br.com.hubinfo.audit.domain.AuditEventType;
+import br.com.hubinfo.audit.usecase.AuditEventFilter;
+import br.com.hubinfo.audit.usecase.AuditEventPage;
+import br.com.hubinfo.audit.usecase.AuditEventSummary;
+import br.com.hubinfo.audit.usecase.ListAuditEventsUseCase;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Consulta de auditoria (somente ADMIN; /api/v1/admin/** já exige o papel no SecurityConfig).
+ *
+ * Filtros (query string, todos opcionais e combináveis):
+ * - actorUserId, eventType, targetType (+ targetId), from (inclusivo) e to (exclusivo) em ISO-8601.
+ *
+ * Observação:
+ * - Informe from/to sempre que possível: a faixa limita as partições mensais lidas.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/audit/events")
+public class AuditEventQueryController {
+
+    /** Cabeçalho com o token da próxima página (ausente na última). */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    /** A cada N linhas forçamos flush para o cliente começar a consumir. */
+    private static final int EXPORT_FLUSH_EVERY = 500;
+
+    private final ListAuditEventsUseCase listUseCase;
+    private final ObjectWriter lineWriter;
+
+    public AuditEventQueryController(ListAuditEventsUseCase listUseCase, ObjectMapper objectMapper) {
+        this.listUseCase = listUseCase;
+        // Cada linha é escrita no mesmo stream; o writer não pode fechá-lo.
+        this.lineWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * GET /api/v1/admin/audit/events?actorUserId=&eventType=&targetType=&targetId=&from=&to=&limit=&cursor=
+     *
+     * Paginação:
+     * - Se houver mais itens, a resposta traz o cabeçalho X-Next-Cursor.
+     * - Para a próxima página, repita a mesma consulta com cursor=<valor do cabeçalho>.
+     */
+    @GetMapping
+    public ResponseEntity<List<AuditEventResponse>> list(Authentication authentication,
+                                                         @RequestParam(name = "actorUserId", required = false) UUID actorUserId,
+                                                         @RequestParam(name = "eventType", required = false) AuditEventType eventType,
+                                                         @RequestParam(name = "targetType", required = false) String targetType,
+                                                         @RequestParam(name = "targetId", required = false) UUID targetId,
+                                                         @RequestParam(name = "from", required = false) Instant from,
+                                                         @RequestParam(name = "to", required = false) Instant to,
+                                                         @RequestParam(name = "limit", defaultValue = "50") @Min(1) @Max(100) int limit,
+                                                         @RequestParam(name = "cursor", required = false) String cursor) {
+
+        AuditEventFilter filter = new AuditEventFilter(actorUserId, eventType, blankToNull(targetType), targetId, from, to);
+        AuditEventPage page = listUseCase.page(hasRole(authentication, "ROLE_ADMIN"), filter, limit, cursor);
+
+        List<AuditEventResponse> body = page.items().stream()
+                .map(AuditEventQueryController::toResponse)
+                .toList();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(body);
+    }
+
+    /**
+     * GET /api/v1/admin/audit/events/export?(mesmos filtros)
+     *
+     * Todos os eventos do filtro em NDJSON (um JSON por linha), lidos em lotes por keyset
+     * e escritos direto na resposta: memória constante independentemente do volume.
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> export(Authentication authentication,
+                                                        @RequestParam(name = "actorUserId", required = false) UUID actorUserId,
+                                                        @RequestParam(name = "eventType", required = false) AuditEventType eventType,
+                                                        @RequestParam(name = "targetType", required = false) String targetType,
+                                                        @RequestParam(name = "targetId", required = false) UUID targetId,
+                                                        @RequestParam(name = "from", required = false) Instant from,
+                                                        @RequestParam(name = "to", required = false) Instant to) {
+
+        AuditEventFilter filter = new AuditEventFilter(actorUserId, eventType, blankToNull(targetType), targetId, from, to);
+
+        // Valida permissão/filtros antes de abrir o stream (erro vira 400, não resposta truncada).
+        Iterable<AuditEventSummary> rows = listUseCase.exportAll(hasRole(authentication, "ROLE_ADMIN"), filter);
+
+        StreamingResponseBody body = out -> {
+            OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+            int written = 0;
+            for (AuditEventSummary e : rows) {
+                lineWriter.writeValue(buffered, toResponse(e));
+                buffered.write('\n');
+                if (++written % EXPORT_FLUSH_EVERY == 0) {
+                    buffered.flush();
+                }
+            }
+            buffered.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(body);
+    }
+
+    private static AuditEventResponse toResponse(AuditEventSummary e) {
+        return new AuditEventResponse(
+                e.id(),
+                e.eventType(),
+                e.occurredAt(),
+                e.actorUserId(),
+                e.actorEmail(),
+                e.requestIp(),
+                e.requestMethod(),
+                e.requestPath(),
+                e.success(),
+                e.targetType(),
+                e.targetId()
+        );
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s.trim();
+    }
+
+    private static boolean hasRole(Authentication authentication, String role) {
+        if (authentication == null || authentication.getAuthorities() == null) {
+            return false;
+        }
+        return authentication.getAuthorities().stream()
+                .anyMatch(a -> role.equals(a.getAuthority()));
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.hubinfo.audit.adapter.in.web.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * DTO de listagem/exportação de eventos de auditoria (sem details/user-agent).
+ */
+public record AuditEventResponse(
+        UUID id,
+        String eventType,
+        Instant occurredAt,
+        UUID actorUserId,
+        String actorEmail,
+        String requestIp,
+        String requestMethod,
+        String requestPath,
+        Boolean success,
+        String targetType,
+        UUID targetId
+) {
+}
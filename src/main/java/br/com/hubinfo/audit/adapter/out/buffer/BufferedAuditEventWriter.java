@@ -0,0 +1,279 @@
+package br.com.hubinfo.audit.adapter.out.buffer;
+
+import br.com.hubinfo.audit.config.AuditWriterProperties;
+import br.com.hubinfo.audit.domain.AuditEvent;
+import br.com.hubinfo.audit.usecase.port.AuditEventRepositoryPort;
+import br.com.hubinfo.audit.usecase.port.AuditEventSpillPort;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gravação de auditoria em lote, fora da thread de negócio.
+ *
+ * Fluxo:
+ * 1) save() coloca o evento num buffer circular limitado (ArrayBlockingQueue) e retorna na hora.
+ * 2) Uma única thread ("audit-writer") drena o buffer e grava em lote (saveAll) quando o lote
+ *    atinge batch-size ou quando flush-interval passa desde o primeiro evento do lote.
+ * 3) Falha do banco: o lote vai para o spill (se houver) ou é reenviado com backoff até entrar.
+ *    Com spill, os lotes seguintes vão direto para o disco durante retry-backoff.
+ *
+ * Garantias:
+ * - Ordem: um único consumidor FIFO, então os lotes chegam ao banco na ordem de registro
+ *   (exceto eventos desviados pelo overflow, que gravam na hora ou vão para o spill).
+ * - Pelo menos uma vez: no desligamento o buffer é drenado antes de liberar o DataSource;
+ *   reenvios não duplicam porque a gravação é idempotente por ID.
+ * - Após o desligamento, save() volta a gravar de forma síncrona.
+ */
+public class BufferedAuditEventWriter implements AuditEventRepositoryPort {
+
+    private static final Logger log = LoggerFactory.getLogger(BufferedAuditEventWriter.class);
+
+    /** Espera máxima de cada poll; limita quanto o desligamento demora a ser percebido. */
+    private static final long MAX_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AuditEventRepositoryPort delegate;
+    private final AuditWriterProperties properties;
+    private final AuditEventSpillPort spill;
+
+    private final ArrayBlockingQueue<AuditEvent> buffer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final Thread writer;
+
+    private volatile boolean running;
+
+    /** Após falha do banco, lotes vão direto ao spill até este instante (System.nanoTime), sem esperar timeout. */
+    private volatile long databaseRetryAt = System.nanoTime();
+
+    /**
+     * @param spill  null = sem spill em disco (overflow SPILL passa a se comportar como BLOCK).
+     * @param meters null = sem métricas.
+     */
+    public BufferedAuditEventWriter(AuditEventRepositoryPort delegate,
+                                    AuditWriterProperties properties,
+                                    AuditEventSpillPort spill,
+                                    MeterRegistry meters) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.spill = spill;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, properties.getCapacity()));
+        this.writer = Thread.ofPlatform().name("audit-writer").daemon(true).unstarted(this::drainLoop);
+
+        if (properties.getOverflow() == AuditWriterProperties.Overflow.SPILL && spill == null) {
+            log.warn("hubinfo.audit.writer.overflow=SPILL sem spill configurado; buffer cheio vai se comportar como BLOCK.");
+        }
+
+        if (meters != null) {
+            Gauge.builder("hubinfo.audit.writer.buffered", buffer, ArrayBlockingQueue::size)
+                    .description("Eventos de auditoria aguardando gravação")
+                    .register(meters);
+            FunctionCounter.builder("hubinfo.audit.writer.dropped", dropped, AtomicLong::get)
+                    .description("Eventos descartados por buffer cheio (overflow=DROP)")
+                    .register(meters);
+            FunctionCounter.builder("hubinfo.audit.writer.written", written, AtomicLong::get)
+                    .description("Eventos gravados em lote")
+                    .register(meters);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer.start();
+    }
+
+    @Override
+    public AuditEvent save(AuditEvent event) {
+        if (!running) {
+            return delegate.save(event);
+        }
+
+        if (buffer.offer(event)) {
+            return event;
+        }
+
+        switch (properties.getOverflow()) {
+            case DROP -> {
+                long total = dropped.incrementAndGet();
+                if (total == 1 || total % 1000 == 0) {
+                    log.warn("Buffer de auditoria cheio: {} evento(s) descartado(s) até agora.", total);
+                }
+                return event;
+            }
+            case SPILL -> {
+                if (spill != null && spill.spill(event)) {
+                    return event;
+                }
+                return offerOrWrite(event);
+            }
+            default -> {
+                return offerOrWrite(event);
+            }
+        }
+    }
+
+    /**
+     * BLOCK: espera vaga por até block-timeout; se não abrir, grava na thread do chamador.
+     */
+    private AuditEvent offerOrWrite(AuditEvent event) {
+        try {
+            if (buffer.offer(event, properties.getBlockTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                return event;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            return delegate.save(event);
+        } catch (RuntimeException ex) {
+            if (spill != null && spill.spill(event)) {
+                return event;
+            }
+            throw ex;
+        }
+    }
+
+    private void drainLoop() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long flushNanos = properties.getFlushInterval().toNanos();
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+
+        while (running || !buffer.isEmpty()) {
+            try {
+                AuditEvent first = buffer.poll(Math.min(flushNanos, MAX_POLL_NANOS), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Completa o lote até batch-size ou até o prazo do primeiro evento
+                // (no desligamento não espera o prazo: grava o que tiver).
+                long deadline = System.nanoTime() + flushNanos;
+                while (batch.size() < batchSize) {
+                    if (buffer.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || !running) {
+                        break;
+                    }
+                    AuditEvent next = buffer.poll(Math.min(remaining, MAX_POLL_NANOS), TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+
+                write(batch);
+            } catch (InterruptedException ex) {
+                // Só interrompemos no desligamento forçado; o que sobrar no buffer é gravado em close().
+                if (!batch.isEmpty()) {
+                    log.error("Desligamento forçado: {} evento(s) de auditoria em gravação foram perdidos.", batch.size());
+                }
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Grava o lote; em falha usa o spill ou tenta de novo (não descarta eventos já aceitos).
+     */
+    private void write(List<AuditEvent> batch) throws InterruptedException {
+        long giveUpAt = Long.MAX_VALUE;
+
+        // Banco falhou há pouco: não espera outro timeout de conexão, grava no spill na velocidade do disco.
+        if (spill != null && System.nanoTime() - databaseRetryAt < 0 && spillAll(batch)) {
+            return;
+        }
+
+        while (true) {
+            try {
+                delegate.saveAll(batch);
+                written.addAndGet(batch.size());
+                return;
+            } catch (RuntimeException ex) {
+                databaseRetryAt = System.nanoTime() + properties.getRetryBackoff().toNanos();
+                if (spill != null && spillAll(batch)) {
+                    log.warn("Falha ao gravar lote de auditoria ({} evento(s)); enviado ao spill.", batch.size(), ex);
+                    return;
+                }
+
+                if (!running) {
+                    if (giveUpAt == Long.MAX_VALUE) {
+                        giveUpAt = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+                    } else if (System.nanoTime() > giveUpAt) {
+                        log.error("Desligando sem conseguir gravar {} evento(s) de auditoria.", batch.size(), ex);
+                        return;
+                    }
+                }
+
+                log.warn("Falha ao gravar lote de auditoria ({} evento(s)); nova tentativa em {}.",
+                        batch.size(), properties.getRetryBackoff(), ex);
+                Thread.sleep(properties.getRetryBackoff().toMillis());
+            }
+        }
+    }
+
+    private boolean spillAll(List<AuditEvent> batch) {
+        for (AuditEvent event : batch) {
+            if (!spill.spill(event)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Para de aceitar eventos no buffer e drena o que ficou (pelo menos uma vez no desligamento).
+     */
+    @PreDestroy
+    public void close() {
+        running = false;
+        try {
+            writer.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (writer.isAlive()) {
+            writer.interrupt();
+        }
+
+        // Corrida entre o último save() e o fim do loop: grava o resto aqui mesmo.
+        List<AuditEvent> rest = new ArrayList<>();
+        buffer.drainTo(rest);
+        if (rest.isEmpty()) {
+            return;
+        }
+        try {
+            delegate.saveAll(rest);
+            written.addAndGet(rest.size());
+        } catch (RuntimeException ex) {
+            if (spill == null || !spillAll(rest)) {
+                log.error("Desligando sem conseguir gravar {} evento(s) de auditoria.", rest.size(), ex);
+            }
+        }
+    }
+
+    int buffered() {
+        return buffer.size();
+    }
+
+    long droppedCount() {
+        return dropped.get();
+    }
+}
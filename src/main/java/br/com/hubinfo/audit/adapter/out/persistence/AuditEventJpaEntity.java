@@ -1,5 +1,6 @@
 package br.com.hubinfo.audit.adapter.out.persistence;
 
+import br.com.hubinfo.common.persistence.UuidBinary;
 import jakarta.persistence.*;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
@@ -7,6 +8,11 @@ import org.hibernate.type.SqlTypes;
 import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * Observação:
+ * - Gravação é feita pelo AuditEventPersistenceAdapter (JDBC); a entidade serve à validação do esquema.
+ * - Cada UUID tem a cópia *_bin BINARY(16) (fase de expansão da V026; ver UuidBinary).
+ */
 @Entity
 @Table(name = "audit_events")
 public class AuditEventJpaEntity {
@@ -16,6 +22,9 @@ public class AuditEventJpaEntity {
     @Column(name = "id", nullable = false, length = 36, columnDefinition = "char(36)")
     private UUID id;
 
+    @Column(name = "id_bin", length = 16, columnDefinition = "binary(16)")
+    private byte[] idBin;
+
     @Column(name = "event_type", nullable = false, length = 60)
     private String eventType;
 
@@ -26,6 +35,9 @@ public class AuditEventJpaEntity {
     @Column(name = "actor_user_id", length = 36, columnDefinition = "char(36)")
     private UUID actorUserId;
 
+    @Column(name = "actor_user_id_bin", length = 16, columnDefinition = "binary(16)")
+    private byte[] actorUserIdBin;
+
     @Column(name = "actor_email", length = 255)
     private String actorEmail;
 
@@ -51,6 +63,9 @@ public class AuditEventJpaEntity {
     @Column(name = "target_id", length = 36, columnDefinition = "char(36)")
     private UUID targetId;
 
+    @Column(name = "target_id_bin", length = 16, columnDefinition = "binary(16)")
+    private byte[] targetIdBin;
+
     @Column(name = "details_json", columnDefinition = "json")
     private String detailsJson;
 
@@ -59,7 +74,10 @@ public class AuditEventJpaEntity {
     // Getters/Setters
 
     public UUID getId() { return id; }
-    public void setId(UUID id) { this.id = id; }
+    public void setId(UUID id) {
+        this.id = id;
+        this.idBin = UuidBinary.toBytes(id);
+    }
 
     public String getEventType() { return eventType; }
     public void setEventType(String eventType) { this.eventType = eventType; }
@@ -67,8 +85,11 @@ public class AuditEventJpaEntity {
     public Instant getOccurredAt() { return occurredAt; }
     public void setOccurredAt(Instant occurredAt) { this.occurredAt = occurredAt; }
 
-    public UUID getActorUserId() { return actorUserId; }
-    public void setActorUserId(UUID actorUserId) { this.actorUserId = actorUserId; }
+    public UUID getActorUserId() { return UuidBinary.orText(actorUserIdBin, actorUserId); }
+    public void setActorUserId(UUID actorUserId) {
+        this.actorUserId = actorUserId;
+        this.actorUserIdBin = UuidBinary.toBytes(actorUserId);
+    }
 
     public String getActorEmail() { return actorEmail; }
     public void setActorEmail(String actorEmail) { this.actorEmail = actorEmail; }
@@ -91,8 +112,11 @@ public class AuditEventJpaEntity {
     public String getTargetType() { return targetType; }
     public void setTargetType(String targetType) { this.targetType = targetType; }
 
-    public UUID getTargetId() { return targetId; }
-    public void setTargetId(UUID targetId) { this.targetId = targetId; }
+    public UUID getTargetId() { return UuidBinary.orText(targetIdBin, targetId); }
+    public void setTargetId(UUID targetId) {
+        this.targetId = targetId;
+        this.targetIdBin = UuidBinary.toBytes(targetId);
+    }
 
     public String getDetailsJson() { return detailsJson; }
     public void setDetailsJson(String detailsJson) { this.detailsJson = detailsJson; }
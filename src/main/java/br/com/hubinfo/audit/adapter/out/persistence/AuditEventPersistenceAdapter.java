@@ -1,59 +1,86 @@
 package br.com.hubinfo.audit.adapter.out.persistence;
 
 import br.com.hubinfo.audit.domain.AuditEvent;
-import br.com.hubinfo.audit.domain.AuditEventType;
 import br.com.hubinfo.audit.usecase.port.AuditEventRepositoryPort;
+import br.com.hubinfo.common.persistence.UuidBinary;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Adapter de gravação de audit_events.
+ *
+ * Observação:
+ * - Inserção via JDBC (e não repository.save): o ID vem pronto do domínio, então o save do JPA
+ *   faria um SELECT antes de cada INSERT (merge). Aqui é um INSERT por evento, ou um lote por chamada
+ *   em saveAll (com rewriteBatchedStatements=true o driver envia um único INSERT multi-values).
+ * - INSERT IGNORE torna a gravação idempotente por ID: o writer em lote pode reenviar um lote
+ *   após falha sem duplicar eventos. A PK é (id, occurred_at) por causa do particionamento mensal (V027);
+ *   o reenvio traz o mesmo occurred_at, então a checagem de duplicidade cai numa única partição.
+ * - Leituras devem sempre limitar occurred_at (faixa), para o MySQL podar as partições.
+ * - occurred_at é gravado em UTC, igual ao Hibernate para Instant.
+ * - UUIDs gravados em CHAR(36) e na cópia *_bin (fase de expansão da V026; ver UuidBinary).
+ */
 @Component
 public class AuditEventPersistenceAdapter implements AuditEventRepositoryPort {
 
-    private final SpringDataAuditEventRepository repository;
+    private static final String INSERT_SQL = """
+            INSERT IGNORE INTO audit_events
+              (id, id_bin, event_type, occurred_at, actor_user_id, actor_user_id_bin, actor_email, request_ip,
+               request_method, request_path, user_agent, success, target_type, target_id, target_id_bin,
+               details_json)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
 
-    public AuditEventPersistenceAdapter(SpringDataAuditEventRepository repository) {
-        this.repository = repository;
+    private final JdbcTemplate jdbc;
+
+    public AuditEventPersistenceAdapter(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
     }
 
     @Override
     public AuditEvent save(AuditEvent event) {
-        AuditEventJpaEntity entity = toJpa(event);
-        AuditEventJpaEntity saved = repository.save(entity);
-        return toDomain(saved);
+        jdbc.update(INSERT_SQL, ps -> bind(ps, event));
+        return event;
     }
 
-    private static AuditEventJpaEntity toJpa(AuditEvent e) {
-        AuditEventJpaEntity j = new AuditEventJpaEntity();
-        j.setId(e.id());
-        j.setEventType(e.eventType().name());
-        j.setOccurredAt(e.occurredAt());
-        j.setActorUserId(e.actorUserId());
-        j.setActorEmail(e.actorEmail());
-        j.setRequestIp(e.requestIp());
-        j.setRequestMethod(e.requestMethod());
-        j.setRequestPath(e.requestPath());
-        j.setUserAgent(e.userAgent());
-        j.setSuccess(e.success());
-        j.setTargetType(e.targetType());
-        j.setTargetId(e.targetId());
-        j.setDetailsJson(e.detailsJson());
-        return j;
+    @Override
+    public void saveAll(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate(INSERT_SQL, events, events.size(), AuditEventPersistenceAdapter::bind);
     }
 
-    private static AuditEvent toDomain(AuditEventJpaEntity j) {
-        return new AuditEvent(
-                j.getId(),
-                AuditEventType.valueOf(j.getEventType()),
-                j.getOccurredAt(),
-                j.getActorUserId(),
-                j.getActorEmail(),
-                j.getRequestIp(),
-                j.getRequestMethod(),
-                j.getRequestPath(),
-                j.getUserAgent(),
-                j.getSuccess(),
-                j.getTargetType(),
-                j.getTargetId(),
-                j.getDetailsJson()
-        );
+    private static void bind(PreparedStatement ps, AuditEvent e) throws SQLException {
+        UuidBinary.bindText(ps, 1, e.id());
+        UuidBinary.bind(ps, 2, e.id());
+        ps.setString(3, e.eventType().name());
+        ps.setTimestamp(4, Timestamp.from(e.occurredAt()), Calendar.getInstance(UTC));
+        UuidBinary.bindText(ps, 5, e.actorUserId());
+        UuidBinary.bind(ps, 6, e.actorUserId());
+        ps.setString(7, e.actorEmail());
+        ps.setString(8, e.requestIp());
+        ps.setString(9, e.requestMethod());
+        ps.setString(10, e.requestPath());
+        ps.setString(11, e.userAgent());
+        if (e.success() == null) {
+            ps.setNull(12, Types.BOOLEAN);
+        } else {
+            ps.setBoolean(12, e.success());
+        }
+        ps.setString(13, e.targetType());
+        UuidBinary.bindText(ps, 14, e.targetId());
+        UuidBinary.bind(ps, 15, e.targetId());
+        ps.setString(16, e.detailsJson());
     }
 }
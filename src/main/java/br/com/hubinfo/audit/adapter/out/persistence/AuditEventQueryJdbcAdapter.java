@@ -0,0 +1,139 @@
+package br.com.hubinfo.audit.adapter.out.persistence;
+
+import br.com.hubinfo.audit.usecase.AuditEventFilter;
+import br.com.hubinfo.audit.usecase.AuditEventSummary;
+import br.com.hubinfo.audit.usecase.port.AuditEventQueryPort;
+import br.com.hubinfo.common.persistence.UuidBinary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.UUID;
+
+/**
+ * Consulta de audit_events via JDBC.
+ *
+ * Por que assim:
+ * - Projeção só das colunas da listagem (sem details_json/user_agent): a linha lida do índice
+ *   busca bem menos páginas do registro.
+ * - Emite só "col = ?" para os filtros informados, para o otimizador escolher o índice composto
+ *   do filtro (V028), que já entrega a ordem (occurred_at DESC, id DESC) sem filesort.
+ * - Faixa de occurred_at vira predicado simples na coluna: o MySQL poda as partições mensais (V027).
+ * - Filtros e keyset usam as colunas CHAR(36) indexadas; actor/target são lidos binário-ou-texto
+ *   (fase de expansão da V026; ver UuidBinary). Os aliases nunca sombreiam "id", usado no ORDER BY.
+ */
+@Component
+public class AuditEventQueryJdbcAdapter implements AuditEventQueryPort {
+
+    private static final String SELECT = """
+            SELECT id, event_type, occurred_at, COALESCE(actor_user_id_bin, actor_user_id) AS actor_user_id,
+                   actor_email, request_ip, request_method, request_path, success, target_type,
+                   COALESCE(target_id_bin, target_id) AS target_id
+              FROM audit_events
+            """;
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbc;
+
+    public AuditEventQueryJdbcAdapter(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public List<AuditEventSummary> findPage(AuditEventFilter filter, Instant beforeOccurredAt, UUID beforeId, int limit) {
+        Query query = build(filter, beforeOccurredAt, beforeId, limit);
+        return jdbc.query(query.sql(), query::bind, (rs, i) -> toSummary(rs));
+    }
+
+    /**
+     * SQL e parâmetros da página (visível no pacote para o teste de plano).
+     */
+    static Query build(AuditEventFilter filter, Instant beforeOccurredAt, UUID beforeId, int limit) {
+        StringBuilder where = new StringBuilder();
+        List<Object> args = new ArrayList<>(8);
+
+        if (filter.actorUserId() != null) {
+            and(where, "actor_user_id = ?");
+            args.add(UuidBinary.toText(filter.actorUserId()));
+        }
+        if (filter.eventType() != null) {
+            and(where, "event_type = ?");
+            args.add(filter.eventType().name());
+        }
+        if (filter.targetType() != null) {
+            and(where, "target_type = ?");
+            args.add(filter.targetType());
+        }
+        if (filter.targetId() != null) {
+            and(where, "target_id = ?");
+            args.add(UuidBinary.toText(filter.targetId()));
+        }
+        if (filter.from() != null) {
+            and(where, "occurred_at >= ?");
+            args.add(filter.from());
+        }
+        if (filter.to() != null) {
+            and(where, "occurred_at < ?");
+            args.add(filter.to());
+        }
+        if (beforeOccurredAt != null && beforeId != null) {
+            // occurred_at < x OR (occurred_at = x AND id < y)
+            and(where, "(occurred_at < ? OR (occurred_at = ? AND id < ?))");
+            args.add(beforeOccurredAt);
+            args.add(beforeOccurredAt);
+            args.add(UuidBinary.toText(beforeId));
+        }
+        args.add(limit);
+
+        String sql = SELECT + where + " ORDER BY occurred_at DESC, id DESC LIMIT ?";
+        return new Query(sql, args);
+    }
+
+    private static void and(StringBuilder where, String predicate) {
+        where.append(where.isEmpty() ? " WHERE " : " AND ").append(predicate);
+    }
+
+    private static AuditEventSummary toSummary(ResultSet rs) throws SQLException {
+        boolean success = rs.getBoolean("success");
+        Boolean successOrNull = rs.wasNull() ? null : success;
+        return new AuditEventSummary(
+                UuidBinary.read(rs, "id"),
+                rs.getString("event_type"),
+                rs.getTimestamp("occurred_at", Calendar.getInstance(UTC)).toInstant(),
+                UuidBinary.read(rs, "actor_user_id"),
+                rs.getString("actor_email"),
+                rs.getString("request_ip"),
+                rs.getString("request_method"),
+                rs.getString("request_path"),
+                successOrNull,
+                rs.getString("target_type"),
+                UuidBinary.read(rs, "target_id")
+        );
+    }
+
+    /**
+     * Parâmetros: String (UUID em texto), Instant (gravado em UTC, igual ao Hibernate), String e int.
+     */
+    record Query(String sql, List<Object> args) {
+
+        void bind(PreparedStatement ps) throws SQLException {
+            for (int i = 0; i < args.size(); i++) {
+                Object arg = args.get(i);
+                if (arg instanceof Instant instant) {
+                    ps.setTimestamp(i + 1, Timestamp.from(instant), Calendar.getInstance(UTC));
+                } else {
+                    ps.setObject(i + 1, arg);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package br.com.hubinfo.audit.adapter.out.persistence;
+
+import br.com.hubinfo.common.persistence.UuidBinary;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Optional;
+import java.util.TimeZone;
+import java.util.function.Supplier;
+
+/**
+ * Operações de partição de audit_events (DDL e exportação), usadas pelo AuditPartitionMaintenance.
+ *
+ * Layout (V027):
+ * - pYYYYMM = eventos anteriores ao 1º dia do mês seguinte (UTC), em UNIX_TIMESTAMP(occurred_at).
+ * - pmax (MAXVALUE) fica vazia enquanto houver meses futuros criados; dividi-la é só metadado.
+ *
+ * Arquivamento sem DELETE:
+ * - detach() troca a partição por uma tabela vazia (EXCHANGE PARTITION, metadado) e remove a partição;
+ *   as linhas passam a morar em audit_events_archive_YYYYMM, fora do caminho das gravações.
+ * - A tabela destacada só é apagada depois de exportada e conferida; se o processo cair no meio,
+ *   ela continua listada em detachedTables() e a exportação é refeita na próxima rodada.
+ * - Caindo entre o EXCHANGE e o DROP PARTITION, a partição fica vazia no lugar: o próximo detach() só a remove.
+ *
+ * Observação:
+ * - Nomes de partição/tabela vêm sempre de YearMonth (nunca de entrada externa).
+ */
+@Component
+public class AuditPartitionJdbcAdapter {
+
+    public static final String DETACHED_PREFIX = "audit_events_archive_";
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private static final String COLUMNS = """
+            id, event_type, occurred_at, COALESCE(actor_user_id_bin, actor_user_id) AS actor_user_id,
+            actor_email, request_ip, request_method, request_path, user_agent, success, target_type,
+            COALESCE(target_id_bin, target_id) AS target_id, details_json
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+
+    public AuditPartitionJdbcAdapter(JdbcTemplate jdbc, ObjectMapper objectMapper) {
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Meses com partição própria, em ordem (vazio se a tabela não está particionada).
+     */
+    public List<YearMonth> monthlyPartitions() {
+        return jdbc.queryForList("""
+                        SELECT partition_name FROM information_schema.partitions
+                         WHERE table_schema = DATABASE() AND table_name = 'audit_events'
+                           AND partition_name IS NOT NULL AND partition_name <> 'pmax'
+                         ORDER BY partition_ordinal_position
+                        """, String.class)
+                .stream()
+                .map(name -> YearMonth.parse(name.substring(1), SUFFIX))
+                .toList();
+    }
+
+    /**
+     * Cria a partição do mês separando-a de pmax. Deve ser chamado em ordem crescente (após o último mês).
+     */
+    public void addMonth(YearMonth month) {
+        jdbc.execute("ALTER TABLE audit_events REORGANIZE PARTITION pmax INTO ("
+                + " PARTITION " + partitionName(month) + " VALUES LESS THAN (" + upperBound(month) + "),"
+                + " PARTITION pmax VALUES LESS THAN MAXVALUE)");
+    }
+
+    /**
+     * Move as linhas do mês para uma tabela própria e remove a partição (vazia) de audit_events.
+     *
+     * Retomável: partição já vazia (ex.: queda entre o EXCHANGE e o DROP PARTITION; as linhas estão na
+     * tabela destacada, arquivada na etapa 1) só é removida, sem criar tabela nem arquivo.
+     *
+     * @return nome da tabela destacada; vazio se não havia linhas a destacar.
+     */
+    public Optional<String> detach(YearMonth month) {
+        String partition = partitionName(month);
+        if (!hasRows(partition)) {
+            jdbc.execute("ALTER TABLE audit_events DROP PARTITION " + partition);
+            return Optional.empty();
+        }
+
+        String table = detachedTableName(month);
+        jdbc.execute("CREATE TABLE " + table + " LIKE audit_events");
+        jdbc.execute("ALTER TABLE " + table + " REMOVE PARTITIONING");
+        jdbc.execute("ALTER TABLE audit_events EXCHANGE PARTITION " + partition + " WITH TABLE " + table);
+        jdbc.execute("ALTER TABLE audit_events DROP PARTITION " + partition);
+        return Optional.of(table);
+    }
+
+    private boolean hasRows(String partition) {
+        Boolean any = jdbc.queryForObject(
+                "SELECT EXISTS(SELECT 1 FROM audit_events PARTITION (" + partition + "))", Boolean.class);
+        return Boolean.TRUE.equals(any);
+    }
+
+    /**
+     * Tabelas destacadas ainda não exportadas/removidas.
+     */
+    public List<String> detachedTables() {
+        return jdbc.queryForList("""
+                SELECT table_name FROM information_schema.tables
+                 WHERE table_schema = DATABASE() AND table_name LIKE 'audit\\_events\\_archive\\_%'
+                 ORDER BY table_name
+                """, String.class);
+    }
+
+    public long count(String detachedTable) {
+        Long n = jdbc.queryForObject("SELECT COUNT(*) FROM " + checked(detachedTable), Long.class);
+        return n == null ? 0 : n;
+    }
+
+    /**
+     * Escreve a tabela destacada em NDJSON (um evento por linha), lendo em lotes por keyset no id.
+     * O keyset é o id CHAR(36) (PK); as demais colunas UUID são lidas binário-ou-texto (ver UuidBinary).
+     *
+     * @return linhas escritas.
+     */
+    public long export(String detachedTable, OutputStream out, int batchSize) {
+        String table = checked(detachedTable);
+        String first = "SELECT " + COLUMNS + " FROM " + table + " ORDER BY id LIMIT ?";
+        String next = "SELECT " + COLUMNS + " FROM " + table + " WHERE id > ? ORDER BY id LIMIT ?";
+
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null); // separador é o '\n' de cada linha
+            long written = 0;
+            String last = null;
+            while (true) {
+                String after = last;
+                ExportPage page = new ExportPage(json);
+                if (after == null) {
+                    jdbc.query(first, ps -> ps.setInt(1, batchSize), page::write);
+                } else {
+                    jdbc.query(next, ps -> {
+                        ps.setString(1, after);
+                        ps.setInt(2, batchSize);
+                    }, page::write);
+                }
+                written += page.rows;
+                if (page.rows < batchSize) {
+                    json.flush();
+                    return written;
+                }
+                last = page.lastId;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Falha ao exportar " + table + ".", ex);
+        }
+    }
+
+    public void drop(String detachedTable) {
+        jdbc.execute("DROP TABLE " + checked(detachedTable));
+    }
+
+    /**
+     * Executa a tarefa só se obtiver o lock nomeado do MySQL (GET_LOCK, sem espera): um nó por vez.
+     * O lock é da sessão, então a conexão fica presa até o fim da tarefa.
+     */
+    public <T> Optional<T> withLock(String name, Supplier<T> task) {
+        return jdbc.execute((ConnectionCallback<Optional<T>>) con -> {
+            if (!lock(con.prepareStatement("SELECT GET_LOCK(?, 0)"), name)) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.ofNullable(task.get());
+            } finally {
+                lock(con.prepareStatement("SELECT RELEASE_LOCK(?)"), name);
+            }
+        });
+    }
+
+    public static String partitionName(YearMonth month) {
+        return "p" + month.format(SUFFIX);
+    }
+
+    public static String detachedTableName(YearMonth month) {
+        return DETACHED_PREFIX + month.format(SUFFIX);
+    }
+
+    private static long upperBound(YearMonth month) {
+        return month.plusMonths(1).atDay(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static String checked(String table) {
+        if (!table.matches(DETACHED_PREFIX + "\\d{6}")) {
+            throw new IllegalArgumentException("Tabela destacada inválida: " + table);
+        }
+        return table;
+    }
+
+    private static boolean lock(PreparedStatement ps, String name) throws SQLException {
+        try (ps) {
+            ps.setString(1, name);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    /**
+     * Escreve as linhas de um SELECT como NDJSON e guarda o último id (próxima página).
+     */
+    private static final class ExportPage {
+        final JsonGenerator json;
+        int rows;
+        String lastId;
+
+        ExportPage(JsonGenerator json) {
+            this.json = json;
+        }
+
+        void write(ResultSet rs) throws SQLException {
+            try {
+                lastId = rs.getString("id");
+                json.writeStartObject();
+                json.writeStringField("id", lastId);
+                json.writeStringField("eventType", rs.getString("event_type"));
+                Timestamp occurredAt = rs.getTimestamp("occurred_at", Calendar.getInstance(UTC));
+                json.writeStringField("occurredAt", occurredAt == null ? null : occurredAt.toInstant().toString());
+                writeUuid("actorUserId", rs.getObject("actor_user_id"));
+                json.writeStringField("actorEmail", rs.getString("actor_email"));
+                json.writeStringField("requestIp", rs.getString("request_ip"));
+                json.writeStringField("requestMethod", rs.getString("request_method"));
+                json.writeStringField("requestPath", rs.getString("request_path"));
+                json.writeStringField("userAgent", rs.getString("user_agent"));
+                boolean success = rs.getBoolean("success");
+                if (rs.wasNull()) {
+                    json.writeNullField("success");
+                } else {
+                    json.writeBooleanField("success", success);
+                }
+                json.writeStringField("targetType", rs.getString("target_type"));
+                writeUuid("targetId", rs.getObject("target_id"));
+                String details = rs.getString("details_json");
+                json.writeFieldName("details");
+                if (details == null) {
+                    json.writeNull();
+                } else {
+                    json.writeRawValue(details); // coluna JSON: já é JSON válido
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+                rows++;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private void writeUuid(String field, Object column) throws IOException {
+            Object id = UuidBinary.fromColumn(column);
+            json.writeStringField(field, id == null ? null : id.toString());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.hubinfo.audit.adapter.out.spill;
+
+import br.com.hubinfo.audit.domain.AuditEvent;
+import br.com.hubinfo.audit.domain.AuditEventType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Serialização binária compacta de AuditEvent para o spill.
+ *
+ * Formato (versão 1), campos na ordem do record:
+ * - UUID: flag (0/1) + 2 longs
+ * - String: comprimento int (-1 = null) + bytes UTF-8 (sem o limite de 64 KB do writeUTF)
+ * - Instant: long segundos + int nanos
+ * - Boolean: byte (-1 = null, 0, 1)
+ */
+final class AuditEventCodec {
+
+    static final byte VERSION = 1;
+
+    private AuditEventCodec() {}
+
+    static byte[] encode(AuditEvent e) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(VERSION);
+            writeUuid(out, e.id());
+            writeString(out, e.eventType().name());
+            out.writeLong(e.occurredAt().getEpochSecond());
+            out.writeInt(e.occurredAt().getNano());
+            writeUuid(out, e.actorUserId());
+            writeString(out, e.actorEmail());
+            writeString(out, e.requestIp());
+            writeString(out, e.requestMethod());
+            writeString(out, e.requestPath());
+            writeString(out, e.userAgent());
+            out.writeByte(e.success() == null ? -1 : (e.success() ? 1 : 0));
+            writeString(out, e.targetType());
+            writeUuid(out, e.targetId());
+            writeString(out, e.detailsJson());
+            return bytes.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static AuditEvent decode(byte[] payload) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalStateException("Versão de registro de spill desconhecida: " + version);
+            }
+            UUID id = readUuid(in);
+            AuditEventType type = AuditEventType.valueOf(readString(in));
+            Instant occurredAt = Instant.ofEpochSecond(in.readLong(), in.readInt());
+            UUID actorUserId = readUuid(in);
+            String actorEmail = readString(in);
+            String requestIp = readString(in);
+            String requestMethod = readString(in);
+            String requestPath = readString(in);
+            String userAgent = readString(in);
+            byte success = in.readByte();
+            String targetType = readString(in);
+            UUID targetId = readUuid(in);
+            String detailsJson = readString(in);
+
+            return new AuditEvent(
+                    id,
+                    type,
+                    occurredAt,
+                    actorUserId,
+                    actorEmail,
+                    requestIp,
+                    requestMethod,
+                    requestPath,
+                    userAgent,
+                    success < 0 ? null : success == 1,
+                    targetType,
+                    targetId,
+                    detailsJson
+            );
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeBoolean(id != null);
+        if (id != null) {
+            out.writeLong(id.getMostSignificantBits());
+            out.writeLong(id.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int len = in.readInt();
+        if (len < 0) {
+            return null;
+        }
+        return new String(in.readNBytes(len), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,379 @@
+package br.com.hubinfo.audit.adapter.out.spill;
+
+import br.com.hubinfo.audit.config.AuditSpillProperties;
+import br.com.hubinfo.audit.domain.AuditEvent;
+import br.com.hubinfo.audit.usecase.port.AuditEventRepositoryPort;
+import br.com.hubinfo.audit.usecase.port.AuditEventSpillPort;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Spill de auditoria: log append-only em segmentos de arquivo mapeados em memória.
+ *
+ * Por que existe:
+ * - Com o MySQL lento ou fora, os eventos são gravados aqui na velocidade do disco (page cache)
+ *   e a requisição de negócio não falha nem espera pelo banco.
+ * - O AuditSpillReplayer leva os segmentos para audit_events quando o banco volta.
+ *
+ * Formato do segmento (audit-NNNNNNNNNNNNNNNNNNNN.seg):
+ * - Cabeçalho: int MAGIC.
+ * - Registros: int tamanho | int CRC32C do payload | payload (AuditEventCodec).
+ * - Tamanho 0 marca o fim (o arquivo é pré-alocado com zeros).
+ * - CRC inválido ou registro truncado (queda no meio da escrita) encerra a leitura do segmento.
+ *
+ * Regras:
+ * - Só o segmento ativo recebe escrita; ao encher ele é selado e um novo é aberto.
+ * - O ativo entra no replay sem ser selado; só depois do banco aceitar é descartado (ou selado).
+ * - Segmentos selados são lidos em ordem e apagados após o replay completo.
+ * - Replay é pelo menos uma vez: a gravação no banco é idempotente por ID.
+ */
+@Component
+@ConditionalOnProperty(prefix = "hubinfo.audit.spill", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MappedAuditSpillLog implements AuditEventSpillPort {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedAuditSpillLog.class);
+
+    static final int MAGIC = 0x48415331; // "HAS1"
+    private static final int HEADER_BYTES = Integer.BYTES;
+    private static final int RECORD_OVERHEAD = Integer.BYTES * 2;
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".seg";
+
+    /** Marcador de segmento sem eventos (o mapa não aceita null). */
+    private static final Instant NO_EVENTS = Instant.MAX;
+
+    private final Path dir;
+    private final int segmentSize;
+
+    /** Segmentos selados (seq -> instante do primeiro evento), prontos para replay. */
+    private final ConcurrentSkipListMap<Long, Instant> sealed = new ConcurrentSkipListMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Estado do segmento ativo (protegido por lock).
+    private long activeSeq;
+    private FileChannel activeChannel;
+    private MappedByteBuffer activeBuffer;
+    private volatile Instant activeFirstEventAt;
+
+    public MappedAuditSpillLog(AuditSpillProperties properties) {
+        this.dir = Path.of(properties.getDir());
+        this.segmentSize = Math.toIntExact(properties.getSegmentSize().toBytes());
+        recover();
+    }
+
+    /**
+     * Segmentos que sobraram de execuções anteriores são tratados como selados.
+     */
+    private void recover() {
+        try {
+            Files.createDirectories(dir);
+            try (Stream<Path> files = Files.list(dir)) {
+                files.filter(MappedAuditSpillLog::isSegment).forEach(p -> sealed.put(seqOf(p), firstEventAt(p)));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Não foi possível abrir o diretório de spill de auditoria: " + dir, ex);
+        }
+
+        activeSeq = sealed.isEmpty() ? 1 : sealed.lastKey() + 1;
+
+        if (!sealed.isEmpty()) {
+            log.info("Spill de auditoria: {} segmento(s) pendente(s) de replay em {}.", sealed.size(), dir);
+        }
+    }
+
+    @Override
+    public boolean spill(AuditEvent event) {
+        byte[] payload = AuditEventCodec.encode(event);
+        int needed = RECORD_OVERHEAD + payload.length;
+        if (needed > segmentSize - HEADER_BYTES) {
+            log.error("Evento de auditoria {} ({} bytes) maior que o segmento de spill.", event.id(), payload.length);
+            return false;
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        lock.lock();
+        try {
+            if (activeBuffer == null || activeBuffer.remaining() < needed) {
+                rotate();
+            }
+            activeBuffer.putInt(payload.length);
+            activeBuffer.putInt((int) crc.getValue());
+            activeBuffer.put(payload);
+            if (activeFirstEventAt == null) {
+                activeFirstEventAt = event.occurredAt();
+            }
+            return true;
+        } catch (IOException | UncheckedIOException ex) {
+            log.error("Falha ao gravar evento de auditoria {} no spill.", event.id(), ex);
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Leva todos os eventos pendentes para o banco, segmento a segmento, em lotes.
+     *
+     * Fluxo:
+     * 1) Segmentos selados, em ordem (cada um apagado após o replay completo).
+     * 2) Segmento ativo, lido no lugar até a posição atual, sem selar.
+     * 3) Só com o banco tendo aceitado tudo o ativo é descartado (ou selado, se recebeu eventos no meio).
+     *
+     * Em falha do banco a exceção sobe e nada é selado: com o banco fora por muito tempo os eventos
+     * seguem no mesmo segmento ativo, e um novo só é aberto quando ele enche.
+     *
+     * @return quantidade de eventos enviados.
+     */
+    public int replay(AuditEventRepositoryPort target, int batchSize) {
+        int replayed = 0;
+        for (Long seq : sealed.keySet()) {
+            replayed += replaySegment(seq, target, batchSize);
+        }
+        return replayed + replayActive(target, batchSize);
+    }
+
+    private int replaySegment(long seq, AuditEventRepositoryPort target, int batchSize) {
+        Path path = pathOf(seq);
+        int count = replay(path.getFileName().toString(), map(path), target, batchSize);
+
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        sealed.remove(seq);
+        return count;
+    }
+
+    private int replayActive(AuditEventRepositoryPort target, int batchSize) {
+        long seq;
+        int end;
+        ByteBuffer snapshot;
+        lock.lock();
+        try {
+            if (activeFirstEventAt == null) {
+                return 0;
+            }
+            seq = activeSeq;
+            end = activeBuffer.position();
+            // Visão própria do mapeamento: escritas depois de "end" não entram nesta rodada.
+            snapshot = activeBuffer.duplicate().position(0).limit(end);
+        } finally {
+            lock.unlock();
+        }
+
+        int count = replay(pathOf(seq).getFileName().toString(), snapshot, target, batchSize);
+
+        lock.lock();
+        try {
+            if (activeSeq != seq) {
+                // Encheu e foi selado durante o replay: volta inteiro na próxima rodada (idempotente por ID).
+                return count;
+            }
+            if (activeBuffer.position() == end) {
+                discardActive();
+            } else {
+                sealActive();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            lock.unlock();
+        }
+        return count;
+    }
+
+    private static int replay(String name, ByteBuffer segment, AuditEventRepositoryPort target, int batchSize) {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+
+        // Lotes enviados à medida que o segmento é lido: memória limitada a um lote.
+        int count = read(name, segment, Integer.MAX_VALUE, event -> {
+            batch.add(event);
+            if (batch.size() >= batchSize) {
+                target.saveAll(batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            target.saveAll(batch);
+        }
+        return count;
+    }
+
+    /**
+     * Idade do evento mais antigo ainda não levado ao banco (zero quando não há pendências).
+     */
+    public Duration replayLag(Instant now) {
+        Instant oldest = activeFirstEventAt == null ? NO_EVENTS : activeFirstEventAt;
+        for (Instant first : sealed.values()) {
+            if (first.isBefore(oldest)) {
+                oldest = first;
+            }
+        }
+        return oldest == NO_EVENTS ? Duration.ZERO : Duration.between(oldest, now);
+    }
+
+    public int pendingSegments() {
+        return sealed.size() + (activeFirstEventAt == null ? 0 : 1);
+    }
+
+    /**
+     * Força o conteúdo do segmento ativo para o disco (chamado pelo replayer a cada rodada).
+     */
+    public void force() {
+        lock.lock();
+        try {
+            if (activeBuffer != null) {
+                activeBuffer.force();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            sealActive();
+        } catch (IOException ex) {
+            log.warn("Falha ao fechar segmento de spill de auditoria.", ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sela o segmento ativo (se houver) e abre o próximo. Deve ser chamado com lock.
+     */
+    private void rotate() throws IOException {
+        sealActive();
+
+        Path path = pathOf(activeSeq);
+        activeChannel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        activeBuffer = activeChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        activeBuffer.putInt(MAGIC);
+    }
+
+    private void sealActive() throws IOException {
+        if (activeBuffer == null) {
+            return;
+        }
+        activeBuffer.force();
+        activeChannel.close();
+        sealed.put(activeSeq, activeFirstEventAt == null ? NO_EVENTS : activeFirstEventAt);
+
+        activeSeq++;
+        activeChannel = null;
+        activeBuffer = null;
+        activeFirstEventAt = null;
+    }
+
+    /**
+     * Apaga o segmento ativo já levado ao banco; o próximo spill abre outro. Deve ser chamado com lock.
+     */
+    private void discardActive() throws IOException {
+        activeChannel.close();
+        Files.deleteIfExists(pathOf(activeSeq));
+
+        activeSeq++;
+        activeChannel = null;
+        activeBuffer = null;
+        activeFirstEventAt = null;
+    }
+
+    /**
+     * Lê até max registros válidos do segmento, parando no fim, em registro truncado ou CRC inválido.
+     *
+     * @return quantidade de registros entregues ao sink.
+     */
+    static int read(Path path, int max, Consumer<AuditEvent> sink) {
+        return read(path.getFileName().toString(), map(path), max, sink);
+    }
+
+    private static int read(String name, ByteBuffer buf, int max, Consumer<AuditEvent> sink) {
+        if (buf.remaining() < HEADER_BYTES || buf.getInt() != MAGIC) {
+            log.warn("Segmento de spill {} sem cabeçalho válido; ignorado.", name);
+            return 0;
+        }
+
+        int count = 0;
+        CRC32C crc = new CRC32C();
+        while (count < max && buf.remaining() >= RECORD_OVERHEAD) {
+            int len = buf.getInt();
+            int expectedCrc = buf.getInt();
+            if (len <= 0) {
+                break;
+            }
+            if (len > buf.remaining()) {
+                log.warn("Registro truncado no segmento de spill {}; leitura encerrada.", name);
+                break;
+            }
+
+            byte[] payload = new byte[len];
+            buf.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != expectedCrc) {
+                log.warn("CRC inválido no segmento de spill {}; leitura encerrada.", name);
+                break;
+            }
+            sink.accept(AuditEventCodec.decode(payload));
+            count++;
+        }
+        return count;
+    }
+
+    private static MappedByteBuffer map(Path path) {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            return ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Instant firstEventAt(Path path) {
+        Instant[] first = {NO_EVENTS};
+        read(path, 1, e -> first[0] = e.occurredAt());
+        return first[0];
+    }
+
+    private Path pathOf(long seq) {
+        return dir.resolve(PREFIX + String.format("%020d", seq) + SUFFIX);
+    }
+
+    private static boolean isSegment(Path p) {
+        String name = p.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static long seqOf(Path p) {
+        String name = p.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
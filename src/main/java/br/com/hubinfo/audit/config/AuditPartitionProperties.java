@@ -0,0 +1,57 @@
+package br.com.hubinfo.audit.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propriedades da manutenção das partições mensais de audit_events.
+ *
+ * Exemplo no application.yml:
+ * hubinfo:
+ *   audit:
+ *     partitions:
+ *       enabled: true
+ *       months-ahead: 3
+ *       retention-months: 13
+ *       archive-dir: ./data/audit-archive
+ *       cron: "0 30 3 * * *"
+ */
+@Component
+@ConfigurationProperties(prefix = "hubinfo.audit.partitions")
+public class AuditPartitionProperties {
+
+    private boolean enabled = true;
+
+    /** Meses futuros que devem existir como partição (além do atual). */
+    private int monthsAhead = 3;
+
+    /** Meses anteriores ao atual que ficam no banco; os mais antigos são arquivados e removidos. */
+    private int retentionMonths = 13;
+
+    /** Diretório dos arquivos de partições arquivadas (NDJSON gzip); deve ser persistente/copiado para fora. */
+    private String archiveDir = "./data/audit-archive";
+
+    /** Quando rodar a manutenção completa (criação + arquivamento). */
+    private String cron = "0 30 3 * * *";
+
+    /** Linhas por SELECT ao exportar uma partição destacada. */
+    private int exportBatchSize = 5000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getMonthsAhead() { return monthsAhead; }
+    public void setMonthsAhead(int monthsAhead) { this.monthsAhead = monthsAhead; }
+
+    public int getRetentionMonths() { return retentionMonths; }
+    public void setRetentionMonths(int retentionMonths) { this.retentionMonths = retentionMonths; }
+
+    public String getArchiveDir() { return archiveDir; }
+    public void setArchiveDir(String archiveDir) { this.archiveDir = archiveDir; }
+
+    public String getCron() { return cron; }
+    public void setCron(String cron) { this.cron = cron; }
+
+    public int getExportBatchSize() { return exportBatchSize; }
+    public void setExportBatchSize(int exportBatchSize) { this.exportBatchSize = exportBatchSize; }
+}
@@ -0,0 +1,53 @@
+package br.com.hubinfo.audit.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Propriedades do spill local de auditoria (log de segmentos em disco).
+ *
+ * Exemplo no application.yml:
+ * hubinfo:
+ *   audit:
+ *     spill:
+ *       enabled: true
+ *       dir: ./data/audit-spill
+ *       segment-size: 64MB
+ *       replay-interval: PT5S
+ */
+@Component
+@ConfigurationProperties(prefix = "hubinfo.audit.spill")
+public class AuditSpillProperties {
+
+    private boolean enabled = true;
+
+    /** Diretório dos segmentos; deve sobreviver a restart (não usar tmp). */
+    private String dir = "./data/audit-spill";
+
+    /** Tamanho de cada segmento mapeado em memória; ao encher, um novo é aberto. */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /** Frequência com que o replayer tenta levar os segmentos para o banco. */
+    private Duration replayInterval = Duration.ofSeconds(5);
+
+    /** Eventos por INSERT em lote durante o replay. */
+    private int replayBatchSize = 500;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public String getDir() { return dir; }
+    public void setDir(String dir) { this.dir = dir; }
+
+    public DataSize getSegmentSize() { return segmentSize; }
+    public void setSegmentSize(DataSize segmentSize) { this.segmentSize = segmentSize; }
+
+    public Duration getReplayInterval() { return replayInterval; }
+    public void setReplayInterval(Duration replayInterval) { this.replayInterval = replayInterval; }
+
+    public int getReplayBatchSize() { return replayBatchSize; }
+    public void setReplayBatchSize(int replayBatchSize) { this.replayBatchSize = replayBatchSize; }
+}
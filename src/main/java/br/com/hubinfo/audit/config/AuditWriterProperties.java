@@ -0,0 +1,85 @@
+package br.com.hubinfo.audit.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propriedades da gravação de eventos de auditoria.
+ *
+ * Exemplo no application.yml:
+ * hubinfo:
+ *   audit:
+ *     writer:
+ *       mode: buffered        # buffered (padrão) | sync
+ *       capacity: 8192        # eventos aguardando gravação
+ *       batch-size: 500
+ *       flush-interval: 200ms
+ *       overflow: BLOCK       # BLOCK | DROP | SPILL
+ */
+@Component
+@ConfigurationProperties(prefix = "hubinfo.audit.writer")
+public class AuditWriterProperties {
+
+    /**
+     * sync: INSERT na thread de quem audita (comportamento original).
+     * buffered: evento vai para um buffer em memória e é gravado em lote por uma thread dedicada.
+     */
+    private String mode = "buffered";
+
+    private int capacity = 8192;
+
+    /** Grava assim que o lote atingir esse tamanho... */
+    private int batchSize = 500;
+
+    /** ...ou quando esse tempo passar desde o primeiro evento do lote. */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    private Overflow overflow = Overflow.BLOCK;
+
+    /** BLOCK: espera por vaga até esse limite; depois grava na thread do chamador (nada se perde). */
+    private Duration blockTimeout = Duration.ofSeconds(5);
+
+    /** Espera entre novas tentativas quando o banco recusa o lote. */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    /** Tempo máximo para drenar o buffer no desligamento. */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    /**
+     * O que fazer com o buffer cheio.
+     */
+    public enum Overflow {
+        /** Segura o chamador até abrir vaga (limitado por block-timeout). */
+        BLOCK,
+        /** Descarta o evento e contabiliza (audit.writer.dropped). */
+        DROP,
+        /** Entrega o evento ao spill em disco (AuditEventSpillPort) para gravação posterior. */
+        SPILL
+    }
+
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+
+    public int getCapacity() { return capacity; }
+    public void setCapacity(int capacity) { this.capacity = capacity; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public Duration getFlushInterval() { return flushInterval; }
+    public void setFlushInterval(Duration flushInterval) { this.flushInterval = flushInterval; }
+
+    public Overflow getOverflow() { return overflow; }
+    public void setOverflow(Overflow overflow) { this.overflow = overflow; }
+
+    public Duration getBlockTimeout() { return blockTimeout; }
+    public void setBlockTimeout(Duration blockTimeout) { this.blockTimeout = blockTimeout; }
+
+    public Duration getRetryBackoff() { return retryBackoff; }
+    public void setRetryBackoff(Duration retryBackoff) { this.retryBackoff = retryBackoff; }
+
+    public Duration getShutdownTimeout() { return shutdownTimeout; }
+    public void setShutdownTimeout(Duration shutdownTimeout) { this.shutdownTimeout = shutdownTimeout; }
+}
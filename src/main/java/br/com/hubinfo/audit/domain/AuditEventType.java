@@ -9,6 +9,7 @@ public enum AuditEventType {
     SERVICE_REQUESTED,
     SERVICE_REQUEST_SUCCESS,
     SERVICE_REQUEST_CREATED, SERVICE_REQUEST_FAILURE,
+    SERVICE_BATCH_REQUESTED,
 
     // === CAPTCHA (Commit 15) ===
     CAPTCHA_CHALLENGE_CREATED,
@@ -0,0 +1,39 @@
+package br.com.hubinfo.audit.usecase;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição de continuação na consulta de auditoria (keyset em occurred_at DESC, id DESC).
+ *
+ * Para o cliente é um token opaco (Base64 URL-safe); não deve ser montado nem interpretado fora daqui.
+ */
+public record AuditEventCursor(Instant occurredAt, UUID id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        String raw = occurredAt.getEpochSecond() + "." + occurredAt.getNano() + "." + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @throws IllegalArgumentException se o token não foi gerado por {@link #encode()}.
+     */
+    public static AuditEventCursor decode(String token) {
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.US_ASCII);
+            String[] parts = raw.split("\\.", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Cursor inválido.");
+            }
+            Instant at = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new AuditEventCursor(at, UUID.fromString(parts[2]));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+    }
+}
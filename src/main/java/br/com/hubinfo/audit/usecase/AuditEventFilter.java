@@ -0,0 +1,26 @@
+package br.com.hubinfo.audit.usecase;
+
+import br.com.hubinfo.audit.domain.AuditEventType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Filtros da consulta de auditoria; null = sem filtro.
+ *
+ * @param from início da faixa (inclusivo).
+ * @param to   fim da faixa (exclusivo).
+ */
+public record AuditEventFilter(
+        UUID actorUserId,
+        AuditEventType eventType,
+        String targetType,
+        UUID targetId,
+        Instant from,
+        Instant to
+) {
+
+    public static AuditEventFilter none() {
+        return new AuditEventFilter(null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.hubinfo.audit.usecase;
+
+import java.util.List;
+
+/**
+ * Página da consulta de auditoria.
+ *
+ * @param nextCursor token para a próxima página; null quando não há mais itens.
+ */
+public record AuditEventPage(List<AuditEventSummary> items, String nextCursor) {
+}
@@ -0,0 +1,26 @@
+package br.com.hubinfo.audit.usecase;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Projeção de leitura de um evento de auditoria (listagem/exportação).
+ *
+ * Observação:
+ * - Sem details_json e user_agent: são as colunas grandes da linha e a listagem não precisa delas.
+ * - eventType é texto (e não AuditEventType) para ler eventos de tipos que já saíram do enum.
+ */
+public record AuditEventSummary(
+        UUID id,
+        String eventType,
+        Instant occurredAt,
+        UUID actorUserId,
+        String actorEmail,
+        String requestIp,
+        String requestMethod,
+        String requestPath,
+        Boolean success,
+        String targetType,
+        UUID targetId
+) {
+}
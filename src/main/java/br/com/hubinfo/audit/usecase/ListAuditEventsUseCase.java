@@ -0,0 +1,128 @@
+package br.com.hubinfo.audit.usecase;
+
+import br.com.hubinfo.audit.usecase.port.AuditEventQueryPort;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Caso de uso: consultar eventos de auditoria (somente ADMIN).
+ *
+ * Filtros (combináveis): autor, tipo de evento, alvo (target_type + target_id) e faixa [from, to).
+ *
+ * Paginação:
+ * - Keyset em (occurred_at DESC, id DESC) com cursor opaco; não usa OFFSET nem COUNT,
+ *   então o custo por página não cresce com o tamanho da tabela.
+ * - Limite por página 100; a exportação percorre tudo em lotes, com memória constante.
+ */
+public class ListAuditEventsUseCase {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    /** Tamanho dos lotes lidos do banco na exportação (memória constante). */
+    static final int EXPORT_BATCH_SIZE = 1000;
+
+    private final AuditEventQueryPort repository;
+
+    public ListAuditEventsUseCase(AuditEventQueryPort repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * @param cursor token devolvido em {@link AuditEventPage#nextCursor()}; null = primeira página.
+     */
+    public AuditEventPage page(boolean isAdmin, AuditEventFilter filter, int limit, String cursor) {
+        validate(isAdmin, filter);
+
+        int safeLimit = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        AuditEventCursor after = (cursor == null || cursor.isBlank()) ? null : AuditEventCursor.decode(cursor);
+
+        // Busca 1 a mais para saber se existe próxima página sem COUNT.
+        List<AuditEventSummary> rows = repository.findPage(
+                filter,
+                after == null ? null : after.occurredAt(),
+                after == null ? null : after.id(),
+                safeLimit + 1
+        );
+
+        if (rows.size() <= safeLimit) {
+            return new AuditEventPage(rows, null);
+        }
+
+        List<AuditEventSummary> items = rows.subList(0, safeLimit);
+        AuditEventSummary last = items.get(items.size() - 1);
+        return new AuditEventPage(items, new AuditEventCursor(last.occurredAt(), last.id()).encode());
+    }
+
+    /**
+     * Exportação de todos os eventos do filtro.
+     *
+     * A permissão e os filtros são checados aqui, na chamada; a leitura é preguiçosa e acontece
+     * enquanto o Iterable é percorrido, em lotes de keyset.
+     */
+    public Iterable<AuditEventSummary> exportAll(boolean isAdmin, AuditEventFilter filter) {
+        validate(isAdmin, filter);
+        return () -> new KeysetIterator(repository, filter);
+    }
+
+    private static void validate(boolean isAdmin, AuditEventFilter filter) {
+        if (!isAdmin) {
+            throw new IllegalArgumentException("Acesso negado.");
+        }
+        if (filter.targetId() != null && (filter.targetType() == null || filter.targetType().isBlank())) {
+            throw new IllegalArgumentException("targetId exige targetType.");
+        }
+        if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+            throw new IllegalArgumentException("Período inválido: from deve ser anterior a to.");
+        }
+    }
+
+    /**
+     * Percorre os eventos lote a lote, continuando sempre do último item lido.
+     */
+    private static final class KeysetIterator implements Iterator<AuditEventSummary> {
+
+        private final AuditEventQueryPort repository;
+        private final AuditEventFilter filter;
+
+        private List<AuditEventSummary> batch = List.of();
+        private int index;
+        private AuditEventSummary last;
+        private boolean exhausted;
+
+        KeysetIterator(AuditEventQueryPort repository, AuditEventFilter filter) {
+            this.repository = repository;
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (index < batch.size()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+
+            batch = repository.findPage(
+                    filter,
+                    last == null ? null : last.occurredAt(),
+                    last == null ? null : last.id(),
+                    EXPORT_BATCH_SIZE
+            );
+            index = 0;
+            exhausted = batch.size() < EXPORT_BATCH_SIZE;
+            return !batch.isEmpty();
+        }
+
+        @Override
+        public AuditEventSummary next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = batch.get(index++);
+            return last;
+        }
+    }
+}
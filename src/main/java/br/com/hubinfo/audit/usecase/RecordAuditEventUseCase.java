@@ -2,10 +2,10 @@ package br.com.hubinfo.audit.usecase;
 
 import br.com.hubinfo.audit.domain.AuditEvent;
 import br.com.hubinfo.audit.usecase.port.AuditEventRepositoryPort;
+import br.com.hubinfo.common.id.UuidV7;
 
 import java.time.Clock;
 import java.time.Instant;
-import java.util.UUID;
 
 /**
  * Caso de uso: registrar evento de auditoria.
@@ -28,7 +28,7 @@ public class RecordAuditEventUseCase {
         Instant now = Instant.now(clock);
 
         AuditEvent event = new AuditEvent(
-                UUID.randomUUID(),
+                UuidV7.next(),
                 cmd.eventType(),
                 now,
                 cmd.actorUserId(),
@@ -4,6 +4,7 @@ import br.com.hubinfo.audit.domain.AuditEvent;
 import br.com.hubinfo.audit.domain.AuditEventType;
 import br.com.hubinfo.audit.usecase.AuditService;
 import br.com.hubinfo.audit.usecase.port.AuditEventRepositoryPort;
+import br.com.hubinfo.common.id.UuidV7;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.stereotype.Service;
@@ -58,7 +59,7 @@ public class AuditServiceImpl implements AuditService {
         HttpContext ctx = HttpContext.fromCurrentRequest();
 
         AuditEvent event = new AuditEvent(
-                UUID.randomUUID(),
+                UuidV7.next(),
                 eventType,
                 Instant.now(),
                 actorUserId,
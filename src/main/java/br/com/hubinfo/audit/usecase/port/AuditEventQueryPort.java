@@ -0,0 +1,20 @@
+package br.com.hubinfo.audit.usecase.port;
+
+import br.com.hubinfo.audit.usecase.AuditEventFilter;
+import br.com.hubinfo.audit.usecase.AuditEventSummary;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Leitura de audit_events (lado de consulta; a gravação fica no AuditEventRepositoryPort).
+ */
+public interface AuditEventQueryPort {
+
+    /**
+     * Eventos do filtro em ordem (occurred_at DESC, id DESC), continuando após (beforeOccurredAt, beforeId)
+     * quando informados.
+     */
+    List<AuditEventSummary> findPage(AuditEventFilter filter, Instant beforeOccurredAt, UUID beforeId, int limit);
+}
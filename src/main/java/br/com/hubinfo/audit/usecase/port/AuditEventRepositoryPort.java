@@ -2,6 +2,17 @@ package br.com.hubinfo.audit.usecase.port;
 
 import br.com.hubinfo.audit.domain.AuditEvent;
 
+import java.util.List;
+
 public interface AuditEventRepositoryPort {
     AuditEvent save(AuditEvent event);
+
+    /**
+     * Grava vários eventos de uma vez, na ordem recebida.
+     *
+     * Idempotente por ID: regravar um evento já persistido não duplica (permite retry do lote inteiro).
+     */
+    default void saveAll(List<AuditEvent> events) {
+        events.forEach(this::save);
+    }
 }
@@ -0,0 +1,15 @@
+package br.com.hubinfo.audit.usecase.port;
+
+import br.com.hubinfo.audit.domain.AuditEvent;
+
+/**
+ * Armazenamento local (disco) para eventos de auditoria que não couberam no buffer
+ * ou não puderam ser gravados no banco; um replayer os envia ao banco depois.
+ */
+public interface AuditEventSpillPort {
+
+    /**
+     * @return false se o spill também não conseguiu aceitar o evento.
+     */
+    boolean spill(AuditEvent event);
+}
@@ -2,20 +2,23 @@ package br.com.hubinfo.auth.adapter.in.web;
 
 import br.com.hubinfo.auth.adapter.in.web.dto.LoginRequest;
 import br.com.hubinfo.auth.adapter.in.web.dto.LoginResponse;
+import br.com.hubinfo.auth.adapter.in.web.dto.LogoutRequest;
 import br.com.hubinfo.auth.adapter.in.web.dto.MeResponse;
+import br.com.hubinfo.auth.adapter.in.web.dto.RefreshTokenRequest;
 import br.com.hubinfo.security.HubInfoPrincipal;
-import br.com.hubinfo.security.jwt.JwtService;
-import br.com.hubinfo.user.adapter.out.persistence.SpringDataUserRepository;
+import br.com.hubinfo.security.jwt.JwtTokenDetails;
+import br.com.hubinfo.security.jwt.RefreshTokenService;
+import br.com.hubinfo.user.adapter.out.persistence.UserProjection;
+import br.com.hubinfo.user.adapter.out.persistence.UserProjectionCache;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Arrays;
 import java.util.Set;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -25,21 +28,22 @@ import java.util.stream.Collectors;
  * Observação de segurança:
  * - O sistema é stateless (JWT). Não existe sessão no servidor.
  * - O cliente deve enviar Authorization: Bearer <token> em toda requisição protegida.
+ * - Access token é curto; a renovação usa o refresh token (POST /refresh), guardado no banco só como hash.
  */
 @RestController
 @RequestMapping("/api/v1/auth")
 public class AuthController {
 
     private final AuthenticationManager authenticationManager;
-    private final JwtService jwtService;
-    private final SpringDataUserRepository userRepository;
+    private final UserProjectionCache users;
+    private final RefreshTokenService refreshTokens;
 
     public AuthController(AuthenticationManager authenticationManager,
-                          JwtService jwtService,
-                          SpringDataUserRepository userRepository) {
+                          UserProjectionCache users,
+                          RefreshTokenService refreshTokens) {
         this.authenticationManager = authenticationManager;
-        this.jwtService = jwtService;
-        this.userRepository = userRepository;
+        this.users = users;
+        this.refreshTokens = refreshTokens;
     }
 
     /**
@@ -47,10 +51,10 @@ public class AuthController {
      *
      * Fluxo:
      * 1) O AuthenticationManager valida e-mail e senha.
-     * 2) Buscamos o usuário no banco para obter:
+     * 2) Buscamos o usuário (UserProjectionCache; a senha do passo 1 vem direto do banco) para obter:
      *    - UUID (usaremos como subject do JWT)
      *    - roles (para autorização nos endpoints)
-     * 3) Emitimos o JWT.
+     * 3) Emitimos o JWT e o refresh token.
      */
     @PostMapping("/login")
     public LoginResponse login(@Valid @RequestBody LoginRequest request) {
@@ -61,16 +65,35 @@ public class AuthController {
         );
 
         // 2) Carrega o usuário para obter id e roles para o JWT
-        var user = userRepository.findByEmail(request.getEmail()).orElseThrow();
+        UserProjection user = users.findByEmail(request.getEmail()).orElseThrow();
 
-        UUID userId = user.getId();
-
-        Set<String> roles = parseRoles(user.getRolesCsv());
+        // 3) Emite access token (subject = userId; claims = email + roles) + refresh token de uma sessão nova
+        return toResponse(refreshTokens.issue(user));
+    }
 
-        // 3) Emite token (subject = userId; claims = email + roles)
-        var token = jwtService.issueAccessToken(userId, user.getEmail(), roles);
+    /**
+     * POST /api/v1/auth/refresh
+     *
+     * Troca o refresh token por um par novo (rotação), sem senha e sem BCrypt.
+     * O refresh token usado deixa de valer; reapresentá-lo revoga a sessão inteira.
+     */
+    @PostMapping("/refresh")
+    public LoginResponse refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return toResponse(refreshTokens.refresh(request.getRefreshToken()));
+    }
 
-        return new LoginResponse(token.value(), "Bearer", token.expiresAt());
+    /**
+     * POST /api/v1/auth/logout
+     *
+     * Revoga o access token atual e, se o refresh token vier no corpo, a sessão (família) inteira.
+     */
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(Authentication authentication,
+                       @AuthenticationPrincipal HubInfoPrincipal principal,
+                       @RequestBody(required = false) LogoutRequest request) {
+        JwtTokenDetails current = authentication.getDetails() instanceof JwtTokenDetails d ? d : null;
+        refreshTokens.logout(principal.userId(), current, request == null ? null : request.getRefreshToken());
     }
 
     /**
@@ -86,32 +109,34 @@ public class AuthController {
      * - Então conseguimos retornar id e email SEM consultar o banco.
      *
      * Sobre roles:
-     * - Como roles estão nas authorities do Authentication, podemos retorná-las também
-     *   sem ir ao banco.
+     * - Vêm do UserProjectionCache (por id), e não das authorities do token: mudança de papel
+     *   aparece no /me assim que gravada, sem esperar um novo login.
+     * - Em cache hit não há consulta ao banco (o front consulta /me em polling).
      */
     @GetMapping("/me")
     public MeResponse me(@AuthenticationPrincipal HubInfoPrincipal principal) {
-        var user = userRepository.findByEmail(principal.email()).orElseThrow();
+        UserProjection user = users.findById(principal.userId()).orElseThrow();
 
-        Set<String> roles = Arrays.stream(user.getRolesCsv().split(","))
-                .map(String::trim)
-                .filter(s -> !s.isBlank())
-                .collect(Collectors.toSet());
+        return new MeResponse(user.id(), user.email(), roleNames(user));
+    }
 
-        return new MeResponse(user.getId(), user.getEmail(), roles);
+    private static LoginResponse toResponse(RefreshTokenService.TokenPair pair) {
+        return new LoginResponse(
+                pair.access().value(),
+                "Bearer",
+                pair.access().expiresAt(),
+                pair.refreshToken(),
+                pair.refreshExpiresAt()
+        );
     }
 
     /**
-     * Utilitário centralizado para converter rolesCsv -> Set<String>.
+     * Utilitário centralizado para converter roles -> Set<String>.
      * Isso evita duplicação e facilita manutenção.
      */
-    private static Set<String> parseRoles(String rolesCsv) {
-        if (rolesCsv == null || rolesCsv.isBlank()) {
-            return Set.of();
-        }
-        return Arrays.stream(rolesCsv.split(","))
-                .map(String::trim)
-                .filter(s -> !s.isBlank())
+    private static Set<String> roleNames(UserProjection user) {
+        return user.roles().stream()
+                .map(Enum::name)
                 .collect(Collectors.toUnmodifiableSet());
     }
 }
@@ -5,6 +5,8 @@ import java.time.Instant;
 public record LoginResponse(
         String accessToken,
         String tokenType,
-        Instant expiresAt
+        Instant expiresAt,
+        String refreshToken,
+        Instant refreshExpiresAt
 ) {
 }
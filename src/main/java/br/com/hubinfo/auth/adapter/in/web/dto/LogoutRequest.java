@@ -0,0 +1,12 @@
+package br.com.hubinfo.auth.adapter.in.web.dto;
+
+/**
+ * Corpo opcional do logout: com o refresh token, a sessão inteira (família) é revogada.
+ */
+public class LogoutRequest {
+
+    private String refreshToken;
+
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+}
@@ -0,0 +1,12 @@
+package br.com.hubinfo.auth.adapter.in.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class RefreshTokenRequest {
+
+    @NotBlank(message = "Refresh token é obrigatório.")
+    private String refreshToken;
+
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+}
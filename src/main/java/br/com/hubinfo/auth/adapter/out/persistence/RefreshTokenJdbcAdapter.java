@@ -0,0 +1,133 @@
+package br.com.hubinfo.auth.adapter.out.persistence;
+
+import br.com.hubinfo.common.persistence.UuidBinary;
+import br.com.hubinfo.security.jwt.RefreshTokenRecord;
+import br.com.hubinfo.security.jwt.RefreshTokenStore;
+import br.com.hubinfo.security.jwt.RevokedAccessToken;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Optional;
+import java.util.TimeZone;
+import java.util.UUID;
+
+/**
+ * refresh_tokens via JDBC.
+ *
+ * Observação:
+ * - Busca sempre pelo hash (índice único); o token em texto nunca chega ao banco.
+ * - Datas gravadas/lidas em UTC (igual ao Hibernate para Instant).
+ */
+@Component
+public class RefreshTokenJdbcAdapter implements RefreshTokenStore {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbc;
+
+    public RefreshTokenJdbcAdapter(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void insert(RefreshTokenRecord t) {
+        jdbc.update("""
+                INSERT INTO refresh_tokens
+                  (id, family_id, user_id, token_hash, access_jti, access_expires_at, issued_at, expires_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """, ps -> {
+            UuidBinary.bind(ps, 1, t.id());
+            UuidBinary.bind(ps, 2, t.familyId());
+            UuidBinary.bind(ps, 3, t.userId());
+            ps.setBytes(4, t.tokenHash());
+            UuidBinary.bind(ps, 5, t.accessJti());
+            setInstant(ps, 6, t.accessExpiresAt());
+            setInstant(ps, 7, t.issuedAt());
+            setInstant(ps, 8, t.expiresAt());
+        });
+    }
+
+    @Override
+    public Optional<RefreshTokenRecord> findByHash(byte[] tokenHash) {
+        List<RefreshTokenRecord> rows = jdbc.query("""
+                        SELECT id, family_id, user_id, token_hash, access_jti, access_expires_at,
+                               issued_at, expires_at, used_at, revoked_at
+                          FROM refresh_tokens
+                         WHERE token_hash = ?
+                        """,
+                ps -> ps.setBytes(1, tokenHash),
+                (rs, i) -> toRecord(rs));
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public boolean markUsed(UUID id, Instant usedAt) {
+        return jdbc.update("""
+                UPDATE refresh_tokens
+                   SET used_at = ?
+                 WHERE id = ? AND used_at IS NULL AND revoked_at IS NULL
+                """, ps -> {
+            setInstant(ps, 1, usedAt);
+            UuidBinary.bind(ps, 2, id);
+        }) == 1;
+    }
+
+    @Override
+    public List<RevokedAccessToken> revokeFamily(UUID familyId, Instant now) {
+        jdbc.update("UPDATE refresh_tokens SET revoked_at = ? WHERE family_id = ? AND revoked_at IS NULL", ps -> {
+            setInstant(ps, 1, now);
+            UuidBinary.bind(ps, 2, familyId);
+        });
+
+        return jdbc.query("""
+                        SELECT access_jti, access_expires_at
+                          FROM refresh_tokens
+                         WHERE family_id = ? AND access_jti IS NOT NULL AND access_expires_at > ?
+                        """,
+                ps -> {
+                    UuidBinary.bind(ps, 1, familyId);
+                    setInstant(ps, 2, now);
+                },
+                (rs, i) -> new RevokedAccessToken(
+                        UuidBinary.read(rs, "access_jti"),
+                        getInstant(rs, "access_expires_at"),
+                        now
+                ));
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+        return jdbc.update("DELETE FROM refresh_tokens WHERE expires_at <= ?", ps -> setInstant(ps, 1, now));
+    }
+
+    private static RefreshTokenRecord toRecord(ResultSet rs) throws SQLException {
+        return new RefreshTokenRecord(
+                UuidBinary.read(rs, "id"),
+                UuidBinary.read(rs, "family_id"),
+                UuidBinary.read(rs, "user_id"),
+                rs.getBytes("token_hash"),
+                UuidBinary.read(rs, "access_jti"),
+                getInstant(rs, "access_expires_at"),
+                getInstant(rs, "issued_at"),
+                getInstant(rs, "expires_at"),
+                getInstant(rs, "used_at"),
+                getInstant(rs, "revoked_at")
+        );
+    }
+
+    private static void setInstant(PreparedStatement ps, int index, Instant value) throws SQLException {
+        ps.setTimestamp(index, value == null ? null : Timestamp.from(value), Calendar.getInstance(UTC));
+    }
+
+    private static Instant getInstant(ResultSet rs, String column) throws SQLException {
+        Timestamp ts = rs.getTimestamp(column, Calendar.getInstance(UTC));
+        return ts == null ? null : ts.toInstant();
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.hubinfo.auth.adapter.out.persistence;
+
+import br.com.hubinfo.common.persistence.UuidBinary;
+import br.com.hubinfo.security.jwt.RevokedAccessToken;
+import br.com.hubinfo.security.jwt.RevokedAccessTokenStore;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * revoked_access_tokens via JDBC.
+ *
+ * Observação:
+ * - Datas gravadas/lidas em UTC (igual ao Hibernate para Instant).
+ */
+@Component
+public class RevokedAccessTokenJdbcAdapter implements RevokedAccessTokenStore {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbc;
+
+    public RevokedAccessTokenJdbcAdapter(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void saveAll(Collection<RevokedAccessToken> tokens) {
+        List<RevokedAccessToken> rows = new ArrayList<>(tokens);
+        jdbc.batchUpdate("""
+                        INSERT INTO revoked_access_tokens (jti, expires_at, revoked_at)
+                        VALUES (?, ?, ?)
+                        ON DUPLICATE KEY UPDATE jti = jti
+                        """,
+                rows, rows.size(), (ps, t) -> {
+                    UuidBinary.bind(ps, 1, t.jti());
+                    ps.setTimestamp(2, Timestamp.from(t.expiresAt()), Calendar.getInstance(UTC));
+                    ps.setTimestamp(3, Timestamp.from(t.revokedAt()), Calendar.getInstance(UTC));
+                });
+    }
+
+    @Override
+    public List<RevokedAccessToken> findRevokedSince(Instant since, Instant now) {
+        return jdbc.query("""
+                        SELECT jti, expires_at, revoked_at
+                          FROM revoked_access_tokens
+                         WHERE revoked_at >= ? AND expires_at > ?
+                        """,
+                ps -> {
+                    ps.setTimestamp(1, Timestamp.from(since), Calendar.getInstance(UTC));
+                    ps.setTimestamp(2, Timestamp.from(now), Calendar.getInstance(UTC));
+                },
+                (rs, i) -> new RevokedAccessToken(
+                        UuidBinary.read(rs, "jti"),
+                        rs.getTimestamp("expires_at", Calendar.getInstance(UTC)).toInstant(),
+                        rs.getTimestamp("revoked_at", Calendar.getInstance(UTC)).toInstant()
+                ));
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+        return jdbc.update("DELETE FROM revoked_access_tokens WHERE expires_at <= ?",
+                ps -> ps.setTimestamp(1, Timestamp.from(now), Calendar.getInstance(UTC)));
+    }
+}
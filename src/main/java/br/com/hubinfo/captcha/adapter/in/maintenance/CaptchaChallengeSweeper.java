@@ -0,0 +1,39 @@
+package br.com.hubinfo.captcha.adapter.in.maintenance;
+
+import br.com.hubinfo.captcha.usecase.CaptchaChallengeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Varredura periódica de desafios de CAPTCHA vencidos (PENDING/SOLVED → EXPIRED).
+ *
+ * Regras:
+ * - Roda em todos os nós, sem lock: cada lote é um UPDATE condicional por status, então rodadas
+ *   simultâneas só dividem o trabalho.
+ * - Falha não derruba nada: o prazo já é aplicado nas leituras e a próxima rodada termina o serviço.
+ */
+@Component
+public class CaptchaChallengeSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(CaptchaChallengeSweeper.class);
+
+    private final CaptchaChallengeService captchaChallengeService;
+
+    public CaptchaChallengeSweeper(CaptchaChallengeService captchaChallengeService) {
+        this.captchaChallengeService = captchaChallengeService;
+    }
+
+    @Scheduled(fixedDelayString = "${hubinfo.captcha.lifecycle.sweep-interval:PT30S}")
+    public void sweep() {
+        try {
+            int expired = captchaChallengeService.expireStale();
+            if (expired > 0) {
+                log.info("CAPTCHA: {} desafio(s) expirado(s).", expired);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Varredura de desafios de CAPTCHA falhou; nova tentativa na próxima rodada.", ex);
+        }
+    }
+}
@@ -1,15 +1,22 @@
 package br.com.hubinfo.captcha.adapter.in.web;
 
+import br.com.hubinfo.captcha.domain.CaptchaChallengeStatus;
 import br.com.hubinfo.captcha.usecase.CaptchaChallengeService;
 import br.com.hubinfo.security.HubInfoPrincipal;
 import com.fasterxml.jackson.annotation.JsonAlias;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -20,15 +27,85 @@ import java.util.UUID;
  * 2) UI chama GET para obter siteKey/pageUrl
  * 3) Usuário resolve o hCaptcha numa janela do software
  * 4) UI envia o solutionToken para POST /solution
+ *
+ * Operadores (resolvedores humanos) acompanham a fila por GET (desafios abertos e ainda válidos)
+ * ou, em pool, pedem o próximo desafio por POST /claim (reservado só para quem pediu).
  */
 @RestController
 @RequestMapping("/api/v1/captcha/challenges")
 public class CaptchaChallengeController {
 
+    /** Cabeçalho com o token da próxima página (ausente na última). */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final CaptchaChallengeService captchaChallengeService;
+    private final CaptchaClaimWaiters claimWaiters;
 
-    public CaptchaChallengeController(CaptchaChallengeService captchaChallengeService) {
+    public CaptchaChallengeController(CaptchaChallengeService captchaChallengeService,
+                                      CaptchaClaimWaiters claimWaiters) {
         this.captchaChallengeService = captchaChallengeService;
+        this.claimWaiters = claimWaiters;
+    }
+
+    /**
+     * GET /api/v1/captcha/challenges?status=PENDING&limit=&cursor=
+     *
+     * Fila dos operadores: só desafios dentro do prazo, do mais novo para o mais antigo
+     * (o mais novo é o que tem mais chance de a coleta ainda estar esperando).
+     * Se houver mais itens, a resposta traz o cabeçalho X-Next-Cursor; repita a consulta com cursor=<valor>.
+     */
+    @GetMapping
+    public ResponseEntity<List<CaptchaChallengeService.CaptchaChallengeView>> listOpen(
+            @RequestParam(name = "status", defaultValue = "PENDING") CaptchaChallengeStatus status,
+            @RequestParam(name = "limit", defaultValue = "50") @Min(1) @Max(100) int limit,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @AuthenticationPrincipal HubInfoPrincipal principal) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuário não autenticado.");
+        }
+
+        CaptchaChallengeService.CaptchaChallengePage page = captchaChallengeService.listOpen(status, limit, cursor);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    /**
+     * POST /api/v1/captcha/challenges/claim?waitSeconds=30
+     *
+     * Pool de resolvedores: reserva o próximo desafio (mais antigo que ainda dá tempo de resolver)
+     * para quem chamou, até leaseExpiresAt. Sem desafio livre, espera até waitSeconds (long-poll;
+     * limitado a hubinfo.captcha.claim.max-wait).
+     *
+     * Respostas:
+     * - 200: desafio reservado; resolver e enviar em POST /{id}/solution (ou devolver em DELETE /{id}/claim).
+     * - 204: nenhum desafio no tempo de espera; chamar de novo.
+     * - 429: resolvedores demais esperando (Retry-After).
+     */
+    @PostMapping("/claim")
+    public DeferredResult<ResponseEntity<CaptchaChallengeService.CaptchaClaim>> claim(
+            @RequestParam(name = "waitSeconds", defaultValue = "30") @Min(0) int waitSeconds,
+            @AuthenticationPrincipal HubInfoPrincipal principal) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuário não autenticado.");
+        }
+        return claimWaiters.claim(principal.userId(), Duration.ofSeconds(waitSeconds));
+    }
+
+    /**
+     * Devolve ao pool um desafio reservado por quem chamou (idempotente).
+     */
+    @DeleteMapping("/{id}/claim")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void releaseClaim(@PathVariable UUID id,
+                             @AuthenticationPrincipal HubInfoPrincipal principal) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuário não autenticado.");
+        }
+        captchaChallengeService.releaseClaim(id, principal.userId());
     }
 
     @GetMapping("/{id}")
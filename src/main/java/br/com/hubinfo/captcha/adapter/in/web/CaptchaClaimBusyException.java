@@ -0,0 +1,12 @@
+package br.com.hubinfo.captcha.adapter.in.web;
+
+/**
+ * Resolvedores demais esperando desafio neste nó (limite hubinfo.captcha.claim.max-waiters).
+ * A API responde 429 com Retry-After.
+ */
+public class CaptchaClaimBusyException extends RuntimeException {
+
+    public CaptchaClaimBusyException(String message) {
+        super(message);
+    }
+}
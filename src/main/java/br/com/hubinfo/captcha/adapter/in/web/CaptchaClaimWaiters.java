@@ -0,0 +1,177 @@
+package br.com.hubinfo.captcha.adapter.in.web;
+
+import br.com.hubinfo.captcha.config.CaptchaClaimProperties;
+import br.com.hubinfo.captcha.usecase.CaptchaChallengeService;
+import br.com.hubinfo.captcha.usecase.port.CaptchaChallengeAvailability;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-poll do pool de resolvedores: POST /claim espera até haver desafio livre.
+ *
+ * Fluxo:
+ * 1) Sem ninguém esperando, tenta reservar na hora (caminho rápido).
+ * 2) Senão, entra na fila (FIFO) com um DeferredResult: a thread HTTP é liberada durante a espera.
+ * 3) Desafio criado/devolvido neste nó (após o commit) ou a releitura periódica acordam o despacho,
+ *    que reserva para os primeiros da fila até não haver mais desafio livre.
+ * 4) Fim da espera sem desafio → 204; o cliente chama de novo.
+ *
+ * Regras:
+ * - Um despacho por vez (virtual thread): a fila é atendida em ordem, sem disputa entre threads.
+ * - Reserva feita para quem desistiu no meio do caminho (timeout/desconexão) volta para o pool.
+ * - Acima de max-waiters esperando → 429 (CaptchaClaimBusyException).
+ */
+@Component
+public class CaptchaClaimWaiters implements CaptchaChallengeAvailability {
+
+    private static final Logger log = LoggerFactory.getLogger(CaptchaClaimWaiters.class);
+
+    private final CaptchaChallengeService captchaChallengeService;
+    private final CaptchaClaimProperties properties;
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    /** Há aviso ainda não atendido pelo despacho. */
+    private final AtomicBoolean requested = new AtomicBoolean();
+    /** Despacho em andamento (no máximo um). */
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    public CaptchaClaimWaiters(CaptchaChallengeService captchaChallengeService,
+                               CaptchaClaimProperties properties,
+                               MeterRegistry meters) {
+        this.captchaChallengeService = captchaChallengeService;
+        this.properties = properties;
+
+        Gauge.builder("hubinfo.captcha.claim.waiting", waiting, AtomicInteger::get)
+                .description("Resolvedores esperando desafio de CAPTCHA neste nó")
+                .register(meters);
+    }
+
+    /**
+     * @param wait espera máxima (limitada a max-wait); zero = só tenta na hora.
+     */
+    public DeferredResult<ResponseEntity<CaptchaChallengeService.CaptchaClaim>> claim(UUID solverUserId, Duration wait) {
+        Duration timeout = wait.compareTo(properties.getMaxWait()) > 0 ? properties.getMaxWait() : wait;
+
+        DeferredResult<ResponseEntity<CaptchaChallengeService.CaptchaClaim>> result =
+                new DeferredResult<>(Math.max(1, timeout.toMillis()), ResponseEntity.noContent().build());
+
+        // Caminho rápido só com a fila vazia: quem já espera tem a vez.
+        if (waiters.isEmpty()) {
+            Optional<CaptchaChallengeService.CaptchaClaim> claim = captchaChallengeService.claimNext(solverUserId);
+            if (claim.isPresent() || timeout.isZero() || timeout.isNegative()) {
+                result.setResult(claim.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.noContent().build()));
+                return result;
+            }
+        }
+
+        if (waiting.incrementAndGet() > properties.getMaxWaiters()) {
+            waiting.decrementAndGet();
+            throw new CaptchaClaimBusyException("Muitos resolvedores aguardando desafio. Tente novamente.");
+        }
+
+        Waiter waiter = new Waiter(solverUserId, result);
+        result.onCompletion(() -> leave(waiter));
+        waiters.add(waiter);
+
+        // Cobre o desafio criado entre o caminho rápido e a entrada na fila.
+        signal();
+        return result;
+    }
+
+    @Override
+    public void challengesAvailable() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    signal();
+                }
+            });
+        } else {
+            signal();
+        }
+    }
+
+    /**
+     * Releitura periódica: desafios criados em outros nós, reservas vencidas e desafios que
+     * entraram na janela de prazo não geram aviso aqui.
+     */
+    @Scheduled(fixedDelayString = "${hubinfo.captcha.claim.poll-interval:PT1S}")
+    public void poll() {
+        if (!waiters.isEmpty()) {
+            signal();
+        }
+    }
+
+    int waiting() {
+        return waiting.get();
+    }
+
+    private void signal() {
+        requested.set(true);
+        if (!waiters.isEmpty() && dispatching.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("captcha-claim-dispatch").start(this::dispatch);
+        }
+    }
+
+    private void dispatch() {
+        try {
+            while (requested.getAndSet(false)) {
+                Waiter waiter;
+                while ((waiter = waiters.peek()) != null) {
+                    if (waiter.result().isSetOrExpired()) {
+                        leave(waiter);
+                        continue;
+                    }
+
+                    Optional<CaptchaChallengeService.CaptchaClaim> claim = captchaChallengeService.claimNext(waiter.solverUserId());
+                    if (claim.isEmpty()) {
+                        break;
+                    }
+
+                    leave(waiter);
+                    if (!waiter.result().setResult(ResponseEntity.ok(claim.get()))) {
+                        // Desistiu durante a reserva: devolve (e o aviso da devolução mantém o laço rodando).
+                        captchaChallengeService.releaseClaim(claim.get().challenge().id(), waiter.solverUserId());
+                    }
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao despachar desafios de CAPTCHA; nova tentativa na próxima releitura.", ex);
+        } finally {
+            dispatching.set(false);
+        }
+
+        // Aviso que chegou depois da última volta do laço.
+        if (requested.get()) {
+            signal();
+        }
+    }
+
+    private void leave(Waiter waiter) {
+        if (waiters.remove(waiter)) {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private record Waiter(UUID solverUserId,
+                          DeferredResult<ResponseEntity<CaptchaChallengeService.CaptchaClaim>> result) {}
+}
@@ -1,9 +1,12 @@
 package br.com.hubinfo.captcha.adapter.out.persistence;
 
+import br.com.hubinfo.common.persistence.UuidBinary;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -12,19 +15,29 @@ import java.util.UUID;
  * Entidade JPA para tabela captcha_challenges.
  *
  * Observação:
- * - status é persistido como STRING (ex.: "PENDING", "SOLVED") para facilitar debug.
+ * - status é persistido como STRING (ex.: "PENDING", "SOLVED", "CONSUMED", "EXPIRED") para facilitar debug.
+ * - UUIDs anteriores à V026 têm a cópia *_bin BINARY(16), gravada pelos setters (fase de expansão; ver UuidBinary).
+ *   claimed_by_user_id (V031) já nasceu BINARY(16).
  */
 @Entity
 @Table(name = "captcha_challenges")
 public class CaptchaChallengeJpaEntity {
 
     @Id
-    @Column(name = "id", nullable = false, length = 36)
+    @JdbcTypeCode(SqlTypes.CHAR)
+    @Column(name = "id", nullable = false, length = 36, columnDefinition = "char(36)")
     private UUID id;
 
-    @Column(name = "service_request_id", nullable = false, length = 36)
+    @Column(name = "id_bin", length = 16, columnDefinition = "binary(16)")
+    private byte[] idBin;
+
+    @JdbcTypeCode(SqlTypes.CHAR)
+    @Column(name = "service_request_id", nullable = false, length = 36, columnDefinition = "char(36)")
     private UUID serviceRequestId;
 
+    @Column(name = "service_request_id_bin", nullable = true, length = 16, columnDefinition = "binary(16)")
+    private byte[] serviceRequestIdBin;
+
     @Column(name = "cnpj", nullable = false, length = 14)
     private String cnpj;
 
@@ -47,9 +60,13 @@ public class CaptchaChallengeJpaEntity {
     @Column(name = "status", nullable = false, length = 32)
     private String status;
 
-    @Column(name = "created_by_user_id", nullable = true, length = 36)
+    @JdbcTypeCode(SqlTypes.CHAR)
+    @Column(name = "created_by_user_id", nullable = true, length = 36, columnDefinition = "char(36)")
     private UUID createdByUserId;
 
+    @Column(name = "created_by_user_id_bin", nullable = true, length = 16, columnDefinition = "binary(16)")
+    private byte[] createdByUserIdBin;
+
     @Column(name = "created_by_email", nullable = true, length = 120)
     private String createdByEmail;
 
@@ -59,16 +76,32 @@ public class CaptchaChallengeJpaEntity {
     @Column(name = "solved_at", nullable = true)
     private Instant solvedAt;
 
+    @Column(name = "consumed_at", nullable = true)
+    private Instant consumedAt;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "claimed_by_user_id", nullable = true, length = 16, columnDefinition = "binary(16)")
+    private UUID claimedByUserId;
+
+    @Column(name = "claim_expires_at", nullable = true)
+    private Instant claimExpiresAt;
+
     @Column(name = "solution_token", nullable = true, length = 4000)
     private String solutionToken;
 
     // ===== getters/setters =====
 
     public UUID getId() { return id; }
-    public void setId(UUID id) { this.id = id; }
+    public void setId(UUID id) {
+        this.id = id;
+        this.idBin = UuidBinary.toBytes(id);
+    }
 
-    public UUID getServiceRequestId() { return serviceRequestId; }
-    public void setServiceRequestId(UUID serviceRequestId) { this.serviceRequestId = serviceRequestId; }
+    public UUID getServiceRequestId() { return UuidBinary.orText(serviceRequestIdBin, serviceRequestId); }
+    public void setServiceRequestId(UUID serviceRequestId) {
+        this.serviceRequestId = serviceRequestId;
+        this.serviceRequestIdBin = UuidBinary.toBytes(serviceRequestId);
+    }
 
     public String getCnpj() { return cnpj; }
     public void setCnpj(String cnpj) { this.cnpj = cnpj; }
@@ -88,8 +121,11 @@ public class CaptchaChallengeJpaEntity {
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
-    public UUID getCreatedByUserId() { return createdByUserId; }
-    public void setCreatedByUserId(UUID createdByUserId) { this.createdByUserId = createdByUserId; }
+    public UUID getCreatedByUserId() { return UuidBinary.orText(createdByUserIdBin, createdByUserId); }
+    public void setCreatedByUserId(UUID createdByUserId) {
+        this.createdByUserId = createdByUserId;
+        this.createdByUserIdBin = UuidBinary.toBytes(createdByUserId);
+    }
 
     public String getCreatedByEmail() { return createdByEmail; }
     public void setCreatedByEmail(String createdByEmail) { this.createdByEmail = createdByEmail; }
@@ -100,6 +136,15 @@ public class CaptchaChallengeJpaEntity {
     public Instant getSolvedAt() { return solvedAt; }
     public void setSolvedAt(Instant solvedAt) { this.solvedAt = solvedAt; }
 
+    public Instant getConsumedAt() { return consumedAt; }
+    public void setConsumedAt(Instant consumedAt) { this.consumedAt = consumedAt; }
+
+    public UUID getClaimedByUserId() { return claimedByUserId; }
+    public void setClaimedByUserId(UUID claimedByUserId) { this.claimedByUserId = claimedByUserId; }
+
+    public Instant getClaimExpiresAt() { return claimExpiresAt; }
+    public void setClaimExpiresAt(Instant claimExpiresAt) { this.claimExpiresAt = claimExpiresAt; }
+
     public String getSolutionToken() { return solutionToken; }
     public void setSolutionToken(String solutionToken) { this.solutionToken = solutionToken; }
 }
@@ -2,9 +2,14 @@ package br.com.hubinfo.captcha.adapter.out.persistence;
 
 import br.com.hubinfo.captcha.domain.CaptchaChallengeStatus;
 import br.com.hubinfo.captcha.usecase.port.CaptchaChallengeRepositoryPort;
+import br.com.hubinfo.common.id.UuidV7;
+import br.com.hubinfo.common.persistence.UuidBinary;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,7 +18,9 @@ import java.util.UUID;
  *
  * Responsabilidade:
  * - Gravar e consultar desafios.
- * - Marcar como resolvido com token e timestamp.
+ * - Transições de status por UPDATE condicional (um só vencedor entre requisições, nós e a varredura).
+ * - Reserva para o pool de resolvedores com SELECT ... FOR UPDATE SKIP LOCKED + UPDATE na mesma transação:
+ *   claims concorrentes pegam desafios diferentes sem esperar o lock um do outro.
  */
 @Component
 public class CaptchaChallengePersistenceAdapter implements CaptchaChallengeRepositoryPort {
@@ -41,7 +48,7 @@ public class CaptchaChallengePersistenceAdapter implements CaptchaChallengeRepos
                        CaptchaChallengeStatus status,
                        Instant createdAt) {
 
-        UUID id = UUID.randomUUID();
+        UUID id = UuidV7.next();
 
         CaptchaChallengeJpaEntity e = new CaptchaChallengeJpaEntity();
         e.setId(id);
@@ -69,15 +76,65 @@ public class CaptchaChallengePersistenceAdapter implements CaptchaChallengeRepos
     }
 
     @Override
-    public void markSolved(UUID id, String solutionToken, Instant solvedAt) {
-        CaptchaChallengeJpaEntity e = repository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("CaptchaChallenge não encontrado: " + id));
+    @Transactional
+    public boolean markSolved(UUID id, UUID solverUserId, String solutionToken, Instant solvedAt, Instant createdAfter) {
+        return repository.markSolved(id, solverUserId, solutionToken, solvedAt, createdAfter) == 1;
+    }
 
-        e.setStatus(CaptchaChallengeStatus.SOLVED.name());
-        e.setSolutionToken(solutionToken);
-        e.setSolvedAt(solvedAt);
+    @Override
+    @Transactional
+    public Optional<CaptchaChallengeView> claimNext(UUID solverUserId, Instant createdFrom, Instant now, Instant leaseExpiresAt) {
+        List<Object> rows = repository.lockClaimable(createdFrom, now);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        UUID id = UuidBinary.fromColumn(rows.get(0));
+        repository.markClaimed(UuidBinary.toText(id), UuidBinary.toBytes(solverUserId), leaseExpiresAt);
+        return repository.findById(id).map(CaptchaChallengePersistenceAdapter::toView);
+    }
 
-        repository.save(e);
+    @Override
+    @Transactional
+    public boolean releaseClaim(UUID id, UUID solverUserId, Instant now) {
+        return repository.releaseClaim(id, solverUserId, now) == 1;
+    }
+
+    @Override
+    @Transactional
+    public Optional<String> consume(UUID id, Instant solvedAfter, Instant consumedAt) {
+        // O token não muda depois de SOLVED; quem conseguir o UPDATE condicional é o dono dele.
+        Optional<String> token = repository.findSolvedToken(id);
+        if (token.isEmpty() || repository.markConsumed(id, solvedAfter, consumedAt) != 1) {
+            return Optional.empty();
+        }
+        return token;
+    }
+
+    @Override
+    @Transactional
+    public int expirePending(Instant createdBefore, int limit) {
+        return repository.expireBatch(CaptchaChallengeStatus.PENDING.name(), createdBefore, limit);
+    }
+
+    @Override
+    @Transactional
+    public int expireSolved(Instant solvedBefore, int limit) {
+        return repository.expireBatch(CaptchaChallengeStatus.SOLVED.name(), solvedBefore, limit);
+    }
+
+    @Override
+    public List<CaptchaChallengeView> findOpenPage(CaptchaChallengeStatus status,
+                                                   Instant createdFrom,
+                                                   Instant solvedFrom,
+                                                   Instant now,
+                                                   Instant beforeCreatedAt,
+                                                   UUID beforeId,
+                                                   int limit) {
+        List<CaptchaChallengeJpaEntity> rows = (beforeCreatedAt == null || beforeId == null)
+                ? repository.findOpenFirstPage(status.name(), createdFrom, solvedFrom, now, Limit.of(limit))
+                : repository.findOpenPageAfter(status.name(), createdFrom, solvedFrom, now, beforeCreatedAt, beforeId, Limit.of(limit));
+        return rows.stream().map(CaptchaChallengePersistenceAdapter::toView).toList();
     }
 
     private static CaptchaChallengeView toView(CaptchaChallengeJpaEntity e) {
@@ -91,7 +148,10 @@ public class CaptchaChallengePersistenceAdapter implements CaptchaChallengeRepos
                 e.getContextKey(),
                 CaptchaChallengeStatus.valueOf(e.getStatus()),
                 e.getCreatedAt(),
-                e.getSolvedAt()
+                e.getSolvedAt(),
+                e.getCreatedByUserId(),
+                e.getClaimedByUserId(),
+                e.getClaimExpiresAt()
         );
     }
 }
@@ -1,8 +1,143 @@
 package br.com.hubinfo.captcha.adapter.out.persistence;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Repositório de captcha_challenges.
+ *
+ * Observação:
+ * - Todas as consultas de status começam pelo índice (status, created_at, id) da V030.
+ * - solved_at IS NULL cobre os PENDING: a mesma consulta da fila serve para PENDING e SOLVED.
+ * - Reserva (claim) ativa = claim_expires_at no futuro; a fila dos operadores não mostra reservados.
+ */
 public interface SpringDataCaptchaChallengeRepository extends JpaRepository<CaptchaChallengeJpaEntity, UUID> {
+
+    /**
+     * Reserva ativa de outro resolvedor bloqueia a solução (sem trabalho em dobro); a solução encerra a reserva.
+     */
+    @Modifying
+    @Query("""
+            update CaptchaChallengeJpaEntity e
+               set e.status = 'SOLVED', e.solutionToken = :token, e.solvedAt = :solvedAt, e.claimExpiresAt = null
+             where e.id = :id and e.status = 'PENDING' and e.createdAt >= :createdAfter
+               and (e.claimExpiresAt is null or e.claimExpiresAt <= :solvedAt or e.claimedByUserId = :solver)
+            """)
+    int markSolved(@Param("id") UUID id,
+                   @Param("solver") UUID solver,
+                   @Param("token") String token,
+                   @Param("solvedAt") Instant solvedAt,
+                   @Param("createdAfter") Instant createdAfter);
+
+    /**
+     * Seleciona e trava o PENDING livre mais antigo ainda dentro da janela. Linhas travadas por outro
+     * resolvedor são puladas (SKIP LOCKED): vários claims em paralelo não esperam uns pelos outros.
+     * Deve rodar dentro de transação (o lock vale até o commit).
+     */
+    @Query(value = """
+            SELECT id
+              FROM captcha_challenges
+             WHERE status = 'PENDING'
+               AND created_at >= :createdFrom
+               AND (claim_expires_at IS NULL OR claim_expires_at <= :now)
+             ORDER BY created_at, id
+             LIMIT 1
+             FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Object> lockClaimable(@Param("createdFrom") Instant createdFrom,
+                               @Param("now") Instant now);
+
+    /**
+     * id é o CHAR(36) da PK (fase de expansão da V026); claimed_by_user_id já nasceu BINARY(16) (V031).
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE captcha_challenges
+               SET claimed_by_user_id = :userId,
+                   claim_expires_at = :leaseExpiresAt
+             WHERE id = :id
+            """, nativeQuery = true)
+    int markClaimed(@Param("id") String id,
+                    @Param("userId") byte[] userId,
+                    @Param("leaseExpiresAt") Instant leaseExpiresAt);
+
+    @Modifying
+    @Query("""
+            update CaptchaChallengeJpaEntity e
+               set e.claimExpiresAt = null
+             where e.id = :id and e.claimedByUserId = :userId and e.status = 'PENDING' and e.claimExpiresAt > :now
+            """)
+    int releaseClaim(@Param("id") UUID id,
+                     @Param("userId") UUID userId,
+                     @Param("now") Instant now);
+
+    @Query("select e.solutionToken from CaptchaChallengeJpaEntity e where e.id = :id and e.status = 'SOLVED'")
+    Optional<String> findSolvedToken(@Param("id") UUID id);
+
+    @Modifying
+    @Query("""
+            update CaptchaChallengeJpaEntity e
+               set e.status = 'CONSUMED', e.solutionToken = null, e.consumedAt = :consumedAt
+             where e.id = :id and e.status = 'SOLVED' and e.solvedAt >= :solvedAfter
+            """)
+    int markConsumed(@Param("id") UUID id,
+                     @Param("solvedAfter") Instant solvedAfter,
+                     @Param("consumedAt") Instant consumedAt);
+
+    /**
+     * UPDATE ... ORDER BY ... LIMIT (extensão do MySQL): lote curto, percorrendo o índice de status.
+     *
+     * PENDING: criados antes de before. SOLVED: resolvidos antes de before; created_at < before vale
+     * sempre nesse caso (criado antes de resolvido) e só serve para limitar a faixa lida do índice.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE captcha_challenges
+               SET status = 'EXPIRED', solution_token = NULL
+             WHERE status = :status
+               AND created_at < :before
+               AND (solved_at IS NULL OR solved_at < :before)
+             ORDER BY created_at
+             LIMIT :limit
+            """, nativeQuery = true)
+    int expireBatch(@Param("status") String status,
+                    @Param("before") Instant before,
+                    @Param("limit") int limit);
+
+    @Query("""
+            select e from CaptchaChallengeJpaEntity e
+             where e.status = :status and e.createdAt >= :createdFrom
+               and (e.solvedAt is null or e.solvedAt >= :solvedFrom)
+               and (e.claimExpiresAt is null or e.claimExpiresAt <= :now)
+             order by e.createdAt desc, e.id desc
+            """)
+    List<CaptchaChallengeJpaEntity> findOpenFirstPage(@Param("status") String status,
+                                                      @Param("createdFrom") Instant createdFrom,
+                                                      @Param("solvedFrom") Instant solvedFrom,
+                                                      @Param("now") Instant now,
+                                                      Limit limit);
+
+    @Query("""
+            select e from CaptchaChallengeJpaEntity e
+             where e.status = :status and e.createdAt >= :createdFrom
+               and (e.solvedAt is null or e.solvedAt >= :solvedFrom)
+               and (e.claimExpiresAt is null or e.claimExpiresAt <= :now)
+               and (e.createdAt < :beforeCreatedAt or (e.createdAt = :beforeCreatedAt and e.id < :beforeId))
+             order by e.createdAt desc, e.id desc
+            """)
+    List<CaptchaChallengeJpaEntity> findOpenPageAfter(@Param("status") String status,
+                                                      @Param("createdFrom") Instant createdFrom,
+                                                      @Param("solvedFrom") Instant solvedFrom,
+                                                      @Param("now") Instant now,
+                                                      @Param("beforeCreatedAt") Instant beforeCreatedAt,
+                                                      @Param("beforeId") UUID beforeId,
+                                                      Limit limit);
 }
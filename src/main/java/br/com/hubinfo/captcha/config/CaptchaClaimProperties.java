@@ -0,0 +1,58 @@
+package br.com.hubinfo.captcha.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Reserva (claim) de desafios PENDING pelo pool de resolvedores.
+ *
+ * Exemplo no application.yml:
+ * hubinfo:
+ *   captcha:
+ *     claim:
+ *       lease: PT90S
+ *       min-remaining: PT30S
+ *       max-wait: PT30S
+ *       poll-interval: PT1S
+ *       max-waiters: 1000
+ *
+ * Observação:
+ * - min-remaining evita entregar desafio que vence (pending-ttl) antes de o resolvedor terminar:
+ *   o trabalho seria perdido e o desafio mais novo, que ainda dava tempo, ficaria esperando.
+ */
+@Component
+@ConfigurationProperties(prefix = "hubinfo.captcha.claim")
+public class CaptchaClaimProperties {
+
+    /** Tempo que o desafio fica reservado para o resolvedor; depois disso volta para o pool. */
+    private Duration lease = Duration.ofSeconds(90);
+
+    /** Prazo mínimo restante (até pending-ttl) para o desafio ainda ser entregue. */
+    private Duration minRemaining = Duration.ofSeconds(30);
+
+    /** Espera máxima do long-poll quando não há desafio livre (resposta 204 ao fim). */
+    private Duration maxWait = Duration.ofSeconds(30);
+
+    /** Releitura do banco enquanto há resolvedores esperando (desafios criados em outros nós). */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /** Resolvedores esperando ao mesmo tempo neste nó; acima disso a API responde 429. */
+    private int maxWaiters = 1000;
+
+    public Duration getLease() { return lease; }
+    public void setLease(Duration lease) { this.lease = lease; }
+
+    public Duration getMinRemaining() { return minRemaining; }
+    public void setMinRemaining(Duration minRemaining) { this.minRemaining = minRemaining; }
+
+    public Duration getMaxWait() { return maxWait; }
+    public void setMaxWait(Duration maxWait) { this.maxWait = maxWait; }
+
+    public Duration getPollInterval() { return pollInterval; }
+    public void setPollInterval(Duration pollInterval) { this.pollInterval = pollInterval; }
+
+    public int getMaxWaiters() { return maxWaiters; }
+    public void setMaxWaiters(int maxWaiters) { this.maxWaiters = maxWaiters; }
+}
@@ -0,0 +1,51 @@
+package br.com.hubinfo.captcha.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Prazos do ciclo de vida dos desafios de CAPTCHA e da varredura de expiração.
+ *
+ * Exemplo no application.yml:
+ * hubinfo:
+ *   captcha:
+ *     lifecycle:
+ *       pending-ttl: PT5M
+ *       solved-ttl: PT110S
+ *       sweep-interval: PT30S
+ *       sweep-batch-size: 500
+ *
+ * Observação:
+ * - O token do hCaptcha vale ~120s a partir da solução; solved-ttl fica um pouco abaixo para
+ *   a continuação não receber um token que vence no caminho até o portal.
+ */
+@Component
+@ConfigurationProperties(prefix = "hubinfo.captcha.lifecycle")
+public class CaptchaLifecycleProperties {
+
+    /** Tempo máximo em PENDING (a sessão do portal que gerou o desafio também expira). */
+    private Duration pendingTtl = Duration.ofMinutes(5);
+
+    /** Tempo máximo em SOLVED antes de o token ser considerado vencido. */
+    private Duration solvedTtl = Duration.ofSeconds(110);
+
+    /** Intervalo entre varreduras de expiração. */
+    private Duration sweepInterval = Duration.ofSeconds(30);
+
+    /** Linhas por UPDATE na varredura (transações curtas, sem travar a tabela). */
+    private int sweepBatchSize = 500;
+
+    public Duration getPendingTtl() { return pendingTtl; }
+    public void setPendingTtl(Duration pendingTtl) { this.pendingTtl = pendingTtl; }
+
+    public Duration getSolvedTtl() { return solvedTtl; }
+    public void setSolvedTtl(Duration solvedTtl) { this.solvedTtl = solvedTtl; }
+
+    public Duration getSweepInterval() { return sweepInterval; }
+    public void setSweepInterval(Duration sweepInterval) { this.sweepInterval = sweepInterval; }
+
+    public int getSweepBatchSize() { return sweepBatchSize; }
+    public void setSweepBatchSize(int sweepBatchSize) { this.sweepBatchSize = sweepBatchSize; }
+}
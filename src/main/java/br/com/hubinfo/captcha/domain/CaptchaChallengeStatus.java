@@ -3,15 +3,29 @@ package br.com.hubinfo.captcha.domain;
 /**
  * Status do desafio de CAPTCHA.
  *
+ * Ciclo de vida:
+ * <pre>
+ * PENDING ──solução──▶ SOLVED ──continuação usa o token──▶ CONSUMED
+ *    │                    │
+ *    └──── prazo ─────────┴──▶ EXPIRED
+ * </pre>
+ *
  * Regras:
  * - PENDING: desafio criado e aguardando solução do usuário.
  * - SOLVED: usuário enviou o token (h-captcha-response) e o sistema pode prosseguir.
- * - EXPIRED: desafio perdeu validade (ex.: usuário demorou, sessão expirou, reprocesso necessário).
- */
-/**
- * Status do desafio de CAPTCHA.
+ * - CONSUMED: o token foi entregue à continuação da coleta (uso único; o token é apagado).
+ * - EXPIRED: desafio perdeu validade (ninguém resolveu a tempo ou o token do hCaptcha venceu
+ *   antes de ser usado); o token, se houver, é apagado.
+ * - CONSUMED e EXPIRED são finais.
  */
 public enum CaptchaChallengeStatus {
     PENDING,
-    SOLVED
+    SOLVED,
+    CONSUMED,
+    EXPIRED;
+
+    /** true para os status que ainda podem avançar (aparecem na fila dos operadores). */
+    public boolean isOpen() {
+        return this == PENDING || this == SOLVED;
+    }
 }
@@ -4,6 +4,8 @@ import br.com.hubinfo.captcha.domain.CaptchaChallengeStatus;
 import br.com.hubinfo.service.domain.ServiceType;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -11,6 +13,12 @@ import java.util.UUID;
  *
  * Objetivo:
  * - A automação detecta hCaptcha → cria challenge → UI resolve → agente continua.
+ *
+ * Ciclo de vida: PENDING → SOLVED → CONSUMED, ou EXPIRED quando o prazo de PENDING/SOLVED passa
+ * (ver {@link br.com.hubinfo.captcha.config.CaptchaLifecycleProperties}).
+ *
+ * Pool de resolvedores: cada um pede o próximo desafio (claimNext) e recebe um PENDING reservado só
+ * para ele por um tempo (lease), sem dois resolvedores trabalhando no mesmo desafio.
  */
 public interface CaptchaChallengeService {
 
@@ -33,15 +41,59 @@ public interface CaptchaChallengeService {
 
     /**
      * Recebe o token resolvido pelo usuário (frontend).
+     *
+     * Regras:
+     * - Idempotente para desafios já SOLVED/CONSUMED (não sobrescreve o token).
+     * - Desafio EXPIRED, ou PENDING além do prazo, é recusado (IllegalArgumentException → 400).
+     * - Desafio reservado (lease ativo) para outro resolvedor também é recusado.
      */
     void submitSolution(UUID challengeId,
                         UUID solvedByUserId,
                         String solvedByEmail,
                         String solutionToken);
 
+    /**
+     * Entrega o token para a continuação da coleta (uso único): SOLVED → CONSUMED.
+     *
+     * @return vazio se o desafio não está SOLVED, se o token já venceu ou se outro consumidor chegou antes.
+     */
+    Optional<String> consumeSolution(UUID challengeId);
+
+    /**
+     * Reserva o próximo desafio para o resolvedor.
+     *
+     * Prioridade:
+     * - Mais antigo primeiro (é o que a coleta espera há mais tempo);
+     * - Mas só os que ainda têm min-remaining de prazo: os quase vencidos não valem o trabalho.
+     *
+     * @return vazio se não há desafio livre agora.
+     */
+    Optional<CaptchaClaim> claimNext(UUID solverUserId);
+
+    /**
+     * Devolve ao pool um desafio reservado pelo resolvedor (desistiu ou não conseguiu resolver).
+     * Idempotente: sem efeito se a reserva não é dele, já venceu ou o desafio foi resolvido.
+     */
+    void releaseClaim(UUID challengeId, UUID solverUserId);
+
+    /**
+     * Fila dos operadores: desafios abertos, ainda válidos e sem reserva ativa, do mais novo para o mais antigo.
+     *
+     * @param status PENDING (a resolver) ou SOLVED (aguardando a continuação).
+     * @param cursor token devolvido em {@link CaptchaChallengePage#nextCursor()}; null = primeira página.
+     */
+    CaptchaChallengePage listOpen(CaptchaChallengeStatus status, int limit, String cursor);
+
+    /**
+     * Varredura: PENDING e SOLVED fora do prazo viram EXPIRED, em lotes.
+     *
+     * @return quantidade de desafios expirados nesta rodada.
+     */
+    int expireStale();
+
     /**
      * View que o Controller expõe para o frontend.
-     * Mantemos alinhado ao Port para evitar mapeamento desnecessário.
+     * Alinhada ao Port, mais expiresAt (prazo do status atual; null nos status finais).
      */
     record CaptchaChallengeView(
             UUID id,
@@ -53,6 +105,17 @@ public interface CaptchaChallengeService {
             String contextKey,
             CaptchaChallengeStatus status,
             Instant createdAt,
-            Instant solvedAt
+            Instant solvedAt,
+            Instant expiresAt
     ) {}
+
+    /**
+     * @param nextCursor token para a próxima página; null quando não há mais itens.
+     */
+    record CaptchaChallengePage(List<CaptchaChallengeView> items, String nextCursor) {}
+
+    /**
+     * @param leaseExpiresAt até quando a reserva vale (nunca depois do prazo do desafio).
+     */
+    record CaptchaClaim(CaptchaChallengeView challenge, Instant leaseExpiresAt) {}
 }
@@ -2,14 +2,26 @@ package br.com.hubinfo.captcha.usecase.impl;
 
 import br.com.hubinfo.audit.domain.AuditEventType;
 import br.com.hubinfo.audit.usecase.AuditService;
+import br.com.hubinfo.captcha.config.CaptchaClaimProperties;
+import br.com.hubinfo.captcha.config.CaptchaLifecycleProperties;
 import br.com.hubinfo.captcha.domain.CaptchaChallengeStatus;
+import br.com.hubinfo.captcha.usecase.CaptchaChallengeCursor;
 import br.com.hubinfo.captcha.usecase.CaptchaChallengeService;
+import br.com.hubinfo.captcha.usecase.port.CaptchaChallengeAvailability;
 import br.com.hubinfo.captcha.usecase.port.CaptchaChallengeRepositoryPort;
+import br.com.hubinfo.captcha.usecase.port.CaptchaSolvedListener;
+import br.com.hubinfo.notification.domain.UserEvent;
+import br.com.hubinfo.notification.domain.UserEventType;
+import br.com.hubinfo.notification.usecase.port.UserEventPublisher;
 import br.com.hubinfo.service.domain.ServiceType;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -18,19 +30,49 @@ import java.util.UUID;
  * Responsabilidades:
  * - Expor leitura do desafio (para UI renderizar).
  * - Criar desafios quando um serviço detectar hCaptcha.
- * - Receber token resolvido (para o Agent prosseguir).
- * - Auditar criação/solução.
+ * - Receber token resolvido (para o Agent prosseguir) e entregá-lo uma única vez (consumo).
+ * - Expirar desafios fora do prazo e listar a fila dos operadores.
+ * - Reservar desafios para o pool de resolvedores e avisar quem espera quando surge um livre.
+ * - Auditar criação/solução e avisar quem criou o desafio (stream de eventos) quando ele é resolvido.
+ * - Avisar a continuação da coleta (CaptchaSolvedListener) assim que o desafio é resolvido.
+ *
+ * Prazos:
+ * - O prazo vale mesmo antes da varredura passar: PENDING antigo não aceita solução, SOLVED vencido
+ *   não é consumido e nenhum dos dois aparece na fila. A varredura só deixa o status do banco em dia.
  */
 @Service
 public class CaptchaChallengeServiceImpl implements CaptchaChallengeService {
 
+    static final int MAX_PAGE_SIZE = 100;
+
+    /** Teto de lotes por rodada; o que sobrar fica para a próxima (rodada curta mesmo com backlog). */
+    static final int MAX_SWEEP_BATCHES = 50;
+
     private final CaptchaChallengeRepositoryPort repository;
     private final AuditService auditService;
+    private final CaptchaLifecycleProperties lifecycle;
+    private final CaptchaClaimProperties claims;
+    private final UserEventPublisher events;
+    private final ObjectProvider<CaptchaChallengeAvailability> availability;
+    private final ObjectProvider<CaptchaSolvedListener> solvedListeners;
+    private final Clock clock;
 
     public CaptchaChallengeServiceImpl(CaptchaChallengeRepositoryPort repository,
-                                       AuditService auditService) {
+                                       AuditService auditService,
+                                       CaptchaLifecycleProperties lifecycle,
+                                       CaptchaClaimProperties claims,
+                                       UserEventPublisher events,
+                                       ObjectProvider<CaptchaChallengeAvailability> availability,
+                                       ObjectProvider<CaptchaSolvedListener> solvedListeners,
+                                       Clock clock) {
         this.repository = repository;
         this.auditService = auditService;
+        this.lifecycle = lifecycle;
+        this.claims = claims;
+        this.events = events;
+        this.availability = availability;
+        this.solvedListeners = solvedListeners;
+        this.clock = clock;
     }
 
     @Override
@@ -41,18 +83,7 @@ public class CaptchaChallengeServiceImpl implements CaptchaChallengeService {
                 new IllegalArgumentException("CaptchaChallenge não encontrado: " + id)
         );
 
-        return new CaptchaChallengeView(
-                view.id(),
-                view.serviceRequestId(),
-                view.cnpj(),
-                view.provider(),
-                view.siteKey(),
-                view.pageUrl(),
-                view.contextKey(),
-                view.status(),
-                view.createdAt(),
-                view.solvedAt()
-        );
+        return toView(view);
     }
 
     @Override
@@ -77,7 +108,7 @@ public class CaptchaChallengeServiceImpl implements CaptchaChallengeService {
         if (isBlank(pageUrl)) throw new IllegalArgumentException("pageUrl é obrigatório.");
         if (isBlank(contextKey)) throw new IllegalArgumentException("contextKey é obrigatório.");
 
-        Instant now = Instant.now();
+        Instant now = Instant.now(clock);
 
         UUID challengeId = repository.create(
                 serviceRequestId,
@@ -109,6 +140,7 @@ public class CaptchaChallengeServiceImpl implements CaptchaChallengeService {
                 )
         );
 
+        availability.ifAvailable(CaptchaChallengeAvailability::challengesAvailable);
         return challengeId;
     }
 
@@ -128,21 +160,31 @@ public class CaptchaChallengeServiceImpl implements CaptchaChallengeService {
                 new IllegalArgumentException("CaptchaChallenge não encontrado: " + challengeId)
         );
 
-        // 2) Idempotência: se já estiver resolvido, não sobrescreve token/solvedAt.
-        if (existing.status() == CaptchaChallengeStatus.SOLVED) {
+        // 2) Idempotência: se já estiver resolvido (ou consumido), não sobrescreve token/solvedAt.
+        if (existing.status() == CaptchaChallengeStatus.SOLVED || existing.status() == CaptchaChallengeStatus.CONSUMED) {
             return;
         }
-
-        // 3) Se estiver num status inesperado, melhor falhar explicitamente.
-        // (Ajuste se você tiver outros status além de PENDING/SOLVED)
-        if (existing.status() != CaptchaChallengeStatus.PENDING) {
-            throw new IllegalStateException(
-                    "Não é possível submeter solução. Status atual: " + existing.status()
-            );
+        if (existing.status() == CaptchaChallengeStatus.EXPIRED) {
+            throw new IllegalArgumentException("CaptchaChallenge expirado: " + challengeId);
         }
 
-        Instant solvedAt = Instant.now();
-        repository.markSolved(challengeId, solutionToken, solvedAt);
+        // 3) Transição condicional: perde para outra solução concorrente, para o prazo (varredura)
+        //    ou para a reserva de outro resolvedor.
+        Instant solvedAt = Instant.now(clock);
+        if (!repository.markSolved(challengeId, solvedByUserId, solutionToken, solvedAt,
+                solvedAt.minus(lifecycle.getPendingTtl()))) {
+            var current = repository.findById(challengeId).orElse(null);
+            if (current != null && (current.status() == CaptchaChallengeStatus.SOLVED
+                    || current.status() == CaptchaChallengeStatus.CONSUMED)) {
+                return;
+            }
+            if (current != null && current.status() == CaptchaChallengeStatus.PENDING
+                    && isClaimedByOther(current, solvedByUserId, solvedAt)
+                    && !solvedAt.isAfter(current.createdAt().plus(lifecycle.getPendingTtl()))) {
+                throw new IllegalArgumentException("CaptchaChallenge reservado para outro resolvedor: " + challengeId);
+            }
+            throw new IllegalArgumentException("CaptchaChallenge expirado: " + challengeId);
+        }
 
         auditService.record(
                 AuditEventType.CAPTCHA_CHALLENGE_SOLVED,
@@ -157,6 +199,146 @@ public class CaptchaChallengeServiceImpl implements CaptchaChallengeService {
                         "serviceRequestId", existing.serviceRequestId().toString()
                 )
         );
+
+        // O token vence em ~120s: a continuação sai antes do aviso ao usuário.
+        solvedListeners.orderedStream().forEach(listener ->
+                listener.challengeSolved(challengeId, existing.serviceRequestId(), solvedAt));
+
+        if (existing.createdByUserId() != null) {
+            events.publish(UserEvent.of(existing.createdByUserId(), UserEventType.CAPTCHA_CHALLENGE, challengeId,
+                    CaptchaChallengeStatus.SOLVED.name(), solvedAt));
+        }
+    }
+
+    @Override
+    public Optional<String> consumeSolution(UUID challengeId) {
+        if (challengeId == null) throw new IllegalArgumentException("challengeId é obrigatório.");
+
+        Instant now = Instant.now(clock);
+        return repository.consume(challengeId, now.minus(lifecycle.getSolvedTtl()), now);
+    }
+
+    @Override
+    public Optional<CaptchaClaim> claimNext(UUID solverUserId) {
+        if (solverUserId == null) throw new IllegalArgumentException("solverUserId é obrigatório.");
+
+        // Janela "ainda dá tempo" como faixa do índice (status, created_at): criados a partir de
+        // now - pending-ttl + min-remaining; dentro dela, o mais antigo primeiro.
+        Instant now = Instant.now(clock);
+        Instant createdFrom = now.minus(lifecycle.getPendingTtl()).plus(claims.getMinRemaining());
+        Instant leaseExpiresAt = now.plus(claims.getLease());
+
+        return repository.claimNext(solverUserId, createdFrom, now, leaseExpiresAt)
+                .map(claimed -> {
+                    CaptchaChallengeView view = toView(claimed);
+                    Instant until = view.expiresAt().isBefore(leaseExpiresAt) ? view.expiresAt() : leaseExpiresAt;
+                    return new CaptchaClaim(view, until);
+                });
+    }
+
+    @Override
+    public void releaseClaim(UUID challengeId, UUID solverUserId) {
+        if (challengeId == null) throw new IllegalArgumentException("challengeId é obrigatório.");
+        if (solverUserId == null) throw new IllegalArgumentException("solverUserId é obrigatório.");
+
+        if (repository.releaseClaim(challengeId, solverUserId, Instant.now(clock))) {
+            availability.ifAvailable(CaptchaChallengeAvailability::challengesAvailable);
+        }
+    }
+
+    @Override
+    public CaptchaChallengePage listOpen(CaptchaChallengeStatus status, int limit, String cursor) {
+        if (status == null || !status.isOpen()) {
+            throw new IllegalArgumentException("status deve ser PENDING ou SOLVED.");
+        }
+
+        int safeLimit = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        CaptchaChallengeCursor after = (cursor == null || cursor.isBlank()) ? null : CaptchaChallengeCursor.decode(cursor);
+
+        // Janela de validade como faixa do índice (status, created_at): um SOLVED pode ter sido
+        // criado até pending-ttl antes da solução.
+        Instant now = Instant.now(clock);
+        Instant solvedFrom = now.minus(lifecycle.getSolvedTtl());
+        Instant createdFrom = status == CaptchaChallengeStatus.PENDING
+                ? now.minus(lifecycle.getPendingTtl())
+                : solvedFrom.minus(lifecycle.getPendingTtl());
+
+        // Busca 1 a mais para saber se existe próxima página sem COUNT.
+        List<CaptchaChallengeRepositoryPort.CaptchaChallengeView> rows = repository.findOpenPage(
+                status,
+                createdFrom,
+                solvedFrom,
+                now,
+                after == null ? null : after.createdAt(),
+                after == null ? null : after.id(),
+                safeLimit + 1
+        );
+
+        List<CaptchaChallengeView> items = rows.stream()
+                .limit(safeLimit)
+                .map(this::toView)
+                .toList();
+        if (rows.size() <= safeLimit) {
+            return new CaptchaChallengePage(items, null);
+        }
+
+        CaptchaChallengeView last = items.get(items.size() - 1);
+        return new CaptchaChallengePage(items, new CaptchaChallengeCursor(last.createdAt(), last.id()).encode());
+    }
+
+    @Override
+    public int expireStale() {
+        Instant now = Instant.now(clock);
+        int batchSize = Math.max(1, lifecycle.getSweepBatchSize());
+
+        int expired = 0;
+        int batches = 0;
+        Instant pendingBefore = now.minus(lifecycle.getPendingTtl());
+        int updated;
+        do {
+            updated = repository.expirePending(pendingBefore, batchSize);
+            expired += updated;
+        } while (updated == batchSize && ++batches < MAX_SWEEP_BATCHES);
+
+        Instant solvedBefore = now.minus(lifecycle.getSolvedTtl());
+        do {
+            updated = repository.expireSolved(solvedBefore, batchSize);
+            expired += updated;
+        } while (updated == batchSize && ++batches < MAX_SWEEP_BATCHES);
+
+        return expired;
+    }
+
+    private CaptchaChallengeView toView(CaptchaChallengeRepositoryPort.CaptchaChallengeView view) {
+        return new CaptchaChallengeView(
+                view.id(),
+                view.serviceRequestId(),
+                view.cnpj(),
+                view.provider(),
+                view.siteKey(),
+                view.pageUrl(),
+                view.contextKey(),
+                view.status(),
+                view.createdAt(),
+                view.solvedAt(),
+                expiresAt(view)
+        );
+    }
+
+    private Instant expiresAt(CaptchaChallengeRepositoryPort.CaptchaChallengeView view) {
+        return switch (view.status()) {
+            case PENDING -> view.createdAt().plus(lifecycle.getPendingTtl());
+            case SOLVED -> view.solvedAt() == null ? null : view.solvedAt().plus(lifecycle.getSolvedTtl());
+            case CONSUMED, EXPIRED -> null;
+        };
+    }
+
+    private static boolean isClaimedByOther(CaptchaChallengeRepositoryPort.CaptchaChallengeView view,
+                                            UUID solverUserId,
+                                            Instant now) {
+        return view.claimExpiresAt() != null
+                && view.claimExpiresAt().isAfter(now)
+                && !solverUserId.equals(view.claimedByUserId());
     }
 
     private static boolean isBlank(String s) {
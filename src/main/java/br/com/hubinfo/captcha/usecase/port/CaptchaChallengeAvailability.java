@@ -0,0 +1,13 @@
+package br.com.hubinfo.captcha.usecase.port;
+
+/**
+ * Aviso de que pode haver desafio PENDING livre (criado ou devolvido ao pool).
+ *
+ * Observação:
+ * - Só acorda quem espera neste nó; os demais nós encontram o desafio na releitura periódica.
+ * - Opcional: sem implementação registrada, o serviço segue normalmente.
+ */
+public interface CaptchaChallengeAvailability {
+
+    void challengesAvailable();
+}
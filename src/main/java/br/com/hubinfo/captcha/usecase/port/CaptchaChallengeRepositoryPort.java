@@ -3,6 +3,7 @@ package br.com.hubinfo.captcha.usecase.port;
 import br.com.hubinfo.captcha.domain.CaptchaChallengeStatus;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,7 +13,10 @@ import java.util.UUID;
  * Contrato:
  * - findById: leitura para UI
  * - create: cria e persiste um desafio novo e retorna o ID
- * - markSolved: marca como resolvido com token e timestamp
+ * - markSolved / consume / expire*: transições de status condicionais (UPDATE ... WHERE status = ?),
+ *   seguras com vários nós e com a varredura de expiração rodando ao mesmo tempo
+ * - findOpenPage: fila dos operadores, keyset em (created_at DESC, id DESC)
+ * - claimNext / releaseClaim: reserva (lease) de um PENDING para um resolvedor do pool
  */
 public interface CaptchaChallengeRepositoryPort {
 
@@ -29,7 +33,59 @@ public interface CaptchaChallengeRepositoryPort {
                 CaptchaChallengeStatus status,
                 Instant createdAt);
 
-    void markSolved(UUID id, String solutionToken, Instant solvedAt);
+    /**
+     * PENDING → SOLVED, só se o desafio foi criado a partir de createdAfter (ainda válido) e não está
+     * reservado (lease ativo) para outro resolvedor.
+     *
+     * @return false se o desafio não estava PENDING, já tinha passado do prazo ou está com outro resolvedor.
+     */
+    boolean markSolved(UUID id, UUID solverUserId, String solutionToken, Instant solvedAt, Instant createdAfter);
+
+    /**
+     * Reserva, de forma atômica, o PENDING livre mais antigo criado a partir de createdFrom.
+     * Livre = sem reserva ou com reserva vencida em now. A reserva vale até leaseExpiresAt.
+     *
+     * @return o desafio reservado; vazio se não há nenhum livre.
+     */
+    Optional<CaptchaChallengeView> claimNext(UUID solverUserId, Instant createdFrom, Instant now, Instant leaseExpiresAt);
+
+    /**
+     * Devolve à fila um desafio reservado por solverUserId (reserva ainda ativa em now).
+     *
+     * @return false se a reserva não era dele, já venceu ou o desafio saiu de PENDING.
+     */
+    boolean releaseClaim(UUID id, UUID solverUserId, Instant now);
+
+    /**
+     * SOLVED → CONSUMED, só se resolvido a partir de solvedAfter; apaga o token do banco.
+     *
+     * @return o token, para quem ganhou a transição; vazio se outro já consumiu, se venceu ou se não existe.
+     */
+    Optional<String> consume(UUID id, Instant solvedAfter, Instant consumedAt);
+
+    /**
+     * PENDING criados antes de createdBefore → EXPIRED, no máximo limit linhas (mais antigos primeiro).
+     */
+    int expirePending(Instant createdBefore, int limit);
+
+    /**
+     * SOLVED resolvidos antes de solvedBefore → EXPIRED (token apagado), no máximo limit linhas.
+     */
+    int expireSolved(Instant solvedBefore, int limit);
+
+    /**
+     * Desafios no status, criados a partir de createdFrom e (se SOLVED) resolvidos a partir de solvedFrom,
+     * do mais novo para o mais antigo. Desafios com reserva ativa em now ficam de fora.
+     *
+     * @param beforeCreatedAt/beforeId posição do último item da página anterior; null = primeira página.
+     */
+    List<CaptchaChallengeView> findOpenPage(CaptchaChallengeStatus status,
+                                            Instant createdFrom,
+                                            Instant solvedFrom,
+                                            Instant now,
+                                            Instant beforeCreatedAt,
+                                            UUID beforeId,
+                                            int limit);
 
     /**
      * View retornada para Controller/UI.
@@ -45,6 +101,9 @@ public interface CaptchaChallengeRepositoryPort {
             String contextKey,
             CaptchaChallengeStatus status,
             Instant createdAt,
-            Instant solvedAt
+            Instant solvedAt,
+            UUID createdByUserId,
+            UUID claimedByUserId,
+            Instant claimExpiresAt
     ) {}
 }
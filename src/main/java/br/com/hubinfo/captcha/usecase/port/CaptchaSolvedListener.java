@@ -0,0 +1,17 @@
+package br.com.hubinfo.captcha.usecase.port;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Aviso de desafio resolvido (PENDING → SOLVED), para a coleta continuar enquanto o token vale.
+ *
+ * Observação:
+ * - Chamado uma vez, no nó que recebeu a solução; quem reage deve consumir o token
+ *   (CaptchaChallengeService.consumeSolution), que tem um único vencedor entre nós.
+ * - Opcional: sem implementação registrada, o desafio fica SOLVED até ser consumido ou expirar.
+ */
+public interface CaptchaSolvedListener {
+
+    void challengeSolved(UUID challengeId, UUID serviceRequestId, Instant solvedAt);
+}
@@ -0,0 +1,219 @@
+package br.com.hubinfo.cnpj.domain;
+
+/**
+ * CNPJ normalizado e validado (14 caracteres, dígitos verificadores conferidos).
+ *
+ * Formatos aceitos:
+ * - Numérico: "11.222.333/0001-81" ou "11222333000181".
+ * - Alfanumérico (Receita, a partir de 2026): 12 primeiros caracteres em [0-9A-Z] e 2 dígitos
+ *   verificadores numéricos, ex.: "12.ABC.345/01DE-35". Minúsculas são convertidas.
+ *
+ * Regras:
+ * - Máscara (".", "/", "-", espaços) é ignorada; qualquer outro símbolo invalida.
+ * - Dígitos verificadores por módulo 11 sobre o valor (código ASCII - 48) de cada caractere,
+ *   o que mantém o cálculo tradicional para CNPJs só numéricos.
+ * - Sequências repetidas (00000000000000, 11111111111111...) são inválidas.
+ *
+ * Por que existe:
+ * - Substitui as cópias de normalizeCnpj (replaceAll("\\D", "") compila regex a cada chamada)
+ *   e rejeita CNPJ inválido antes de gravar no banco ou chamar o portal.
+ * - validate() percorre a entrada uma vez e não aloca nada; parse() só cria a String final
+ *   (e nem isso quando a entrada já está normalizada).
+ */
+public record Cnpj(String value) {
+
+    public static final int LENGTH = 14;
+
+    private static final int[] DV1_WEIGHTS = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+    private static final int[] DV2_WEIGHTS = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+
+    /**
+     * Resultado da validação (motivo da rejeição quando não é VALID).
+     */
+    public enum Validation {
+        VALID,
+        MISSING,
+        INVALID_CHARACTERS,
+        INVALID_LENGTH,
+        INVALID_CHECK_DIGITS
+    }
+
+    /**
+     * Construtor canônico: exige o valor já normalizado (use parse() para entrada do usuário).
+     */
+    public Cnpj {
+        if (value == null || value.length() != LENGTH || validate(value) != Validation.VALID) {
+            throw new IllegalArgumentException("CNPJ inválido.");
+        }
+    }
+
+    /**
+     * Normaliza e valida a entrada do usuário.
+     *
+     * @throws IllegalArgumentException com a mensagem do motivo (400 no ApiExceptionHandler).
+     */
+    public static Cnpj parse(CharSequence raw) {
+        Validation validation = validate(raw);
+        if (validation != Validation.VALID) {
+            throw new IllegalArgumentException(message(validation));
+        }
+        return new Cnpj(normalized(raw));
+    }
+
+    /**
+     * Valida sem alocar (uma passada sobre os caracteres).
+     */
+    public static Validation validate(CharSequence raw) {
+        if (raw == null) {
+            return Validation.MISSING;
+        }
+
+        int pos = 0;
+        int sum1 = 0;
+        int sum2 = 0;
+        int first = -1;
+        boolean allSame = true;
+        boolean checkDigitsOk = true;
+
+        for (int i = 0; i < raw.length(); i++) {
+            int v = valueOf(raw.charAt(i));
+            if (v == SKIP) {
+                continue;
+            }
+            if (v == INVALID) {
+                return Validation.INVALID_CHARACTERS;
+            }
+            if (pos >= LENGTH) {
+                return Validation.INVALID_LENGTH;
+            }
+
+            if (pos < 12) {
+                sum1 += v * DV1_WEIGHTS[pos];
+                sum2 += v * DV2_WEIGHTS[pos];
+            } else {
+                // Dígitos verificadores são sempre numéricos.
+                if (v > 9) {
+                    return Validation.INVALID_CHARACTERS;
+                }
+                if (pos == 12) {
+                    checkDigitsOk = v == checkDigit(sum1);
+                    sum2 += v * DV2_WEIGHTS[12];
+                } else {
+                    checkDigitsOk &= v == checkDigit(sum2);
+                }
+            }
+
+            if (first < 0) {
+                first = v;
+            } else if (v != first) {
+                allSame = false;
+            }
+            pos++;
+        }
+
+        if (pos == 0) {
+            return Validation.MISSING;
+        }
+        if (pos != LENGTH) {
+            return Validation.INVALID_LENGTH;
+        }
+        return checkDigitsOk && !allSame ? Validation.VALID : Validation.INVALID_CHECK_DIGITS;
+    }
+
+    public static boolean isValid(CharSequence raw) {
+        return validate(raw) == Validation.VALID;
+    }
+
+    /**
+     * Mensagem de erro (pt-BR) para o motivo da rejeição.
+     */
+    public static String message(Validation validation) {
+        return switch (validation) {
+            case VALID -> "CNPJ válido.";
+            case MISSING -> "CNPJ é obrigatório.";
+            case INVALID_CHARACTERS -> "CNPJ inválido. Use apenas números e letras (A-Z), com ou sem máscara.";
+            case INVALID_LENGTH -> "CNPJ inválido. Deve conter 14 caracteres.";
+            case INVALID_CHECK_DIGITS -> "CNPJ inválido. Dígitos verificadores não conferem.";
+        };
+    }
+
+    /**
+     * true para o formato alfanumérico (alguma letra na raiz/ordem).
+     */
+    public boolean isAlphanumeric() {
+        for (int i = 0; i < 12; i++) {
+            if (value.charAt(i) > '9') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Com máscara: 11.222.333/0001-81.
+     */
+    public String formatted() {
+        return value.substring(0, 2) + '.' + value.substring(2, 5) + '.' + value.substring(5, 8)
+                + '/' + value.substring(8, 12) + '-' + value.substring(12);
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+    private static final int SKIP = -1;
+    private static final int INVALID = -2;
+
+    /**
+     * Valor do caractere para o módulo 11 (ASCII - 48), SKIP para máscara, INVALID para o resto.
+     */
+    private static int valueOf(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 'A' - '0';
+        }
+        if (c == '.' || c == '/' || c == '-' || c == ' ' || c == '\t') {
+            return SKIP;
+        }
+        return INVALID;
+    }
+
+    private static int checkDigit(int sum) {
+        int mod = sum % 11;
+        return mod < 2 ? 0 : 11 - mod;
+    }
+
+    /**
+     * Forma normalizada de uma entrada já validada (reaproveita a String se já estiver normalizada).
+     */
+    private static String normalized(CharSequence raw) {
+        if (raw instanceof String s && s.length() == LENGTH && isCanonical(s)) {
+            return s;
+        }
+        char[] out = new char[LENGTH];
+        int pos = 0;
+        for (int i = 0; i < raw.length(); i++) {
+            int v = valueOf(raw.charAt(i));
+            if (v >= 0) {
+                out[pos++] = (char) (v + '0');
+            }
+        }
+        return new String(out);
+    }
+
+    private static boolean isCanonical(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(c >= 'A' && c <= 'Z')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
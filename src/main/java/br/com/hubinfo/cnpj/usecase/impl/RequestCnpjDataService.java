@@ -4,13 +4,18 @@ import br.com.hubinfo.audit.domain.AuditEventType;
 import br.com.hubinfo.audit.usecase.AuditService;
 import br.com.hubinfo.captcha.config.HcaptchaChallengeResolver;
 import br.com.hubinfo.captcha.usecase.CaptchaChallengeService;
+import br.com.hubinfo.cnpj.domain.Cnpj;
 import br.com.hubinfo.cnpj.usecase.RequestCnpjDataUseCase;
 import br.com.hubinfo.service.domain.ServiceRequestStatus;
 import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.CoalescedResult;
+import br.com.hubinfo.service.usecase.CoalescingKey;
 import br.com.hubinfo.service.usecase.ServiceRequestRegister;
+import br.com.hubinfo.service.usecase.SingleFlight;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 
@@ -20,6 +25,10 @@ import java.util.UUID;
  * Commit 16:
  * - registra a ServiceRequest
  * - cria CaptchaChallenge (hCaptcha) e devolve captchaChallengeId
+ *
+ * Coalescência:
+ * - Solicitações simultâneas do mesmo serviço/CNPJ recebem o mesmo desafio de captcha da primeira
+ *   (uma única resolução e consulta ao portal); cada uma tem a própria ServiceRequest, ligada à líder.
  */
 @Service
 public class RequestCnpjDataService implements RequestCnpjDataUseCase {
@@ -28,24 +37,53 @@ public class RequestCnpjDataService implements RequestCnpjDataUseCase {
     private final CaptchaChallengeService captchaChallengeService;
     private final HcaptchaChallengeResolver hcaptchaResolver;
     private final AuditService auditService;
+    private final SingleFlight<CoalescingKey, CoalescedResult<UUID>> challengeFlights;
 
     public RequestCnpjDataService(ServiceRequestRegister serviceRequestRegister,
                                   CaptchaChallengeService captchaChallengeService,
                                   HcaptchaChallengeResolver hcaptchaResolver,
-                                  AuditService auditService) {
+                                  AuditService auditService,
+                                  SingleFlight<CoalescingKey, CoalescedResult<UUID>> challengeFlights) {
         this.serviceRequestRegister = serviceRequestRegister;
         this.captchaChallengeService = captchaChallengeService;
         this.hcaptchaResolver = hcaptchaResolver;
         this.auditService = auditService;
+        this.challengeFlights = challengeFlights;
     }
 
     @Override
     public Result request(UUID actorUserId, String actorEmail, String cnpj) {
-        String cnpjDigits = normalizeCnpj(cnpj);
+        String cnpjDigits = Cnpj.parse(cnpj).value();
 
         ServiceType type = ServiceType.CNPJ_DADOS_CADASTRAIS;
         Instant now = Instant.now();
 
+        // Quem chega enquanto o desafio está sendo criado o reaproveita; depois disso, cada uma cria o seu.
+        var flight = challengeFlights.execute(new CoalescingKey(type, cnpjDigits), () -> {
+            UUID leaderId = register(type, actorUserId, actorEmail, cnpjDigits, now, null);
+            return new CoalescedResult<>(leaderId, createChallenge(type, actorUserId, actorEmail, cnpjDigits, leaderId));
+        });
+
+        CoalescedResult<UUID> shared = flight.value();
+        UUID requestId = flight.leader()
+                ? shared.leaderRequestId()
+                : register(type, actorUserId, actorEmail, cnpjDigits, now, shared.leaderRequestId());
+
+        return new Result(requestId, type, ServiceRequestStatus.CAPTCHA_REQUIRED, now, shared.value());
+    }
+
+    /**
+     * Registra a ServiceRequest e audita a criação.
+     *
+     * @param coalescedWith solicitação líder cujo desafio esta reaproveita (null = nenhuma).
+     */
+    private UUID register(ServiceType type,
+                          UUID actorUserId,
+                          String actorEmail,
+                          String cnpjDigits,
+                          Instant now,
+                          UUID coalescedWith) {
+
         // 1) Registra a ServiceRequest
         UUID requestId = serviceRequestRegister.register(
                 actorUserId,
@@ -53,10 +91,18 @@ public class RequestCnpjDataService implements RequestCnpjDataUseCase {
                 type,
                 Map.of("cnpj", cnpjDigits),
                 ServiceRequestStatus.CAPTCHA_REQUIRED,
-                now
+                now,
+                coalescedWith
         );
 
         // 2) Auditoria
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("serviceType", type.name());
+        details.put("cnpj", cnpjDigits);
+        if (coalescedWith != null) {
+            details.put("coalescedWith", coalescedWith.toString());
+        }
+
         auditService.record(
                 AuditEventType.SERVICE_REQUEST_CREATED,
                 actorUserId,
@@ -64,13 +110,21 @@ public class RequestCnpjDataService implements RequestCnpjDataUseCase {
                 true,
                 "SERVICE_REQUEST",
                 requestId,
-                Map.of(
-                        "serviceType", type.name(),
-                        "cnpj", cnpjDigits
-                )
+                details
         );
 
-        // 3) Cria o CaptchaChallenge (obrigatório no CNPJReva)
+        return requestId;
+    }
+
+    /**
+     * 3) Cria o CaptchaChallenge (obrigatório no CNPJReva).
+     */
+    private UUID createChallenge(ServiceType type,
+                                 UUID actorUserId,
+                                 String actorEmail,
+                                 String cnpjDigits,
+                                 UUID requestId) {
+
         var challengeCfg = hcaptchaResolver.getOrNull(type);
         if (challengeCfg == null) {
             throw new IllegalStateException("Config de hCaptcha não encontrada para: " + type);
@@ -83,7 +137,7 @@ public class RequestCnpjDataService implements RequestCnpjDataUseCase {
             );
         }
 
-        UUID captchaChallengeId = captchaChallengeService.createForServiceRequest(
+        return captchaChallengeService.createForServiceRequest(
                 actorUserId,
                 actorEmail,
                 type,
@@ -94,18 +148,6 @@ public class RequestCnpjDataService implements RequestCnpjDataUseCase {
                 challengeCfg.pageUrl(),
                 challengeCfg.contextKey()
         );
-
-        return new Result(requestId, type, ServiceRequestStatus.CAPTCHA_REQUIRED, now, captchaChallengeId);
-    }
-
-    private static String normalizeCnpj(String cnpj) {
-        if (cnpj == null) throw new IllegalArgumentException("CNPJ é obrigatório.");
-
-        String digits = cnpj.replaceAll("\\D", "");
-        if (digits.length() != 14) {
-            throw new IllegalArgumentException("CNPJ inválido. Esperado 14 dígitos. Recebido: " + digits.length());
-        }
-        return digits;
     }
 
     private static boolean isBlank(String s) {
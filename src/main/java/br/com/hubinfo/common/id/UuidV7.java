@@ -0,0 +1,69 @@
+package br.com.hubinfo.common.id;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerador de UUID versão 7 (RFC 9562): 48 bits de timestamp em ms + 74 bits aleatórios.
+ *
+ * Por que existe:
+ * - IDs v4 (UUID.randomUUID) são aleatórios: cada INSERT cai numa página qualquer do índice
+ *   clusterizado do InnoDB (fragmentação, page splits, buffer pool frio).
+ * - v7 cresce com o tempo: as inserções vão para o fim do índice, como um auto-incremento,
+ *   sem perder a geração descentralizada nem expor um contador global.
+ *
+ * Regras:
+ * - Monotônico no processo: no mesmo ms, os 12 bits "rand_a" viram contador (método 3 da RFC);
+ *   se o contador estourar ou o relógio voltar, avança o ms lógico em vez de repetir/regredir.
+ * - Os 62 bits finais vêm de SecureRandom (mesma fonte do UUID.randomUUID).
+ * - Sem synchronized: apenas CAS (threads virtuais).
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // (ms << 12) | contador do último ID gerado.
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        return next(System.currentTimeMillis());
+    }
+
+    static UUID next(long nowMillis) {
+        long state;
+        while (true) {
+            long last = LAST.get();
+            long candidate = nowMillis << 12;
+            if (candidate <= last) {
+                candidate = last + 1;
+            }
+            if (LAST.compareAndSet(last, candidate)) {
+                state = candidate;
+                break;
+            }
+        }
+
+        long millis = state >>> 12;
+        long counter = state & 0xFFFL;
+        long msb = (millis << 16) | 0x7000L | counter;
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Instante (ms) embutido em um UUID v7.
+     *
+     * @throws IllegalArgumentException se não for versão 7.
+     */
+    public static Instant timestamp(UUID id) {
+        if (id.version() != 7) {
+            throw new IllegalArgumentException("UUID não é versão 7: " + id);
+        }
+        return Instant.ofEpochMilli(id.getMostSignificantBits() >>> 16);
+    }
+}
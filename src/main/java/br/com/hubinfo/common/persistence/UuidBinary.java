@@ -0,0 +1,109 @@
+package br.com.hubinfo.common.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.UUID;
+
+/**
+ * Conversão de UUID para colunas BINARY(16) nos adapters JDBC e nas entidades JPA.
+ *
+ * Layout:
+ * - Os 16 bytes na ordem do texto (big-endian), igual a UNHEX(REPLACE(id, '-', '')) do backfill.
+ *   Assim a ordem dos bytes no índice é a mesma do texto e o UUID v7 fica em ordem de criação.
+ *
+ * Fase de expansão (V026 até o contract, ver UuidBinaryBackfill):
+ * - Cada coluna UUID anterior à V026 tem a irmã *_bin. Gravação nas duas: texto via toText()/bindText(),
+ *   binária via toBytes()/bind(). Colunas criadas depois (refresh_tokens, claimed_by_user_id) já são só BINARY(16).
+ * - Leitura binário-ou-texto: SELECT COALESCE(col_bin, col) devolve os 16 bytes ou, em linha ainda não
+ *   preenchida, o CHAR(36) como bytes ASCII; fromColumn()/read() aceitam os dois. Nas entidades, orText().
+ * - Filtros, joins e PKs continuam no CHAR(36) (a coluna binária pode estar vazia até o backfill terminar).
+ */
+public final class UuidBinary {
+
+    public static final int LENGTH = 16;
+
+    private UuidBinary() {
+    }
+
+    public static byte[] toBytes(UUID id) {
+        if (id == null) {
+            return null;
+        }
+        return ByteBuffer.allocate(LENGTH)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    public static UUID fromBytes(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (bytes.length != LENGTH) {
+            throw new IllegalArgumentException("UUID binário deve ter 16 bytes. Recebido: " + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Converte o valor lido da coluna (BINARY(16) ou CHAR(36)).
+     */
+    public static UUID fromColumn(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof UUID uuid) {
+            return uuid;
+        }
+        if (value instanceof byte[] bytes) {
+            // CHAR(36) chega como bytes ASCII em COALESCE(col_bin, col) (resultado binário).
+            return bytes.length == LENGTH
+                    ? fromBytes(bytes)
+                    : UUID.fromString(new String(bytes, StandardCharsets.US_ASCII));
+        }
+        return UUID.fromString(value.toString());
+    }
+
+    /**
+     * Valor da coluna *_bin quando preenchida, senão o da coluna CHAR(36) (linha gravada antes da V026).
+     */
+    public static UUID orText(byte[] binary, UUID text) {
+        return binary == null ? text : fromBytes(binary);
+    }
+
+    public static String toText(UUID id) {
+        return id == null ? null : id.toString();
+    }
+
+    public static UUID read(ResultSet rs, String column) throws SQLException {
+        return fromColumn(rs.getObject(column));
+    }
+
+    public static UUID read(ResultSet rs, int column) throws SQLException {
+        return fromColumn(rs.getObject(column));
+    }
+
+    public static void bind(PreparedStatement ps, int index, UUID id) throws SQLException {
+        if (id == null) {
+            ps.setNull(index, Types.BINARY);
+        } else {
+            ps.setBytes(index, toBytes(id));
+        }
+    }
+
+    /**
+     * Coluna CHAR(36) (gravação da fase de expansão e filtros/joins até o contract).
+     */
+    public static void bindText(PreparedStatement ps, int index, UUID id) throws SQLException {
+        if (id == null) {
+            ps.setNull(index, Types.CHAR);
+        } else {
+            ps.setString(index, id.toString());
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package br.com.hubinfo.common.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Backfill das colunas UUID *_bin criadas pela V026 (etapa 2 de expand / backfill / contract).
+ *
+ * Fluxo (fixed delay, um nó por vez via GET_LOCK):
+ * 1) Percorre cada tabela por faixas da PK: acha o limite da faixa (SELECT pk ... LIMIT 1 OFFSET batch-size - 1)
+ *    e preenche *_bin = UNHEX(REPLACE(col, '-', '')) só nas linhas da faixa ainda sem a cópia binária.
+ * 2) No fim da passada confere se sobrou linha sem *_bin (gravada por um nó da versão anterior atrás do
+ *    cursor, durante o rolling deploy). Sobrou: nova passada. Não sobrou: tabela concluída.
+ * 3) Com todas as tabelas concluídas, registra no log que o contract pode ser aplicado e para.
+ *
+ * Regras:
+ * - Cada lote é um UPDATE em autocommit: transações curtas, locks só na faixa do lote.
+ * - Até batches-per-run lotes por rodada: a thread de agendamento é compartilhada com os demais jobs.
+ * - Cursor e tabelas concluídas ficam em memória: após restart a passada recomeça, mas as faixas já
+ *   preenchidas não têm linha a atualizar.
+ * - Falha não derruba a aplicação: o lote é refeito na próxima rodada.
+ */
+@Component
+@ConditionalOnProperty(prefix = "hubinfo.persistence.uuid-backfill", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UuidBinaryBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(UuidBinaryBackfill.class);
+
+    private static final String LOCK_NAME = "hubinfo.persistence.uuid-backfill";
+
+    /** Colunas UUID anteriores à V026, por tabela (key = coluna de keyset, sempre a PK ou seu prefixo). */
+    static final List<Target> TARGETS = List.of(
+            new Target("users", "id", List.of("id")),
+            new Target("service_request_batches", "id", List.of("id", "requested_by_user_id")),
+            new Target("service_requests", "id",
+                    List.of("id", "requested_by_user_id", "coalesced_with_request_id", "batch_id")),
+            new Target("service_request_jobs", "service_request_id", List.of("service_request_id")),
+            new Target("captcha_challenges", "id", List.of("id", "service_request_id", "created_by_user_id")),
+            new Target("cnd_certificate_cache", "cnpj", List.of("source_request_id")),
+            new Target("audit_events", "id", List.of("id", "actor_user_id", "target_id"))
+    );
+
+    private final JdbcTemplate jdbc;
+    private final UuidBinaryBackfillProperties properties;
+
+    private final Map<String, String> cursors = new ConcurrentHashMap<>();
+    private final Set<String> done = ConcurrentHashMap.newKeySet();
+
+    public UuidBinaryBackfill(JdbcTemplate jdbc, UuidBinaryBackfillProperties properties) {
+        this.jdbc = jdbc;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${hubinfo.persistence.uuid-backfill.interval:PT1S}")
+    public void run() {
+        if (isComplete()) {
+            return;
+        }
+        try {
+            withLock(() -> runBatches(properties.getBatchesPerRun()));
+        } catch (DataAccessException ex) {
+            log.warn("Backfill de UUID binário falhou; nova tentativa na próxima rodada.", ex);
+        }
+    }
+
+    /**
+     * Executa até maxBatches lotes, na ordem de TARGETS.
+     *
+     * @return linhas preenchidas.
+     */
+    int runBatches(int maxBatches) {
+        int updated = 0;
+        int batches = 0;
+        for (Target target : TARGETS) {
+            while (batches < maxBatches && !done.contains(target.table())) {
+                updated += step(target);
+                batches++;
+            }
+        }
+        if (isComplete()) {
+            log.info("Backfill de UUID binário concluído; o contract (db/contract/uuid_binary_contract.sql) pode ser aplicado.");
+        }
+        return updated;
+    }
+
+    boolean isComplete() {
+        return done.size() == TARGETS.size();
+    }
+
+    private int step(Target target) {
+        String after = cursors.getOrDefault(target.table(), "");
+        List<String> upper = jdbc.queryForList(
+                "SELECT " + target.key() + " FROM " + target.table()
+                        + " WHERE " + target.key() + " > ? ORDER BY " + target.key() + " LIMIT 1 OFFSET ?",
+                String.class, after, properties.getBatchSize() - 1);
+
+        if (!upper.isEmpty()) {
+            int n = jdbc.update(target.updateSql() + " AND " + target.key() + " <= ?", after, upper.get(0));
+            cursors.put(target.table(), upper.get(0));
+            return n;
+        }
+
+        // Última faixa (aberta) da passada.
+        int n = jdbc.update(target.updateSql(), after);
+        cursors.remove(target.table());
+        Boolean pending = jdbc.queryForObject(
+                "SELECT EXISTS(SELECT 1 FROM " + target.table() + " WHERE " + target.pending() + ")", Boolean.class);
+        if (!Boolean.TRUE.equals(pending)) {
+            done.add(target.table());
+            log.info("Backfill de UUID binário: {} concluída.", target.table());
+        }
+        return n;
+    }
+
+    /**
+     * Mesmo padrão do AuditPartitionJdbcAdapter: GET_LOCK sem espera, lock da sessão (conexão presa até o fim).
+     */
+    private void withLock(Runnable task) {
+        jdbc.execute((ConnectionCallback<Void>) con -> {
+            if (!lock(con.prepareStatement("SELECT GET_LOCK(?, 0)"))) {
+                return null;
+            }
+            try {
+                task.run();
+            } finally {
+                lock(con.prepareStatement("SELECT RELEASE_LOCK(?)"));
+            }
+            return null;
+        });
+    }
+
+    private static boolean lock(PreparedStatement ps) throws SQLException {
+        try (ps) {
+            ps.setString(1, LOCK_NAME);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    /**
+     * Tabela e colunas de texto; a cópia binária de cada coluna é col + "_bin".
+     */
+    record Target(String table, String key, List<String> columns) {
+
+        /** Linha com alguma coluna de texto preenchida e a cópia binária vazia. */
+        String pending() {
+            return columns.stream()
+                    .map(c -> "(" + c + "_bin IS NULL AND " + c + " IS NOT NULL)")
+                    .collect(Collectors.joining(" OR ", "(", ")"));
+        }
+
+        /** UPDATE da faixa aberta (key > ?); o lote fechado acrescenta "AND key <= ?". */
+        String updateSql() {
+            String set = columns.stream()
+                    .map(c -> c + "_bin = UNHEX(REPLACE(" + c + ", '-', ''))")
+                    .collect(Collectors.joining(", "));
+            return "UPDATE " + table + " SET " + set + " WHERE " + pending() + " AND " + key + " > ?";
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.hubinfo.common.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propriedades do backfill das colunas UUID *_bin (V026).
+ *
+ * Exemplo no application.yml:
+ * hubinfo:
+ *   persistence:
+ *     uuid-backfill:
+ *       enabled: true
+ *       batch-size: 1000
+ *       batches-per-run: 5
+ *       interval: PT1S
+ */
+@Component
+@ConfigurationProperties(prefix = "hubinfo.persistence.uuid-backfill")
+public class UuidBinaryBackfillProperties {
+
+    private boolean enabled = true;
+
+    /** Linhas (faixa de PK) por UPDATE: cada lote é uma transação curta. */
+    private int batchSize = 1000;
+
+    /** Lotes por rodada: a thread de agendamento é compartilhada, então cada rodada dura pouco. */
+    private int batchesPerRun = 5;
+
+    /** Pausa entre rodadas (fixed delay). */
+    private Duration interval = Duration.ofSeconds(1);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public int getBatchesPerRun() { return batchesPerRun; }
+    public void setBatchesPerRun(int batchesPerRun) { this.batchesPerRun = batchesPerRun; }
+
+    public Duration getInterval() { return interval; }
+    public void setInterval(Duration interval) { this.interval = interval; }
+}
@@ -0,0 +1,199 @@
+package br.com.hubinfo.common.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Limitador local que gasta permissões arrendadas (lease) de um orçamento compartilhado.
+ *
+ * Como funciona:
+ * - O nó retira lotes de até leaseSize permissões do orçamento (ex.: tabela no MySQL) e os gasta
+ *   localmente com CAS num contador: a aquisição não toca o banco (sub-microssegundo).
+ * - Quando o lote chega à metade, um novo é buscado em segundo plano (virtual thread), um por vez.
+ * - Lote vale até leaseTtl: permissão não usada expira em vez de virar rajada mais tarde.
+ * - Orçamento vazio: novas buscas só depois de emptyBackoff (o banco não vira gargalo).
+ *
+ * Observação:
+ * - Permissão arrendada e não usada é perdida (nunca devolvida): o erro é sempre para menos.
+ * - Falha ao buscar o lote conta como orçamento vazio (fecha, não abre).
+ */
+public final class LeasedRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(LeasedRateLimiter.class);
+
+    /**
+     * Origem do orçamento compartilhado.
+     */
+    @FunctionalInterface
+    public interface BudgetSource {
+
+        /**
+         * @return permissões concedidas (0..requested).
+         */
+        int lease(int requested);
+    }
+
+    private final String name;
+    private final BudgetSource source;
+    private final int leaseSize;
+    private final long leaseTtlNanos;
+    private final long emptyBackoffNanos;
+
+    private final AtomicReference<Lease> current = new AtomicReference<>(Lease.EMPTY);
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final AtomicLong nextRefillAt;
+
+    public LeasedRateLimiter(String name, BudgetSource source, int leaseSize, Duration leaseTtl, Duration emptyBackoff) {
+        if (leaseSize < 1) throw new IllegalArgumentException("leaseSize deve ser maior que zero.");
+        this.name = name;
+        this.source = source;
+        this.leaseSize = leaseSize;
+        this.leaseTtlNanos = leaseTtl.toNanos();
+        this.emptyBackoffNanos = emptyBackoff.toNanos();
+        this.nextRefillAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Só o caminho rápido: sem espera e sem ir ao banco na thread de quem chamou.
+     */
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        Lease lease = current.get();
+        int left = lease.take(now);
+        if (left < 0) {
+            refillInBackground(now, lease);
+            return false;
+        }
+        if (left <= leaseSize / 2) {
+            refillInBackground(now, lease);
+        }
+        return true;
+    }
+
+    /**
+     * Espera por uma permissão até maxWait. Sem lote disponível, quem ganhar a vez busca o lote
+     * na própria thread (virtual) e os demais aguardam.
+     */
+    public boolean tryAcquire(Duration maxWait) throws InterruptedException {
+        if (tryAcquire()) {
+            return true;
+        }
+
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (true) {
+            long now = System.nanoTime();
+            Lease seen = current.get();
+            if (seen.take(now) >= 0) {
+                return true;
+            }
+            if (now - deadline >= 0) {
+                return false;
+            }
+            if (!refill(now, seen)) {
+                long wait = Math.min(deadline - now, Math.max(1_000_000L, nextRefillAt.get() - now));
+                LockSupport.parkNanos(this, wait);
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Permissões locais ainda disponíveis (métrica).
+     */
+    public int available() {
+        return Math.max(0, current.get().remaining(System.nanoTime()));
+    }
+
+    private void refillInBackground(long now, Lease seen) {
+        if (now - nextRefillAt.get() < 0 || refilling.get()) {
+            return;
+        }
+        Thread.ofVirtual().name("rate-lease-" + name).start(() -> refill(System.nanoTime(), seen));
+    }
+
+    /**
+     * @param seen lote que motivou a busca; se outro já foi instalado depois dele, nada é buscado.
+     * @return true se esta chamada buscou um lote (com ou sem sucesso) ou encontrou um mais novo.
+     */
+    private boolean refill(long now, Lease seen) {
+        if (now - nextRefillAt.get() < 0 || !refilling.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            // Outra busca terminou entre a leitura de "seen" e a vaga: não retira do orçamento de novo.
+            if (current.get() != seen) {
+                return true;
+            }
+
+            int granted;
+            try {
+                granted = source.lease(leaseSize);
+            } catch (RuntimeException ex) {
+                log.warn("Falha ao arrendar permissões de {}: {}", name, ex.toString());
+                granted = 0;
+            }
+
+            long after = System.nanoTime();
+            if (granted <= 0) {
+                nextRefillAt.set(after + emptyBackoffNanos);
+                return true;
+            }
+
+            // Sobra do lote anterior (no máximo meio lote) segue valendo no novo.
+            int leftover = Math.max(0, current.get().drain(after));
+            current.set(new Lease(after + leaseTtlNanos, granted + leftover));
+            return true;
+        } finally {
+            refilling.set(false);
+        }
+    }
+
+    private static final class Lease {
+
+        static final Lease EMPTY = new Lease(Long.MIN_VALUE, 0);
+
+        private final long expiresAtNanos;
+        private final AtomicInteger remaining;
+
+        Lease(long expiresAtNanos, int permits) {
+            this.expiresAtNanos = expiresAtNanos;
+            this.remaining = new AtomicInteger(permits);
+        }
+
+        /**
+         * @return permissões restantes após tirar uma; -1 se não havia (ou o lote expirou).
+         */
+        int take(long now) {
+            if (this == EMPTY || now - expiresAtNanos >= 0) {
+                return -1;
+            }
+            while (true) {
+                int left = remaining.get();
+                if (left <= 0) {
+                    return -1;
+                }
+                if (remaining.compareAndSet(left, left - 1)) {
+                    return left - 1;
+                }
+            }
+        }
+
+        int remaining(long now) {
+            return this == EMPTY || now - expiresAtNanos >= 0 ? 0 : remaining.get();
+        }
+
+        int drain(long now) {
+            int left = remaining.getAndSet(0);
+            return this == EMPTY || now - expiresAtNanos >= 0 ? 0 : left;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.hubinfo.common.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem lock (GCRA): taxa sustentada de permitsPerSecond com rajada de até burst.
+ *
+ * Como funciona:
+ * - Guarda só o "horário teórico" da próxima liberação (TAT) num AtomicLong.
+ * - Cada aquisição reserva o próximo horário com CAS e devolve quanto esperar (0 = liberado agora).
+ * - Quem não aceita esperar tanto não reserva nada (sem consumir a vez de ninguém).
+ *
+ * Observação:
+ * - O relógio é System.nanoTime() (monotônico); os métodos com "now" existem para teste.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System.nanoTime());
+    }
+
+    TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond deve ser maior que zero.");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstToleranceNanos = intervalNanos * (Math.max(1, burst) - 1L);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Reserva uma permissão se a espera necessária couber em maxWait.
+     *
+     * @return espera necessária (zero = liberado agora); null se passaria de maxWait (nada reservado).
+     */
+    public Duration tryReserve(Duration maxWait) {
+        long waitNanos = tryReserve(System.nanoTime(), maxWait.toNanos());
+        return waitNanos < 0 ? null : Duration.ofNanos(waitNanos);
+    }
+
+    /**
+     * @return nanos de espera; -1 se passaria de maxWaitNanos.
+     */
+    long tryReserve(long nowNanos, long maxWaitNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long start = Math.max(tat, nowNanos);
+            long waitNanos = Math.max(0, start - nowNanos - burstToleranceNanos);
+            if (waitNanos > maxWaitNanos) {
+                return -1;
+            }
+            if (theoreticalArrival.compareAndSet(tat, start + intervalNanos)) {
+                return waitNanos;
+            }
+        }
+    }
+}
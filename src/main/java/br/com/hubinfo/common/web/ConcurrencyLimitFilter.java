@@ -0,0 +1,103 @@
+package br.com.hubinfo.common.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite de requisições em processamento simultâneo (perfil virtual-threads).
+ *
+ * Por que existe:
+ * - Com virtual threads o Tomcat não tem mais pool de threads limitando a concorrência:
+ *   10k conexões viram 10k requisições disputando o pool JDBC e a CPU ao mesmo tempo,
+ *   e a espera pelo Hikari estoura o timeout mesmo com conexões livres.
+ * - Aqui a fila fica antes do trabalho: a requisição espera a vez num semáforo FIFO
+ *   (virtual thread estacionada, custo baixo) e só então consome CPU/conexão.
+ *
+ * Regras:
+ * - Sem vaga dentro de max-wait => 503 com Retry-After (mesmo formato do RestExceptionHandler).
+ * - Dispatch assíncrono (export NDJSON) não passa de novo pelo limite.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "hubinfo.web.concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final Duration maxWait;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(
+            @Value("${hubinfo.web.concurrency-limit.max-concurrent:200}") int maxConcurrent,
+            @Value("${hubinfo.web.concurrency-limit.max-wait:30s}") Duration maxWait,
+            ObjectMapper objectMapper,
+            MeterRegistry meters
+    ) {
+        this.permits = new Semaphore(Math.max(1, maxConcurrent), true);
+        this.maxWait = maxWait;
+        this.objectMapper = objectMapper;
+
+        Gauge.builder("hubinfo.web.concurrency.waiting", permits, Semaphore::getQueueLength)
+                .description("Requisições aguardando vaga no limite de concorrência")
+                .register(meters);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            reject(request, response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ApiError body = new ApiError(
+                Instant.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Servidor ocupado. Tente novamente em instantes.",
+                request.getRequestURI(),
+                Map.of()
+        );
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -1,9 +1,13 @@
 package br.com.hubinfo.common.web;
 
+import br.com.hubinfo.captcha.adapter.in.web.CaptchaClaimBusyException;
+import br.com.hubinfo.security.password.PasswordHashingBusyException;
+import br.com.hubinfo.service.usecase.ServiceBusyException;
 import br.com.hubinfo.user.domain.UserDomainException;
 import br.com.hubinfo.user.usecase.create.EmailAlreadyExistsException;
 import br.com.hubinfo.user.usecase.create.UserUseCaseException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -85,4 +89,52 @@ public class RestExceptionHandler {
         );
         return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(body);
     }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ApiError> handleBusy(ServiceBusyException ex, HttpServletRequest req) {
+        // Backpressure do processamento assíncrono => 503 com sugestão de nova tentativa
+        ApiError body = new ApiError(
+                Instant.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                req.getRequestURI(),
+                Map.of()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(body);
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ApiError> handleHashingBusy(PasswordHashingBusyException ex, HttpServletRequest req) {
+        // Pool de BCrypt saturado (rajada de logins) => 429 imediato, sem prender a thread HTTP
+        ApiError body = new ApiError(
+                Instant.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                ex.getMessage(),
+                req.getRequestURI(),
+                Map.of()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
+    @ExceptionHandler(CaptchaClaimBusyException.class)
+    public ResponseEntity<ApiError> handleCaptchaClaimBusy(CaptchaClaimBusyException ex, HttpServletRequest req) {
+        // Limite de long-polls de resolvedores neste nó => 429, o cliente tenta de novo em instantes
+        ApiError body = new ApiError(
+                Instant.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                ex.getMessage(),
+                req.getRequestURI(),
+                Map.of()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(body);
+    }
 }
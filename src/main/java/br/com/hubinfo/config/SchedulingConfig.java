@@ -0,0 +1,12 @@
+package br.com.hubinfo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita tarefas agendadas (@Scheduled) usadas pelos workers e rotinas de manutenção.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,115 @@
+package br.com.hubinfo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diagnóstico de pinning de virtual threads (perfil virtual-threads).
+ *
+ * Por que existe:
+ * - Uma virtual thread "presa" (synchronized ou chamada nativa durante I/O bloqueante) segura a
+ *   carrier thread; com poucas carriers, poucos pinnings longos derrubam o throughput.
+ *
+ * Fluxo:
+ * - Stream JFR em processo do evento jdk.VirtualThreadPinned (acima de threshold, com stack).
+ * - Cada ocorrência incrementa hubinfo.vthreads.pinned e o stack é logado uma vez por origem
+ *   (primeiro frame da aplicação), para não inundar o log em rajada.
+ *
+ * Observação: para inspeção offline, rodar com -XX:StartFlightRecording e abrir no JMC
+ * (mesmo evento), ou -Djdk.tracePinnedThreads=full.
+ */
+@Component
+@ConditionalOnProperty(prefix = "hubinfo.diagnostics.virtual-thread-pinning", name = "enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Duration threshold;
+    private final Counter pinned;
+    private final Map<String, Boolean> reportedOrigins = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${hubinfo.diagnostics.virtual-thread-pinning.threshold:20ms}") Duration threshold,
+            MeterRegistry meters
+    ) {
+        this.threshold = threshold;
+        this.pinned = Counter.builder("hubinfo.vthreads.pinned")
+                .description("Virtual threads presas à carrier acima do threshold (JFR jdk.VirtualThreadPinned)")
+                .register(meters);
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Monitor de pinning de virtual threads ativo (threshold={}).", threshold);
+    }
+
+    void onPinned(RecordedEvent event) {
+        pinned.increment();
+
+        String origin = origin(event.getStackTrace());
+        if (reportedOrigins.putIfAbsent(origin, Boolean.TRUE) == null) {
+            log.warn("Virtual thread presa por {} ms em {}:\n{}",
+                    event.getDuration().toMillis(), origin, format(event.getStackTrace()));
+        }
+    }
+
+    /**
+     * Primeiro frame do nosso código (br.com.hubinfo); senão, o topo da pilha.
+     */
+    private static String origin(RecordedStackTrace stack) {
+        if (stack == null || stack.getFrames().isEmpty()) {
+            return "desconhecida";
+        }
+        List<RecordedFrame> frames = stack.getFrames();
+        RecordedFrame chosen = frames.stream()
+                .filter(f -> f.getMethod().getType().getName().startsWith("br.com.hubinfo."))
+                .findFirst()
+                .orElse(frames.get(0));
+        return chosen.getMethod().getType().getName() + "." + chosen.getMethod().getName();
+    }
+
+    private static String format(RecordedStackTrace stack) {
+        if (stack == null) {
+            return "  (sem stack)";
+        }
+        StringBuilder sb = new StringBuilder();
+        stack.getFrames().stream().limit(LOGGED_FRAMES).forEach(f -> sb
+                .append("  at ")
+                .append(f.getMethod().getType().getName()).append('.').append(f.getMethod().getName())
+                .append(':').append(f.getLineNumber())
+                .append('\n'));
+        return sb.toString();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -4,13 +4,18 @@ import br.com.hubinfo.audit.domain.AuditEventType;
 import br.com.hubinfo.audit.usecase.AuditService;
 import br.com.hubinfo.captcha.config.HcaptchaChallengeResolver;
 import br.com.hubinfo.captcha.usecase.CaptchaChallengeService;
+import br.com.hubinfo.cnpj.domain.Cnpj;
 import br.com.hubinfo.dte.usecase.RequestDteUseCase;
 import br.com.hubinfo.service.domain.ServiceRequestStatus;
 import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.CoalescedResult;
+import br.com.hubinfo.service.usecase.CoalescingKey;
 import br.com.hubinfo.service.usecase.ServiceRequestRegister;
+import br.com.hubinfo.service.usecase.SingleFlight;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 
@@ -20,6 +25,10 @@ import java.util.UUID;
  * Commit 16:
  * - quando o serviço exigir interação humana, criamos CaptchaChallenge e devolvemos captchaChallengeId
  * - o client abre uma janela com hCaptcha e depois envia o token em /api/v1/captcha/challenges/{id}/solution (ou /solve)
+ *
+ * Coalescência:
+ * - Solicitações simultâneas do mesmo serviço/CNPJ recebem o mesmo desafio de captcha da primeira
+ *   (uma única resolução e consulta ao portal); cada uma tem a própria ServiceRequest, ligada à líder.
  */
 @Service
 public class RequestDteService implements RequestDteUseCase {
@@ -28,15 +37,18 @@ public class RequestDteService implements RequestDteUseCase {
     private final CaptchaChallengeService captchaChallengeService;
     private final HcaptchaChallengeResolver hcaptchaResolver;
     private final AuditService auditService;
+    private final SingleFlight<CoalescingKey, CoalescedResult<UUID>> challengeFlights;
 
     public RequestDteService(ServiceRequestRegister serviceRequestRegister,
                              CaptchaChallengeService captchaChallengeService,
                              HcaptchaChallengeResolver hcaptchaResolver,
-                             AuditService auditService) {
+                             AuditService auditService,
+                             SingleFlight<CoalescingKey, CoalescedResult<UUID>> challengeFlights) {
         this.serviceRequestRegister = serviceRequestRegister;
         this.captchaChallengeService = captchaChallengeService;
         this.hcaptchaResolver = hcaptchaResolver;
         this.auditService = auditService;
+        this.challengeFlights = challengeFlights;
     }
 
     @Override
@@ -50,11 +62,37 @@ public class RequestDteService implements RequestDteUseCase {
     }
 
     private Result request(ServiceType type, UUID actorUserId, String actorEmail, String cnpj) {
-        // Normaliza CNPJ para somente dígitos (14)
-        String cnpjDigits = normalizeCnpj(cnpj);
+        // Normaliza e valida (dígitos verificadores) antes de gravar qualquer coisa
+        String cnpjDigits = Cnpj.parse(cnpj).value();
 
         Instant now = Instant.now();
 
+        // Quem chega enquanto o desafio está sendo criado o reaproveita; depois disso, cada uma cria o seu.
+        var flight = challengeFlights.execute(new CoalescingKey(type, cnpjDigits), () -> {
+            UUID leaderId = register(type, actorUserId, actorEmail, cnpjDigits, now, null);
+            return new CoalescedResult<>(leaderId, createChallenge(type, actorUserId, actorEmail, cnpjDigits, leaderId));
+        });
+
+        CoalescedResult<UUID> shared = flight.value();
+        UUID requestId = flight.leader()
+                ? shared.leaderRequestId()
+                : register(type, actorUserId, actorEmail, cnpjDigits, now, shared.leaderRequestId());
+
+        return new Result(requestId, type, ServiceRequestStatus.CAPTCHA_REQUIRED, now, shared.value());
+    }
+
+    /**
+     * Registra a solicitação de serviço e audita a criação.
+     *
+     * @param coalescedWith solicitação líder cujo desafio esta reaproveita (null = nenhuma).
+     */
+    private UUID register(ServiceType type,
+                          UUID actorUserId,
+                          String actorEmail,
+                          String cnpjDigits,
+                          Instant now,
+                          UUID coalescedWith) {
+
         // 1) Registra a solicitação de serviço
         UUID requestId = serviceRequestRegister.register(
                 actorUserId,
@@ -62,10 +100,18 @@ public class RequestDteService implements RequestDteUseCase {
                 type,
                 Map.of("cnpj", cnpjDigits),
                 ServiceRequestStatus.CAPTCHA_REQUIRED,
-                now
+                now,
+                coalescedWith
         );
 
         // 2) Auditoria (criação da service request)
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("serviceType", type.name());
+        details.put("cnpj", cnpjDigits);
+        if (coalescedWith != null) {
+            details.put("coalescedWith", coalescedWith.toString());
+        }
+
         auditService.record(
                 AuditEventType.SERVICE_REQUEST_CREATED,
                 actorUserId,
@@ -73,40 +119,36 @@ public class RequestDteService implements RequestDteUseCase {
                 true,
                 "SERVICE_REQUEST",
                 requestId,
-                Map.of(
-                        "serviceType", type.name(),
-                        "cnpj", cnpjDigits
-                )
+                details
         );
 
-        // 3) Se houver config para hCaptcha desse serviço, cria o challenge
-        UUID captchaChallengeId = null;
-
-        var challengeCfg = hcaptchaResolver.getOrNull(type);
-        if (challengeCfg != null) {
-            captchaChallengeId = captchaChallengeService.createForServiceRequest(
-                    actorUserId,
-                    actorEmail,
-                    type,
-                    cnpjDigits,
-                    requestId,
-                    challengeCfg.provider(),
-                    challengeCfg.siteKey(),
-                    challengeCfg.pageUrl(),
-                    challengeCfg.contextKey()
-            );
-        }
-
-        return new Result(requestId, type, ServiceRequestStatus.CAPTCHA_REQUIRED, now, captchaChallengeId);
+        return requestId;
     }
 
-    private static String normalizeCnpj(String cnpj) {
-        if (cnpj == null) throw new IllegalArgumentException("CNPJ é obrigatório.");
+    /**
+     * 3) Se houver config para hCaptcha desse serviço, cria o challenge (senão devolve null).
+     */
+    private UUID createChallenge(ServiceType type,
+                                 UUID actorUserId,
+                                 String actorEmail,
+                                 String cnpjDigits,
+                                 UUID requestId) {
 
-        String digits = cnpj.replaceAll("\\D", "");
-        if (digits.length() != 14) {
-            throw new IllegalArgumentException("CNPJ inválido. Esperado 14 dígitos. Recebido: " + digits.length());
+        var challengeCfg = hcaptchaResolver.getOrNull(type);
+        if (challengeCfg == null) {
+            return null;
         }
-        return digits;
+
+        return captchaChallengeService.createForServiceRequest(
+                actorUserId,
+                actorEmail,
+                type,
+                cnpjDigits,
+                requestId,
+                challengeCfg.provider(),
+                challengeCfg.siteKey(),
+                challengeCfg.pageUrl(),
+                challengeCfg.contextKey()
+        );
     }
 }
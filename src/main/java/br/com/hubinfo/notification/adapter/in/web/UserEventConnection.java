@@ -0,0 +1,162 @@
+package br.com.hubinfo.notification.adapter.in.web;
+
+import br.com.hubinfo.notification.adapter.in.web.dto.UserEventResponse;
+import br.com.hubinfo.notification.domain.UserEvent;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Uma conexão SSE aberta: fila própria e envio sequencial fora da thread de quem publicou.
+ *
+ * Por que assim:
+ * - Conexão ociosa não ocupa thread (request assíncrono do Servlet); custa só este objeto e o socket.
+ * - Escrita no socket pode bloquear com cliente lento: roda numa virtual thread, uma por vez por conexão
+ *   (mantém a ordem), e quem publicou nunca espera.
+ * - Fila limitada: cliente que não acompanha é desconectado e retoma por Last-Event-ID.
+ *
+ * Início:
+ * - Eventos ao vivo chegam desde o registro, mas só são enviados depois do "head" (boas-vindas e
+ *   retomada); os que já vieram na retomada são descartados da fila (sem duplicar).
+ */
+final class UserEventConnection {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final UUID userId;
+    private final UUID jti;
+    private final SseEmitter emitter;
+    private final Executor executor;
+    private final int maxPending;
+
+    private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private volatile List<SseEmitter.SseEventBuilder> head;
+    private volatile Set<UUID> alreadySent = Set.of();
+    private volatile boolean started;
+
+    UserEventConnection(UUID userId, UUID jti, SseEmitter emitter, Executor executor, int maxPending) {
+        this.userId = userId;
+        this.jti = jti;
+        this.emitter = emitter;
+        this.executor = executor;
+        this.maxPending = Math.max(1, maxPending);
+    }
+
+    UUID userId() { return userId; }
+
+    /** jti do access token que abriu a conexão (null em tokens sem jti). */
+    UUID jti() { return jti; }
+
+    boolean isClosed() { return closed.get(); }
+
+    /**
+     * Libera o envio: primeiro os frames de head, depois a fila (sem os ids de alreadySent).
+     */
+    void start(List<SseEmitter.SseEventBuilder> head, Set<UUID> alreadySent) {
+        this.head = head;
+        this.alreadySent = alreadySent;
+        this.started = true;
+        scheduleDrain();
+    }
+
+    void offer(UserEvent event) {
+        enqueue(event);
+    }
+
+    /** Comentário de keep-alive, só se não houver nada na fila (o próprio envio já mantém viva). */
+    void heartbeat() {
+        if (started && queue.isEmpty()) {
+            enqueue(HEARTBEAT);
+        }
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            queue.clear();
+            emitter.complete();
+        }
+    }
+
+    /** Conexão encerrada pelo container (timeout, erro, cliente saiu): só para de enviar. */
+    void markClosed() {
+        closed.set(true);
+        queue.clear();
+    }
+
+    static SseEmitter.SseEventBuilder frame(UserEvent event) {
+        return SseEmitter.event()
+                .id(event.id().toString())
+                .name(event.type().eventName())
+                .data(new UserEventResponse(event.subjectId(), event.status(), event.occurredAt()), MediaType.APPLICATION_JSON);
+    }
+
+    private void enqueue(Object item) {
+        if (closed.get()) {
+            return;
+        }
+        if (pending.incrementAndGet() > maxPending) {
+            close();
+            return;
+        }
+        queue.add(item);
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (!started || closed.get() || !draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException ex) {
+            draining.set(false);
+            close();
+        }
+    }
+
+    private void drain() {
+        try {
+            List<SseEmitter.SseEventBuilder> first = head;
+            if (first != null) {
+                head = null;
+                for (SseEmitter.SseEventBuilder frame : first) {
+                    emitter.send(frame);
+                }
+            }
+
+            Object item;
+            while (!closed.get() && (item = queue.poll()) != null) {
+                pending.decrementAndGet();
+                if (item == HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment("hb"));
+                } else if (item instanceof UserEvent event && !alreadySent.contains(event.id())) {
+                    emitter.send(frame(event));
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // Cliente desconectou ou o emitter já terminou.
+            close();
+        } finally {
+            draining.set(false);
+        }
+
+        // Item que chegou entre o último poll e a liberação do draining.
+        if (!queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.hubinfo.notification.adapter.in.web;
+
+import br.com.hubinfo.security.HubInfoPrincipal;
+import br.com.hubinfo.security.jwt.JwtTokenDetails;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Stream de eventos do usuário (Server-Sent Events), no lugar do polling em
+ * GET /api/v1/services/requests/{id} e GET /api/v1/captcha/challenges/{id}.
+ *
+ * Eventos:
+ * - ready: conexão aberta (traz o "retry:" sugerido).
+ * - service-request / captcha-challenge: {"subjectId","status","occurredAt"}; o detalhe vem do GET do recurso.
+ * - resync: a retomada por Last-Event-ID não está completa; releia o estado pelos GETs.
+ *
+ * Observação:
+ * - A conexão fecha no exp do access token (ou em max-lifetime, o que vier antes) e no logout;
+ *   o cliente reconecta com token novo e o cabeçalho Last-Event-ID.
+ */
+@RestController
+@RequestMapping("/api/v1/events")
+public class UserEventStreamController {
+
+    private final UserEventStreams streams;
+
+    public UserEventStreamController(UserEventStreams streams) {
+        this.streams = streams;
+    }
+
+    /**
+     * GET /api/v1/events/stream (Accept: text/event-stream; Last-Event-ID opcional)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal HubInfoPrincipal principal,
+                             Authentication authentication,
+                             @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+                             HttpServletResponse response) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuário não autenticado.");
+        }
+
+        // Proxies (nginx) não devem segurar os eventos em buffer.
+        response.setHeader("X-Accel-Buffering", "no");
+        response.setHeader("Cache-Control", "no-store");
+
+        JwtTokenDetails token = authentication.getDetails() instanceof JwtTokenDetails d ? d : null;
+        return streams.open(principal.userId(), token, lastEventId);
+    }
+}
@@ -0,0 +1,194 @@
+package br.com.hubinfo.notification.adapter.in.web;
+
+import br.com.hubinfo.notification.adapter.out.bus.InProcessUserEventBus;
+import br.com.hubinfo.notification.config.UserEventStreamProperties;
+import br.com.hubinfo.notification.domain.UserEvent;
+import br.com.hubinfo.security.jwt.JwtTokenDetails;
+import br.com.hubinfo.security.jwt.RevokedTokenList;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams SSE abertos neste nó, por usuário.
+ *
+ * Fluxo:
+ * 1) open: registra a conexão, monta a retomada (Last-Event-ID) e libera o envio.
+ * 2) Eventos do barramento vão para as conexões do dono (userId do evento).
+ * 3) heartbeat: comentário periódico nas conexões ociosas; fecha as de tokens revogados (logout).
+ *
+ * Regras:
+ * - A conexão dura no máximo max-lifetime e nunca além do exp do access token; o cliente reconecta
+ *   com um token válido e o Last-Event-ID.
+ * - Retomada incompleta (buffer não cobre o Last-Event-ID) vira o evento "resync": o cliente relê o estado.
+ */
+@Component
+public class UserEventStreams {
+
+    static final String READY_EVENT = "ready";
+    static final String RESYNC_EVENT = "resync";
+
+    private final InProcessUserEventBus bus;
+    private final UserEventStreamProperties properties;
+    private final RevokedTokenList revokedTokens;
+    private final Clock clock;
+
+    private final Map<UUID, List<UserEventConnection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-", 0).factory());
+
+    public UserEventStreams(InProcessUserEventBus bus,
+                            UserEventStreamProperties properties,
+                            RevokedTokenList revokedTokens,
+                            Clock clock,
+                            MeterRegistry meters) {
+        this.bus = bus;
+        this.properties = properties;
+        this.revokedTokens = revokedTokens;
+        this.clock = clock;
+
+        bus.subscribe(this::deliver);
+        Gauge.builder("hubinfo.events.sse.connections", open, AtomicInteger::get)
+                .description("Streams SSE de eventos abertos neste nó")
+                .register(meters);
+    }
+
+    /**
+     * @param token       details do access token (jti/exp); null = sem limite pelo token.
+     * @param lastEventId cabeçalho Last-Event-ID enviado na reconexão (null/inválido = conexão nova).
+     */
+    public SseEmitter open(UUID userId, JwtTokenDetails token, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(lifetime(token).toMillis());
+        UserEventConnection connection = new UserEventConnection(
+                userId, token == null ? null : token.jti(), emitter, senders, properties.getMaxPendingPerConnection());
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(ex -> remove(connection));
+
+        register(connection);
+
+        List<SseEmitter.SseEventBuilder> head = new ArrayList<>();
+        head.add(SseEmitter.event()
+                .name(READY_EVENT)
+                .reconnectTime(properties.getReconnectDelay().toMillis())
+                .data("{}"));
+
+        Set<UUID> replayed = Set.of();
+        UUID last = parseEventId(lastEventId);
+        if (last != null) {
+            Optional<List<UserEvent>> replay = bus.replay(userId, last);
+            if (replay.isPresent()) {
+                replayed = new HashSet<>();
+                for (UserEvent event : replay.get()) {
+                    head.add(UserEventConnection.frame(event));
+                    replayed.add(event.id());
+                }
+            } else {
+                head.add(SseEmitter.event().name(RESYNC_EVENT).data("{}"));
+            }
+        }
+
+        connection.start(head, replayed);
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${hubinfo.events.stream.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        for (List<UserEventConnection> userConnections : connections.values()) {
+            for (UserEventConnection connection : userConnections) {
+                if (connection.jti() != null && revokedTokens.isRevoked(connection.jti())) {
+                    connection.close();
+                } else {
+                    connection.heartbeat();
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connections.values().forEach(list -> list.forEach(UserEventConnection::close));
+        senders.shutdown();
+    }
+
+    int openConnections() {
+        return open.get();
+    }
+
+    private void deliver(UserEvent event) {
+        List<UserEventConnection> userConnections = connections.get(event.userId());
+        if (userConnections != null) {
+            userConnections.forEach(c -> c.offer(event));
+        }
+    }
+
+    private void register(UserEventConnection connection) {
+        List<UserEventConnection> evicted = new ArrayList<>();
+        connections.compute(connection.userId(), (userId, list) -> {
+            List<UserEventConnection> current = list == null ? new CopyOnWriteArrayList<>() : list;
+            current.add(connection);
+            while (current.size() > Math.max(1, properties.getMaxConnectionsPerUser())) {
+                evicted.add(current.remove(0));
+            }
+            return current;
+        });
+        open.addAndGet(1 - evicted.size());
+        // Fora do compute: complete() pode disparar callbacks que mexem no mapa.
+        evicted.forEach(UserEventConnection::close);
+    }
+
+    private void remove(UserEventConnection connection) {
+        connection.markClosed();
+        boolean[] removed = {false};
+        connections.computeIfPresent(connection.userId(), (userId, list) -> {
+            removed[0] = list.remove(connection);
+            return list.isEmpty() ? null : list;
+        });
+        if (removed[0]) {
+            open.decrementAndGet();
+        }
+    }
+
+    private Duration lifetime(JwtTokenDetails token) {
+        Duration max = properties.getMaxLifetime();
+        if (token == null || token.expiresAt() == null) {
+            return max;
+        }
+        Duration untilExpiry = Duration.between(Instant.now(clock), token.expiresAt());
+        if (untilExpiry.compareTo(Duration.ofSeconds(1)) < 0) {
+            return Duration.ofSeconds(1);
+        }
+        return untilExpiry.compareTo(max) < 0 ? untilExpiry : max;
+    }
+
+    private static UUID parseEventId(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(raw.trim());
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
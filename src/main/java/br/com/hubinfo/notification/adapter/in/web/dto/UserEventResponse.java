@@ -0,0 +1,12 @@
+package br.com.hubinfo.notification.adapter.in.web.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * "data:" de um evento do stream; o tipo vai no "event:" e o id no "id:".
+ *
+ * @param subjectId id da ServiceRequest ou do CaptchaChallenge.
+ */
+public record UserEventResponse(UUID subjectId, String status, Instant occurredAt) {
+}
@@ -0,0 +1,100 @@
+package br.com.hubinfo.notification.adapter.out.bus;
+
+import br.com.hubinfo.notification.config.UserEventStreamProperties;
+import br.com.hubinfo.notification.domain.UserEvent;
+import br.com.hubinfo.notification.usecase.port.UserEventPublisher;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Barramento de eventos de usuário em memória.
+ *
+ * Fluxo:
+ * 1) publish (após o commit, se houver transação) grava no buffer de retomada e entrega aos assinantes
+ *    locais (streams SSE abertos neste nó).
+ * 2) Com {@link UserEventFanout} registrado, o evento também vai para os outros nós, que fazem o passo 1
+ *    ao recebê-lo.
+ *
+ * Regras:
+ * - Quem publica nunca recebe exceção de assinante ou do fanout (o estado já está no banco).
+ * - Assinantes não podem bloquear: recebem na thread de quem publicou.
+ */
+@Component
+public class InProcessUserEventBus implements UserEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(InProcessUserEventBus.class);
+
+    private final UserEventReplayBuffer buffer;
+    private final ObjectProvider<UserEventFanout> fanout;
+    private final List<Consumer<UserEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    public InProcessUserEventBus(UserEventStreamProperties properties, ObjectProvider<UserEventFanout> fanout) {
+        this.buffer = new UserEventReplayBuffer(properties.getReplayBufferSize());
+        this.fanout = fanout;
+    }
+
+    @PostConstruct
+    void connectFanout() {
+        fanout.ifAvailable(f -> f.subscribe(this::deliver));
+    }
+
+    @Override
+    public void publish(UserEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishNow(event);
+                }
+            });
+        } else {
+            publishNow(event);
+        }
+    }
+
+    public void subscribe(Consumer<UserEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Eventos do usuário depois de lastEventId; vazio se o buffer não garante a sequência completa
+     * (o cliente deve reler o estado pelos GETs).
+     */
+    public Optional<List<UserEvent>> replay(UUID userId, UUID lastEventId) {
+        UserEventReplayBuffer.Replay replay = buffer.after(userId, lastEventId);
+        return replay.complete() ? Optional.of(replay.events()) : Optional.empty();
+    }
+
+    private void publishNow(UserEvent event) {
+        deliver(event);
+        fanout.ifAvailable(f -> {
+            try {
+                f.publish(event);
+            } catch (RuntimeException ex) {
+                log.warn("Falha ao repassar evento {} aos outros nós.", event.id(), ex);
+            }
+        });
+    }
+
+    private void deliver(UserEvent event) {
+        buffer.add(event);
+        for (Consumer<UserEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException ex) {
+                log.warn("Falha ao entregar evento {} localmente.", event.id(), ex);
+            }
+        }
+    }
+}
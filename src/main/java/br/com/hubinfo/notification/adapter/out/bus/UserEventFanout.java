@@ -0,0 +1,20 @@
+package br.com.hubinfo.notification.adapter.out.bus;
+
+import br.com.hubinfo.notification.domain.UserEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Gancho para levar os eventos de usuário aos outros nós (o stream SSE do usuário pode estar em qualquer um).
+ *
+ * Observação:
+ * - Sem implementação registrada (nó único), os eventos ficam no nó onde aconteceram.
+ * - Quem implementar (ex.: Redis pub/sub, fila) recebe em publish os eventos gerados neste nó e
+ *   entrega ao listener de subscribe os eventos vindos dos demais, sem devolver ao nó de origem.
+ */
+public interface UserEventFanout {
+
+    void publish(UserEvent event);
+
+    void subscribe(Consumer<UserEvent> listener);
+}
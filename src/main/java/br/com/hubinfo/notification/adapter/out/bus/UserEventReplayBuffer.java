@@ -0,0 +1,63 @@
+package br.com.hubinfo.notification.adapter.out.bus;
+
+import br.com.hubinfo.common.id.UuidV7;
+import br.com.hubinfo.notification.domain.UserEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Últimos eventos de todos os usuários, num buffer circular de tamanho fixo (retomada por Last-Event-ID).
+ *
+ * Regras:
+ * - Memória constante: o evento mais antigo é sobrescrito pelo mais novo.
+ * - "floor" marca até onde pode ter havido perda (evento sobrescrito ou anterior à subida do nó);
+ *   retomada a partir de um id abaixo dele é incompleta e o cliente precisa reler o estado.
+ * - Leitura percorre o buffer inteiro (só na reconexão; alguns milhares de comparações).
+ */
+final class UserEventReplayBuffer {
+
+    private final AtomicReferenceArray<UserEvent> ring;
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicReference<UUID> floor;
+
+    UserEventReplayBuffer(int capacity) {
+        this.ring = new AtomicReferenceArray<>(Math.max(1, capacity));
+        this.floor = new AtomicReference<>(UuidV7.next());
+    }
+
+    void add(UserEvent event) {
+        int slot = (int) (writes.getAndIncrement() % ring.length());
+        UserEvent evicted = ring.getAndSet(slot, event);
+        if (evicted != null) {
+            floor.accumulateAndGet(evicted.id(), (current, id) -> UserEvent.compareIds(id, current) > 0 ? id : current);
+        }
+    }
+
+    /**
+     * Eventos do usuário posteriores a lastEventId, em ordem.
+     */
+    Replay after(UUID userId, UUID lastEventId) {
+        boolean complete = UserEvent.compareIds(lastEventId, floor.get()) >= 0;
+
+        List<UserEvent> events = new ArrayList<>();
+        for (int i = 0; i < ring.length(); i++) {
+            UserEvent e = ring.get(i);
+            if (e != null && e.userId().equals(userId) && UserEvent.compareIds(e.id(), lastEventId) > 0) {
+                events.add(e);
+            }
+        }
+        events.sort((a, b) -> UserEvent.compareIds(a.id(), b.id()));
+        return new Replay(events, complete);
+    }
+
+    /**
+     * @param complete false = pode ter havido evento que não está mais no buffer.
+     */
+    record Replay(List<UserEvent> events, boolean complete) {
+    }
+}
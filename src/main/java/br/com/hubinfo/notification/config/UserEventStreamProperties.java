@@ -0,0 +1,61 @@
+package br.com.hubinfo.notification.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propriedades do stream SSE de eventos do usuário.
+ *
+ * Exemplo no application.yml:
+ * hubinfo:
+ *   events:
+ *     stream:
+ *       heartbeat-interval: PT25S
+ *       max-lifetime: PT30M
+ *       reconnect-delay: PT3S
+ *       max-connections-per-user: 5
+ *       max-pending-per-connection: 256
+ *       replay-buffer-size: 10000
+ */
+@Component
+@ConfigurationProperties(prefix = "hubinfo.events.stream")
+public class UserEventStreamProperties {
+
+    /** Comentário periódico para proxies/balanceadores não derrubarem a conexão ociosa. */
+    private Duration heartbeatInterval = Duration.ofSeconds(25);
+
+    /** Duração máxima de uma conexão (limitada também pelo exp do access token); o cliente reconecta. */
+    private Duration maxLifetime = Duration.ofMinutes(30);
+
+    /** Espera sugerida ao cliente (campo "retry:") antes de reconectar. */
+    private Duration reconnectDelay = Duration.ofSeconds(3);
+
+    /** Conexões simultâneas por usuário (abas); a mais antiga é fechada ao passar do limite. */
+    private int maxConnectionsPerUser = 5;
+
+    /** Eventos aguardando envio numa conexão lenta; acima disso ela é fechada e retoma por Last-Event-ID. */
+    private int maxPendingPerConnection = 256;
+
+    /** Últimos eventos guardados em memória para retomar por Last-Event-ID. */
+    private int replayBufferSize = 10_000;
+
+    public Duration getHeartbeatInterval() { return heartbeatInterval; }
+    public void setHeartbeatInterval(Duration heartbeatInterval) { this.heartbeatInterval = heartbeatInterval; }
+
+    public Duration getMaxLifetime() { return maxLifetime; }
+    public void setMaxLifetime(Duration maxLifetime) { this.maxLifetime = maxLifetime; }
+
+    public Duration getReconnectDelay() { return reconnectDelay; }
+    public void setReconnectDelay(Duration reconnectDelay) { this.reconnectDelay = reconnectDelay; }
+
+    public int getMaxConnectionsPerUser() { return maxConnectionsPerUser; }
+    public void setMaxConnectionsPerUser(int maxConnectionsPerUser) { this.maxConnectionsPerUser = maxConnectionsPerUser; }
+
+    public int getMaxPendingPerConnection() { return maxPendingPerConnection; }
+    public void setMaxPendingPerConnection(int maxPendingPerConnection) { this.maxPendingPerConnection = maxPendingPerConnection; }
+
+    public int getReplayBufferSize() { return replayBufferSize; }
+    public void setReplayBufferSize(int replayBufferSize) { this.replayBufferSize = replayBufferSize; }
+}
@@ -0,0 +1,35 @@
+package br.com.hubinfo.notification.domain;
+
+import br.com.hubinfo.common.id.UuidV7;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Mudança de estado que interessa a um usuário (dono da solicitação/desafio).
+ *
+ * Observação:
+ * - id é UUID v7: ordena no tempo entre nós diferentes e vira o "id:" do SSE (Last-Event-ID na reconexão).
+ * - Só leva identificador e status; o cliente busca o detalhe pelo GET do recurso, com as regras de acesso dele.
+ */
+public record UserEvent(
+        UUID id,
+        UUID userId,
+        UserEventType type,
+        UUID subjectId,
+        String status,
+        Instant occurredAt
+) {
+
+    public static UserEvent of(UUID userId, UserEventType type, UUID subjectId, String status, Instant occurredAt) {
+        return new UserEvent(UuidV7.next(), userId, type, subjectId, status, occurredAt);
+    }
+
+    /**
+     * Ordem dos ids (v7): timestamp nos bits altos, comparação sem sinal.
+     */
+    public static int compareIds(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
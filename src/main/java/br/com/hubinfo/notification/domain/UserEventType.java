@@ -0,0 +1,23 @@
+package br.com.hubinfo.notification.domain;
+
+/**
+ * Tipos de evento enviados ao usuário (nome do "event:" no stream SSE).
+ */
+public enum UserEventType {
+
+    /** ServiceRequest mudou de status (ex.: concluída SUCCESS/FAILURE). */
+    SERVICE_REQUEST("service-request"),
+
+    /** CaptchaChallenge mudou de status (ex.: SOLVED). */
+    CAPTCHA_CHALLENGE("captcha-challenge");
+
+    private final String eventName;
+
+    UserEventType(String eventName) {
+        this.eventName = eventName;
+    }
+
+    public String eventName() {
+        return eventName;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.hubinfo.notification.usecase.port;
+
+import br.com.hubinfo.notification.domain.UserEvent;
+
+/**
+ * Port para avisar o usuário de uma mudança de estado (SSE em vez de polling).
+ *
+ * Contrato:
+ * - Não bloqueia nem falha quem publica: entrega é best-effort; o estado real continua no banco.
+ * - Dentro de transação, o evento só sai depois do commit (nunca anuncia estado que foi desfeito).
+ */
+public interface UserEventPublisher {
+
+    void publish(UserEvent event);
+}
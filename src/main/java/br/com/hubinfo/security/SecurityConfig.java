@@ -1,8 +1,16 @@
 package br.com.hubinfo.security;
 
+import br.com.hubinfo.security.jwt.JwtAuthenticationCache;
 import br.com.hubinfo.security.jwt.JwtAuthenticationFilter;
-import br.com.hubinfo.security.jwt.JwtService;
+import br.com.hubinfo.security.jwt.RevokedTokenList;
+import br.com.hubinfo.security.password.AdaptiveBCryptPasswordEncoder;
+import br.com.hubinfo.security.password.BCryptCostCalibrator;
+import br.com.hubinfo.security.password.PasswordHashingExecutor;
+import br.com.hubinfo.security.password.PasswordHashingProperties;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,7 +21,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
@@ -22,8 +29,12 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @Configuration
 public class SecurityConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtService jwtService) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   JwtAuthenticationCache jwtAuthenticationCache,
+                                                   RevokedTokenList revokedTokenList) throws Exception {
         return http
                 // API stateless: CSRF não se aplica a REST/Postman
                 .csrf(AbstractHttpConfigurer::disable)
@@ -43,6 +54,10 @@ public class SecurityConfig {
                 )
 
                 .authorizeHttpRequests(auth -> auth
+                        // re-dispatch assíncrono (DeferredResult/long-poll) de request já autorizada na entrada;
+                        // o filtro JWT não roda de novo nele e, sem sessão, cairia em 401
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // libera /error (Spring usa em falhas)
                         .requestMatchers("/error").permitAll()
 
@@ -91,7 +106,7 @@ public class SecurityConfig {
                 )
 
                 // JWT filter
-                .addFilterBefore(new JwtAuthenticationFilter(jwtService), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtAuthenticationFilter(jwtAuthenticationCache, revokedTokenList), UsernamePasswordAuthenticationFilter.class)
 
                 .build();
     }
@@ -101,8 +116,19 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * BCrypt com cost fixo (hubinfo.security.password.cost) ou calibrado na subida para target-latency.
+     * O hash roda no PasswordHashingExecutor, fora das threads HTTP.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, PasswordHashingExecutor executor) {
+        int cost;
+        if (properties.getCost() != null) {
+            cost = properties.getCost();
+        } else {
+            cost = BCryptCostCalibrator.calibrate(properties.getTargetLatency(), properties.getMinCost(), properties.getMaxCost());
+            log.info("BCrypt calibrado: cost={} (alvo {} ms).", cost, properties.getTargetLatency().toMillis());
+        }
+        return new AdaptiveBCryptPasswordEncoder(cost, executor);
     }
 }
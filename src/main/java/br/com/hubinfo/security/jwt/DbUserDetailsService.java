@@ -1,41 +1,53 @@
 package br.com.hubinfo.security;
 
-import br.com.hubinfo.user.adapter.out.persistence.SpringDataUserRepository;
-import br.com.hubinfo.user.adapter.out.persistence.UserJpaEntity;
+import br.com.hubinfo.user.adapter.out.persistence.UserCredentials;
+import br.com.hubinfo.user.adapter.out.persistence.UserPersistenceAdapter;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
 import java.util.stream.Collectors;
 
 /**
  * Carrega usuários do banco para autenticação.
+ *
+ * Observação:
+ * - Lê sempre do banco, sem o UserProjectionCache: hash de senha não fica em cache, então senha
+ *   trocada em qualquer nó vale no próximo login.
+ * - Também é o UserDetailsPasswordService: após login válido com hash de cost diferente do atual
+ *   (PasswordEncoder.upgradeEncoding), o Spring Security regrava o hash por aqui.
  */
 @Service
-public class DbUserDetailsService implements UserDetailsService {
+public class DbUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
-    private final SpringDataUserRepository repository;
+    private final UserPersistenceAdapter persistence;
 
-    public DbUserDetailsService(SpringDataUserRepository repository) {
-        this.repository = repository;
+    public DbUserDetailsService(UserPersistenceAdapter persistence) {
+        this.persistence = persistence;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        UserJpaEntity user = repository.findByEmail(username)
+        UserCredentials user = persistence.findCredentials(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado."));
 
-        var authorities = Arrays.stream(user.getRolesCsv().split(","))
-                .map(String::trim)
-                .filter(s -> !s.isBlank())
-                .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
+        var authorities = user.roles().stream()
+                .map(r -> new SimpleGrantedAuthority("ROLE_" + r.name()))
                 .collect(Collectors.toSet());
 
         return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPasswordHash())
+                .username(user.email())
+                .password(user.passwordHash())
                 .authorities(authorities)
                 .build();
     }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        persistence.updatePasswordHash(user.getUsername(), newPassword);
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
 }
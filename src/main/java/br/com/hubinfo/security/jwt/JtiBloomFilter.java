@@ -0,0 +1,62 @@
+package br.com.hubinfo.security.jwt;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de jtis (UUID), sem lock.
+ *
+ * Regras:
+ * - mightContain false => com certeza não está; true => talvez (confirmar no conjunto exato).
+ * - Não remove: quem usa reconstrói o filtro quando as entradas expiram.
+ * - Dimensionado por capacidade esperada e taxa de falso positivo; acima da capacidade só a taxa piora.
+ */
+final class JtiBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashes;
+
+    JtiBloomFilter(int expectedEntries, double falsePositiveRate) {
+        long n = Math.max(1, expectedEntries);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = words * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    void add(UUID jti) {
+        long h1 = mix(jti.getLeastSignificantBits());
+        long h2 = mix(jti.getMostSignificantBits() ^ h1) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((bits.get(word) & mask) == 0) {
+                bits.getAndAccumulate(word, mask, (a, b) -> a | b);
+            }
+        }
+    }
+
+    boolean mightContain(UUID jti) {
+        long h1 = mix(jti.getLeastSignificantBits());
+        long h2 = mix(jti.getMostSignificantBits() ^ h1) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finalizador do SplitMix64: espalha os bits (o início do UUIDv7 é o timestamp, pouco aleatório).
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.hubinfo.security.jwt;
+
+import br.com.hubinfo.security.HubInfoPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Cache de tokens JWT já validados.
+ *
+ * Por que existe:
+ * - O cliente reutiliza o mesmo token por centenas de chamadas; sem cache, cada requisição refaz
+ *   HMAC + parse JSON dos claims + montagem das authorities.
+ *
+ * Regras:
+ * - Chave: SHA-256 do token (o token em si não fica em memória).
+ * - Valor: UsernamePasswordAuthenticationToken pronto (já autenticado, imutável na prática).
+ * - Cada entrada expira exatamente no exp do token; o tamanho é limitado (max-size).
+ * - Só tokens válidos entram; inválidos continuam lançando exceção a cada tentativa.
+ */
+@Component
+public class JwtAuthenticationCache {
+
+    private final JwtService jwtService;
+    private final Clock clock;
+    private final Cache<ByteBuffer, CachedAuthentication> cache;
+
+    @Autowired
+    public JwtAuthenticationCache(JwtService jwtService,
+                                  @Value("${hubinfo.security.jwt.cache.max-size:10000}") long maxSize) {
+        this(jwtService, maxSize, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    JwtAuthenticationCache(JwtService jwtService, long maxSize, Ticker ticker, Clock clock) {
+        this.jwtService = jwtService;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .ticker(ticker)
+                .expireAfter(new ExpireAtTokenExp())
+                .build();
+    }
+
+    /**
+     * Devolve a autenticação do token, validando-o só na primeira vez.
+     *
+     * @throws io.jsonwebtoken.JwtException / IllegalArgumentException se o token for inválido ou expirado.
+     */
+    public UsernamePasswordAuthenticationToken authenticate(String token) {
+        ByteBuffer key = digest(token);
+
+        CachedAuthentication cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.authentication();
+        }
+
+        Claims claims = jwtService.parse(token);
+        CachedAuthentication fresh = new CachedAuthentication(
+                toAuthentication(claims),
+                claims.getExpiration().toInstant()
+        );
+        cache.put(key, fresh);
+        return fresh.authentication();
+    }
+
+    /**
+     * Descarta todas as entradas (ex.: revogação em massa).
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    static UsernamePasswordAuthenticationToken toAuthentication(Claims claims) {
+        // SUBJECT: deve ser o UUID do usuário (string)
+        UUID userId = UUID.fromString(claims.getSubject());
+
+        // Claim extra: email
+        String email = claims.get("email", String.class);
+
+        @SuppressWarnings("unchecked")
+        Set<String> roles = Set.copyOf((Collection<String>) claims.get("roles"));
+
+        var authorities = roles.stream()
+                .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
+                .collect(Collectors.toSet());
+
+        // Principal tipado do HUB Info
+        var principal = new HubInfoPrincipal(userId, email);
+
+        var authentication = new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        // jti/exp para a checagem de revogação (tokens antigos, sem jti, ficam com jti nulo)
+        authentication.setDetails(new JwtTokenDetails(
+                claims.getId() == null ? null : UUID.fromString(claims.getId()),
+                claims.getExpiration().toInstant()));
+        return authentication;
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM.", ex);
+        }
+    }
+
+    private record CachedAuthentication(UsernamePasswordAuthenticationToken authentication, Instant expiresAt) {}
+
+    /**
+     * Tempo de vida = exp - agora (calculado no momento da inserção).
+     */
+    private final class ExpireAtTokenExp implements Expiry<ByteBuffer, CachedAuthentication> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, CachedAuthentication value, long currentTime) {
+            Duration ttl = Duration.between(Instant.now(clock), value.expiresAt());
+            return ttl.isNegative() ? 0 : ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,28 +1,29 @@
 package br.com.hubinfo.security.jwt;
 
-import br.com.hubinfo.security.HubInfoPrincipal;
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collection;
-import java.util.Set;
-import java.util.UUID;
-import java.util.stream.Collectors;
 
+/**
+ * Autentica a requisição pelo header "Authorization: Bearer <jwt>".
+ *
+ * Observação: a validação do token passa pelo JwtAuthenticationCache, então o mesmo token
+ * só é verificado/parseado na primeira requisição até o seu exp.
+ * A revogação (RevokedTokenList) é checada em toda requisição, inclusive nos acertos do cache.
+ */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
+    private final JwtAuthenticationCache authenticationCache;
+    private final RevokedTokenList revokedTokens;
 
-    public JwtAuthenticationFilter(JwtService jwtService) {
-        this.jwtService = jwtService;
+    public JwtAuthenticationFilter(JwtAuthenticationCache authenticationCache, RevokedTokenList revokedTokens) {
+        this.authenticationCache = authenticationCache;
+        this.revokedTokens = revokedTokens;
     }
 
     @Override
@@ -38,26 +39,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = header.substring("Bearer ".length()).trim();
 
         try {
-            Claims claims = jwtService.parse(token);
-
-            // SUBJECT: deve ser o UUID do usuário (string)
-            UUID userId = UUID.fromString(claims.getSubject());
-
-            // Claim extra: email
-            String email = claims.get("email", String.class);
-
-            @SuppressWarnings("unchecked")
-            Set<String> roles = Set.copyOf((Collection<String>) claims.get("roles"));
-
-            var authorities = roles.stream()
-                    .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
-                    .collect(Collectors.toSet());
-
-            // Principal tipado do HUB Info (resolve seu 500 no controller)
-            var principal = new HubInfoPrincipal(userId, email);
-
-            var auth = new UsernamePasswordAuthenticationToken(principal, null, authorities);
-            SecurityContextHolder.getContext().setAuthentication(auth);
+            var auth = authenticationCache.authenticate(token);
+            if (auth.getDetails() instanceof JwtTokenDetails details && revokedTokens.isRevoked(details.jti())) {
+                // Revogado (logout/reuso de refresh): segue sem autenticação => 401 nos endpoints protegidos.
+                SecurityContextHolder.clearContext();
+            } else {
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
 
         } catch (Exception ex) {
             SecurityContextHolder.clearContext();
@@ -1,6 +1,8 @@
 package br.com.hubinfo.security.jwt;
 
+import br.com.hubinfo.common.id.UuidV7;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,6 +23,9 @@ public class JwtService {
     private final String issuer;
     private final long accessTokenMinutes;
 
+    /** Imutável e thread-safe: construído uma vez (antes era recriado a cada parse). */
+    private final JwtParser parser;
+
     public JwtService(
             @Value("${hubinfo.security.jwt.secret}") String secret,
             @Value("${hubinfo.security.jwt.issuer}") String issuer,
@@ -29,13 +34,21 @@ public class JwtService {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.issuer = issuer;
         this.accessTokenMinutes = accessTokenMinutes;
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
     }
 
+    /**
+     * Access token de curta duração. O jti (UUIDv7) permite revogá-lo antes do exp (RevokedTokenList).
+     */
     public JwtToken issueAccessToken(UUID userId, String email, Set<String> roles) {
         Instant now = Instant.now();
         Instant exp = now.plus(accessTokenMinutes, ChronoUnit.MINUTES);
+        UUID jti = UuidV7.next();
 
         String token = Jwts.builder()
+                .id(jti.toString())
                 .issuer(issuer)
                 .subject(userId.toString())
                 .claim("email", email)
@@ -45,16 +58,12 @@ public class JwtService {
                 .signWith(key)
                 .compact();
 
-        return new JwtToken(token, exp);
+        return new JwtToken(token, exp, jti);
     }
 
     public Claims parse(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    public record JwtToken(String value, Instant expiresAt) {}
+    public record JwtToken(String value, Instant expiresAt, UUID jti) {}
 }
@@ -0,0 +1,13 @@
+package br.com.hubinfo.security.jwt;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Details do Authentication criado a partir de um access token.
+ *
+ * @param jti       id do token (nulo em tokens emitidos antes da revogação existir).
+ * @param expiresAt exp do token; a revogação só precisa ser lembrada até aqui.
+ */
+public record JwtTokenDetails(UUID jti, Instant expiresAt) {
+}
@@ -0,0 +1,24 @@
+package br.com.hubinfo.security.jwt;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Linha de refresh_tokens (o token em si não é guardado, só o SHA-256).
+ *
+ * @param familyId        cadeia de rotação: todos os tokens derivados do mesmo login.
+ * @param accessJti       access token emitido junto (revogado se a família for revogada).
+ */
+public record RefreshTokenRecord(
+        UUID id,
+        UUID familyId,
+        UUID userId,
+        byte[] tokenHash,
+        UUID accessJti,
+        Instant accessExpiresAt,
+        Instant issuedAt,
+        Instant expiresAt,
+        Instant usedAt,
+        Instant revokedAt
+) {
+}
@@ -0,0 +1,174 @@
+package br.com.hubinfo.security.jwt;
+
+import br.com.hubinfo.common.id.UuidV7;
+import br.com.hubinfo.user.adapter.out.persistence.UserProjection;
+import br.com.hubinfo.user.adapter.out.persistence.UserProjectionCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Emissão e rotação de refresh tokens.
+ *
+ * Por que existe:
+ * - Com access token curto, o cliente renova a sessão sem reenviar a senha (sem BCrypt).
+ *
+ * Regras:
+ * - Refresh token é opaco (256 bits aleatórios, Base64url); o banco guarda só o SHA-256.
+ * - Cada uso troca o token por um novo da mesma família (rotação) e emite novo access token
+ *   com os papéis atuais do usuário (UserProjectionCache).
+ * - Reuso de token já trocado (ou revogado) revoga a família inteira e os access tokens emitidos por ela:
+ *   indica token vazado.
+ * - Logout revoga a família do refresh token informado e o access token atual.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final JwtService jwtService;
+    private final RefreshTokenStore store;
+    private final RevokedTokenList revokedTokens;
+    private final UserProjectionCache users;
+    private final Clock clock;
+    private final Duration refreshTtl;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public RefreshTokenService(JwtService jwtService,
+                               RefreshTokenStore store,
+                               RevokedTokenList revokedTokens,
+                               UserProjectionCache users,
+                               Clock clock,
+                               @Value("${hubinfo.security.jwt.refresh-token-days:14}") long refreshTokenDays) {
+        this.jwtService = jwtService;
+        this.store = store;
+        this.revokedTokens = revokedTokens;
+        this.users = users;
+        this.clock = clock;
+        this.refreshTtl = Duration.ofDays(refreshTokenDays);
+    }
+
+    /**
+     * Login: access token + refresh token de uma família nova.
+     */
+    @Transactional
+    public TokenPair issue(UserProjection user) {
+        return issue(user, UuidV7.next());
+    }
+
+    /**
+     * Troca o refresh token por um par novo.
+     *
+     * @throws BadCredentialsException token desconhecido, expirado, revogado ou reutilizado (401).
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public TokenPair refresh(String refreshToken) {
+        Instant now = Instant.now(clock);
+        RefreshTokenRecord current = store.findByHash(hash(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("Refresh token inválido."));
+
+        if (!current.expiresAt().isAfter(now)) {
+            throw new BadCredentialsException("Refresh token expirado.");
+        }
+        if (current.revokedAt() != null) {
+            throw new BadCredentialsException("Refresh token revogado.");
+        }
+        if (!store.markUsed(current.id(), now)) {
+            // Já trocado antes: a cópia está com outra pessoa (ou com o cliente legítimo).
+            revokeFamily(current.familyId(), now);
+            log.warn("Reuso de refresh token detectado; família revogada. userId={}", current.userId());
+            throw new BadCredentialsException("Refresh token reutilizado.");
+        }
+
+        UserProjection user = users.findById(current.userId())
+                .orElseThrow(() -> new BadCredentialsException("Usuário não encontrado."));
+        return issue(user, current.familyId());
+    }
+
+    /**
+     * Encerra a sessão: revoga o access token atual e, se informado, a família do refresh token
+     * (só se for do mesmo usuário).
+     */
+    @Transactional
+    public void logout(UUID userId, JwtTokenDetails currentAccess, String refreshTokenOrNull) {
+        Instant now = Instant.now(clock);
+        if (refreshTokenOrNull != null && !refreshTokenOrNull.isBlank()) {
+            store.findByHash(hash(refreshTokenOrNull))
+                    .filter(t -> t.userId().equals(userId))
+                    .ifPresent(t -> revokeFamily(t.familyId(), now));
+        }
+        if (currentAccess != null && currentAccess.jti() != null && currentAccess.expiresAt().isAfter(now)) {
+            revokedTokens.revoke(currentAccess.jti(), currentAccess.expiresAt());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hubinfo.security.jwt.revocation.purge-interval:PT1H}")
+    public void purgeExpired() {
+        try {
+            int removed = store.deleteExpired(Instant.now(clock));
+            if (removed > 0) {
+                log.info("{} refresh token(s) expirados removidos.", removed);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Falha ao remover refresh tokens expirados.", ex);
+        }
+    }
+
+    private TokenPair issue(UserProjection user, UUID familyId) {
+        Instant now = Instant.now(clock);
+        Set<String> roles = user.roles().stream().map(Enum::name).collect(Collectors.toUnmodifiableSet());
+        JwtService.JwtToken access = jwtService.issueAccessToken(user.id(), user.email(), roles);
+
+        String refreshToken = newToken();
+        Instant refreshExpiresAt = now.plus(refreshTtl);
+        store.insert(new RefreshTokenRecord(
+                UuidV7.next(), familyId, user.id(), hash(refreshToken),
+                access.jti(), access.expiresAt(),
+                now, refreshExpiresAt, null, null));
+
+        return new TokenPair(access, refreshToken, refreshExpiresAt);
+    }
+
+    private void revokeFamily(UUID familyId, Instant now) {
+        List<RevokedAccessToken> accessTokens = store.revokeFamily(familyId, now);
+        revokedTokens.revokeAll(accessTokens);
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM.", ex);
+        }
+    }
+
+    public record TokenPair(JwtService.JwtToken access, String refreshToken, Instant refreshExpiresAt) {}
+}
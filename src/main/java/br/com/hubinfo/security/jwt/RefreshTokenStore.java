@@ -0,0 +1,32 @@
+package br.com.hubinfo.security.jwt;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Persistência dos refresh tokens (tabela refresh_tokens).
+ */
+public interface RefreshTokenStore {
+
+    void insert(RefreshTokenRecord token);
+
+    Optional<RefreshTokenRecord> findByHash(byte[] tokenHash);
+
+    /**
+     * Marca o token como usado, só se ainda estiver livre (não usado e não revogado).
+     *
+     * @return false se outro uso chegou antes (reuso) ou se foi revogado.
+     */
+    boolean markUsed(UUID id, Instant usedAt);
+
+    /**
+     * Revoga todos os tokens da família.
+     *
+     * @return access tokens emitidos pela família que ainda não expiraram em now (a revogar também).
+     */
+    List<RevokedAccessToken> revokeFamily(UUID familyId, Instant now);
+
+    int deleteExpired(Instant now);
+}
@@ -0,0 +1,10 @@
+package br.com.hubinfo.security.jwt;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Access token revogado antes do exp.
+ */
+public record RevokedAccessToken(UUID jti, Instant expiresAt, Instant revokedAt) {
+}
@@ -0,0 +1,20 @@
+package br.com.hubinfo.security.jwt;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Persistência da lista de revogação (tabela revoked_access_tokens).
+ */
+public interface RevokedAccessTokenStore {
+
+    /** Idempotente: jti já revogado é ignorado. */
+    void saveAll(Collection<RevokedAccessToken> tokens);
+
+    /** Revogados com revoked_at >= since e ainda não expirados em now (leitura incremental). */
+    List<RevokedAccessToken> findRevokedSince(Instant since, Instant now);
+
+    /** Remove o que já expirou (não precisa mais ser lembrado). */
+    int deleteExpired(Instant now);
+}
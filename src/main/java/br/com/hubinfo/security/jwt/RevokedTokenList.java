@@ -0,0 +1,167 @@
+package br.com.hubinfo.security.jwt;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de access tokens revogados (por jti), consultada pelo JwtAuthenticationFilter a cada requisição.
+ *
+ * Estrutura:
+ * - Filtro de Bloom na frente: quase todo token não está revogado e a resposta sai sem tocar no mapa.
+ * - Conjunto exato (jti -> exp) confirma os positivos do filtro; nunca há falso positivo na resposta.
+ *
+ * Regras:
+ * - Revogação feita neste nó entra na hora; as dos outros nós chegam pela leitura incremental
+ *   (revoked_at >= última leitura - overlap) a cada poll-interval.
+ * - Entradas saem depois do exp do token (aí o próprio JWT já é recusado); com remoções relevantes,
+ *   o filtro é reconstruído sem janela de falso negativo (ver {@link #rebuild()}).
+ * - Falha de banco na leitura mantém a lista atual.
+ */
+@Component
+public class RevokedTokenList {
+
+    private static final Logger log = LoggerFactory.getLogger(RevokedTokenList.class);
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedAccessTokenStore store;
+    private final Clock clock;
+    private final int expectedEntries;
+    private final Duration overlap;
+
+    private final ConcurrentHashMap<UUID, Instant> exact = new ConcurrentHashMap<>();
+    private volatile JtiBloomFilter bloom;
+    /** Filtro em construção: adições concorrentes à reconstrução entram nele também. */
+    private volatile JtiBloomFilter building;
+
+    private Instant lastRead;
+    private int capacity;
+
+    @Autowired
+    public RevokedTokenList(RevokedAccessTokenStore store,
+                            Clock clock,
+                            @Value("${hubinfo.security.jwt.revocation.expected-entries:100000}") int expectedEntries,
+                            @Value("${hubinfo.security.jwt.revocation.poll-overlap:PT1M}") Duration overlap) {
+        this.store = store;
+        this.clock = clock;
+        this.expectedEntries = Math.max(1, expectedEntries);
+        this.overlap = overlap;
+        this.capacity = this.expectedEntries;
+        this.bloom = new JtiBloomFilter(capacity, FALSE_POSITIVE_RATE);
+    }
+
+    public boolean isRevoked(UUID jti) {
+        return jti != null && bloom.mightContain(jti) && exact.containsKey(jti);
+    }
+
+    /**
+     * Revoga (banco + memória deste nó).
+     */
+    public void revoke(UUID jti, Instant expiresAt) {
+        revokeAll(List.of(new RevokedAccessToken(jti, expiresAt, Instant.now(clock))));
+    }
+
+    public void revokeAll(Collection<RevokedAccessToken> tokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        store.saveAll(tokens);
+        tokens.forEach(t -> add(t.jti(), t.expiresAt()));
+    }
+
+    /**
+     * Carga inicial (antes de a API atender): tudo que ainda não expirou.
+     */
+    @PostConstruct
+    public void load() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${hubinfo.security.jwt.revocation.poll-interval:PT5S}")
+    public void refresh() {
+        Instant now = Instant.now(clock);
+        Instant since = lastRead == null ? Instant.EPOCH : lastRead.minus(overlap);
+        try {
+            List<RevokedAccessToken> rows = store.findRevokedSince(since, now);
+            rows.forEach(t -> add(t.jti(), t.expiresAt()));
+            lastRead = now;
+        } catch (DataAccessException ex) {
+            log.warn("Falha ao atualizar a lista de tokens revogados; mantendo a atual.", ex);
+        }
+        pruneExpired(now);
+    }
+
+    @Scheduled(fixedDelayString = "${hubinfo.security.jwt.revocation.purge-interval:PT1H}")
+    public void purgeExpired() {
+        try {
+            int removed = store.deleteExpired(Instant.now(clock));
+            if (removed > 0) {
+                log.info("{} revogação(ões) de access token expiradas removidas.", removed);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Falha ao remover revogações expiradas.", ex);
+        }
+    }
+
+    int size() {
+        return exact.size();
+    }
+
+    private void add(UUID jti, Instant expiresAt) {
+        exact.put(jti, expiresAt);
+        // Ordem importa (ver rebuild): primeiro o filtro em construção, por último o filtro atual.
+        JtiBloomFilter next = building;
+        if (next != null) {
+            next.add(jti);
+        }
+        bloom.add(jti);
+    }
+
+    private void pruneExpired(Instant now) {
+        int before = exact.size();
+        exact.values().removeIf(exp -> !exp.isAfter(now));
+        int removed = before - exact.size();
+
+        int size = exact.size();
+        boolean overCapacity = size > capacity;
+        boolean manyRemoved = removed > 0 && removed >= Math.max(1, before / 10);
+        if (overCapacity || manyRemoved) {
+            capacity = Math.max(expectedEntries, size * 2);
+            rebuild();
+        }
+    }
+
+    /**
+     * Troca o filtro por um novo, montado a partir do conjunto exato.
+     *
+     * Sem falso negativo durante a troca:
+     * 1) building = novo (add passa a gravar nele também);
+     * 2) percorre o conjunto exato (vê todo add cujo put terminou antes deste passo);
+     * 3) bloom = novo; 4) building = null.
+     * Um add que viu building nulo fez o put antes do passo 1 (entra no passo 2) ou depois do passo 4
+     * (grava direto no novo, que já é o atual).
+     *
+     * Chamado só pela rotina de refresh (uma execução por vez).
+     */
+    private void rebuild() {
+        JtiBloomFilter next = new JtiBloomFilter(capacity, FALSE_POSITIVE_RATE);
+        building = next;
+        exact.keySet().forEach(next::add);
+        bloom = next;
+        building = null;
+    }
+}
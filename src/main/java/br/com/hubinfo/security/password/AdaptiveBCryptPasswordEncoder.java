@@ -0,0 +1,54 @@
+package br.com.hubinfo.security.password;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PasswordEncoder BCrypt com cost calibrado e execução no {@link PasswordHashingExecutor}.
+ *
+ * Regras:
+ * - encode usa o cost atual; matches usa o cost gravado no próprio hash (hashes antigos continuam válidos).
+ * - upgradeEncoding: true só quando o cost gravado é menor que o atual. O DaoAuthenticationProvider
+ *   então regrava o hash no login bem-sucedido (UserDetailsPasswordService).
+ * - Hash com cost maior nunca é regravado: nó calibrado abaixo não enfraquece senhas já gravadas.
+ */
+public class AdaptiveBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final BCryptPasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+    private final int cost;
+
+    public AdaptiveBCryptPasswordEncoder(int cost, PasswordHashingExecutor executor) {
+        this.delegate = new BCryptPasswordEncoder(cost);
+        this.executor = executor;
+        this.cost = cost;
+    }
+
+    public int cost() {
+        return cost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.call(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.call(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher m = BCRYPT_COST.matcher(encodedPassword);
+        return m.find() && Integer.parseInt(m.group(1)) < cost;
+    }
+}
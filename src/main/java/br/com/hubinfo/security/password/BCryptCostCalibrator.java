@@ -0,0 +1,58 @@
+package br.com.hubinfo.security.password;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Escolhe o cost do BCrypt pela latência medida nesta máquina.
+ *
+ * Fluxo:
+ * 1) Mede o hash no min-cost (melhor de algumas amostras, após aquecimento).
+ * 2) Cada +1 no cost dobra o tempo: estima os demais sem medi-los.
+ * 3) Fica com o maior cost (até max-cost) cuja estimativa não passa de target-latency;
+ *    nunca abaixo de min-cost, mesmo em máquina lenta.
+ */
+public final class BCryptCostCalibrator {
+
+    private static final int SAMPLES = 3;
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(Duration targetLatency, int minCost, int maxCost) {
+        return calibrate(targetLatency, minCost, maxCost, BCryptCostCalibrator::measureNanos);
+    }
+
+    /**
+     * @param measureNanos tempo de um hash no cost informado (nanos).
+     */
+    static int calibrate(Duration targetLatency, int minCost, int maxCost, IntToLongFunction measureNanos) {
+        if (minCost < 4 || maxCost > 31 || minCost > maxCost) {
+            throw new IllegalArgumentException("Faixa de cost do BCrypt inválida: " + minCost + ".." + maxCost + ".");
+        }
+
+        measureNanos.applyAsLong(minCost); // aquecimento (JIT)
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            best = Math.min(best, measureNanos.applyAsLong(minCost));
+        }
+
+        long target = targetLatency.toNanos();
+        int cost = minCost;
+        long estimate = best;
+        while (cost < maxCost && estimate * 2 <= target) {
+            cost++;
+            estimate *= 2;
+        }
+        return cost;
+    }
+
+    private static long measureNanos(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        long start = System.nanoTime();
+        encoder.encode("calibracao-hubinfo");
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.hubinfo.security.password;
+
+/**
+ * Pool de hashing de senhas sem vaga (threads ocupadas e fila cheia).
+ *
+ * Observação:
+ * - Não estende AuthenticationException de propósito: o ProviderManager não deve tentar outro provider
+ *   nem tratar como credencial inválida; a API responde 429.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.hubinfo.security.password;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Pool dedicado ao BCrypt (login, criação de usuário e re-hash).
+ *
+ * Por que existe:
+ * - BCrypt é CPU pura e proposital (centenas de ms). Rodando nas threads do Tomcat, uma rajada
+ *   de logins ocupa todas elas e o resto da API para junto.
+ *
+ * Regras:
+ * - Threads de plataforma, uma por CPU (padrão): trabalho de CPU não ganha nada com virtual threads.
+ * - Fila limitada (queue-capacity); sem vaga => PasswordHashingBusyException na hora (429), sem esperar.
+ * - Quem chama aguarda o resultado; no máximo threads + fila requisições ficam presas esperando hash.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public PasswordHashingExecutor(PasswordHashingProperties properties) {
+        this(properties.effectiveThreads(), properties.getQueueCapacity());
+    }
+
+    PasswordHashingExecutor(int threads, int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                Thread.ofPlatform().name("password-hash-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Executa o hash no pool e devolve o resultado na thread chamadora.
+     *
+     * @throws PasswordHashingBusyException se não houver vaga no pool.
+     */
+    public <T> T call(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException ex) {
+            throw new PasswordHashingBusyException("Muitas autenticações em andamento. Tente novamente em instantes.");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Autenticação interrompida.");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    int queued() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.hubinfo.security.password;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propriedades do hashing de senhas (BCrypt).
+ *
+ * Exemplo no application.yml:
+ * hubinfo:
+ *   security:
+ *     password:
+ *       cost:                 # vazio = calibrado na subida; fixe em ambiente com vários nós
+ *       target-latency: PT0.25S
+ *       min-cost: 12          # piso: força do antigo BCryptPasswordEncoder(12)
+ *       max-cost: 14
+ *       threads: 0            # 0 = número de CPUs
+ *       queue-capacity: 64    # hashes aguardando thread; acima disso => 429
+ */
+@Component
+@ConfigurationProperties(prefix = "hubinfo.security.password")
+public class PasswordHashingProperties {
+
+    /**
+     * Cost fixo. Se nulo, é calibrado na subida para ficar o mais perto possível de target-latency.
+     *
+     * Observação: nós calibrados com custos diferentes regravariam o hash a cada login em nó diferente;
+     * com mais de um nó, fixe o valor.
+     */
+    private Integer cost;
+
+    private Duration targetLatency = Duration.ofMillis(250);
+
+    /** Piso da calibração: nunca abaixo da força de referência (cost 12). */
+    private int minCost = 12;
+
+    private int maxCost = 14;
+
+    private int threads = 0;
+
+    private int queueCapacity = 64;
+
+    public Integer getCost() { return cost; }
+    public void setCost(Integer cost) { this.cost = cost; }
+
+    public Duration getTargetLatency() { return targetLatency; }
+    public void setTargetLatency(Duration targetLatency) { this.targetLatency = targetLatency; }
+
+    public int getMinCost() { return minCost; }
+    public void setMinCost(int minCost) { this.minCost = minCost; }
+
+    public int getMaxCost() { return maxCost; }
+    public void setMaxCost(int maxCost) { this.maxCost = maxCost; }
+
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+    public int effectiveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -1,25 +1,108 @@
 package br.com.hubinfo.service;
 
 import br.com.hubinfo.audit.usecase.RecordAuditEventUseCase;
+import br.com.hubinfo.service.adapter.out.collector.ServiceCollectorRegistry;
+import br.com.hubinfo.service.config.ServiceBatchProperties;
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.CoalescedResult;
+import br.com.hubinfo.service.usecase.CoalescingKey;
 import br.com.hubinfo.service.usecase.GetServiceRequestUseCase;
 import br.com.hubinfo.service.usecase.ListServiceRequestsUseCase;
 import br.com.hubinfo.service.usecase.RequestCndUseCase;
+import br.com.hubinfo.service.usecase.ResumeAfterCaptchaUseCase;
+import br.com.hubinfo.service.usecase.SingleFlight;
+import br.com.hubinfo.service.usecase.SubmitCndBatchUseCase;
+import br.com.hubinfo.service.usecase.port.CaptchaContinuationGatewayPort;
+import br.com.hubinfo.service.usecase.port.CndCertificateCachePort;
 import br.com.hubinfo.service.usecase.port.CndGatewayPort;
+import br.com.hubinfo.service.usecase.port.ServiceCollector;
+import br.com.hubinfo.service.usecase.port.ServiceRequestBatchRepositoryPort;
+import br.com.hubinfo.service.usecase.port.ServiceRequestDispatcherPort;
 import br.com.hubinfo.service.usecase.port.ServiceRequestRepositoryPort;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
 
 @Configuration
 public class ServiceConfig {
 
+    /**
+     * Sem dispatcher registrado (mode=inline), a coleta roda na própria requisição.
+     * Sem cache de certidões (hubinfo.services.cnd.cache.enabled=false), toda solicitação consulta o portal.
+     * A consulta ao portal passa pelo coletor de CND (política de hubinfo.services.collectors).
+     */
     @Bean
     public RequestCndUseCase requestCndUseCase(ServiceRequestRepositoryPort repository,
-                                               CndGatewayPort gateway,
+                                               ServiceCollectorRegistry collectors,
                                                RecordAuditEventUseCase audit,
-                                               Clock clock) {
-        return new RequestCndUseCase(repository, gateway, audit, clock);
+                                               Clock clock,
+                                               ObjectProvider<ServiceRequestDispatcherPort> dispatcher,
+                                               ObjectProvider<CndCertificateCachePort> certificateCache,
+                                               SingleFlight<CoalescingKey, CoalescedResult<CndGatewayPort.CndGatewayResult>> cndGatewayFlights) {
+        return new RequestCndUseCase(repository, governedCnd(collectors), audit, clock,
+                dispatcher.getIfAvailable(), certificateCache.getIfAvailable(), cndGatewayFlights);
+    }
+
+    private static CndGatewayPort governedCnd(ServiceCollectorRegistry collectors) {
+        return normalizedCnpj -> {
+            ServiceCollector.CollectorResult result = collectors.get(ServiceType.CND)
+                    .collect(new ServiceCollector.CollectorRequest(normalizedCnpj, null));
+            return new CndGatewayPort.CndGatewayResult(
+                    result.success(), result.resultCode(), result.message(), result.payloadJson());
+        };
+    }
+
+    /**
+     * Consultas de CND em andamento por CNPJ (uma chamada ao portal por rajada).
+     * Falhas só são compartilhadas com quem já esperava; a próxima solicitação tenta de novo.
+     */
+    @Bean
+    public SingleFlight<CoalescingKey, CoalescedResult<CndGatewayPort.CndGatewayResult>> cndGatewayFlights(
+            @Value("${hubinfo.services.coalescing.window:30s}") Duration window) {
+        return new SingleFlight<>(window, shared -> shared.value().success());
+    }
+
+    /**
+     * Desafios de captcha em criação por (serviço, CNPJ): solicitações simultâneas recebem o mesmo desafio.
+     *
+     * Observação: só enquanto a criação está em andamento (janela zero). Depois disso o desafio pode ser
+     * resolvido e consumido a qualquer momento; quem o reaproveitasse ficaria ligado a uma líder já
+     * concluída e preso em CAPTCHA_REQUIRED.
+     */
+    @Bean
+    public SingleFlight<CoalescingKey, CoalescedResult<UUID>> captchaChallengeFlights() {
+        return new SingleFlight<>(Duration.ZERO);
+    }
+
+    /**
+     * Envio em massa só com a fila persistente: os itens são enfileirados junto com as solicitações
+     * e processados por qualquer nó, sobrevivendo a restart.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "hubinfo.services.dispatch", name = "mode", havingValue = "queue")
+    public SubmitCndBatchUseCase submitCndBatchUseCase(ServiceRequestBatchRepositoryPort repository,
+                                                       RecordAuditEventUseCase audit,
+                                                       Clock clock,
+                                                       ServiceBatchProperties properties) {
+        return new SubmitCndBatchUseCase(repository, audit, clock,
+                properties.getMaxItems(), properties.getChunkSize(), properties.getMaxRejectionDetails());
+    }
+
+    /**
+     * Coleta continuada com o token do CAPTCHA (CNPJReva, DT-e); disparada pelo CaptchaContinuationDispatcher.
+     */
+    @Bean
+    public ResumeAfterCaptchaUseCase resumeAfterCaptchaUseCase(ServiceRequestRepositoryPort repository,
+                                                               CaptchaContinuationGatewayPort gateway,
+                                                               RecordAuditEventUseCase audit,
+                                                               Clock clock) {
+        return new ResumeAfterCaptchaUseCase(repository, gateway, audit, clock);
     }
 
     @Bean
@@ -0,0 +1,177 @@
+package br.com.hubinfo.service.adapter.in.captcha;
+
+import br.com.hubinfo.captcha.config.CaptchaLifecycleProperties;
+import br.com.hubinfo.captcha.domain.CaptchaChallengeStatus;
+import br.com.hubinfo.captcha.usecase.CaptchaChallengeService;
+import br.com.hubinfo.captcha.usecase.port.CaptchaSolvedListener;
+import br.com.hubinfo.service.config.CaptchaContinuationProperties;
+import br.com.hubinfo.service.usecase.ResumeAfterCaptchaUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Continuação das solicitações CAPTCHA_REQUIRED quando o desafio é resolvido.
+ *
+ * Fluxo:
+ * 1) Desafio SOLVED (aviso do CaptchaChallengeService, após o commit) → virtual thread própria.
+ * 2) Consome o token (SOLVED → CONSUMED, um único vencedor entre nós).
+ * 3) Roda a coleta do serviço com o token (ResumeAfterCaptchaUseCase) e conclui as solicitações.
+ *
+ * Regras:
+ * - Sem fila compartilhada com as demais coletas; o limite (max-concurrent) só espera enquanto o token vale.
+ * - Releitura periódica dos SOLVED não consumidos cobre aviso perdido (nó caiu entre a solução e a continuação).
+ *
+ * Métricas:
+ * - hubinfo.captcha.continuation.latency: solução → início da coleta (idade do token ao chegar no portal).
+ * - hubinfo.captcha.continuation.duration: tempo da coleta com o token.
+ * - hubinfo.captcha.continuation.outcomes{outcome}: resumed | taken (outro nó/token vencido) | expired | error.
+ */
+@Component
+public class CaptchaContinuationDispatcher implements CaptchaSolvedListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CaptchaContinuationDispatcher.class);
+
+    /** Página da releitura (limite da fila de desafios). */
+    private static final int RESCAN_PAGE_SIZE = 100;
+
+    private final CaptchaChallengeService captchaChallengeService;
+    private final ResumeAfterCaptchaUseCase resumeAfterCaptcha;
+    private final CaptchaContinuationProperties properties;
+    private final CaptchaLifecycleProperties lifecycle;
+    private final MeterRegistry meters;
+    private final Clock clock;
+
+    private final Semaphore permits;
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final Timer latency;
+    private final Timer duration;
+
+    public CaptchaContinuationDispatcher(CaptchaChallengeService captchaChallengeService,
+                                         ResumeAfterCaptchaUseCase resumeAfterCaptcha,
+                                         CaptchaContinuationProperties properties,
+                                         CaptchaLifecycleProperties lifecycle,
+                                         MeterRegistry meters,
+                                         Clock clock) {
+        this.captchaChallengeService = captchaChallengeService;
+        this.resumeAfterCaptcha = resumeAfterCaptcha;
+        this.properties = properties;
+        this.lifecycle = lifecycle;
+        this.meters = meters;
+        this.clock = clock;
+        this.permits = new Semaphore(Math.max(1, properties.getMaxConcurrent()), true);
+
+        this.latency = Timer.builder("hubinfo.captcha.continuation.latency")
+                .description("Tempo entre a solução do CAPTCHA e o início da coleta com o token")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meters);
+        this.duration = Timer.builder("hubinfo.captcha.continuation.duration")
+                .description("Tempo da coleta continuada com o token do CAPTCHA")
+                .register(meters);
+    }
+
+    @Override
+    public void challengeSolved(UUID challengeId, UUID serviceRequestId, Instant solvedAt) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    start(challengeId, serviceRequestId, solvedAt);
+                }
+            });
+        } else {
+            start(challengeId, serviceRequestId, solvedAt);
+        }
+    }
+
+    /**
+     * Releitura: SOLVED há mais de rescan-grace e ainda não consumidos.
+     */
+    @Scheduled(fixedDelayString = "${hubinfo.services.captcha-continuation.rescan-interval:PT5S}")
+    public void rescan() {
+        try {
+            Instant solvedBefore = Instant.now(clock).minus(properties.getRescanGrace());
+            String cursor = null;
+            do {
+                CaptchaChallengeService.CaptchaChallengePage page =
+                        captchaChallengeService.listOpen(CaptchaChallengeStatus.SOLVED, RESCAN_PAGE_SIZE, cursor);
+                for (CaptchaChallengeService.CaptchaChallengeView view : page.items()) {
+                    if (view.solvedAt() != null && view.solvedAt().isBefore(solvedBefore)) {
+                        start(view.id(), view.serviceRequestId(), view.solvedAt());
+                    }
+                }
+                cursor = page.nextCursor();
+            } while (cursor != null);
+        } catch (RuntimeException ex) {
+            log.warn("Releitura de CAPTCHAs resolvidos falhou; nova tentativa na próxima rodada.", ex);
+        }
+    }
+
+    private void start(UUID challengeId, UUID serviceRequestId, Instant solvedAt) {
+        if (!inFlight.add(challengeId)) {
+            return;
+        }
+        Thread.ofVirtual().name("captcha-continuation").start(() -> {
+            try {
+                run(challengeId, serviceRequestId, solvedAt);
+            } finally {
+                inFlight.remove(challengeId);
+            }
+        });
+    }
+
+    private void run(UUID challengeId, UUID serviceRequestId, Instant solvedAt) {
+        Duration remaining = Duration.between(Instant.now(clock), solvedAt.plus(lifecycle.getSolvedTtl()));
+        try {
+            if (remaining.isNegative() || !permits.tryAcquire(remaining.toNanos(), TimeUnit.NANOSECONDS)) {
+                outcome("expired");
+                log.warn("CAPTCHA {} resolvido sem vaga para continuar antes de o token vencer.", challengeId);
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        try {
+            Optional<String> token = captchaChallengeService.consumeSolution(challengeId);
+            if (token.isEmpty()) {
+                outcome("taken");
+                return;
+            }
+
+            Duration age = Duration.between(solvedAt, Instant.now(clock));
+            latency.record(age);
+            log.debug("Continuando solicitação {} com o CAPTCHA {} ({} ms após a solução).",
+                    serviceRequestId, challengeId, age.toMillis());
+
+            duration.record(() -> resumeAfterCaptcha.resume(serviceRequestId, token.get()));
+            outcome("resumed");
+        } catch (RuntimeException ex) {
+            outcome("error");
+            log.warn("Falha ao continuar a solicitação {} após o CAPTCHA {}.", serviceRequestId, challengeId, ex);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void outcome(String outcome) {
+        meters.counter("hubinfo.captcha.continuation.outcomes", "outcome", outcome).increment();
+    }
+}
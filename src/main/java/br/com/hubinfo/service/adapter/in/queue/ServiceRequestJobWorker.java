@@ -0,0 +1,149 @@
+package br.com.hubinfo.service.adapter.in.queue;
+
+import br.com.hubinfo.service.adapter.out.dispatch.BoundedServiceRequestExecutor;
+import br.com.hubinfo.service.adapter.out.dispatch.ServiceRequestProcessorRegistry;
+import br.com.hubinfo.service.config.ServiceDispatchProperties;
+import br.com.hubinfo.service.usecase.port.ServiceRequestJobQueuePort;
+import br.com.hubinfo.service.usecase.port.ServiceRequestJobQueuePort.ClaimedJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Worker da fila persistente (mode=queue).
+ *
+ * Ciclo:
+ * 1) poll: reivindica até (capacidade livre do executor) jobs e executa cada um numa virtual thread.
+ * 2) heartbeat: renova o lease dos jobs em execução neste nó.
+ * 3) reaper: devolve para a fila jobs com lease expirado (nó caiu) e enfileira solicitações PENDING órfãs.
+ * 4) purge: apaga jobs DONE/FAILED mais antigos que a retenção (a tabela não cresce sem limite).
+ *
+ * Garantias:
+ * - Jobs só são perdidos se a solicitação nem chegou a ser gravada.
+ * - Processamento duplicado é evitado pelo lease + idempotência do processador (só processa PENDING).
+ */
+@Component
+@ConditionalOnProperty(prefix = "hubinfo.services.dispatch", name = "mode", havingValue = "queue")
+public class ServiceRequestJobWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceRequestJobWorker.class);
+
+    private static final int ORPHAN_SWEEP_LIMIT = 500;
+
+    private final ServiceRequestJobQueuePort queue;
+    private final BoundedServiceRequestExecutor executor;
+    private final ServiceRequestProcessorRegistry processors;
+    private final ServiceDispatchProperties properties;
+    private final Clock clock;
+
+    /** Identifica este nó como dono dos leases. */
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ServiceRequestJobWorker(ServiceRequestJobQueuePort queue,
+                                   BoundedServiceRequestExecutor executor,
+                                   ServiceRequestProcessorRegistry processors,
+                                   ServiceDispatchProperties properties,
+                                   Clock clock) {
+        this.queue = queue;
+        this.executor = executor;
+        this.processors = processors;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${hubinfo.services.dispatch.queue.poll-interval:PT1S}")
+    public void poll() {
+        ServiceDispatchProperties.Queue cfg = properties.getQueue();
+
+        int free = Math.min(cfg.getBatchSize(), executor.availableCapacity());
+        if (free <= 0) {
+            return;
+        }
+
+        List<ClaimedJob> jobs = queue.claim(owner, processors.supportedTypes(), free, Instant.now(clock), cfg.getLease());
+
+        for (ClaimedJob job : jobs) {
+            inFlight.add(job.serviceRequestId());
+            if (!executor.trySubmit(job.serviceType(), () -> run(job))) {
+                // Capacidade tomada entre a leitura e a submissão: devolve para a fila já, sem gastar tentativa.
+                inFlight.remove(job.serviceRequestId());
+                queue.releaseUnstarted(job.serviceRequestId(), owner, Instant.now(clock));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hubinfo.services.dispatch.queue.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        queue.heartbeat(owner, List.copyOf(inFlight), Instant.now(clock).plus(properties.getQueue().getLease()));
+    }
+
+    @Scheduled(fixedDelayString = "${hubinfo.services.dispatch.queue.reaper-interval:PT30S}")
+    public void reap() {
+        ServiceDispatchProperties.Queue cfg = properties.getQueue();
+        Instant now = Instant.now(clock);
+
+        int recovered = queue.recoverExpiredLeases(now, cfg.getMaxAttempts());
+        int orphans = queue.enqueueOrphans(processors.supportedTypes(), now.minus(cfg.getOrphanAge()), now, ORPHAN_SWEEP_LIMIT);
+
+        if (recovered > 0 || orphans > 0) {
+            log.info("Fila de solicitações: {} lease(s) expirado(s) recuperado(s), {} órfã(s) enfileirada(s).", recovered, orphans);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hubinfo.services.dispatch.queue.purge-interval:PT1H}")
+    public void purgeFinished() {
+        ServiceDispatchProperties.Queue cfg = properties.getQueue();
+        Instant before = Instant.now(clock).minus(cfg.getRetention());
+        int batchSize = Math.max(1, cfg.getPurgeBatchSize());
+        try {
+            int removed = 0;
+            int batch;
+            do {
+                batch = queue.purgeFinished(before, batchSize);
+                removed += batch;
+            } while (batch >= batchSize);
+
+            if (removed > 0) {
+                log.info("Fila de solicitações: {} job(s) encerrado(s) removido(s).", removed);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Falha ao remover jobs encerrados da fila de solicitações.", ex);
+        }
+    }
+
+    private void run(ClaimedJob job) {
+        UUID id = job.serviceRequestId();
+        try {
+            processors.get(job.serviceType()).process(id);
+            queue.complete(id, owner, Instant.now(clock));
+        } catch (RuntimeException ex) {
+            ServiceDispatchProperties.Queue cfg = properties.getQueue();
+            if (job.attempts() >= cfg.getMaxAttempts()) {
+                // Tentativas esgotadas: mantemos o lease até expirar; o reaper marca FAILED e encerra a solicitação.
+                log.error("Solicitação {} falhou {} vez(es); aguardando o reaper encerrar.", id, job.attempts(), ex);
+                return;
+            }
+            Instant retryAt = Instant.now(clock).plus(cfg.getRetryBackoff().multipliedBy(job.attempts()));
+            log.warn("Falha ao processar solicitação {} (tentativa {}). Nova tentativa em {}.", id, job.attempts(), retryAt, ex);
+            queue.release(id, owner, retryAt, ex.getMessage());
+        } finally {
+            inFlight.remove(id);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package br.com.hubinfo.service.adapter.in.web;
+
+import br.com.hubinfo.service.usecase.BatchInputItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Lê o arquivo do envio em massa linha a linha (CSV ou NDJSON), sem carregá-lo inteiro.
+ *
+ * CSV:
+ * - Separador ";" ou "," (detectado na primeira linha); campos entre aspas são aceitos.
+ * - Se a primeira linha tiver uma coluna "cnpj", ela é cabeçalho e define a coluna; senão usa a primeira.
+ *
+ * NDJSON:
+ * - Um objeto JSON por linha com o campo "cnpj".
+ *
+ * Regras:
+ * - Linhas em branco são ignoradas; linha acima de MAX_LINE_CHARS vira item malformado.
+ * - Só pode ser percorrido uma vez (lê direto do stream da requisição).
+ */
+final class BatchUploadReader implements Iterable<BatchInputItem> {
+
+    enum Format { CSV, NDJSON }
+
+    static final int MAX_LINE_CHARS = 4096;
+
+    // Resultado de readLine().
+    private static final int OK = 0;
+    private static final int EOF = 1;
+    private static final int TOO_LONG = 2;
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private boolean consumed;
+
+    BatchUploadReader(InputStream in, Format format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Iterator<BatchInputItem> iterator() {
+        if (consumed) {
+            throw new IllegalStateException("Arquivo já foi lido.");
+        }
+        consumed = true;
+        return new ItemIterator();
+    }
+
+    private final class ItemIterator implements Iterator<BatchInputItem> {
+
+        private final StringBuilder line = new StringBuilder(64);
+        private int lineNumber;
+        private int cnpjColumn = -1;
+        private char delimiter;
+        private BatchInputItem next;
+        private boolean eof;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !eof) {
+                next = advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public BatchInputItem next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            BatchInputItem item = next;
+            next = null;
+            return item;
+        }
+
+        private BatchInputItem advance() {
+            while (true) {
+                int status = readLine();
+                if (status == EOF) {
+                    eof = true;
+                    return null;
+                }
+                lineNumber++;
+                if (status == TOO_LONG) {
+                    return BatchInputItem.malformed(lineNumber, "Linha maior que " + MAX_LINE_CHARS + " caracteres.");
+                }
+
+                String text = lineNumber == 1 ? stripBom(line) : line.toString();
+                if (text.isBlank()) {
+                    continue;
+                }
+
+                if (format == Format.NDJSON) {
+                    return parseJson(text);
+                }
+
+                List<String> fields;
+                if (cnpjColumn < 0) {
+                    delimiter = count(text, ';') > count(text, ',') ? ';' : ',';
+                    fields = split(text, delimiter);
+                    cnpjColumn = headerColumn(fields);
+                    if (cnpjColumn >= 0) {
+                        continue; // cabeçalho
+                    }
+                    cnpjColumn = 0;
+                } else {
+                    fields = split(text, delimiter);
+                }
+                return BatchInputItem.of(lineNumber, cnpjColumn < fields.size() ? fields.get(cnpjColumn) : null);
+            }
+        }
+
+        private BatchInputItem parseJson(String text) {
+            try {
+                JsonNode node = objectMapper.readTree(text);
+                if (node == null || !node.isObject()) {
+                    return BatchInputItem.malformed(lineNumber, "Esperado um objeto JSON por linha.");
+                }
+                JsonNode cnpj = node.get("cnpj");
+                return BatchInputItem.of(lineNumber, cnpj == null || cnpj.isNull() ? null : cnpj.asText());
+            } catch (JsonProcessingException ex) {
+                return BatchInputItem.malformed(lineNumber, "JSON inválido.");
+            }
+        }
+
+        /**
+         * Lê a próxima linha para "line" (sem o terminador), limitada a MAX_LINE_CHARS.
+         */
+        private int readLine() {
+            line.setLength(0);
+            boolean tooLong = false;
+            try {
+                int c;
+                while ((c = reader.read()) != -1) {
+                    if (c == '\n') {
+                        break;
+                    }
+                    if (line.length() < MAX_LINE_CHARS) {
+                        line.append((char) c);
+                    } else {
+                        tooLong = true;
+                    }
+                }
+                if (c == -1 && line.isEmpty() && !tooLong) {
+                    return EOF;
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Falha ao ler o arquivo enviado.", ex);
+            }
+            if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            return tooLong ? TOO_LONG : OK;
+        }
+    }
+
+    private static int headerColumn(List<String> fields) {
+        for (int i = 0; i < fields.size(); i++) {
+            if (fields.get(i).trim().toLowerCase(Locale.ROOT).equals("cnpj")) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Divide a linha respeitando aspas ("a;b" é um campo; "" dentro de aspas é uma aspa).
+     */
+    static List<String> split(String text, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static int count(String text, char c) {
+        int n = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == c) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private static String stripBom(CharSequence s) {
+        return !s.isEmpty() && s.charAt(0) == '\uFEFF' ? s.subSequence(1, s.length()).toString() : s.toString();
+    }
+}
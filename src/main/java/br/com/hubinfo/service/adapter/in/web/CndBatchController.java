@@ -0,0 +1,143 @@
+package br.com.hubinfo.service.adapter.in.web;
+
+import br.com.hubinfo.security.HubInfoPrincipal;
+import br.com.hubinfo.service.adapter.in.web.dto.CndBatchResponse;
+import br.com.hubinfo.service.domain.ServiceRequestBatch;
+import br.com.hubinfo.service.usecase.SubmitCndBatchCommand;
+import br.com.hubinfo.service.usecase.SubmitCndBatchUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Envio em massa de CNPJs para CND (carteiras de 5 a 50 mil CNPJs no fechamento do mês).
+ *
+ * Endpoints:
+ * - POST /api/v1/services/cnd/batches
+ *   - corpo text/csv ou application/x-ndjson (lido em streaming), ou
+ *   - multipart/form-data com o arquivo em "file" (.ndjson/.jsonl = NDJSON; demais = CSV).
+ * - GET /api/v1/services/cnd/batches/{id}: andamento (contagem por status).
+ *
+ * Respostas:
+ * - 202: lote recebido e enfileirado (header Location para acompanhar).
+ * - 400: arquivo vazio ou lote inexistente/de outro usuário.
+ *
+ * Observação:
+ * - Só existe com hubinfo.services.dispatch.mode=queue (os itens vão para a fila persistente).
+ */
+@RestController
+@RequestMapping("/api/v1/services/cnd/batches")
+@ConditionalOnProperty(prefix = "hubinfo.services.dispatch", name = "mode", havingValue = "queue")
+public class CndBatchController {
+
+    private final SubmitCndBatchUseCase useCase;
+    private final ObjectMapper objectMapper;
+
+    public CndBatchController(SubmitCndBatchUseCase useCase, ObjectMapper objectMapper) {
+        this.useCase = useCase;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<CndBatchResponse> submit(@AuthenticationPrincipal HubInfoPrincipal principal,
+                                                   HttpServletRequest request) throws IOException {
+        BatchUploadReader.Format format = request.getContentType().toLowerCase(Locale.ROOT).contains("ndjson")
+                ? BatchUploadReader.Format.NDJSON
+                : BatchUploadReader.Format.CSV;
+
+        return submit(principal, request, request.getInputStream(), format);
+    }
+
+    @PostMapping(consumes = "multipart/form-data")
+    public ResponseEntity<CndBatchResponse> submitFile(@AuthenticationPrincipal HubInfoPrincipal principal,
+                                                       @RequestPart("file") MultipartFile file,
+                                                       HttpServletRequest request) throws IOException {
+        String name = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase(Locale.ROOT);
+        BatchUploadReader.Format format = name.endsWith(".ndjson") || name.endsWith(".jsonl")
+                ? BatchUploadReader.Format.NDJSON
+                : BatchUploadReader.Format.CSV;
+
+        try (InputStream in = file.getInputStream()) {
+            return submit(principal, request, in, format);
+        }
+    }
+
+    @GetMapping("/{id}")
+    public CndBatchResponse progress(@PathVariable("id") UUID id,
+                                     @AuthenticationPrincipal HubInfoPrincipal principal,
+                                     Authentication authentication) {
+        boolean isAdmin = authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+
+        SubmitCndBatchUseCase.Progress progress = useCase.progress(id, principal.userId(), isAdmin);
+        return toResponse(progress, null, null);
+    }
+
+    private ResponseEntity<CndBatchResponse> submit(HubInfoPrincipal principal,
+                                                    HttpServletRequest request,
+                                                    InputStream in,
+                                                    BatchUploadReader.Format format) {
+        SubmitCndBatchCommand cmd = new SubmitCndBatchCommand(
+                new BatchUploadReader(in, format, objectMapper),
+                format.name(),
+                principal.userId(),
+                principal.email(),
+                request.getRemoteAddr(),
+                request.getMethod(),
+                request.getRequestURI(),
+                request.getHeader("User-Agent")
+        );
+
+        SubmitCndBatchUseCase.Submitted submitted = useCase.submit(cmd);
+        ServiceRequestBatch batch = submitted.batch();
+
+        List<CndBatchResponse.Rejection> rejections = submitted.rejections().stream()
+                .map(r -> new CndBatchResponse.Rejection(r.line(), r.reason()))
+                .toList();
+
+        SubmitCndBatchUseCase.Progress progress = useCase.progress(batch.id(), principal.userId(), true);
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/services/cnd/batches/" + batch.id()))
+                .body(toResponse(progress, rejections, submitted.rejectionsTruncated()));
+    }
+
+    private static CndBatchResponse toResponse(SubmitCndBatchUseCase.Progress progress,
+                                               List<CndBatchResponse.Rejection> rejections,
+                                               Boolean rejectionsTruncated) {
+        ServiceRequestBatch b = progress.batch();
+
+        Map<String, Integer> byStatus = new LinkedHashMap<>();
+        progress.countsByStatus().forEach((status, n) -> byStatus.put(status.name(), n));
+
+        return new CndBatchResponse(
+                b.id(),
+                b.serviceType().name(),
+                b.status().name(),
+                b.sourceFormat(),
+                b.createdAt(),
+                b.receivedAt(),
+                b.totalItems(),
+                b.acceptedItems(),
+                b.rejectedItems(),
+                progress.completed(),
+                byStatus,
+                rejections,
+                rejectionsTruncated
+        );
+    }
+}
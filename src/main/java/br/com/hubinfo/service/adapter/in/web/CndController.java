@@ -3,20 +3,30 @@ package br.com.hubinfo.service.adapter.in.web;
 import br.com.hubinfo.security.HubInfoPrincipal;
 import br.com.hubinfo.service.adapter.in.web.dto.CndRequestCreateRequest;
 import br.com.hubinfo.service.adapter.in.web.dto.ServiceRequestResponse;
+import br.com.hubinfo.service.domain.ServiceRequestStatus;
 import br.com.hubinfo.service.usecase.RequestCndCommand;
 import br.com.hubinfo.service.usecase.RequestCndUseCase;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+
 /**
  * Controller do serviço CND.
  *
  * Endpoints:
  * - POST /api/v1/services/cnd/requests
  *
+ * Respostas:
+ * - 201: coleta concluída na própria requisição (modo inline).
+ * - 202: solicitação PENDING aceita para processamento assíncrono; acompanhar em
+ *        GET /api/v1/services/requests/{id} (header Location).
+ * - 503: sem capacidade de processamento no momento (Retry-After).
+ *
  * Segurança:
  * - Qualquer usuário autenticado pode solicitar.
  * - Auditoria registra quem solicitou e o resultado.
@@ -32,10 +42,9 @@ public class CndController {
     }
 
     @PostMapping("/requests")
-    @ResponseStatus(HttpStatus.CREATED)
-    public ServiceRequestResponse requestCnd(@AuthenticationPrincipal HubInfoPrincipal principal,
-                                             @Valid @RequestBody CndRequestCreateRequest body,
-                                             HttpServletRequest request) {
+    public ResponseEntity<ServiceRequestResponse> requestCnd(@AuthenticationPrincipal HubInfoPrincipal principal,
+                                                             @Valid @RequestBody CndRequestCreateRequest body,
+                                                             HttpServletRequest request) {
 
         // Captura metadados HTTP para auditoria (IP, path, UA, etc.)
         RequestCndCommand cmd = new RequestCndCommand(
@@ -50,7 +59,7 @@ public class CndController {
 
         var result = useCase.request(cmd);
 
-        return new ServiceRequestResponse(
+        var response = new ServiceRequestResponse(
                 result.id(),
                 result.serviceType().name(),
                 result.status().name(),
@@ -58,7 +67,17 @@ public class CndController {
                 result.requestedAt(),
                 result.completedAt(),
                 result.resultCode(),
-                result.resultMessage()
+                result.resultMessage(),
+                result.servedFromCache(),
+                result.coalescedWithRequestId()
         );
+
+        if (result.status() == ServiceRequestStatus.PENDING) {
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/services/requests/" + result.id()))
+                    .body(response);
+        }
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 }
@@ -6,13 +6,23 @@ import br.com.hubinfo.service.adapter.in.web.dto.ServiceRequestListResponse;
 import br.com.hubinfo.service.domain.ServiceRequestStatus;
 import br.com.hubinfo.service.domain.ServiceType;
 import br.com.hubinfo.service.usecase.GetServiceRequestUseCase;
+import br.com.hubinfo.service.domain.ServiceRequest;
 import br.com.hubinfo.service.usecase.ListServiceRequestsUseCase;
+import br.com.hubinfo.service.usecase.ServiceRequestPage;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -31,13 +41,25 @@ import java.util.UUID;
 @RequestMapping("/api/v1/services/requests")
 public class ServiceRequestQueryController {
 
+    /** Cabeçalho com o token da próxima página (ausente na última). */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    /** A cada N linhas forçamos flush para o cliente começar a consumir. */
+    private static final int EXPORT_FLUSH_EVERY = 500;
+
     private final GetServiceRequestUseCase getUseCase;
     private final ListServiceRequestsUseCase listUseCase;
+    private final ObjectWriter lineWriter;
 
     public ServiceRequestQueryController(GetServiceRequestUseCase getUseCase,
-                                         ListServiceRequestsUseCase listUseCase) {
+                                         ListServiceRequestsUseCase listUseCase,
+                                         ObjectMapper objectMapper) {
         this.getUseCase = getUseCase;
         this.listUseCase = listUseCase;
+        // Cada linha é escrita no mesmo stream; o writer não pode fechá-lo.
+        this.lineWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     /**
@@ -65,47 +87,100 @@ public class ServiceRequestQueryController {
                 req.requestedAt(),
                 req.completedAt(),
                 req.resultCode(),
-                req.resultMessage()
+                req.resultMessage(),
+                req.servedFromCache(),
+                req.coalescedWithRequestId()
         );
     }
 
     /**
-     * GET /api/v1/services/requests?serviceType=&status=&limit=&scope=
+     * GET /api/v1/services/requests?serviceType=&status=&limit=&scope=&cursor=
      *
      * scope:
      * - ME (default): histórico do usuário autenticado
      * - ALL: histórico geral (apenas ADMIN)
+     *
+     * Paginação:
+     * - Se houver mais itens, a resposta traz o cabeçalho X-Next-Cursor.
+     * - Para a próxima página, repita a mesma consulta com cursor=<valor do cabeçalho>.
      */
     @GetMapping
-    public List<ServiceRequestListResponse> list(@AuthenticationPrincipal HubInfoPrincipal principal,
-                                                 Authentication authentication,
-                                                 @RequestParam(name = "serviceType", required = false) ServiceType serviceType,
-                                                 @RequestParam(name = "status", required = false) ServiceRequestStatus status,
-                                                 @RequestParam(name = "scope", defaultValue = "ME") ListServiceRequestsUseCase.Scope scope,
-                                                 @RequestParam(name = "limit", defaultValue = "20") @Min(1) @Max(100) int limit) {
+    public ResponseEntity<List<ServiceRequestListResponse>> list(@AuthenticationPrincipal HubInfoPrincipal principal,
+                                                                 Authentication authentication,
+                                                                 @RequestParam(name = "serviceType", required = false) ServiceType serviceType,
+                                                                 @RequestParam(name = "status", required = false) ServiceRequestStatus status,
+                                                                 @RequestParam(name = "scope", defaultValue = "ME") ListServiceRequestsUseCase.Scope scope,
+                                                                 @RequestParam(name = "limit", defaultValue = "20") @Min(1) @Max(100) int limit,
+                                                                 @RequestParam(name = "cursor", required = false) String cursor) {
 
         boolean isAdmin = hasRole(authentication, "ROLE_ADMIN");
 
-        var items = listUseCase.list(
+        ServiceRequestPage page = listUseCase.page(
                 principal.userId(),
                 isAdmin,
                 scope,
                 serviceType,
                 status,
-                limit
+                limit,
+                cursor
         );
 
-        return items.stream()
-                .map(r -> new ServiceRequestListResponse(
-                        r.id(),
-                        r.serviceType().name(),
-                        r.status().name(),
-                        r.cnpj(),
-                        r.requestedAt(),
-                        r.completedAt(),
-                        r.resultCode()
-                ))
+        List<ServiceRequestListResponse> body = page.items().stream()
+                .map(ServiceRequestQueryController::toListResponse)
                 .toList();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(body);
+    }
+
+    /**
+     * GET /api/v1/services/requests/export?serviceType=&status=
+     *
+     * Histórico geral em NDJSON (um JSON por linha), apenas ADMIN.
+     * Lido do banco em lotes por keyset e escrito direto na resposta: memória constante
+     * independentemente do volume.
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> export(Authentication authentication,
+                                                        @RequestParam(name = "serviceType", required = false) ServiceType serviceType,
+                                                        @RequestParam(name = "status", required = false) ServiceRequestStatus status) {
+
+        boolean isAdmin = hasRole(authentication, "ROLE_ADMIN");
+
+        // Valida permissão antes de abrir o stream (erro vira 400, não resposta truncada).
+        Iterable<ServiceRequest> rows = listUseCase.exportAll(isAdmin, serviceType, status);
+
+        StreamingResponseBody body = out -> {
+            OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+            int written = 0;
+            for (ServiceRequest r : rows) {
+                lineWriter.writeValue(buffered, toListResponse(r));
+                buffered.write('\n');
+                if (++written % EXPORT_FLUSH_EVERY == 0) {
+                    buffered.flush();
+                }
+            }
+            buffered.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(body);
+    }
+
+    private static ServiceRequestListResponse toListResponse(ServiceRequest r) {
+        return new ServiceRequestListResponse(
+                r.id(),
+                r.serviceType().name(),
+                r.status().name(),
+                r.cnpj(),
+                r.requestedAt(),
+                r.completedAt(),
+                r.resultCode()
+        );
     }
 
     /**
@@ -0,0 +1,33 @@
+package br.com.hubinfo.service.adapter.in.web.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * DTO do lote de envio em massa (recepção + andamento).
+ *
+ * Observação:
+ * - byStatus conta as solicitações do lote por status (PENDING = na fila ou em execução).
+ * - rejections só vem na resposta do envio (até max-rejection-details); no GET é null.
+ */
+public record CndBatchResponse(
+        UUID batchId,
+        String serviceType,
+        String status,
+        String sourceFormat,
+        Instant createdAt,
+        Instant receivedAt,
+        int totalItems,
+        int acceptedItems,
+        int rejectedItems,
+        int completedItems,
+        Map<String, Integer> byStatus,
+        List<Rejection> rejections,
+        Boolean rejectionsTruncated
+) {
+
+    public record Rejection(int line, String reason) {
+    }
+}
@@ -22,6 +22,8 @@ public record ServiceRequestDetailsResponse(
         Instant requestedAt,
         Instant completedAt,
         String resultCode,
-        String resultMessage
+        String resultMessage,
+        boolean servedFromCache,
+        UUID coalescedWithRequestId
 ) {
 }
@@ -14,6 +14,8 @@ public record ServiceRequestResponse(
         Instant requestedAt,
         Instant completedAt,
         String resultCode,
-        String resultMessage
+        String resultMessage,
+        boolean servedFromCache,
+        UUID coalescedWithRequestId
 ) {
 }
@@ -0,0 +1,205 @@
+package br.com.hubinfo.service.adapter.out.cache;
+
+import br.com.hubinfo.common.persistence.UuidBinary;
+import br.com.hubinfo.service.config.CndCacheProperties;
+import br.com.hubinfo.service.usecase.port.CndCertificateCachePort;
+import br.com.hubinfo.service.usecase.port.CndGatewayPort;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Optional;
+import java.util.TimeZone;
+import java.util.UUID;
+
+/**
+ * Cache de certidões CND em duas camadas.
+ *
+ * Fluxo:
+ * - find: memória (Caffeine, limitado por max-size) -> MySQL (cnd_certificate_cache) -> vazio.
+ *   Acerto no MySQL volta para a memória.
+ * - put: só resultados de sucesso com validade no payload (CndValidity); grava nas duas camadas.
+ *
+ * Regras:
+ * - Cada entrada expira em validUntil - min-remaining (na memória e na consulta ao MySQL).
+ * - Datas gravadas/lidas em UTC (igual ao Hibernate para Instant).
+ * - source_request_id gravado em CHAR(36) e na cópia *_bin (fase de expansão da V026; ver UuidBinary).
+ * - Falha do MySQL não derruba a solicitação: find vira "sem cache" e put fica só na memória.
+ * - Linhas vencidas são apagadas a cada purge-interval.
+ */
+@Component
+@ConditionalOnProperty(prefix = "hubinfo.services.cnd.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CndCertificateCacheAdapter implements CndCertificateCachePort {
+
+    private static final Logger log = LoggerFactory.getLogger(CndCertificateCacheAdapter.class);
+
+    private static final String SELECT_SQL = """
+            SELECT result_code, result_message, result_payload_json, valid_until
+              FROM cnd_certificate_cache
+             WHERE cnpj = ? AND valid_until > ?
+            """;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO cnd_certificate_cache
+              (cnpj, result_code, result_message, result_payload_json, valid_until, source_request_id,
+               source_request_id_bin, cached_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+              result_code = VALUES(result_code),
+              result_message = VALUES(result_message),
+              result_payload_json = VALUES(result_payload_json),
+              valid_until = VALUES(valid_until),
+              source_request_id = VALUES(source_request_id),
+              source_request_id_bin = VALUES(source_request_id_bin),
+              cached_at = VALUES(cached_at)
+            """;
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+    private final CndCacheProperties properties;
+    private final Clock clock;
+    private final Cache<String, CachedCnd> memory;
+
+    public CndCertificateCacheAdapter(JdbcTemplate jdbc,
+                                      ObjectMapper objectMapper,
+                                      CndCacheProperties properties,
+                                      Clock clock,
+                                      ObjectProvider<MeterRegistry> meters) {
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.clock = clock;
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfter(new ExpireBeforeValidity())
+                .recordStats()
+                .build();
+
+        MeterRegistry registry = meters.getIfAvailable();
+        if (registry != null) {
+            CaffeineCacheMetrics.monitor(registry, memory, "cnd-certificates");
+        }
+    }
+
+    @Override
+    public Optional<CachedCnd> find(String normalizedCnpj) {
+        Instant usableAfter = Instant.now(clock).plus(properties.getMinRemaining());
+
+        CachedCnd cached = memory.getIfPresent(normalizedCnpj);
+        if (cached != null && cached.validUntil().isAfter(usableAfter)) {
+            return Optional.of(cached);
+        }
+
+        try {
+            List<CachedCnd> rows = jdbc.query(SELECT_SQL,
+                    ps -> {
+                        ps.setString(1, normalizedCnpj);
+                        ps.setTimestamp(2, Timestamp.from(usableAfter), Calendar.getInstance(UTC));
+                    },
+                    (rs, i) -> new CachedCnd(
+                            rs.getString("result_code"),
+                            rs.getString("result_message"),
+                            rs.getString("result_payload_json"),
+                            rs.getTimestamp("valid_until", Calendar.getInstance(UTC)).toInstant()
+                    ));
+
+            if (rows.isEmpty()) {
+                return Optional.empty();
+            }
+            memory.put(normalizedCnpj, rows.get(0));
+            return Optional.of(rows.get(0));
+        } catch (DataAccessException ex) {
+            log.warn("Cache de CND indisponível no banco; consultando o portal. cnpj={}", normalizedCnpj, ex);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public boolean put(String normalizedCnpj, UUID sourceRequestId, CndGatewayPort.CndGatewayResult result) {
+        if (result == null || !result.success()) {
+            return false;
+        }
+
+        Optional<Instant> validUntil = CndValidity.validUntil(objectMapper, result.payloadJson(), properties.getZone());
+        Instant now = Instant.now(clock);
+        if (validUntil.isEmpty() || !validUntil.get().isAfter(now.plus(properties.getMinRemaining()))) {
+            return false;
+        }
+
+        CachedCnd entry = new CachedCnd(result.resultCode(), result.message(), result.payloadJson(), validUntil.get());
+        memory.put(normalizedCnpj, entry);
+
+        try {
+            jdbc.update(UPSERT_SQL, ps -> {
+                ps.setString(1, normalizedCnpj);
+                ps.setString(2, entry.resultCode());
+                ps.setString(3, entry.message());
+                ps.setString(4, entry.payloadJson());
+                ps.setTimestamp(5, Timestamp.from(entry.validUntil()), Calendar.getInstance(UTC));
+                UuidBinary.bindText(ps, 6, sourceRequestId);
+                UuidBinary.bind(ps, 7, sourceRequestId);
+                ps.setTimestamp(8, Timestamp.from(now), Calendar.getInstance(UTC));
+            });
+        } catch (DataAccessException ex) {
+            log.warn("Falha ao gravar CND no cache persistente; mantida só em memória. cnpj={}", normalizedCnpj, ex);
+        }
+        return true;
+    }
+
+    /**
+     * Remove do MySQL as certidões vencidas (a memória expira sozinha).
+     */
+    @Scheduled(fixedDelayString = "${hubinfo.services.cnd.cache.purge-interval:PT1H}")
+    public void purgeExpired() {
+        try {
+            int removed = jdbc.update("DELETE FROM cnd_certificate_cache WHERE valid_until < ?",
+                    ps -> ps.setTimestamp(1, Timestamp.from(Instant.now(clock)), Calendar.getInstance(UTC)));
+            if (removed > 0) {
+                log.info("Cache de CND: {} certidão(ões) vencida(s) removida(s).", removed);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Falha ao limpar cache de CND vencido.", ex);
+        }
+    }
+
+    /**
+     * Tempo de vida na memória = validUntil - min-remaining - agora.
+     */
+    private final class ExpireBeforeValidity implements Expiry<String, CachedCnd> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedCnd value, long currentTime) {
+            Duration ttl = Duration.between(Instant.now(clock), value.validUntil().minus(properties.getMinRemaining()));
+            return ttl.isNegative() ? 0 : ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedCnd value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedCnd value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.hubinfo.service.adapter.out.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lê a validade da certidão no payload JSON do portal.
+ *
+ * Regras:
+ * - Campos aceitos (primeiro encontrado): validUntil, dataValidade, validade.
+ * - Formatos: instante ISO (2026-03-01T12:00:00Z / com offset), data ISO (2026-03-01)
+ *   ou data brasileira (01/03/2026).
+ * - Só data: vale até o fim do dia no fuso configurado.
+ * - Sem campo ou formato desconhecido: vazio (resultado não é cacheado).
+ */
+final class CndValidity {
+
+    private static final List<String> FIELDS = List.of("validUntil", "dataValidade", "validade");
+    private static final DateTimeFormatter BR_DATE = DateTimeFormatter.ofPattern("dd/MM/uuuu");
+
+    private CndValidity() {
+    }
+
+    static Optional<Instant> validUntil(ObjectMapper objectMapper, String payloadJson, ZoneId zone) {
+        if (payloadJson == null || payloadJson.isBlank()) {
+            return Optional.empty();
+        }
+
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(payloadJson);
+        } catch (Exception ex) {
+            return Optional.empty();
+        }
+
+        for (String field : FIELDS) {
+            JsonNode value = root.get(field);
+            if (value != null && value.isTextual()) {
+                return parse(value.asText().trim(), zone);
+            }
+        }
+        return Optional.empty();
+    }
+
+    static Optional<Instant> parse(String text, ZoneId zone) {
+        try {
+            if (text.contains("T")) {
+                return Optional.of(OffsetDateTime.parse(text).toInstant());
+            }
+            LocalDate date = text.contains("/")
+                    ? LocalDate.parse(text, BR_DATE)
+                    : LocalDate.parse(text);
+            return Optional.of(date.plusDays(1).atStartOfDay(zone).toInstant());
+        } catch (DateTimeParseException ex) {
+            return Optional.empty();
+        }
+    }
+}
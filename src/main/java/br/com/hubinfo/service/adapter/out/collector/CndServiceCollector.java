@@ -0,0 +1,34 @@
+package br.com.hubinfo.service.adapter.out.collector;
+
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.CndGatewayPort;
+import br.com.hubinfo.service.usecase.port.ServiceCollector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coletor de CND: expõe o CndGatewayPort ativo (stub ou http) como ServiceCollector.
+ *
+ * Observação:
+ * - O RequestCndUseCase continua sendo o processador de CND (cache, coalescing); só a chamada ao
+ *   portal passa pelo coletor, para valer a política de hubinfo.services.collectors.types.CND.
+ */
+@Component
+public class CndServiceCollector implements ServiceCollector {
+
+    private final CndGatewayPort gateway;
+
+    public CndServiceCollector(CndGatewayPort gateway) {
+        this.gateway = gateway;
+    }
+
+    @Override
+    public ServiceType serviceType() {
+        return ServiceType.CND;
+    }
+
+    @Override
+    public CollectorResult collect(CollectorRequest request) {
+        CndGatewayPort.CndGatewayResult result = gateway.requestCnd(request.normalizedCnpj());
+        return new CollectorResult(result.success(), result.resultCode(), result.message(), result.payloadJson());
+    }
+}
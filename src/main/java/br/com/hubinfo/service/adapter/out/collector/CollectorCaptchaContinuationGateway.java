@@ -0,0 +1,35 @@
+package br.com.hubinfo.service.adapter.out.collector;
+
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.CaptchaContinuationGatewayPort;
+import br.com.hubinfo.service.usecase.port.ServiceCollector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Continuação após o CAPTCHA via coletores: todo serviço com ServiceCollector registrado é suportado.
+ *
+ * Observação:
+ * - O governo do tipo (vagas, taxa, timeout) vale aqui também; novas tentativas não, porque o token
+ *   do CAPTCHA é de uso único.
+ */
+@Component
+public class CollectorCaptchaContinuationGateway implements CaptchaContinuationGatewayPort {
+
+    private final ServiceCollectorRegistry collectors;
+
+    public CollectorCaptchaContinuationGateway(ServiceCollectorRegistry collectors) {
+        this.collectors = collectors;
+    }
+
+    @Override
+    public boolean supports(ServiceType serviceType) {
+        return collectors.find(serviceType).isPresent();
+    }
+
+    @Override
+    public ContinuationResult resume(ServiceType serviceType, String normalizedCnpj, String captchaToken) {
+        ServiceCollector.CollectorResult result = collectors.get(serviceType)
+                .collect(new ServiceCollector.CollectorRequest(normalizedCnpj, captchaToken));
+        return new ContinuationResult(result.success(), result.resultCode(), result.message(), result.payloadJson());
+    }
+}
@@ -0,0 +1,198 @@
+package br.com.hubinfo.service.adapter.out.collector;
+
+import br.com.hubinfo.common.ratelimit.LeasedRateLimiter;
+import br.com.hubinfo.common.ratelimit.TokenBucket;
+import br.com.hubinfo.service.config.ServiceCollectorProperties;
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.ServiceCollector;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Coletor com a política do tipo aplicada por fora: vagas, taxa, timeout e novas tentativas.
+ *
+ * Fluxo de uma tentativa (tudo dentro do timeout):
+ * 1) Vaga no semáforo do tipo (max-concurrent).
+ * 2) Permissão do portal (host), somada entre os nós (PortalRateLimiters), esperando se preciso.
+ * 2b) Permissão no token bucket do tipo (rate-per-second/burst), esperando se preciso.
+ *    Só depois do portal: negado por ele, o tipo não gasta a vez nem a espera no bucket.
+ * 3) Coleta no executor do tipo (virtual threads); passado o prazo, a tentativa é cancelada (interrupt).
+ *    A vaga fica presa até a chamada realmente terminar: portal que ignora o interrupt não abre vaga extra.
+ *
+ * Regras:
+ * - Falha técnica (exceção, timeout, sem vaga/taxa no prazo) é tentada de novo até max-attempts,
+ *   com espera dobrando a partir de retry-backoff. Com token de CAPTCHA nunca (uso único).
+ * - Esgotadas as tentativas, vira CollectorResult com success=false (não propaga exceção).
+ */
+final class GovernedServiceCollector implements ServiceCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(GovernedServiceCollector.class);
+
+    private final ServiceCollector delegate;
+    private final ServiceCollectorProperties.Policy policy;
+    private final Semaphore permits;
+    private final TokenBucket bucket;
+    private final LeasedRateLimiter portal;
+    private final ExecutorService executor;
+    private final MeterRegistry meters;
+
+    /**
+     * @param portal limitador do host do serviço; null = sem limite por portal.
+     */
+    GovernedServiceCollector(ServiceCollector delegate,
+                             ServiceCollectorProperties.Policy policy,
+                             LeasedRateLimiter portal,
+                             MeterRegistry meters) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.permits = new Semaphore(Math.max(1, policy.getMaxConcurrent()), true);
+        this.bucket = policy.getRatePerSecond() > 0 ? new TokenBucket(policy.getRatePerSecond(), policy.getBurst()) : null;
+        this.portal = portal;
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("collector-" + delegate.serviceType().name().toLowerCase() + "-", 0).factory());
+        this.meters = meters;
+    }
+
+    @Override
+    public ServiceType serviceType() {
+        return delegate.serviceType();
+    }
+
+    @Override
+    public CollectorResult collect(CollectorRequest request) {
+        int maxAttempts = request.captchaToken() != null ? 1 : Math.max(1, policy.getMaxAttempts());
+        Duration backoff = policy.getRetryBackoff();
+
+        CollectorResult failure = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (attempt > 1 && !sleep(backoff)) {
+                break;
+            }
+
+            long start = System.nanoTime();
+            Attempt result = attempt(request);
+            timer(result.outcome()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (!result.retryable()) {
+                return result.value();
+            }
+
+            failure = result.value();
+            log.warn("Coleta {} falhou (tentativa {}/{}): {}", serviceType(), attempt, maxAttempts, failure.resultCode());
+            backoff = backoff.multipliedBy(2);
+        }
+        return failure != null ? failure : technical("INTERRUPTED", "Coleta interrompida.");
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Attempt attempt(CollectorRequest request) {
+        long deadline = System.nanoTime() + policy.getTimeout().toNanos();
+        try {
+            if (!permits.tryAcquire(remaining(deadline), TimeUnit.NANOSECONDS)) {
+                return Attempt.retry("busy", technical("COLLECTOR_BUSY", "Sem vaga para consultar o portal no prazo."));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Attempt.done("interrupted", technical("INTERRUPTED", "Coleta interrompida."));
+        }
+
+        // A vaga só volta quando a chamada ao portal termina (não quando quem espera desiste).
+        boolean submitted = false;
+        try {
+            if (portal != null && !portal.tryAcquire(Duration.ofNanos(remaining(deadline)))) {
+                return Attempt.retry("portal_rate_limited", technical("RATE_LIMITED", "Limite de consultas ao portal atingido."));
+            }
+            if (bucket != null) {
+                Duration wait = bucket.tryReserve(Duration.ofNanos(remaining(deadline)));
+                if (wait == null) {
+                    return Attempt.retry("rate_limited", technical("RATE_LIMITED", "Limite de consultas ao portal atingido."));
+                }
+                if (!wait.isZero()) {
+                    Thread.sleep(wait);
+                }
+            }
+            Future<CollectorResult> future = executor.submit(() -> {
+                try {
+                    return delegate.collect(request);
+                } finally {
+                    permits.release();
+                }
+            });
+            submitted = true;
+            return await(future, deadline);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Attempt.done("interrupted", technical("INTERRUPTED", "Coleta interrompida."));
+        } finally {
+            if (!submitted) {
+                permits.release();
+            }
+        }
+    }
+
+    private Attempt await(Future<CollectorResult> future, long deadline) throws InterruptedException {
+        try {
+            CollectorResult result = future.get(remaining(deadline), TimeUnit.NANOSECONDS);
+            return Attempt.done(result.success() ? "success" : "failure", result);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            return Attempt.retry("timeout", technical("TIMEOUT", "O portal não respondeu no prazo."));
+        } catch (ExecutionException ex) {
+            log.debug("Coleta {} lançou exceção.", serviceType(), ex.getCause());
+            return Attempt.retry("error", technical("GATEWAY_ERROR", "Falha ao consultar o portal. Tente novamente mais tarde."));
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            throw ex;
+        }
+    }
+
+    private Timer timer(String outcome) {
+        return Timer.builder("hubinfo.collector.calls")
+                .description("Tentativas de coleta por serviço e resultado")
+                .tag("type", serviceType().name())
+                .tag("outcome", outcome)
+                .register(meters);
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static CollectorResult technical(String code, String message) {
+        return new CollectorResult(false, code, message, null);
+    }
+
+    private record Attempt(String outcome, CollectorResult value, boolean retryable) {
+
+        static Attempt done(String outcome, CollectorResult value) {
+            return new Attempt(outcome, value, false);
+        }
+
+        static Attempt retry(String outcome, CollectorResult value) {
+            return new Attempt(outcome, value, true);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.hubinfo.service.adapter.out.collector;
+
+import br.com.hubinfo.captcha.config.HcaptchaChallengeProperties;
+import br.com.hubinfo.common.ratelimit.LeasedRateLimiter;
+import br.com.hubinfo.service.config.PortalGatewayProperties;
+import br.com.hubinfo.service.config.PortalRateLimitProperties;
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.PortalRateBudgetPort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limitadores por portal (host), com o orçamento dividido entre os nós via PortalRateBudgetPort.
+ *
+ * Regras:
+ * - Serviços que apontam para o mesmo host dividem o mesmo limitador (o portal não distingue serviço).
+ * - Host do serviço (primeiro que existir):
+ *   1) hubinfo.services.portal-rate-limit.service-hosts.<SERVICE_TYPE>
+ *   2) CND: host de hubinfo.services.gateway.cnd.base-url
+ *   3) host do pageUrl em hubinfo.captcha.hcaptcha.challenges.<SERVICE_TYPE>
+ * - Host sem entrada em portals (ou limite desligado) => null (sem limite por portal).
+ */
+@Component
+public class PortalRateLimiters {
+
+    private static final Duration MIN_EMPTY_BACKOFF = Duration.ofMillis(10);
+    private static final Duration MAX_EMPTY_BACKOFF = Duration.ofSeconds(1);
+
+    private final PortalRateLimitProperties properties;
+    private final PortalGatewayProperties gateways;
+    private final HcaptchaChallengeProperties challenges;
+    private final PortalRateBudgetPort budget;
+    private final MeterRegistry meters;
+
+    private final Map<String, LeasedRateLimiter> byHost = new ConcurrentHashMap<>();
+
+    public PortalRateLimiters(PortalRateLimitProperties properties,
+                              PortalGatewayProperties gateways,
+                              HcaptchaChallengeProperties challenges,
+                              PortalRateBudgetPort budget,
+                              MeterRegistry meters) {
+        this.properties = properties;
+        this.gateways = gateways;
+        this.challenges = challenges;
+        this.budget = budget;
+        this.meters = meters;
+    }
+
+    /**
+     * @return limitador do portal do serviço; null se o portal não tem limite configurado.
+     */
+    public LeasedRateLimiter forType(ServiceType type) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        String host = hostFor(type);
+        if (host == null || !properties.getPortals().containsKey(host)) {
+            return null;
+        }
+        return byHost.computeIfAbsent(host, this::create);
+    }
+
+    String hostFor(ServiceType type) {
+        String explicit = properties.getServiceHosts().get(type);
+        if (explicit != null && !explicit.isBlank()) {
+            return explicit.trim().toLowerCase(Locale.ROOT);
+        }
+        if (type == ServiceType.CND) {
+            String host = hostOf(gateways.getCnd().getBaseUrl());
+            if (host != null) return host;
+        }
+        HcaptchaChallengeProperties.Challenge challenge = challenges.getChallenges().get(type.name());
+        return challenge == null ? null : hostOf(challenge.getPageUrl());
+    }
+
+    private LeasedRateLimiter create(String host) {
+        PortalRateLimitProperties.Portal portal = properties.getPortals().get(host);
+        Timer leases = Timer.builder("hubinfo.portal.rate.lease")
+                .description("Retiradas de permissões do orçamento compartilhado do portal")
+                .tag("host", host)
+                .register(meters);
+
+        LeasedRateLimiter limiter = new LeasedRateLimiter(
+                host,
+                requested -> leases.record(() ->
+                        budget.lease(host, portal.getRatePerSecond(), portal.getBurst(), requested)),
+                properties.getLeaseSize(),
+                properties.getLeaseTtl(),
+                emptyBackoff(portal.getRatePerSecond())
+        );
+
+        Gauge.builder("hubinfo.portal.rate.available", limiter, LeasedRateLimiter::available)
+                .description("Permissões arrendadas ainda disponíveis neste nó")
+                .tag("host", host)
+                .register(meters);
+        return limiter;
+    }
+
+    /**
+     * Orçamento vazio: tenta de novo depois do tempo de um token (entre 10ms e 1s).
+     */
+    private static Duration emptyBackoff(double ratePerSecond) {
+        if (!(ratePerSecond > 0)) {
+            return MAX_EMPTY_BACKOFF;
+        }
+        Duration oneToken = Duration.ofNanos((long) (1_000_000_000L / ratePerSecond));
+        if (oneToken.compareTo(MIN_EMPTY_BACKOFF) < 0) return MIN_EMPTY_BACKOFF;
+        if (oneToken.compareTo(MAX_EMPTY_BACKOFF) > 0) return MAX_EMPTY_BACKOFF;
+        return oneToken;
+    }
+
+    private static String hostOf(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        try {
+            String host = URI.create(url.trim()).getHost();
+            return host == null ? null : host.toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.hubinfo.service.adapter.out.collector;
+
+import br.com.hubinfo.service.config.ServiceCollectorProperties;
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.ServiceCollector;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Índice dos coletores (ServiceCollector) por ServiceType, já com a política do tipo aplicada.
+ *
+ * Observação:
+ * - Resolvidos sob demanda (ObjectProvider), como o ServiceRequestProcessorRegistry: coletores
+ *   podem depender de beans que dependem do pipeline.
+ * - Cada tipo ganha o próprio executor, semáforo e token bucket (GovernedServiceCollector).
+ * - Tipos do mesmo portal dividem ainda o limitador do host (PortalRateLimiters).
+ */
+@Component
+public class ServiceCollectorRegistry {
+
+    private final ObjectProvider<ServiceCollector> collectorProvider;
+    private final ServiceCollectorProperties properties;
+    private final PortalRateLimiters portalLimiters;
+    private final MeterRegistry meters;
+
+    private final AtomicReference<Map<ServiceType, GovernedServiceCollector>> collectors = new AtomicReference<>();
+
+    public ServiceCollectorRegistry(ObjectProvider<ServiceCollector> collectorProvider,
+                                    ServiceCollectorProperties properties,
+                                    PortalRateLimiters portalLimiters,
+                                    MeterRegistry meters) {
+        this.collectorProvider = collectorProvider;
+        this.properties = properties;
+        this.portalLimiters = portalLimiters;
+        this.meters = meters;
+    }
+
+    public Optional<ServiceCollector> find(ServiceType type) {
+        return Optional.ofNullable(collectors().get(type));
+    }
+
+    public ServiceCollector get(ServiceType type) {
+        return find(type).orElseThrow(() ->
+                new IllegalStateException("Nenhum coletor registrado para: " + type));
+    }
+
+    public Set<ServiceType> supportedTypes() {
+        return collectors().keySet();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Map<ServiceType, GovernedServiceCollector> current = collectors.get();
+        if (current != null) {
+            current.values().forEach(GovernedServiceCollector::shutdown);
+        }
+    }
+
+    private Map<ServiceType, GovernedServiceCollector> collectors() {
+        Map<ServiceType, GovernedServiceCollector> current = collectors.get();
+        if (current != null) {
+            return current;
+        }
+
+        Map<ServiceType, GovernedServiceCollector> byType = new EnumMap<>(ServiceType.class);
+        collectorProvider.orderedStream().forEach(c -> {
+            if (byType.containsKey(c.serviceType())) {
+                throw new IllegalStateException("Mais de um coletor registrado para: " + c.serviceType());
+            }
+            byType.put(c.serviceType(), new GovernedServiceCollector(c, properties.policyFor(c.serviceType()),
+                    portalLimiters.forType(c.serviceType()), meters));
+        });
+
+        // Cada coletor governado tem executor próprio: quem perde a corrida da montagem descarta o seu.
+        Map<ServiceType, GovernedServiceCollector> built = Collections.unmodifiableMap(byType);
+        if (!collectors.compareAndSet(null, built)) {
+            built.values().forEach(GovernedServiceCollector::shutdown);
+        }
+        return collectors.get();
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.hubinfo.service.adapter.out.collector;
+
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.ServiceCollector;
+
+/**
+ * Implementação temporária (stub) da coleta dos serviços interativos (CNPJReva, DT-e).
+ *
+ * Por que stub agora?
+ * - A integração com esses portais ainda não existe; o fluxo até aqui (desafio → solução → continuação)
+ *   fica pronto e a solicitação é concluída em vez de ficar presa em CAPTCHA_REQUIRED.
+ */
+class StubServiceCollector implements ServiceCollector {
+
+    private final ServiceType serviceType;
+
+    StubServiceCollector(ServiceType serviceType) {
+        this.serviceType = serviceType;
+    }
+
+    @Override
+    public ServiceType serviceType() {
+        return serviceType;
+    }
+
+    @Override
+    public CollectorResult collect(CollectorRequest request) {
+        return new CollectorResult(
+                false,
+                "INTEGRATION_PENDING",
+                "Coleta automática ainda não disponível para este serviço.",
+                "{\"cnpj\":\"" + request.normalizedCnpj() + "\",\"hint\":\"integracao_pendente\"}"
+        );
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.hubinfo.service.adapter.out.collector;
+
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.ServiceCollector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Coletores stub dos serviços interativos (um bean por ServiceType).
+ *
+ * Observação: ao plugar a integração real de um desses serviços, remova o bean correspondente
+ * (o ServiceCollectorRegistry recusa dois coletores para o mesmo tipo).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hubinfo.services.collectors", name = "stub-interactive", havingValue = "true", matchIfMissing = true)
+public class StubServiceCollectorConfig {
+
+    @Bean
+    public ServiceCollector cnpjDadosCadastraisStubCollector() {
+        return new StubServiceCollector(ServiceType.CNPJ_DADOS_CADASTRAIS);
+    }
+
+    @Bean
+    public ServiceCollector dteCaixaPostalFederalStubCollector() {
+        return new StubServiceCollector(ServiceType.DTE_CAIXA_POSTAL_FEDERAL);
+    }
+
+    @Bean
+    public ServiceCollector dteCaixaPostalEstadualStubCollector() {
+        return new StubServiceCollector(ServiceType.DTE_CAIXA_POSTAL_ESTADUAL);
+    }
+}
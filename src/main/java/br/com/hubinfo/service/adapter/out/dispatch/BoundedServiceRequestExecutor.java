@@ -0,0 +1,104 @@
+package br.com.hubinfo.service.adapter.out.dispatch;
+
+import br.com.hubinfo.service.config.ServiceDispatchProperties;
+import br.com.hubinfo.service.domain.ServiceType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor limitado para coletas de serviços (virtual threads).
+ *
+ * Regras:
+ * - Capacidade global (max-pending): conta tarefas na fila + em execução. Sem vaga => trySubmit retorna false.
+ * - Concorrência por ServiceType: cada tipo tem seu próprio semáforo, então um portal lento
+ *   não consome as vagas dos demais.
+ * - Virtual threads: esperar pelo semáforo ou pelo portal não prende thread de plataforma.
+ */
+@Component
+public class BoundedServiceRequestExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedServiceRequestExecutor.class);
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("service-request-", 0).factory()
+    );
+
+    private final Semaphore pending;
+    private final Map<ServiceType, Semaphore> perType = new EnumMap<>(ServiceType.class);
+    private final ServiceDispatchProperties properties;
+
+    public BoundedServiceRequestExecutor(ServiceDispatchProperties properties) {
+        this.properties = properties;
+        this.pending = new Semaphore(Math.max(1, properties.getMaxPending()));
+        for (ServiceType type : ServiceType.values()) {
+            perType.put(type, new Semaphore(properties.concurrencyFor(type)));
+        }
+    }
+
+    /**
+     * Submete a tarefa respeitando a capacidade global e o limite do tipo.
+     *
+     * @return false quando não há capacidade (backpressure) ou o executor está encerrando.
+     */
+    public boolean trySubmit(ServiceType type, Runnable task) {
+        if (!pending.tryAcquire()) {
+            return false;
+        }
+
+        try {
+            executor.execute(() -> runLimited(type, task));
+            return true;
+        } catch (RuntimeException ex) {
+            // RejectedExecutionException durante shutdown.
+            pending.release();
+            return false;
+        }
+    }
+
+    /**
+     * Vagas livres na capacidade global (usado por quem busca trabalho ativamente, ex.: fila persistente).
+     */
+    public int availableCapacity() {
+        return pending.availablePermits();
+    }
+
+    private void runLimited(ServiceType type, Runnable task) {
+        Semaphore limit = perType.get(type);
+        try {
+            limit.acquire();
+            try {
+                task.run();
+            } finally {
+                limit.release();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            log.error("Falha ao processar solicitação de serviço type={}", type, ex);
+        } finally {
+            pending.release();
+        }
+    }
+
+    /**
+     * Encerramento ordenado: para de aceitar e aguarda as coletas em andamento.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        long timeoutMs = properties.getShutdownTimeout().toMillis();
+        if (!executor.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
+            log.warn("Encerrando com coletas ainda em andamento (timeout de {} ms).", timeoutMs);
+            executor.shutdownNow();
+        }
+    }
+}
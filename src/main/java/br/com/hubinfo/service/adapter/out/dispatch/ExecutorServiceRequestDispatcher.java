@@ -0,0 +1,35 @@
+package br.com.hubinfo.service.adapter.out.dispatch;
+
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.ServiceRequestProcessor;
+import br.com.hubinfo.service.usecase.port.ServiceRequestDispatcherPort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Dispatcher em memória: executa a coleta no BoundedServiceRequestExecutor (virtual threads).
+ *
+ * Observação:
+ * - Solicitações em memória não sobrevivem a restart do processo (para isso, use mode=queue).
+ */
+@Component
+@ConditionalOnProperty(prefix = "hubinfo.services.dispatch", name = "mode", havingValue = "executor")
+public class ExecutorServiceRequestDispatcher implements ServiceRequestDispatcherPort {
+
+    private final BoundedServiceRequestExecutor executor;
+    private final ServiceRequestProcessorRegistry processors;
+
+    public ExecutorServiceRequestDispatcher(BoundedServiceRequestExecutor executor,
+                                            ServiceRequestProcessorRegistry processors) {
+        this.executor = executor;
+        this.processors = processors;
+    }
+
+    @Override
+    public boolean dispatch(ServiceType serviceType, UUID serviceRequestId) {
+        ServiceRequestProcessor processor = processors.get(serviceType);
+        return executor.trySubmit(serviceType, () -> processor.process(serviceRequestId));
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.hubinfo.service.adapter.out.dispatch;
+
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.ServiceRequestDispatcherPort;
+import br.com.hubinfo.service.usecase.port.ServiceRequestJobQueuePort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Dispatcher persistente: grava o job em service_request_jobs e devolve imediatamente.
+ *
+ * Quem executa é o ServiceRequestJobWorker de qualquer nó (inclusive outro que não recebeu o POST).
+ * Backpressure acontece no lado do worker (só reivindica o que cabe no executor), então aqui sempre aceita.
+ */
+@Component
+@ConditionalOnProperty(prefix = "hubinfo.services.dispatch", name = "mode", havingValue = "queue")
+public class JobQueueServiceRequestDispatcher implements ServiceRequestDispatcherPort {
+
+    private final ServiceRequestJobQueuePort queue;
+    private final Clock clock;
+
+    public JobQueueServiceRequestDispatcher(ServiceRequestJobQueuePort queue, Clock clock) {
+        this.queue = queue;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean dispatch(ServiceType serviceType, UUID serviceRequestId) {
+        queue.enqueue(serviceRequestId, serviceType, Instant.now(clock));
+        return true;
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.hubinfo.service.adapter.out.dispatch;
+
+import br.com.hubinfo.audit.usecase.RecordAuditEventUseCase;
+import br.com.hubinfo.service.adapter.out.collector.ServiceCollectorRegistry;
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.CollectServiceRequestUseCase;
+import br.com.hubinfo.service.usecase.ServiceRequestProcessor;
+import br.com.hubinfo.service.usecase.port.ServiceRequestRepositoryPort;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Índice dos processadores de solicitações por ServiceType.
+ *
+ * Observação:
+ * - Os processadores são resolvidos sob demanda (ObjectProvider) porque os próprios casos de uso
+ *   dependem dos dispatchers (evita dependência circular na criação dos beans).
+ * - Tipo com ServiceCollector e sem processador dedicado ganha o processador genérico
+ *   (CollectServiceRequestUseCase): serviço novo não exige mudança no pipeline.
+ */
+@Component
+public class ServiceRequestProcessorRegistry {
+
+    private final ObjectProvider<ServiceRequestProcessor> processorProvider;
+    private final ServiceCollectorRegistry collectors;
+    private final ServiceRequestRepositoryPort repository;
+    private final RecordAuditEventUseCase audit;
+    private final Clock clock;
+
+    private volatile Map<ServiceType, ServiceRequestProcessor> processors;
+
+    public ServiceRequestProcessorRegistry(ObjectProvider<ServiceRequestProcessor> processorProvider,
+                                           ServiceCollectorRegistry collectors,
+                                           ServiceRequestRepositoryPort repository,
+                                           RecordAuditEventUseCase audit,
+                                           Clock clock) {
+        this.processorProvider = processorProvider;
+        this.collectors = collectors;
+        this.repository = repository;
+        this.audit = audit;
+        this.clock = clock;
+    }
+
+    public Optional<ServiceRequestProcessor> find(ServiceType type) {
+        return Optional.ofNullable(processors().get(type));
+    }
+
+    public ServiceRequestProcessor get(ServiceType type) {
+        return find(type).orElseThrow(() ->
+                new IllegalStateException("Nenhum processador registrado para: " + type));
+    }
+
+    /**
+     * Tipos que possuem processador (os únicos que a fila deve reivindicar).
+     */
+    public Set<ServiceType> supportedTypes() {
+        return processors().keySet();
+    }
+
+    private Map<ServiceType, ServiceRequestProcessor> processors() {
+        Map<ServiceType, ServiceRequestProcessor> current = processors;
+        if (current == null) {
+            Map<ServiceType, ServiceRequestProcessor> byType = new EnumMap<>(ServiceType.class);
+            processorProvider.orderedStream().forEach(p -> byType.put(p.serviceType(), p));
+            for (ServiceType type : collectors.supportedTypes()) {
+                byType.computeIfAbsent(type, t ->
+                        new CollectServiceRequestUseCase(collectors.get(t), repository, audit, clock));
+            }
+            processors = current = Collections.unmodifiableMap(byType);
+        }
+        return current;
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.hubinfo.service.adapter.out.gateway;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead de um portal: limita chamadas simultâneas sem bloquear thread.
+ *
+ * Regras:
+ * - Sem vaga => falha na hora (PortalBusyException); não entra na fila do pool de conexões,
+ *   então um portal lento não ocupa a capacidade que os demais precisam.
+ * - A vaga é devolvida quando a chamada termina, falha ou é cancelada (timeout).
+ * - Com resultado, a vaga volta antes de entregá-lo: quem recebe a resposta e chama de novo
+ *   já encontra a vaga livre (doFinally só roda depois do block() retornar).
+ */
+final class PortalBulkhead {
+
+    private final String portal;
+    private final Semaphore permits;
+
+    PortalBulkhead(String portal, int maxConcurrent) {
+        this.portal = portal;
+        this.permits = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    <T> Mono<T> call(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            if (!permits.tryAcquire()) {
+                return Mono.error(new PortalBusyException(portal));
+            }
+            AtomicBoolean released = new AtomicBoolean();
+            Runnable release = () -> {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            };
+            try {
+                return call.get()
+                        .doOnNext(value -> release.run())
+                        .doFinally(signal -> release.run());
+            } catch (RuntimeException ex) {
+                release.run();
+                return Mono.error(ex);
+            }
+        });
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Bulkhead do portal cheio.
+     */
+    static final class PortalBusyException extends RuntimeException {
+        PortalBusyException(String portal) {
+            super("Limite de chamadas simultâneas ao portal " + portal + " atingido.");
+        }
+    }
+}
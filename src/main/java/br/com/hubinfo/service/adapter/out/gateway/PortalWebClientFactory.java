@@ -0,0 +1,117 @@
+package br.com.hubinfo.service.adapter.out.gateway;
+
+import br.com.hubinfo.service.config.PortalGatewayProperties;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Monta os WebClients dos portais sobre um único pool Reactor Netty.
+ *
+ * Regras:
+ * - Um ConnectionProvider para todos os portais; internamente ele mantém um sub-pool por host,
+ *   com pool.max-connections (ou o valor de max-connections-per-host) conexões cada.
+ * - Timeouts: conexão (CONNECT_TIMEOUT_MILLIS) e resposta (responseTimeout, entre leituras).
+ * - HTTP/2: H2 só vale em https (ALPN, com fallback para HTTP/1.1); H2C só em http.
+ *   Protocolos que não combinam com o esquema da base-url são ignorados.
+ * - Métricas do pool em reactor.netty.connection.provider.* (registry global do Micrometer).
+ */
+@Component
+public class PortalWebClientFactory {
+
+    private final PortalGatewayProperties properties;
+    private final WebClient.Builder webClientBuilder;
+    private final ConnectionProvider connectionProvider;
+
+    public PortalWebClientFactory(PortalGatewayProperties properties, WebClient.Builder webClientBuilder) {
+        this.properties = properties;
+        this.webClientBuilder = webClientBuilder;
+        this.connectionProvider = connectionProvider(properties);
+    }
+
+    private static ConnectionProvider connectionProvider(PortalGatewayProperties properties) {
+        PortalGatewayProperties.Pool pool = properties.getPool();
+
+        ConnectionProvider.Builder builder = poolSpec(ConnectionProvider.builder("hubinfo-portals"), pool, pool.getMaxConnections())
+                .metrics(true);
+
+        // Sub-pool de host específico não herda nada do padrão: repete tudo, mudando só o limite.
+        for (Map.Entry<String, Integer> host : properties.getMaxConnectionsPerHost().entrySet()) {
+            builder.forRemoteHost(remoteAddress(host.getKey()), spec -> poolSpec(spec, pool, host.getValue()));
+        }
+        return builder.build();
+    }
+
+    private static <S extends ConnectionProvider.ConnectionPoolSpec<S>> S poolSpec(S spec,
+                                                                                  PortalGatewayProperties.Pool pool,
+                                                                                  int maxConnections) {
+        return spec.maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInterval());
+    }
+
+    /**
+     * WebClient para o portal (base-url obrigatória).
+     */
+    public WebClient create(PortalGatewayProperties.Portal portal) {
+        if (portal.getBaseUrl() == null || portal.getBaseUrl().isBlank()) {
+            throw new IllegalStateException("base-url do portal não configurada.");
+        }
+        boolean secure = "https".equalsIgnoreCase(URI.create(portal.getBaseUrl()).getScheme());
+
+        HttpClient http = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(properties.getConnectTimeout().toMillis()))
+                .responseTimeout(properties.getResponseTimeout())
+                .protocol(protocols(properties.getProtocols(), secure))
+                .compress(true);
+        if (secure) {
+            http = http.secure();
+        }
+
+        return webClientBuilder.clone()
+                .baseUrl(portal.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(http))
+                .build();
+    }
+
+    static HttpProtocol[] protocols(List<String> configured, boolean secure) {
+        HttpProtocol[] protocols = configured.stream()
+                .map(p -> HttpProtocol.valueOf(p.trim().toUpperCase()))
+                .filter(p -> secure ? p != HttpProtocol.H2C : p != HttpProtocol.H2)
+                .distinct()
+                .toArray(HttpProtocol[]::new);
+        return protocols.length == 0 ? new HttpProtocol[]{HttpProtocol.HTTP11} : protocols;
+    }
+
+    /**
+     * "host:porta" -> endereço não resolvido (é assim que o pool identifica o host remoto).
+     */
+    private static InetSocketAddress remoteAddress(String hostAndPort) {
+        int idx = hostAndPort.lastIndexOf(':');
+        if (idx <= 0) {
+            throw new IllegalStateException("max-connections-per-host espera \"host:porta\": " + hostAndPort);
+        }
+        return InetSocketAddress.createUnresolved(
+                hostAndPort.substring(0, idx),
+                Integer.parseInt(hostAndPort.substring(idx + 1))
+        );
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionProvider.dispose();
+    }
+}
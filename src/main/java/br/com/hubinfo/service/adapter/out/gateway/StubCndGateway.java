@@ -1,6 +1,7 @@
 package br.com.hubinfo.service.adapter.out.gateway;
 
 import br.com.hubinfo.service.usecase.port.CndGatewayPort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 /**
@@ -10,8 +11,11 @@ import org.springframework.stereotype.Component;
  * - Portais oficiais frequentemente exigem CAPTCHA e etapas interativas.
  * - Não vamos implementar automação/bypass de CAPTCHA.
  * - A arquitetura fica pronta e depois plugamos a integração real (manual/sem bypass).
+ *
+ * Observação: com hubinfo.services.gateway.cnd.mode=http o WebClientCndGateway assume.
  */
 @Component
+@ConditionalOnProperty(prefix = "hubinfo.services.gateway.cnd", name = "mode", havingValue = "stub", matchIfMissing = true)
 public class StubCndGateway implements CndGatewayPort {
 
     @Override
@@ -0,0 +1,128 @@
+package br.com.hubinfo.service.adapter.out.gateway;
+
+import br.com.hubinfo.service.config.PortalGatewayProperties;
+import br.com.hubinfo.service.usecase.port.CndGatewayPort;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Coletor de CND via HTTP (WebClient sobre Reactor Netty).
+ *
+ * Contrato esperado do portal/coletor (GET {base-url}{path}?cnpj=...):
+ * - 2xx com JSON; campos opcionais "success" (padrão true), "resultCode" (padrão ISSUED) e "message".
+ *   O corpo inteiro vai para payloadJson.
+ * - Qualquer outro status => UNAVAILABLE.
+ *
+ * Regras:
+ * - I/O não bloqueante no event loop do Netty; requestCnd() só espera o resultado na thread
+ *   de quem chamou (worker/virtual thread), limitado por cnd.timeout.
+ * - Falhas técnicas viram resultado (PORTAL_BUSY, TIMEOUT, UNAVAILABLE) em vez de exceção,
+ *   para a solicitação ser encerrada com o motivo certo.
+ */
+@Component
+@ConditionalOnProperty(prefix = "hubinfo.services.gateway.cnd", name = "mode", havingValue = "http")
+public class WebClientCndGateway implements CndGatewayPort {
+
+    private static final Logger log = LoggerFactory.getLogger(WebClientCndGateway.class);
+
+    private final WebClient webClient;
+    private final PortalBulkhead bulkhead;
+    private final ObjectMapper objectMapper;
+    private final String path;
+    private final Duration timeout;
+
+    public WebClientCndGateway(PortalWebClientFactory factory,
+                               PortalGatewayProperties properties,
+                               ObjectMapper objectMapper) {
+        PortalGatewayProperties.Portal cnd = properties.getCnd();
+        this.webClient = factory.create(cnd);
+        this.bulkhead = new PortalBulkhead("CND", cnd.getBulkhead().getMaxConcurrent());
+        this.objectMapper = objectMapper;
+        this.path = cnd.getPath();
+        this.timeout = cnd.getTimeout();
+    }
+
+    @Override
+    public CndGatewayResult requestCnd(String normalizedCnpj) {
+        return requestCndAsync(normalizedCnpj).block();
+    }
+
+    /**
+     * Versão não bloqueante (nunca termina com erro: falhas viram CndGatewayResult).
+     */
+    public Mono<CndGatewayResult> requestCndAsync(String normalizedCnpj) {
+        return bulkhead.call(() -> webClient.get()
+                        .uri(uri -> uri.path(path).queryParam("cnpj", normalizedCnpj).build())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .exchangeToMono(response -> response.bodyToMono(String.class)
+                                .defaultIfEmpty("")
+                                .map(body -> toResult(response.statusCode(), body)))
+                        .timeout(timeout))
+                .onErrorResume(ex -> Mono.just(toFailure(normalizedCnpj, ex)));
+    }
+
+    private CndGatewayResult toResult(HttpStatusCode status, String body) {
+        if (!status.is2xxSuccessful()) {
+            return new CndGatewayResult(false, "UNAVAILABLE",
+                    "Portal respondeu HTTP " + status.value() + ". Tente novamente mais tarde.", null);
+        }
+
+        JsonNode json;
+        try {
+            json = objectMapper.readTree(body);
+        } catch (JsonProcessingException ex) {
+            json = null;
+        }
+        if (json == null || !json.isObject()) {
+            return new CndGatewayResult(false, "UNAVAILABLE", "Resposta inválida do portal.", null);
+        }
+
+        return new CndGatewayResult(
+                json.path("success").asBoolean(true),
+                json.path("resultCode").asText("ISSUED"),
+                json.hasNonNull("message") ? json.get("message").asText() : null,
+                body
+        );
+    }
+
+    private static CndGatewayResult toFailure(String cnpj, Throwable ex) {
+        if (ex instanceof PortalBulkhead.PortalBusyException) {
+            return new CndGatewayResult(false, "PORTAL_BUSY",
+                    "Portal com muitas consultas em andamento. Tente novamente em instantes.", null);
+        }
+        // TimeoutException cobre também a espera por conexão do pool (pending-acquire-timeout).
+        if (hasCause(ex, TimeoutException.class) || hasCause(ex, ReadTimeoutException.class)) {
+            return new CndGatewayResult(false, "TIMEOUT",
+                    "Portal não respondeu a tempo. Tente novamente mais tarde.", null);
+        }
+
+        if (!hasCause(ex, ConnectException.class)) {
+            log.warn("Falha ao consultar CND para cnpj={}", cnpj, ex);
+        }
+        return new CndGatewayResult(false, "UNAVAILABLE",
+                "Falha ao consultar o portal. Tente novamente mais tarde.", null);
+    }
+
+    private static boolean hasCause(Throwable ex, Class<? extends Throwable> type) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (type.isInstance(t)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.hubinfo.service.adapter.out.persistence;
+
+import br.com.hubinfo.service.usecase.port.PortalRateBudgetPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Adapter JDBC do orçamento de chamadas por portal (tabela portal_rate_budgets).
+ *
+ * Regras:
+ * - Lock na linha do host (SELECT ... FOR UPDATE): retiradas concorrentes de nós diferentes são serializadas.
+ * - Tempo decorrido medido pelo relógio do banco (UTC_TIMESTAMP(6)), não pelo do nó.
+ * - Linha criada no primeiro lease com o burst cheio (INSERT IGNORE só quando não existe,
+ *   para não misturar lock compartilhado de chave duplicada com o FOR UPDATE).
+ */
+@Component
+public class PortalRateBudgetJdbcAdapter implements PortalRateBudgetPort {
+
+    private static final String LOCK_SQL = """
+            SELECT tokens, TIMESTAMPDIFF(MICROSECOND, refilled_at, UTC_TIMESTAMP(6))
+              FROM portal_rate_budgets
+             WHERE portal_host = ?
+               FOR UPDATE
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT IGNORE INTO portal_rate_budgets (portal_host, tokens, refilled_at)
+            VALUES (?, ?, UTC_TIMESTAMP(6))
+            """;
+
+    private static final String UPDATE_SQL = """
+            UPDATE portal_rate_budgets
+               SET tokens = ?, refilled_at = UTC_TIMESTAMP(6)
+             WHERE portal_host = ?
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public PortalRateBudgetJdbcAdapter(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    @Transactional
+    public int lease(String portalHost, double permitsPerSecond, int burst, int requested) {
+        double[] row = lock(portalHost);
+        if (row == null) {
+            jdbc.update(INSERT_SQL, portalHost, (double) burst);
+            row = lock(portalHost);
+        }
+
+        double elapsedSeconds = Math.max(0, row[1]) / 1_000_000d;
+        double tokens = Math.min(burst, row[0] + elapsedSeconds * permitsPerSecond);
+        int granted = (int) Math.min(requested, Math.floor(tokens));
+
+        jdbc.update(UPDATE_SQL, tokens - granted, portalHost);
+        return granted;
+    }
+
+    private double[] lock(String portalHost) {
+        List<double[]> rows = jdbc.query(LOCK_SQL,
+                (rs, i) -> new double[]{rs.getDouble(1), rs.getLong(2)},
+                portalHost);
+        return rows.isEmpty() ? null : rows.getFirst();
+    }
+}
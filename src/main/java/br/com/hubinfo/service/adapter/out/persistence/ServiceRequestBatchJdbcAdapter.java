@@ -0,0 +1,195 @@
+package br.com.hubinfo.service.adapter.out.persistence;
+
+import br.com.hubinfo.common.persistence.UuidBinary;
+import br.com.hubinfo.service.domain.ServiceRequest;
+import br.com.hubinfo.service.domain.ServiceRequestBatch;
+import br.com.hubinfo.service.domain.ServiceRequestBatchStatus;
+import br.com.hubinfo.service.domain.ServiceRequestStatus;
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.ServiceRequestBatchRepositoryPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TimeZone;
+import java.util.UUID;
+
+/**
+ * Adapter JDBC dos lotes de envio em massa.
+ *
+ * Por que JDBC e não JPA:
+ * - Milhares de linhas por lote: batchUpdate + rewriteBatchedStatements vira INSERT multi-linha,
+ *   sem carregar entidades no contexto de persistência.
+ *
+ * Regras:
+ * - Solicitações e jobs do mesmo pedaço entram na mesma transação.
+ * - Datas gravadas/lidas em UTC (igual ao Hibernate para Instant).
+ * - UUIDs gravados em CHAR(36) e na cópia *_bin; filtros pelo CHAR(36) (fase de expansão da V026; ver UuidBinary).
+ */
+@Component
+public class ServiceRequestBatchJdbcAdapter implements ServiceRequestBatchRepositoryPort {
+
+    private static final String INSERT_BATCH_SQL = """
+            INSERT INTO service_request_batches
+              (id, id_bin, service_type, status, source_format, requested_by_user_id, requested_by_user_id_bin,
+               requested_by_email, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_BATCH_SQL = """
+            UPDATE service_request_batches
+               SET status = ?, received_at = ?, total_items = ?, accepted_items = ?, rejected_items = ?
+             WHERE id = ?
+            """;
+
+    private static final String SELECT_BATCH_SQL = """
+            SELECT id, service_type, status, source_format,
+                   COALESCE(requested_by_user_id_bin, requested_by_user_id) AS requested_by_user_id,
+                   requested_by_email, created_at, received_at, total_items, accepted_items, rejected_items
+              FROM service_request_batches
+             WHERE id = ?
+            """;
+
+    private static final String INSERT_REQUEST_SQL = """
+            INSERT INTO service_requests
+              (id, id_bin, service_type, status, cnpj, requested_by_user_id, requested_by_user_id_bin,
+               requested_by_email, requested_at, batch_id, batch_id_bin)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_JOB_SQL = """
+            INSERT IGNORE INTO service_request_jobs
+              (service_request_id, service_request_id_bin, service_type, status, attempts,
+               available_at, created_at, updated_at)
+            VALUES (?, ?, ?, 'QUEUED', 0, ?, ?, ?)
+            """;
+
+    private static final String COUNT_BY_STATUS_SQL = """
+            SELECT status, COUNT(*) FROM service_requests WHERE batch_id = ? GROUP BY status
+            """;
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbc;
+
+    public ServiceRequestBatchJdbcAdapter(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void create(ServiceRequestBatch batch) {
+        jdbc.update(INSERT_BATCH_SQL, ps -> {
+            UuidBinary.bindText(ps, 1, batch.id());
+            UuidBinary.bind(ps, 2, batch.id());
+            ps.setString(3, batch.serviceType().name());
+            ps.setString(4, batch.status().name());
+            ps.setString(5, batch.sourceFormat());
+            UuidBinary.bindText(ps, 6, batch.requestedByUserId());
+            UuidBinary.bind(ps, 7, batch.requestedByUserId());
+            ps.setString(8, batch.requestedByEmail());
+            setInstant(ps, 9, batch.createdAt());
+        });
+    }
+
+    @Override
+    @Transactional
+    public void insertPending(List<ServiceRequest> requests, Instant availableAt) {
+        if (requests.isEmpty()) {
+            return;
+        }
+
+        jdbc.batchUpdate(INSERT_REQUEST_SQL, requests, requests.size(), (ps, r) -> {
+            UuidBinary.bindText(ps, 1, r.id());
+            UuidBinary.bind(ps, 2, r.id());
+            ps.setString(3, r.serviceType().name());
+            ps.setString(4, r.status().name());
+            ps.setString(5, r.cnpj());
+            UuidBinary.bindText(ps, 6, r.requestedByUserId());
+            UuidBinary.bind(ps, 7, r.requestedByUserId());
+            ps.setString(8, r.requestedByEmail());
+            setInstant(ps, 9, r.requestedAt());
+            UuidBinary.bindText(ps, 10, r.batchId());
+            UuidBinary.bind(ps, 11, r.batchId());
+        });
+
+        jdbc.batchUpdate(INSERT_JOB_SQL, requests, requests.size(), (ps, r) -> {
+            UuidBinary.bindText(ps, 1, r.id());
+            UuidBinary.bind(ps, 2, r.id());
+            ps.setString(3, r.serviceType().name());
+            setInstant(ps, 4, availableAt);
+            setInstant(ps, 5, availableAt);
+            setInstant(ps, 6, availableAt);
+        });
+    }
+
+    @Override
+    public void update(ServiceRequestBatch batch) {
+        jdbc.update(UPDATE_BATCH_SQL, ps -> {
+            ps.setString(1, batch.status().name());
+            setInstant(ps, 2, batch.receivedAt());
+            ps.setInt(3, batch.totalItems());
+            ps.setInt(4, batch.acceptedItems());
+            ps.setInt(5, batch.rejectedItems());
+            UuidBinary.bindText(ps, 6, batch.id());
+        });
+    }
+
+    @Override
+    public Optional<ServiceRequestBatch> findById(UUID batchId) {
+        List<ServiceRequestBatch> rows = jdbc.query(SELECT_BATCH_SQL,
+                ps -> UuidBinary.bindText(ps, 1, batchId),
+                (rs, i) -> toDomain(rs));
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public Map<ServiceRequestStatus, Integer> countByStatus(UUID batchId) {
+        Map<ServiceRequestStatus, Integer> counts = new EnumMap<>(ServiceRequestStatus.class);
+        jdbc.query(COUNT_BY_STATUS_SQL,
+                ps -> UuidBinary.bindText(ps, 1, batchId),
+                rs -> {
+                    counts.put(ServiceRequestStatus.valueOf(rs.getString(1)), rs.getInt(2));
+                });
+        return counts;
+    }
+
+    private static ServiceRequestBatch toDomain(ResultSet rs) throws SQLException {
+        return new ServiceRequestBatch(
+                UuidBinary.read(rs, "id"),
+                ServiceType.valueOf(rs.getString("service_type")),
+                ServiceRequestBatchStatus.valueOf(rs.getString("status")),
+                rs.getString("source_format"),
+                UuidBinary.read(rs, "requested_by_user_id"),
+                rs.getString("requested_by_email"),
+                getInstant(rs, "created_at"),
+                getInstant(rs, "received_at"),
+                rs.getInt("total_items"),
+                rs.getInt("accepted_items"),
+                rs.getInt("rejected_items")
+        );
+    }
+
+    private static void setInstant(PreparedStatement ps, int index, Instant value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(index, Timestamp.from(value), Calendar.getInstance(UTC));
+        }
+    }
+
+    private static Instant getInstant(ResultSet rs, String column) throws SQLException {
+        Timestamp ts = rs.getTimestamp(column, Calendar.getInstance(UTC));
+        return ts == null ? null : ts.toInstant();
+    }
+}
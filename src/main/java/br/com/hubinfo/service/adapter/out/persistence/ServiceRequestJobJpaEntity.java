@@ -0,0 +1,73 @@
+package br.com.hubinfo.service.adapter.out.persistence;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entidade JPA da fila persistente (service_request_jobs).
+ *
+ * Observação:
+ * - As transições de estado (claim/heartbeat/recover) são feitas por SQL nativo no repositório,
+ *   porque dependem de FOR UPDATE SKIP LOCKED e de updates condicionais ao lease_owner.
+ * - service_request_id_bin: cópia BINARY(16) gravada pelo INSERT (fase de expansão da V026; ver UuidBinary).
+ */
+@Entity
+@Table(name = "service_request_jobs")
+public class ServiceRequestJobJpaEntity {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.CHAR)
+    @Column(name = "service_request_id", nullable = false, length = 36, columnDefinition = "char(36)")
+    private UUID serviceRequestId;
+
+    @Column(name = "service_request_id_bin", length = 16, columnDefinition = "binary(16)")
+    private byte[] serviceRequestIdBin;
+
+    @Column(name = "service_type", nullable = false, length = 40)
+    private String serviceType;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(name = "lease_owner", length = 120)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+
+    @Column(name = "heartbeat_at")
+    private Instant heartbeatAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    protected ServiceRequestJobJpaEntity() {}
+
+    public UUID getServiceRequestId() { return serviceRequestId; }
+    public String getServiceType() { return serviceType; }
+    public String getStatus() { return status; }
+    public int getAttempts() { return attempts; }
+    public Instant getAvailableAt() { return availableAt; }
+    public String getLeaseOwner() { return leaseOwner; }
+    public Instant getLeaseExpiresAt() { return leaseExpiresAt; }
+    public Instant getHeartbeatAt() { return heartbeatAt; }
+    public String getLastError() { return lastError; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,133 @@
+package br.com.hubinfo.service.adapter.out.persistence;
+
+import br.com.hubinfo.common.persistence.UuidBinary;
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.ServiceRequestJobQueuePort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Adapter da fila persistente sobre a tabela service_request_jobs.
+ *
+ * Cada método roda na sua própria transação curta; o claim trava as linhas
+ * (FOR UPDATE SKIP LOCKED) e as marca RUNNING antes do commit.
+ */
+@Component
+public class ServiceRequestJobPersistenceAdapter implements ServiceRequestJobQueuePort {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final SpringDataServiceRequestJobRepository repository;
+    private final Clock clock;
+
+    public ServiceRequestJobPersistenceAdapter(SpringDataServiceRequestJobRepository repository, Clock clock) {
+        this.repository = repository;
+        this.clock = clock;
+    }
+
+    @Override
+    @Transactional
+    public void enqueue(UUID serviceRequestId, ServiceType serviceType, Instant availableAt) {
+        repository.insertQueued(UuidBinary.toText(serviceRequestId), UuidBinary.toBytes(serviceRequestId),
+                serviceType.name(), availableAt, availableAt);
+    }
+
+    @Override
+    @Transactional
+    public List<ClaimedJob> claim(String owner, Set<ServiceType> types, int max, Instant now, Duration lease) {
+        if (max <= 0 || types.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object[]> rows = repository.lockAvailable(names(types), now, max);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> ids = new ArrayList<>(rows.size());
+        List<ClaimedJob> claimed = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            UUID id = UuidBinary.fromColumn(row[0]);
+            ids.add(UuidBinary.toText(id));
+            claimed.add(new ClaimedJob(
+                    id,
+                    ServiceType.valueOf((String) row[1]),
+                    ((Number) row[2]).intValue() + 1
+            ));
+        }
+
+        repository.markRunning(ids, owner, now, now.plus(lease));
+        return claimed;
+    }
+
+    @Override
+    @Transactional
+    public int heartbeat(String owner, Collection<UUID> serviceRequestIds, Instant leaseExpiresAt) {
+        if (serviceRequestIds.isEmpty()) {
+            return 0;
+        }
+        List<String> ids = serviceRequestIds.stream().map(UuidBinary::toText).toList();
+        return repository.heartbeat(ids, owner, Instant.now(clock), leaseExpiresAt);
+    }
+
+    @Override
+    @Transactional
+    public void complete(UUID serviceRequestId, String owner, Instant now) {
+        repository.markDone(UuidBinary.toText(serviceRequestId), owner, now);
+    }
+
+    @Override
+    @Transactional
+    public void release(UUID serviceRequestId, String owner, Instant availableAt, String error) {
+        repository.release(UuidBinary.toText(serviceRequestId), owner, availableAt, truncate(error), Instant.now(clock));
+    }
+
+    @Override
+    @Transactional
+    public void releaseUnstarted(UUID serviceRequestId, String owner, Instant availableAt) {
+        repository.releaseUnstarted(UuidBinary.toText(serviceRequestId), owner, availableAt, Instant.now(clock));
+    }
+
+    @Override
+    @Transactional
+    public int recoverExpiredLeases(Instant now, int maxAttempts) {
+        int failed = repository.failExhausted(now, maxAttempts);
+        if (failed > 0) {
+            repository.failRequestsOfFailedJobs(now);
+        }
+        return failed + repository.requeueExpired(now);
+    }
+
+    @Override
+    @Transactional
+    public int enqueueOrphans(Set<ServiceType> types, Instant requestedBefore, Instant now, int max) {
+        if (types.isEmpty()) {
+            return 0;
+        }
+        return repository.enqueueOrphans(names(types), requestedBefore, now, max);
+    }
+
+    @Override
+    @Transactional
+    public int purgeFinished(Instant finishedBefore, int max) {
+        return repository.deleteFinished(finishedBefore, max);
+    }
+
+    private static List<String> names(Set<ServiceType> types) {
+        return types.stream().map(Enum::name).toList();
+    }
+
+    private static String truncate(String s) {
+        if (s == null || s.length() <= MAX_ERROR_LENGTH) return s;
+        return s.substring(0, MAX_ERROR_LENGTH);
+    }
+}
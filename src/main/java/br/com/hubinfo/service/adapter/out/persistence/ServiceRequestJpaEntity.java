@@ -1,5 +1,6 @@
 package br.com.hubinfo.service.adapter.out.persistence;
 
+import br.com.hubinfo.common.persistence.UuidBinary;
 import jakarta.persistence.*;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
@@ -7,6 +8,11 @@ import org.hibernate.type.SqlTypes;
 import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * Observação:
+ * - Cada UUID tem a cópia *_bin BINARY(16), gravada pelos setters (fase de expansão da V026; ver UuidBinary).
+ *   Consultas (Specification, findBy...) usam as colunas CHAR(36) até o contract.
+ */
 @Entity
 @Table(name = "service_requests")
 public class ServiceRequestJpaEntity {
@@ -16,6 +22,9 @@ public class ServiceRequestJpaEntity {
     @Column(name = "id", nullable = false, length = 36, columnDefinition = "char(36)")
     private UUID id;
 
+    @Column(name = "id_bin", length = 16, columnDefinition = "binary(16)")
+    private byte[] idBin;
+
     @Column(name = "service_type", nullable = false, length = 40)
     private String serviceType;
 
@@ -29,6 +38,9 @@ public class ServiceRequestJpaEntity {
     @Column(name = "requested_by_user_id", length = 36, columnDefinition = "char(36)")
     private UUID requestedByUserId;
 
+    @Column(name = "requested_by_user_id_bin", length = 16, columnDefinition = "binary(16)")
+    private byte[] requestedByUserIdBin;
+
     @Column(name = "requested_by_email", length = 255)
     private String requestedByEmail;
 
@@ -47,6 +59,23 @@ public class ServiceRequestJpaEntity {
     @Column(name = "result_payload_json", columnDefinition = "json")
     private String resultPayloadJson;
 
+    @Column(name = "served_from_cache", nullable = false)
+    private boolean servedFromCache;
+
+    @JdbcTypeCode(SqlTypes.CHAR)
+    @Column(name = "coalesced_with_request_id", length = 36, columnDefinition = "char(36)")
+    private UUID coalescedWithRequestId;
+
+    @Column(name = "coalesced_with_request_id_bin", length = 16, columnDefinition = "binary(16)")
+    private byte[] coalescedWithRequestIdBin;
+
+    @JdbcTypeCode(SqlTypes.CHAR)
+    @Column(name = "batch_id", length = 36, columnDefinition = "char(36)")
+    private UUID batchId;
+
+    @Column(name = "batch_id_bin", length = 16, columnDefinition = "binary(16)")
+    private byte[] batchIdBin;
+
     /**
      * Construtor exigido pelo JPA.
      * Mantemos protected para evitar uso indevido fora do contexto de persistência.
@@ -65,11 +94,11 @@ public class ServiceRequestJpaEntity {
                                                      String requestedByEmail,
                                                      Instant requestedAt) {
         ServiceRequestJpaEntity e = new ServiceRequestJpaEntity();
-        e.id = id;
+        e.setId(id);
         e.serviceType = serviceType;
         e.status = status;
         e.cnpj = cnpj;
-        e.requestedByUserId = requestedByUserId;
+        e.setRequestedByUserId(requestedByUserId);
         e.requestedByEmail = requestedByEmail;
         e.requestedAt = requestedAt;
         return e;
@@ -77,15 +106,21 @@ public class ServiceRequestJpaEntity {
 
     // Getters/Setters (clareza)
     public UUID getId() { return id; }
-    public void setId(UUID id) { this.id = id; }
+    public void setId(UUID id) {
+        this.id = id;
+        this.idBin = UuidBinary.toBytes(id);
+    }
     public String getServiceType() { return serviceType; }
     public void setServiceType(String serviceType) { this.serviceType = serviceType; }
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
     public String getCnpj() { return cnpj; }
     public void setCnpj(String cnpj) { this.cnpj = cnpj; }
-    public UUID getRequestedByUserId() { return requestedByUserId; }
-    public void setRequestedByUserId(UUID requestedByUserId) { this.requestedByUserId = requestedByUserId; }
+    public UUID getRequestedByUserId() { return UuidBinary.orText(requestedByUserIdBin, requestedByUserId); }
+    public void setRequestedByUserId(UUID requestedByUserId) {
+        this.requestedByUserId = requestedByUserId;
+        this.requestedByUserIdBin = UuidBinary.toBytes(requestedByUserId);
+    }
     public String getRequestedByEmail() { return requestedByEmail; }
     public void setRequestedByEmail(String requestedByEmail) { this.requestedByEmail = requestedByEmail; }
     public Instant getRequestedAt() { return requestedAt; }
@@ -98,4 +133,16 @@ public class ServiceRequestJpaEntity {
     public void setResultMessage(String resultMessage) { this.resultMessage = resultMessage; }
     public String getResultPayloadJson() { return resultPayloadJson; }
     public void setResultPayloadJson(String resultPayloadJson) { this.resultPayloadJson = resultPayloadJson; }
+    public boolean isServedFromCache() { return servedFromCache; }
+    public void setServedFromCache(boolean servedFromCache) { this.servedFromCache = servedFromCache; }
+    public UUID getCoalescedWithRequestId() { return UuidBinary.orText(coalescedWithRequestIdBin, coalescedWithRequestId); }
+    public void setCoalescedWithRequestId(UUID coalescedWithRequestId) {
+        this.coalescedWithRequestId = coalescedWithRequestId;
+        this.coalescedWithRequestIdBin = UuidBinary.toBytes(coalescedWithRequestId);
+    }
+    public UUID getBatchId() { return UuidBinary.orText(batchIdBin, batchId); }
+    public void setBatchId(UUID batchId) {
+        this.batchId = batchId;
+        this.batchIdBin = UuidBinary.toBytes(batchId);
+    }
 }
@@ -1,12 +1,16 @@
 package br.com.hubinfo.service.adapter.out.persistence;
 
+import br.com.hubinfo.notification.domain.UserEvent;
+import br.com.hubinfo.notification.domain.UserEventType;
+import br.com.hubinfo.notification.usecase.port.UserEventPublisher;
 import br.com.hubinfo.service.domain.ServiceRequest;
 import br.com.hubinfo.service.domain.ServiceRequestStatus;
 import br.com.hubinfo.service.domain.ServiceType;
 import br.com.hubinfo.service.usecase.port.ServiceRequestRepositoryPort;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,16 +19,32 @@ import java.util.UUID;
 public class ServiceRequestPersistenceAdapter implements ServiceRequestRepositoryPort {
 
     private final SpringDataServiceRequestRepository repository;
+    private final UserEventPublisher events;
+    private final Clock clock;
 
-    public ServiceRequestPersistenceAdapter(SpringDataServiceRequestRepository repository) {
+    public ServiceRequestPersistenceAdapter(SpringDataServiceRequestRepository repository,
+                                            UserEventPublisher events,
+                                            Clock clock) {
         this.repository = repository;
+        this.events = events;
+        this.clock = clock;
     }
 
+    /**
+     * Conclusão (SUCCESS/FAILURE) gravada aqui avisa o dono pelo stream de eventos, qualquer que seja
+     * o caminho (requisição, worker, lote, cache).
+     */
     @Override
     public ServiceRequest save(ServiceRequest request) {
         ServiceRequestJpaEntity jpa = toJpa(request);
-        ServiceRequestJpaEntity saved = repository.save(jpa);
-        return toDomain(saved);
+        ServiceRequest saved = toDomain(repository.save(jpa));
+
+        boolean finished = saved.status() == ServiceRequestStatus.SUCCESS || saved.status() == ServiceRequestStatus.FAILURE;
+        if (finished && saved.requestedByUserId() != null) {
+            events.publish(UserEvent.of(saved.requestedByUserId(), UserEventType.SERVICE_REQUEST, saved.id(),
+                    saved.status().name(), saved.completedAt() != null ? saved.completedAt() : Instant.now(clock)));
+        }
+        return saved;
     }
 
     @Override
@@ -32,20 +52,44 @@ public class ServiceRequestPersistenceAdapter implements ServiceRequestRepositor
         return repository.findById(id).map(ServiceRequestPersistenceAdapter::toDomain);
     }
 
+    @Override
+    public List<ServiceRequest> findCoalescedWith(UUID leaderRequestId, ServiceRequestStatus status) {
+        return repository.findByCoalescedWithRequestIdAndStatus(leaderRequestId, status.name()).stream()
+                .map(ServiceRequestPersistenceAdapter::toDomain)
+                .toList();
+    }
+
     @Override
     public List<ServiceRequest> findLatest(UUID requestedByUserIdOrNull,
                                            ServiceType serviceTypeOrNull,
                                            ServiceRequestStatus statusOrNull,
                                            int limit) {
+        return findPage(requestedByUserIdOrNull, serviceTypeOrNull, statusOrNull, null, null, limit);
+    }
+
+    @Override
+    public List<ServiceRequest> findPage(UUID requestedByUserIdOrNull,
+                                         ServiceType serviceTypeOrNull,
+                                         ServiceRequestStatus statusOrNull,
+                                         Instant beforeRequestedAt,
+                                         UUID beforeId,
+                                         int limit) {
 
-        var page = repository.findLatest(
+        var spec = ServiceRequestSpecifications.history(
                 requestedByUserIdOrNull,
                 serviceTypeOrNull == null ? null : serviceTypeOrNull.name(),
                 statusOrNull == null ? null : statusOrNull.name(),
-                PageRequest.of(0, limit)
+                beforeRequestedAt,
+                beforeId
         );
 
-        return page.getContent().stream().map(ServiceRequestPersistenceAdapter::toDomain).toList();
+        // limit na fluent query (e não Pageable): evita o SELECT COUNT(*) que o Page dispararia.
+        List<ServiceRequestJpaEntity> rows = repository.findBy(spec, q -> q
+                .sortBy(ServiceRequestSpecifications.HISTORY_ORDER)
+                .limit(limit)
+                .all());
+
+        return rows.stream().map(ServiceRequestPersistenceAdapter::toDomain).toList();
     }
 
     private static ServiceRequestJpaEntity toJpa(ServiceRequest d) {
@@ -61,6 +105,9 @@ public class ServiceRequestPersistenceAdapter implements ServiceRequestRepositor
         j.setResultCode(d.resultCode());
         j.setResultMessage(d.resultMessage());
         j.setResultPayloadJson(d.resultPayloadJson());
+        j.setServedFromCache(d.servedFromCache());
+        j.setCoalescedWithRequestId(d.coalescedWithRequestId());
+        j.setBatchId(d.batchId());
         return j;
     }
 
@@ -76,7 +123,10 @@ public class ServiceRequestPersistenceAdapter implements ServiceRequestRepositor
                 j.getCompletedAt(),
                 j.getResultCode(),
                 j.getResultMessage(),
-                j.getResultPayloadJson()
+                j.getResultPayloadJson(),
+                j.isServedFromCache(),
+                j.getCoalescedWithRequestId(),
+                j.getBatchId()
         );
     }
 }
@@ -1,5 +1,7 @@
 package br.com.hubinfo.service.adapter.out.persistence;
 
+import br.com.hubinfo.cnpj.domain.Cnpj;
+import br.com.hubinfo.common.id.UuidV7;
 import br.com.hubinfo.service.domain.ServiceRequestStatus;
 import br.com.hubinfo.service.domain.ServiceType;
 import br.com.hubinfo.service.usecase.ServiceRequestRegister;
@@ -41,14 +43,15 @@ public class ServiceRequestRegisterPersistenceAdapter implements ServiceRequestR
                          ServiceType type,
                          Map<String, Object> payload,
                          ServiceRequestStatus status,
-                         Instant requestedAt) {
+                         Instant requestedAt,
+                         UUID coalescedWithRequestId) {
 
         // 1) Pelo schema atual, CNPJ é obrigatório (cnpj NOT NULL char(14)).
         String cnpj = extractAndNormalizeCnpj(payload);
 
         // 2) Cria a entidade JPA e preenche os campos persistidos na tabela service_requests.
         ServiceRequestJpaEntity entity = new ServiceRequestJpaEntity();
-        entity.setId(UUID.randomUUID());
+        entity.setId(UuidV7.next());
         entity.setServiceType(type.name());
         entity.setStatus(status.name());
         entity.setCnpj(cnpj);
@@ -59,6 +62,7 @@ public class ServiceRequestRegisterPersistenceAdapter implements ServiceRequestR
 
         // 4) Momento do registro.
         entity.setRequestedAt(requestedAt);
+        entity.setCoalescedWithRequestId(coalescedWithRequestId);
 
         // 5) Campos de resultado ficam nulos no início; serão preenchidos quando houver processamento.
         // entity.setCompletedAt(...)
@@ -70,12 +74,11 @@ public class ServiceRequestRegisterPersistenceAdapter implements ServiceRequestR
     }
 
     /**
-     * Extrai e normaliza CNPJ para exatamente 14 dígitos.
+     * Extrai e normaliza o CNPJ do payload.
      *
      * Regras:
      * - Campo "cnpj" precisa existir no payload.
-     * - Remove máscara e qualquer caractere não numérico.
-     * - Valida tamanho final (14).
+     * - Normalização e dígitos verificadores: ver Cnpj.
      */
     private static String extractAndNormalizeCnpj(Map<String, Object> payload) {
         if (payload == null) {
@@ -87,11 +90,6 @@ public class ServiceRequestRegisterPersistenceAdapter implements ServiceRequestR
             throw new IllegalArgumentException("Payload inválido: campo 'cnpj' é obrigatório.");
         }
 
-        String digits = raw.toString().replaceAll("\\D", "");
-        if (digits.length() != 14) {
-            throw new IllegalArgumentException("CNPJ inválido: deve conter 14 dígitos.");
-        }
-
-        return digits;
+        return Cnpj.parse(raw.toString()).value();
     }
 }
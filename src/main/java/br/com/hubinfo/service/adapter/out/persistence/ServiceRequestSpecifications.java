@@ -0,0 +1,57 @@
+package br.com.hubinfo.service.adapter.out.persistence;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Monta a consulta do histórico apenas com os filtros presentes.
+ *
+ * Por que existe:
+ * - O padrão "(:p IS NULL OR col = :p)" gera um único plano para todas as combinações,
+ *   e o MySQL acaba varrendo idx_sr_requested_at mesmo quando há filtro por usuário/tipo/status.
+ * - Emitindo só "col = ?" para o que foi informado, o otimizador escolhe o índice composto certo
+ *   (V021/V022).
+ */
+final class ServiceRequestSpecifications {
+
+    /** Ordem total: id desempata requested_at igual (necessário para o keyset). */
+    static final Sort HISTORY_ORDER = Sort.by(Sort.Order.desc("requestedAt"), Sort.Order.desc("id"));
+
+    private ServiceRequestSpecifications() {}
+
+    static Specification<ServiceRequestJpaEntity> history(UUID requestedByUserId,
+                                                          String serviceType,
+                                                          String status,
+                                                          Instant beforeRequestedAt,
+                                                          UUID beforeId) {
+
+        List<Specification<ServiceRequestJpaEntity>> filters = new ArrayList<>(4);
+
+        if (requestedByUserId != null) {
+            filters.add((r, q, cb) -> cb.equal(r.get("requestedByUserId"), requestedByUserId));
+        }
+        if (serviceType != null) {
+            filters.add((r, q, cb) -> cb.equal(r.get("serviceType"), serviceType));
+        }
+        if (status != null) {
+            filters.add((r, q, cb) -> cb.equal(r.get("status"), status));
+        }
+        if (beforeRequestedAt != null && beforeId != null) {
+            // requested_at < x OR (requested_at = x AND id < y)
+            filters.add((r, q, cb) -> cb.or(
+                    cb.lessThan(r.get("requestedAt"), beforeRequestedAt),
+                    cb.and(
+                            cb.equal(r.get("requestedAt"), beforeRequestedAt),
+                            cb.lessThan(r.<UUID>get("id"), beforeId)
+                    )
+            ));
+        }
+
+        return Specification.allOf(filters);
+    }
+}
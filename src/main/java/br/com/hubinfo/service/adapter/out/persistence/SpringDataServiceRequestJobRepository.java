@@ -0,0 +1,217 @@
+package br.com.hubinfo.service.adapter.out.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositório da fila persistente.
+ *
+ * IDs são passados como String (CHAR(36), ver UuidBinary) nas queries nativas para não depender
+ * da conversão de UUID do Hibernate em parâmetros nativos. O INSERT grava também service_request_id_bin
+ * (fase de expansão da V026).
+ */
+public interface SpringDataServiceRequestJobRepository extends JpaRepository<ServiceRequestJobJpaEntity, UUID> {
+
+    @Modifying
+    @Query(value = """
+           INSERT IGNORE INTO service_request_jobs
+             (service_request_id, service_request_id_bin, service_type, status, attempts,
+              available_at, created_at, updated_at)
+           VALUES (:id, :idBin, :serviceType, 'QUEUED', 0, :availableAt, :now, :now)
+           """, nativeQuery = true)
+    int insertQueued(@Param("id") String id,
+                     @Param("idBin") byte[] idBin,
+                     @Param("serviceType") String serviceType,
+                     @Param("availableAt") Instant availableAt,
+                     @Param("now") Instant now);
+
+    /**
+     * Seleciona e trava jobs disponíveis. Linhas travadas por outro nó são puladas (SKIP LOCKED),
+     * então vários workers podem reivindicar em paralelo sem esperar uns pelos outros.
+     * Deve rodar dentro de transação (o lock vale até o commit).
+     */
+    @Query(value = """
+           SELECT COALESCE(service_request_id_bin, service_request_id), service_type, attempts
+           FROM service_request_jobs
+           WHERE status = 'QUEUED'
+             AND available_at <= :now
+             AND service_type IN (:types)
+           ORDER BY available_at
+           LIMIT :max
+           FOR UPDATE SKIP LOCKED
+           """, nativeQuery = true)
+    List<Object[]> lockAvailable(@Param("types") Collection<String> types,
+                               @Param("now") Instant now,
+                               @Param("max") int max);
+
+    @Modifying
+    @Query(value = """
+           UPDATE service_request_jobs
+           SET status = 'RUNNING',
+               lease_owner = :owner,
+               lease_expires_at = :leaseExpiresAt,
+               heartbeat_at = :now,
+               attempts = attempts + 1,
+               updated_at = :now
+           WHERE service_request_id IN (:ids)
+           """, nativeQuery = true)
+    int markRunning(@Param("ids") Collection<String> ids,
+                    @Param("owner") String owner,
+                    @Param("now") Instant now,
+                    @Param("leaseExpiresAt") Instant leaseExpiresAt);
+
+    @Modifying
+    @Query(value = """
+           UPDATE service_request_jobs
+           SET lease_expires_at = :leaseExpiresAt,
+               heartbeat_at = :now,
+               updated_at = :now
+           WHERE service_request_id IN (:ids)
+             AND status = 'RUNNING'
+             AND lease_owner = :owner
+           """, nativeQuery = true)
+    int heartbeat(@Param("ids") Collection<String> ids,
+                  @Param("owner") String owner,
+                  @Param("now") Instant now,
+                  @Param("leaseExpiresAt") Instant leaseExpiresAt);
+
+    @Modifying
+    @Query(value = """
+           UPDATE service_request_jobs
+           SET status = 'DONE',
+               lease_owner = NULL,
+               lease_expires_at = NULL,
+               last_error = NULL,
+               updated_at = :now
+           WHERE service_request_id = :id
+             AND status = 'RUNNING'
+             AND lease_owner = :owner
+           """, nativeQuery = true)
+    int markDone(@Param("id") String id,
+                 @Param("owner") String owner,
+                 @Param("now") Instant now);
+
+    @Modifying
+    @Query(value = """
+           UPDATE service_request_jobs
+           SET status = 'QUEUED',
+               lease_owner = NULL,
+               lease_expires_at = NULL,
+               available_at = :availableAt,
+               last_error = :error,
+               updated_at = :now
+           WHERE service_request_id = :id
+             AND status = 'RUNNING'
+             AND lease_owner = :owner
+           """, nativeQuery = true)
+    int release(@Param("id") String id,
+                @Param("owner") String owner,
+                @Param("availableAt") Instant availableAt,
+                @Param("error") String error,
+                @Param("now") Instant now);
+
+    /**
+     * Como release, mas desfaz o attempts + 1 do markRunning: o job não chegou a executar.
+     */
+    @Modifying
+    @Query(value = """
+           UPDATE service_request_jobs
+           SET status = 'QUEUED',
+               lease_owner = NULL,
+               lease_expires_at = NULL,
+               available_at = :availableAt,
+               attempts = GREATEST(attempts - 1, 0),
+               updated_at = :now
+           WHERE service_request_id = :id
+             AND status = 'RUNNING'
+             AND lease_owner = :owner
+           """, nativeQuery = true)
+    int releaseUnstarted(@Param("id") String id,
+                         @Param("owner") String owner,
+                         @Param("availableAt") Instant availableAt,
+                         @Param("now") Instant now);
+
+    @Modifying
+    @Query(value = """
+           UPDATE service_request_jobs
+           SET status = 'FAILED',
+               lease_owner = NULL,
+               lease_expires_at = NULL,
+               last_error = 'Lease expirado e tentativas esgotadas.',
+               updated_at = :now
+           WHERE status = 'RUNNING'
+             AND lease_expires_at < :now
+             AND attempts >= :maxAttempts
+           """, nativeQuery = true)
+    int failExhausted(@Param("now") Instant now,
+                      @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Solicitações cujos jobs falharam definitivamente não podem ficar PENDING para sempre.
+     */
+    @Modifying
+    @Query(value = """
+           UPDATE service_requests r
+           JOIN service_request_jobs j ON j.service_request_id = r.id
+           SET r.status = 'FAILURE',
+               r.result_code = 'PROCESSING_FAILED',
+               r.result_message = 'Não foi possível concluir o processamento.',
+               r.completed_at = :now
+           WHERE j.status = 'FAILED'
+             AND r.status = 'PENDING'
+           """, nativeQuery = true)
+    int failRequestsOfFailedJobs(@Param("now") Instant now);
+
+    @Modifying
+    @Query(value = """
+           UPDATE service_request_jobs
+           SET status = 'QUEUED',
+               lease_owner = NULL,
+               lease_expires_at = NULL,
+               available_at = :now,
+               last_error = 'Lease expirado (worker sem heartbeat).',
+               updated_at = :now
+           WHERE status = 'RUNNING'
+             AND lease_expires_at < :now
+           """, nativeQuery = true)
+    int requeueExpired(@Param("now") Instant now);
+
+    @Modifying
+    @Query(value = """
+           INSERT IGNORE INTO service_request_jobs
+             (service_request_id, service_request_id_bin, service_type, status, attempts,
+              available_at, created_at, updated_at)
+           SELECT r.id, UNHEX(REPLACE(r.id, '-', '')), r.service_type, 'QUEUED', 0, :now, :now, :now
+           FROM service_requests r
+           LEFT JOIN service_request_jobs j ON j.service_request_id = r.id
+           WHERE r.status = 'PENDING'
+             AND r.requested_at < :requestedBefore
+             AND r.service_type IN (:types)
+             AND j.service_request_id IS NULL
+           LIMIT :max
+           """, nativeQuery = true)
+    int enqueueOrphans(@Param("types") Collection<String> types,
+                       @Param("requestedBefore") Instant requestedBefore,
+                       @Param("now") Instant now,
+                       @Param("max") int max);
+
+    /**
+     * Jobs encerrados: a solicitação já guarda o resultado, a linha só ocupa espaço (índice idx_srj_status_updated).
+     */
+    @Modifying
+    @Query(value = """
+           DELETE FROM service_request_jobs
+           WHERE status IN ('DONE', 'FAILED')
+             AND updated_at < :before
+           LIMIT :max
+           """, nativeQuery = true)
+    int deleteFinished(@Param("before") Instant before,
+                       @Param("max") int max);
+}
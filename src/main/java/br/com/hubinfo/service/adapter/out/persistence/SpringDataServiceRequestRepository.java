@@ -1,31 +1,18 @@
 package br.com.hubinfo.service.adapter.out.persistence;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.List;
 import java.util.UUID;
 
-public interface SpringDataServiceRequestRepository extends JpaRepository<ServiceRequestJpaEntity, UUID> {
+/**
+ * Consultas do histórico usam Specification (ver ServiceRequestSpecifications),
+ * para emitir apenas os filtros informados.
+ */
+public interface SpringDataServiceRequestRepository extends JpaRepository<ServiceRequestJpaEntity, UUID>,
+        JpaSpecificationExecutor<ServiceRequestJpaEntity> {
 
-    /**
-     * Query com filtros opcionais (serviceType/status) e userId opcional.
-     *
-     * - Quando userId for null: lista geral (ADMIN).
-     * - Quando userId tiver valor: lista somente daquele usuário.
-     */
-    @Query("""
-           SELECT r
-           FROM ServiceRequestJpaEntity r
-           WHERE (:userId IS NULL OR r.requestedByUserId = :userId)
-             AND (:serviceType IS NULL OR r.serviceType = :serviceType)
-             AND (:status IS NULL OR r.status = :status)
-           ORDER BY r.requestedAt DESC
-           """)
-    Page<ServiceRequestJpaEntity> findLatest(@Param("userId") UUID userId,
-                                             @Param("serviceType") String serviceType,
-                                             @Param("status") String status,
-                                             Pageable pageable);
+    /** Usa idx_sr_coalesced_with (poucas linhas por líder). */
+    List<ServiceRequestJpaEntity> findByCoalescedWithRequestIdAndStatus(UUID coalescedWithRequestId, String status);
 }
@@ -0,0 +1,47 @@
+package br.com.hubinfo.service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Continuação da coleta depois do CAPTCHA resolvido.
+ *
+ * Exemplo no application.yml:
+ * hubinfo:
+ *   services:
+ *     captcha-continuation:
+ *       max-concurrent: 64
+ *       rescan-interval: PT5S
+ *       rescan-grace: PT3S
+ *
+ * Observação:
+ * - Não passa pela fila/pool das demais coletas: o token do hCaptcha vale ~120s e esperar atrás
+ *   de um lote de CND o faria vencer. O limite aqui é próprio.
+ */
+@Component
+@ConfigurationProperties(prefix = "hubinfo.services.captcha-continuation")
+public class CaptchaContinuationProperties {
+
+    /** Continuações em execução ao mesmo tempo neste nó; as demais esperam enquanto o token vale. */
+    private int maxConcurrent = 64;
+
+    /**
+     * Releitura dos desafios SOLVED ainda não consumidos (solução recebida por um nó que caiu
+     * antes de continuar, ou aviso perdido).
+     */
+    private Duration rescanInterval = Duration.ofSeconds(5);
+
+    /** Idade mínima da solução para a releitura assumir (dá a vez ao nó que recebeu a solução). */
+    private Duration rescanGrace = Duration.ofSeconds(3);
+
+    public int getMaxConcurrent() { return maxConcurrent; }
+    public void setMaxConcurrent(int maxConcurrent) { this.maxConcurrent = maxConcurrent; }
+
+    public Duration getRescanInterval() { return rescanInterval; }
+    public void setRescanInterval(Duration rescanInterval) { this.rescanInterval = rescanInterval; }
+
+    public Duration getRescanGrace() { return rescanGrace; }
+    public void setRescanGrace(Duration rescanGrace) { this.rescanGrace = rescanGrace; }
+}
@@ -0,0 +1,50 @@
+package br.com.hubinfo.service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * Propriedades do cache de certidões CND.
+ *
+ * Exemplo no application.yml:
+ * hubinfo:
+ *   services:
+ *     cnd:
+ *       cache:
+ *         enabled: true
+ *         max-size: 50000          # entradas em memória (o MySQL guarda todas)
+ *         min-remaining: P1D       # não reaproveita certidão que vence antes disso
+ *         zone: America/Sao_Paulo  # validade só com data vale até o fim do dia neste fuso
+ */
+@Component
+@ConfigurationProperties(prefix = "hubinfo.services.cnd.cache")
+public class CndCacheProperties {
+
+    private boolean enabled = true;
+
+    private long maxSize = 50_000;
+
+    private Duration minRemaining = Duration.ofDays(1);
+
+    private ZoneId zone = ZoneId.of("America/Sao_Paulo");
+
+    private Duration purgeInterval = Duration.ofHours(1);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getMaxSize() { return maxSize; }
+    public void setMaxSize(long maxSize) { this.maxSize = maxSize; }
+
+    public Duration getMinRemaining() { return minRemaining; }
+    public void setMinRemaining(Duration minRemaining) { this.minRemaining = minRemaining; }
+
+    public ZoneId getZone() { return zone; }
+    public void setZone(ZoneId zone) { this.zone = zone; }
+
+    public Duration getPurgeInterval() { return purgeInterval; }
+    public void setPurgeInterval(Duration purgeInterval) { this.purgeInterval = purgeInterval; }
+}
@@ -0,0 +1,152 @@
+package br.com.hubinfo.service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Propriedades dos gateways HTTP para portais externos (WebClient / Reactor Netty).
+ *
+ * Exemplo no application.yml:
+ * hubinfo:
+ *   services:
+ *     gateway:
+ *       connect-timeout: 5s
+ *       response-timeout: 30s     # tempo máximo sem resposta (leitura)
+ *       protocols: [H2, HTTP11]   # H2 só em https (ALPN); H2C para http sem TLS
+ *       pool:
+ *         max-connections: 50     # por host
+ *       max-connections-per-host:
+ *         "portal.exemplo.gov.br:443": 10
+ *       cnd:
+ *         mode: http              # stub (padrão) | http
+ *         base-url: https://portal.exemplo.gov.br
+ *         path: /api/cnd
+ *         bulkhead:
+ *           max-concurrent: 16
+ */
+@Component
+@ConfigurationProperties(prefix = "hubinfo.services.gateway")
+public class PortalGatewayProperties {
+
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    private Duration responseTimeout = Duration.ofSeconds(30);
+
+    /** Nomes de reactor.netty.http.HttpProtocol, em ordem de preferência. */
+    private List<String> protocols = new ArrayList<>(List.of("HTTP11"));
+
+    private Pool pool = new Pool();
+
+    /** Limite de conexões por host ("host:porta"), sobrepondo pool.max-connections. */
+    private Map<String, Integer> maxConnectionsPerHost = new HashMap<>();
+
+    private Portal cnd = new Portal();
+
+    public Duration getConnectTimeout() { return connectTimeout; }
+    public void setConnectTimeout(Duration connectTimeout) { this.connectTimeout = connectTimeout; }
+
+    public Duration getResponseTimeout() { return responseTimeout; }
+    public void setResponseTimeout(Duration responseTimeout) { this.responseTimeout = responseTimeout; }
+
+    public List<String> getProtocols() { return protocols; }
+    public void setProtocols(List<String> protocols) { this.protocols = protocols; }
+
+    public Pool getPool() { return pool; }
+    public void setPool(Pool pool) { this.pool = pool; }
+
+    public Map<String, Integer> getMaxConnectionsPerHost() { return maxConnectionsPerHost; }
+    public void setMaxConnectionsPerHost(Map<String, Integer> maxConnectionsPerHost) { this.maxConnectionsPerHost = maxConnectionsPerHost; }
+
+    public Portal getCnd() { return cnd; }
+    public void setCnd(Portal cnd) { this.cnd = cnd; }
+
+    /**
+     * Pool de conexões compartilhado pelos portais (cada host tem seu próprio sub-pool).
+     */
+    public static class Pool {
+
+        /** Conexões por host. */
+        private int maxConnections = 50;
+
+        /** Requisições aguardando conexão por host; acima disso falha na hora. */
+        private int pendingAcquireMaxCount = 200;
+
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+
+        /** Portais costumam derrubar conexões ociosas; fechamos antes deles. */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        private Duration evictInterval = Duration.ofSeconds(30);
+
+        public int getMaxConnections() { return maxConnections; }
+        public void setMaxConnections(int maxConnections) { this.maxConnections = maxConnections; }
+
+        public int getPendingAcquireMaxCount() { return pendingAcquireMaxCount; }
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) { this.pendingAcquireMaxCount = pendingAcquireMaxCount; }
+
+        public Duration getPendingAcquireTimeout() { return pendingAcquireTimeout; }
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) { this.pendingAcquireTimeout = pendingAcquireTimeout; }
+
+        public Duration getMaxIdleTime() { return maxIdleTime; }
+        public void setMaxIdleTime(Duration maxIdleTime) { this.maxIdleTime = maxIdleTime; }
+
+        public Duration getMaxLifeTime() { return maxLifeTime; }
+        public void setMaxLifeTime(Duration maxLifeTime) { this.maxLifeTime = maxLifeTime; }
+
+        public Duration getEvictInterval() { return evictInterval; }
+        public void setEvictInterval(Duration evictInterval) { this.evictInterval = evictInterval; }
+    }
+
+    /**
+     * Configuração de um portal.
+     */
+    public static class Portal {
+
+        /** stub: resposta fixa (sem rede) | http: WebClient para base-url. */
+        private String mode = "stub";
+
+        private String baseUrl;
+
+        private String path = "/";
+
+        /** Prazo total da chamada (fila do pool + conexão + resposta). */
+        private Duration timeout = Duration.ofSeconds(45);
+
+        private Bulkhead bulkhead = new Bulkhead();
+
+        public String getMode() { return mode; }
+        public void setMode(String mode) { this.mode = mode; }
+
+        public String getBaseUrl() { return baseUrl; }
+        public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
+
+        public String getPath() { return path; }
+        public void setPath(String path) { this.path = path; }
+
+        public Duration getTimeout() { return timeout; }
+        public void setTimeout(Duration timeout) { this.timeout = timeout; }
+
+        public Bulkhead getBulkhead() { return bulkhead; }
+        public void setBulkhead(Bulkhead bulkhead) { this.bulkhead = bulkhead; }
+    }
+
+    /**
+     * Chamadas simultâneas a um portal; acima disso a chamada falha na hora (PORTAL_BUSY)
+     * em vez de ocupar conexões e a fila do pool compartilhado.
+     */
+    public static class Bulkhead {
+
+        private int maxConcurrent = 16;
+
+        public int getMaxConcurrent() { return maxConcurrent; }
+        public void setMaxConcurrent(int maxConcurrent) { this.maxConcurrent = maxConcurrent; }
+    }
+}
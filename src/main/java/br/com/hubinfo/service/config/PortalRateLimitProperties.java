@@ -0,0 +1,76 @@
+package br.com.hubinfo.service.config;
+
+import br.com.hubinfo.service.domain.ServiceType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limite de chamadas por portal (host), somado entre todos os nós do cluster.
+ *
+ * Exemplo no application.yml:
+ * hubinfo:
+ *   services:
+ *     portal-rate-limit:
+ *       lease-size: 5           # permissões retiradas do orçamento compartilhado por vez
+ *       lease-ttl: 2s           # validade do lote no nó
+ *       portals:
+ *         "[solucoes.receita.fazenda.gov.br]":
+ *           rate-per-second: 2
+ *           burst: 5
+ *       service-hosts:
+ *         SITUACAO_FISCAL_FEDERAL: cav.receita.fazenda.gov.br
+ *
+ * Regras:
+ * - Host sem entrada em portals não é limitado aqui (só pela política do coletor).
+ * - Host do serviço: service-hosts; senão base-url do gateway (CND); senão pageUrl do hCaptcha do serviço.
+ * - lease-size pequeno divide melhor o limite entre os nós; grande vai menos ao banco.
+ */
+@Component
+@ConfigurationProperties(prefix = "hubinfo.services.portal-rate-limit")
+public class PortalRateLimitProperties {
+
+    private boolean enabled = true;
+
+    private int leaseSize = 5;
+
+    private Duration leaseTtl = Duration.ofSeconds(2);
+
+    private Map<String, Portal> portals = new HashMap<>();
+
+    private Map<ServiceType, String> serviceHosts = new EnumMap<>(ServiceType.class);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getLeaseSize() { return leaseSize; }
+    public void setLeaseSize(int leaseSize) { this.leaseSize = leaseSize; }
+
+    public Duration getLeaseTtl() { return leaseTtl; }
+    public void setLeaseTtl(Duration leaseTtl) { this.leaseTtl = leaseTtl; }
+
+    public Map<String, Portal> getPortals() { return portals; }
+    public void setPortals(Map<String, Portal> portals) { this.portals = portals; }
+
+    public Map<ServiceType, String> getServiceHosts() { return serviceHosts; }
+    public void setServiceHosts(Map<ServiceType, String> serviceHosts) { this.serviceHosts = serviceHosts; }
+
+    public static class Portal {
+
+        /** Chamadas por segundo ao host, somando todos os nós. */
+        private double ratePerSecond = 1.0;
+
+        /** Chamadas acumuláveis com o portal ocioso. */
+        private int burst = 1;
+
+        public double getRatePerSecond() { return ratePerSecond; }
+        public void setRatePerSecond(double ratePerSecond) { this.ratePerSecond = ratePerSecond; }
+
+        public int getBurst() { return burst; }
+        public void setBurst(int burst) { this.burst = burst; }
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.hubinfo.service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propriedades do envio em massa (POST /api/v1/services/cnd/batches).
+ *
+ * Exemplo no application.yml:
+ * hubinfo:
+ *   services:
+ *     batch:
+ *       max-items: 50000            # CNPJs aceitos por lote; o excedente é rejeitado
+ *       chunk-size: 1000            # linhas por JDBC batch (solicitações + jobs)
+ *       max-rejection-details: 1000 # rejeições detalhadas na resposta/auditoria
+ */
+@Component
+@ConfigurationProperties(prefix = "hubinfo.services.batch")
+public class ServiceBatchProperties {
+
+    private int maxItems = 50_000;
+
+    private int chunkSize = 1000;
+
+    private int maxRejectionDetails = 1000;
+
+    public int getMaxItems() { return maxItems; }
+    public void setMaxItems(int maxItems) { this.maxItems = maxItems; }
+
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+
+    public int getMaxRejectionDetails() { return maxRejectionDetails; }
+    public void setMaxRejectionDetails(int maxRejectionDetails) { this.maxRejectionDetails = maxRejectionDetails; }
+}
@@ -0,0 +1,126 @@
+package br.com.hubinfo.service.config;
+
+import br.com.hubinfo.service.domain.ServiceType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Política de execução de cada coletor (ServiceCollector), por ServiceType.
+ *
+ * Exemplo no application.yml:
+ * hubinfo:
+ *   services:
+ *     collectors:
+ *       defaults:
+ *         max-concurrent: 8
+ *         rate-per-second: 0      # 0 = sem limite de taxa
+ *         burst: 1
+ *         timeout: 60s
+ *         max-attempts: 1
+ *         retry-backoff: 2s
+ *       types:
+ *         SITUACAO_FISCAL_FEDERAL:   # e-CAC: lento e sensível a volume
+ *           max-concurrent: 2
+ *           rate-per-second: 0.5
+ *           timeout: 120s
+ *
+ * Regras:
+ * - Em types, só os campos informados mudam; o resto vem de defaults.
+ * - Cada tipo tem as próprias vagas e o próprio bucket: um portal lento não consome a capacidade dos demais.
+ */
+@Component
+@ConfigurationProperties(prefix = "hubinfo.services.collectors")
+public class ServiceCollectorProperties {
+
+    private Policy defaults = Policy.standard();
+
+    private Map<ServiceType, Policy> types = new EnumMap<>(ServiceType.class);
+
+    /** Registra coletores stub (INTEGRATION_PENDING) para os serviços interativos ainda sem integração. */
+    private boolean stubInteractive = true;
+
+    public Policy getDefaults() { return defaults; }
+    public void setDefaults(Policy defaults) { this.defaults = defaults; }
+
+    public Map<ServiceType, Policy> getTypes() { return types; }
+    public void setTypes(Map<ServiceType, Policy> types) { this.types = types; }
+
+    public boolean isStubInteractive() { return stubInteractive; }
+    public void setStubInteractive(boolean stubInteractive) { this.stubInteractive = stubInteractive; }
+
+    /**
+     * Política efetiva do tipo (defaults + o que o tipo sobrescreve).
+     */
+    public Policy policyFor(ServiceType type) {
+        Policy override = types.get(type);
+        return override == null ? defaults : defaults.overriddenBy(override);
+    }
+
+    /**
+     * Campos null = "não informado" (herda de defaults).
+     */
+    public static class Policy {
+
+        /** Chamadas simultâneas ao portal do serviço. */
+        private Integer maxConcurrent;
+
+        /** Taxa sustentada de chamadas por segundo (0 = sem limite). */
+        private Double ratePerSecond;
+
+        /** Chamadas que podem sair de uma vez antes de a taxa valer. */
+        private Integer burst;
+
+        /** Tempo máximo de uma tentativa, incluindo a espera por vaga e pela taxa. */
+        private Duration timeout;
+
+        /** Tentativas em falha técnica (1 = sem nova tentativa). Nunca com token de CAPTCHA (uso único). */
+        private Integer maxAttempts;
+
+        /** Espera antes da próxima tentativa (dobra a cada uma). */
+        private Duration retryBackoff;
+
+        static Policy standard() {
+            Policy p = new Policy();
+            p.maxConcurrent = 8;
+            p.ratePerSecond = 0.0;
+            p.burst = 1;
+            p.timeout = Duration.ofSeconds(60);
+            p.maxAttempts = 1;
+            p.retryBackoff = Duration.ofSeconds(2);
+            return p;
+        }
+
+        Policy overriddenBy(Policy o) {
+            Policy p = new Policy();
+            p.maxConcurrent = o.maxConcurrent != null ? o.maxConcurrent : maxConcurrent;
+            p.ratePerSecond = o.ratePerSecond != null ? o.ratePerSecond : ratePerSecond;
+            p.burst = o.burst != null ? o.burst : burst;
+            p.timeout = o.timeout != null ? o.timeout : timeout;
+            p.maxAttempts = o.maxAttempts != null ? o.maxAttempts : maxAttempts;
+            p.retryBackoff = o.retryBackoff != null ? o.retryBackoff : retryBackoff;
+            return p;
+        }
+
+        public Integer getMaxConcurrent() { return maxConcurrent; }
+        public void setMaxConcurrent(Integer maxConcurrent) { this.maxConcurrent = maxConcurrent; }
+
+        public Double getRatePerSecond() { return ratePerSecond; }
+        public void setRatePerSecond(Double ratePerSecond) { this.ratePerSecond = ratePerSecond; }
+
+        public Integer getBurst() { return burst; }
+        public void setBurst(Integer burst) { this.burst = burst; }
+
+        public Duration getTimeout() { return timeout; }
+        public void setTimeout(Duration timeout) { this.timeout = timeout; }
+
+        public Integer getMaxAttempts() { return maxAttempts; }
+        public void setMaxAttempts(Integer maxAttempts) { this.maxAttempts = maxAttempts; }
+
+        public Duration getRetryBackoff() { return retryBackoff; }
+        public void setRetryBackoff(Duration retryBackoff) { this.retryBackoff = retryBackoff; }
+    }
+}
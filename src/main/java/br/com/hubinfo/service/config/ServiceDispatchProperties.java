@@ -0,0 +1,123 @@
+package br.com.hubinfo.service.config;
+
+import br.com.hubinfo.service.domain.ServiceType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Propriedades do processamento de solicitações de serviço.
+ *
+ * Exemplo no application.yml:
+ * hubinfo:
+ *   services:
+ *     dispatch:
+ *       mode: executor        # inline (padrão) | executor | queue
+ *       max-pending: 1000     # solicitações na fila + em execução (backpressure)
+ *       default-concurrency: 8
+ *       concurrency:
+ *         CND: 16
+ *       queue:                # somente mode=queue
+ *         poll-interval: PT1S
+ *         batch-size: 20
+ *         lease: PT2M
+ *         retention: P30D     # jobs DONE/FAILED mais antigos que isso são apagados
+ */
+@Component
+@ConfigurationProperties(prefix = "hubinfo.services.dispatch")
+public class ServiceDispatchProperties {
+
+    /**
+     * inline: coleta na thread HTTP (comportamento original).
+     * executor: coleta em pool limitado de virtual threads; POST responde 202.
+     * queue: solicitação vai para a fila persistente (service_request_jobs); qualquer nó processa.
+     */
+    private String mode = "inline";
+
+    private int maxPending = 1000;
+
+    private int defaultConcurrency = 8;
+
+    private Map<ServiceType, Integer> concurrency = new EnumMap<>(ServiceType.class);
+
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    private Queue queue = new Queue();
+
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+
+    public int getMaxPending() { return maxPending; }
+    public void setMaxPending(int maxPending) { this.maxPending = maxPending; }
+
+    public int getDefaultConcurrency() { return defaultConcurrency; }
+    public void setDefaultConcurrency(int defaultConcurrency) { this.defaultConcurrency = defaultConcurrency; }
+
+    public Map<ServiceType, Integer> getConcurrency() { return concurrency; }
+    public void setConcurrency(Map<ServiceType, Integer> concurrency) { this.concurrency = concurrency; }
+
+    public Duration getShutdownTimeout() { return shutdownTimeout; }
+    public void setShutdownTimeout(Duration shutdownTimeout) { this.shutdownTimeout = shutdownTimeout; }
+
+    public Queue getQueue() { return queue; }
+    public void setQueue(Queue queue) { this.queue = queue; }
+
+    /**
+     * Limite de execuções simultâneas para o tipo (fallback: defaultConcurrency).
+     */
+    public int concurrencyFor(ServiceType type) {
+        Integer value = concurrency.get(type);
+        return value != null && value > 0 ? value : defaultConcurrency;
+    }
+
+    /**
+     * Fila persistente (mode=queue).
+     */
+    public static class Queue {
+
+        /** Máximo de jobs reivindicados por ciclo (limitado também pela capacidade livre do executor). */
+        private int batchSize = 20;
+
+        /** Duração do lease; renovado por heartbeat enquanto o job executa. */
+        private Duration lease = Duration.ofMinutes(2);
+
+        /** Tentativas antes de marcar o job como FAILED. */
+        private int maxAttempts = 5;
+
+        /** Espera antes de nova tentativa (multiplicada pelo número da tentativa). */
+        private Duration retryBackoff = Duration.ofSeconds(30);
+
+        /** Solicitações PENDING sem job há mais que isso são enfileiradas pelo reaper. */
+        private Duration orphanAge = Duration.ofMinutes(1);
+
+        /** Jobs DONE/FAILED sem alteração há mais que isso são apagados (o resultado fica em service_requests). */
+        private Duration retention = Duration.ofDays(30);
+
+        /** Jobs apagados por DELETE (transações curtas; repetido até esgotar). */
+        private int purgeBatchSize = 5000;
+
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+        public Duration getLease() { return lease; }
+        public void setLease(Duration lease) { this.lease = lease; }
+
+        public int getMaxAttempts() { return maxAttempts; }
+        public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+
+        public Duration getRetryBackoff() { return retryBackoff; }
+        public void setRetryBackoff(Duration retryBackoff) { this.retryBackoff = retryBackoff; }
+
+        public Duration getOrphanAge() { return orphanAge; }
+        public void setOrphanAge(Duration orphanAge) { this.orphanAge = orphanAge; }
+
+        public Duration getRetention() { return retention; }
+        public void setRetention(Duration retention) { this.retention = retention; }
+
+        public int getPurgeBatchSize() { return purgeBatchSize; }
+        public void setPurgeBatchSize(int purgeBatchSize) { this.purgeBatchSize = purgeBatchSize; }
+    }
+}
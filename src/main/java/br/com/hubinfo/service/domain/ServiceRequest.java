@@ -1,5 +1,7 @@
 package br.com.hubinfo.service.domain;
 
+import br.com.hubinfo.common.id.UuidV7;
+
 import java.time.Instant;
 import java.util.UUID;
 
@@ -21,7 +23,10 @@ public record ServiceRequest(
         Instant completedAt,
         String resultCode,
         String resultMessage,
-        String resultPayloadJson
+        String resultPayloadJson,
+        boolean servedFromCache,     // true = resultado reaproveitado do cache de certidões, sem consultar o portal
+        UUID coalescedWithRequestId, // solicitação concorrente cujo resultado foi compartilhado (null = consulta própria)
+        UUID batchId                 // lote de envio em massa (null = solicitação avulsa)
 ) {
 
     /**
@@ -33,8 +38,20 @@ public record ServiceRequest(
                                                UUID actorUserId,
                                                String actorEmail,
                                                Instant now) {
+        return createPending(type, normalizedCnpj, actorUserId, actorEmail, now, null);
+    }
+
+    /**
+     * Igual a createPending, para um item de lote (envio em massa).
+     */
+    public static ServiceRequest createPending(ServiceType type,
+                                               String normalizedCnpj,
+                                               UUID actorUserId,
+                                               String actorEmail,
+                                               Instant now,
+                                               UUID batchId) {
         return new ServiceRequest(
-                UUID.randomUUID(),
+                UuidV7.next(),
                 type,
                 ServiceRequestStatus.PENDING,
                 normalizedCnpj,
@@ -44,7 +61,10 @@ public record ServiceRequest(
                 null,
                 null,
                 null,
-                null
+                null,
+                false,
+                null,
+                batchId
         );
     }
 
@@ -68,7 +88,57 @@ public record ServiceRequest(
                 completedAt,
                 resultCode,
                 resultMessage,
-                resultPayloadJson
+                resultPayloadJson,
+                this.servedFromCache,
+                this.coalescedWithRequestId,
+                this.batchId
+        );
+    }
+
+    /**
+     * Retorna uma cópia SUCCESS com o resultado de uma certidão ainda válida em cache.
+     */
+    public ServiceRequest completeFromCache(Instant completedAt,
+                                            String resultCode,
+                                            String resultMessage,
+                                            String resultPayloadJson) {
+        return new ServiceRequest(
+                this.id,
+                this.serviceType,
+                ServiceRequestStatus.SUCCESS,
+                this.cnpj,
+                this.requestedByUserId,
+                this.requestedByEmail,
+                this.requestedAt,
+                completedAt,
+                resultCode,
+                resultMessage,
+                resultPayloadJson,
+                true,
+                this.coalescedWithRequestId,
+                this.batchId
+        );
+    }
+
+    /**
+     * Retorna uma cópia ligada à solicitação líder que fez a chamada externa em nome desta.
+     */
+    public ServiceRequest coalescedWith(UUID leaderRequestId) {
+        return new ServiceRequest(
+                this.id,
+                this.serviceType,
+                this.status,
+                this.cnpj,
+                this.requestedByUserId,
+                this.requestedByEmail,
+                this.requestedAt,
+                this.completedAt,
+                this.resultCode,
+                this.resultMessage,
+                this.resultPayloadJson,
+                this.servedFromCache,
+                leaderRequestId,
+                this.batchId
         );
     }
 }
@@ -0,0 +1,71 @@
+package br.com.hubinfo.service.domain;
+
+import br.com.hubinfo.common.id.UuidV7;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Lote de solicitações enviado de uma vez (ex.: carteira de CNPJs no fechamento do mês).
+ *
+ * Observação:
+ * - Cada item aceito vira uma ServiceRequest comum, ligada ao lote por batchId.
+ * - Os contadores são da recepção (linhas lidas/aceitas/rejeitadas), não do processamento.
+ */
+public record ServiceRequestBatch(
+        UUID id,
+        ServiceType serviceType,
+        ServiceRequestBatchStatus status,
+        String sourceFormat,
+        UUID requestedByUserId,
+        String requestedByEmail,
+        Instant createdAt,
+        Instant receivedAt,
+        int totalItems,
+        int acceptedItems,
+        int rejectedItems
+) {
+
+    public static ServiceRequestBatch receiving(ServiceType type,
+                                                String sourceFormat,
+                                                UUID actorUserId,
+                                                String actorEmail,
+                                                Instant now) {
+        return new ServiceRequestBatch(
+                UuidV7.next(),
+                type,
+                ServiceRequestBatchStatus.RECEIVING,
+                sourceFormat,
+                actorUserId,
+                actorEmail,
+                now,
+                null,
+                0,
+                0,
+                0
+        );
+    }
+
+    /**
+     * Retorna uma cópia com a recepção encerrada (ENQUEUED ou FAILED) e os contadores finais.
+     */
+    public ServiceRequestBatch received(ServiceRequestBatchStatus newStatus,
+                                        Instant receivedAt,
+                                        int totalItems,
+                                        int acceptedItems,
+                                        int rejectedItems) {
+        return new ServiceRequestBatch(
+                this.id,
+                this.serviceType,
+                newStatus,
+                this.sourceFormat,
+                this.requestedByUserId,
+                this.requestedByEmail,
+                this.createdAt,
+                receivedAt,
+                totalItems,
+                acceptedItems,
+                rejectedItems
+        );
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.hubinfo.service.domain;
+
+/**
+ * Situação da recepção de um lote (o andamento das solicitações é contado por status delas).
+ */
+public enum ServiceRequestBatchStatus {
+    RECEIVING,   // arquivo ainda sendo lido/gravado
+    ENQUEUED,    // todas as solicitações aceitas estão na fila
+    FAILED       // recepção interrompida; solicitações já gravadas seguem sendo processadas
+}
@@ -0,0 +1,19 @@
+package br.com.hubinfo.service.usecase;
+
+/**
+ * Item lido de um arquivo de envio em massa, antes de validar o CNPJ.
+ *
+ * @param line  linha no arquivo (1 = primeira), para o relatório de rejeições.
+ * @param cnpj  valor bruto da coluna/campo cnpj (null quando a linha não pôde ser lida).
+ * @param error motivo quando a linha não pôde ser lida (ex.: JSON malformado); null = lida.
+ */
+public record BatchInputItem(int line, String cnpj, String error) {
+
+    public static BatchInputItem of(int line, String cnpj) {
+        return new BatchInputItem(line, cnpj, null);
+    }
+
+    public static BatchInputItem malformed(int line, String error) {
+        return new BatchInputItem(line, null, error);
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.hubinfo.service.usecase;
+
+import java.util.UUID;
+
+/**
+ * Resultado compartilhado por solicitações coalescidas.
+ *
+ * @param leaderRequestId solicitação que fez a chamada externa (as demais apontam para ela).
+ * @param value           resultado da chamada (ex.: retorno do portal, id do captcha).
+ */
+public record CoalescedResult<V>(UUID leaderRequestId, V value) {
+}
@@ -0,0 +1,9 @@
+package br.com.hubinfo.service.usecase;
+
+import br.com.hubinfo.service.domain.ServiceType;
+
+/**
+ * Chave de coalescência: solicitações do mesmo serviço para o mesmo CNPJ (normalizado).
+ */
+public record CoalescingKey(ServiceType serviceType, String cnpj) {
+}
@@ -0,0 +1,100 @@
+package br.com.hubinfo.service.usecase;
+
+import br.com.hubinfo.audit.domain.AuditEventType;
+import br.com.hubinfo.audit.usecase.RecordAuditEventCommand;
+import br.com.hubinfo.audit.usecase.RecordAuditEventUseCase;
+import br.com.hubinfo.service.domain.ServiceRequest;
+import br.com.hubinfo.service.domain.ServiceRequestStatus;
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.ServiceCollector;
+import br.com.hubinfo.service.usecase.port.ServiceRequestRepositoryPort;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Processador genérico: coleta uma solicitação PENDING pelo ServiceCollector do tipo.
+ *
+ * Por que existe:
+ * - Serviço novo só precisa do coletor; o ServiceRequestProcessorRegistry cria este processador
+ *   para todo tipo com coletor e sem processador dedicado (como o RequestCndUseCase para CND).
+ *
+ * Fluxo:
+ * 1) Carrega a solicitação (fora de PENDING: devolve o estado atual, sem coletar de novo)
+ * 2) Chama o coletor (falha técnica vira FAILURE, não exceção)
+ * 3) Conclui SUCCESS/FAILURE e audita SERVICE_REQUEST_SUCCESS / SERVICE_REQUEST_FAILURE
+ */
+public class CollectServiceRequestUseCase implements ServiceRequestProcessor {
+
+    private final ServiceCollector collector;
+    private final ServiceRequestRepositoryPort repository;
+    private final RecordAuditEventUseCase audit;
+    private final Clock clock;
+
+    public CollectServiceRequestUseCase(ServiceCollector collector,
+                                        ServiceRequestRepositoryPort repository,
+                                        RecordAuditEventUseCase audit,
+                                        Clock clock) {
+        this.collector = collector;
+        this.repository = repository;
+        this.audit = audit;
+        this.clock = clock;
+    }
+
+    @Override
+    public ServiceType serviceType() {
+        return collector.serviceType();
+    }
+
+    @Override
+    public ServiceRequest process(UUID serviceRequestId) {
+        ServiceRequest req = repository.findById(serviceRequestId)
+                .orElseThrow(() -> new IllegalArgumentException("Solicitação não encontrada."));
+
+        if (req.status() != ServiceRequestStatus.PENDING) {
+            return req;
+        }
+
+        ServiceCollector.CollectorResult result = collect(req);
+
+        ServiceRequest saved = repository.save(req.complete(
+                result.success() ? ServiceRequestStatus.SUCCESS : ServiceRequestStatus.FAILURE,
+                Instant.now(clock),
+                result.resultCode(),
+                result.message(),
+                result.payloadJson()
+        ));
+
+        // Fora da thread HTTP não há IP/UA: auditamos em nome de quem solicitou.
+        audit.record(new RecordAuditEventCommand(
+                result.success() ? AuditEventType.SERVICE_REQUEST_SUCCESS : AuditEventType.SERVICE_REQUEST_FAILURE,
+                req.requestedByUserId(),
+                req.requestedByEmail(),
+                null,
+                null,
+                null,
+                null,
+                result.success(),
+                "SERVICE_REQUEST",
+                saved.id(),
+                "{\"serviceType\":\"" + req.serviceType() + "\",\"resultCode\":\"" + result.resultCode() + "\"}"
+        ));
+
+        return saved;
+    }
+
+    private ServiceCollector.CollectorResult collect(ServiceRequest req) {
+        try {
+            return collector.collect(new ServiceCollector.CollectorRequest(req.cnpj(), null));
+        } catch (RuntimeException ex) {
+            // Falha técnica do coletor: registramos FAILURE em vez de deixar a solicitação PENDING.
+            return new ServiceCollector.CollectorResult(
+                    false,
+                    "GATEWAY_ERROR",
+                    "Falha ao consultar o portal. Tente novamente mais tarde.",
+                    null
+            );
+        }
+    }
+}
@@ -5,7 +5,9 @@ import br.com.hubinfo.service.domain.ServiceRequestStatus;
 import br.com.hubinfo.service.domain.ServiceType;
 import br.com.hubinfo.service.usecase.port.ServiceRequestRepositoryPort;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.UUID;
 
 /**
@@ -14,11 +16,21 @@ import java.util.UUID;
  * Escopos:
  * - ME  -> lista somente do usuário
  * - ALL -> somente ADMIN (lista geral)
+ *
+ * Paginação:
+ * - Keyset em (requested_at DESC, id DESC) com cursor opaco; não usa OFFSET,
+ *   então a página 10.000 custa o mesmo que a primeira.
+ * - O limite por página continua 100; o histórico inteiro é alcançável seguindo nextCursor.
  */
 public class ListServiceRequestsUseCase {
 
     public enum Scope { ME, ALL }
 
+    static final int MAX_PAGE_SIZE = 100;
+
+    /** Tamanho dos lotes lidos do banco na exportação (memória constante). */
+    static final int EXPORT_BATCH_SIZE = 1000;
+
     private final ServiceRequestRepositoryPort repository;
 
     public ListServiceRequestsUseCase(ServiceRequestRepositoryPort repository) {
@@ -31,8 +43,21 @@ public class ListServiceRequestsUseCase {
                                      ServiceType serviceType,
                                      ServiceRequestStatus status,
                                      int limit) {
+        return page(actorUserId, isAdmin, scope, serviceType, status, limit, null).items();
+    }
+
+    /**
+     * @param cursor token devolvido em {@link ServiceRequestPage#nextCursor()}; null = primeira página.
+     */
+    public ServiceRequestPage page(UUID actorUserId,
+                                   boolean isAdmin,
+                                   Scope scope,
+                                   ServiceType serviceType,
+                                   ServiceRequestStatus status,
+                                   int limit,
+                                   String cursor) {
 
-        int safeLimit = Math.min(Math.max(limit, 1), 100);
+        int safeLimit = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
 
         // Scope ALL é restrito.
         if (scope == Scope.ALL && !isAdmin) {
@@ -40,7 +65,91 @@ public class ListServiceRequestsUseCase {
         }
 
         UUID requestedBy = (scope == Scope.ALL) ? null : actorUserId;
+        ServiceRequestCursor after = (cursor == null || cursor.isBlank()) ? null : ServiceRequestCursor.decode(cursor);
+
+        // Busca 1 a mais para saber se existe próxima página sem COUNT.
+        List<ServiceRequest> rows = repository.findPage(
+                requestedBy,
+                serviceType,
+                status,
+                after == null ? null : after.requestedAt(),
+                after == null ? null : after.id(),
+                safeLimit + 1
+        );
 
-        return repository.findLatest(requestedBy, serviceType, status, safeLimit);
+        if (rows.size() <= safeLimit) {
+            return new ServiceRequestPage(rows, null);
+        }
+
+        List<ServiceRequest> items = rows.subList(0, safeLimit);
+        ServiceRequest last = items.get(items.size() - 1);
+        return new ServiceRequestPage(items, new ServiceRequestCursor(last.requestedAt(), last.id()).encode());
+    }
+
+    /**
+     * Exportação do histórico geral (somente ADMIN).
+     *
+     * A permissão é checada aqui, na chamada; a leitura é preguiçosa e acontece enquanto
+     * o Iterable é percorrido, em lotes de keyset. Nenhum lote fica retido após consumido.
+     */
+    public Iterable<ServiceRequest> exportAll(boolean isAdmin,
+                                              ServiceType serviceType,
+                                              ServiceRequestStatus status) {
+        if (!isAdmin) {
+            throw new IllegalArgumentException("Acesso negado.");
+        }
+        return () -> new KeysetIterator(repository, serviceType, status);
+    }
+
+    /**
+     * Percorre o histórico lote a lote, continuando sempre do último item lido.
+     */
+    private static final class KeysetIterator implements Iterator<ServiceRequest> {
+
+        private final ServiceRequestRepositoryPort repository;
+        private final ServiceType serviceType;
+        private final ServiceRequestStatus status;
+
+        private List<ServiceRequest> batch = List.of();
+        private int index;
+        private ServiceRequest last;
+        private boolean exhausted;
+
+        KeysetIterator(ServiceRequestRepositoryPort repository, ServiceType serviceType, ServiceRequestStatus status) {
+            this.repository = repository;
+            this.serviceType = serviceType;
+            this.status = status;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (index < batch.size()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+
+            batch = repository.findPage(
+                    null,
+                    serviceType,
+                    status,
+                    last == null ? null : last.requestedAt(),
+                    last == null ? null : last.id(),
+                    EXPORT_BATCH_SIZE
+            );
+            index = 0;
+            exhausted = batch.size() < EXPORT_BATCH_SIZE;
+            return !batch.isEmpty();
+        }
+
+        @Override
+        public ServiceRequest next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = batch.get(index++);
+            return last;
+        }
     }
 }
@@ -3,14 +3,19 @@ package br.com.hubinfo.service.usecase;
 import br.com.hubinfo.audit.domain.AuditEventType;
 import br.com.hubinfo.audit.usecase.RecordAuditEventCommand;
 import br.com.hubinfo.audit.usecase.RecordAuditEventUseCase;
+import br.com.hubinfo.cnpj.domain.Cnpj;
 import br.com.hubinfo.service.domain.ServiceRequest;
 import br.com.hubinfo.service.domain.ServiceRequestStatus;
 import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.CndCertificateCachePort;
 import br.com.hubinfo.service.usecase.port.CndGatewayPort;
+import br.com.hubinfo.service.usecase.port.ServiceRequestDispatcherPort;
 import br.com.hubinfo.service.usecase.port.ServiceRequestRepositoryPort;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Caso de uso: Solicitar CND para um CNPJ.
@@ -22,28 +27,87 @@ import java.time.Instant;
  * 4) Chama gateway externo (por enquanto stub)
  * 5) Atualiza request para SUCCESS/FAILURE e persiste
  * 6) Audita SERVICE_REQUEST_SUCCESS / SERVICE_REQUEST_FAILURE
+ *
+ * Modo assíncrono (quando existe dispatcher):
+ * - Passos 1-3 rodam na thread HTTP e a solicitação PENDING é devolvida imediatamente.
+ * - Passos 4-6 rodam no worker, via process(id).
+ *
+ * Cache de certidões (quando existe):
+ * - Certidão ainda válida para o CNPJ => a solicitação é concluída SUCCESS na hora, marcada
+ *   servedFromCache, sem consultar o portal (nem agendar no modo assíncrono).
+ * - Sucesso do portal alimenta o cache (se o payload trouxer a validade).
+ *
+ * Coalescência (quando existe):
+ * - Solicitações concorrentes do mesmo CNPJ compartilham uma única consulta ao portal (single-flight).
+ * - Cada uma mantém a própria ServiceRequest, concluída com o mesmo resultado e ligada à líder
+ *   (coalescedWithRequestId). Só a líder alimenta o cache de certidões.
  */
-public class RequestCndUseCase {
+public class RequestCndUseCase implements ServiceRequestProcessor {
 
     private final ServiceRequestRepositoryPort repository;
     private final CndGatewayPort cndGateway;
     private final RecordAuditEventUseCase audit;
     private final Clock clock;
+    private final ServiceRequestDispatcherPort dispatcher;
+    private final CndCertificateCachePort certificateCache;
+    private final SingleFlight<CoalescingKey, CoalescedResult<CndGatewayPort.CndGatewayResult>> gatewayFlights;
 
     public RequestCndUseCase(ServiceRequestRepositoryPort repository,
                              CndGatewayPort cndGateway,
                              RecordAuditEventUseCase audit,
                              Clock clock) {
+        this(repository, cndGateway, audit, clock, null);
+    }
+
+    /**
+     * @param dispatcher null = modo síncrono (gateway chamado na própria requisição).
+     */
+    public RequestCndUseCase(ServiceRequestRepositoryPort repository,
+                             CndGatewayPort cndGateway,
+                             RecordAuditEventUseCase audit,
+                             Clock clock,
+                             ServiceRequestDispatcherPort dispatcher) {
+        this(repository, cndGateway, audit, clock, dispatcher, null);
+    }
+
+    /**
+     * @param dispatcher       null = modo síncrono (gateway chamado na própria requisição).
+     * @param certificateCache null = sem cache (toda solicitação consulta o portal).
+     */
+    public RequestCndUseCase(ServiceRequestRepositoryPort repository,
+                             CndGatewayPort cndGateway,
+                             RecordAuditEventUseCase audit,
+                             Clock clock,
+                             ServiceRequestDispatcherPort dispatcher,
+                             CndCertificateCachePort certificateCache) {
+        this(repository, cndGateway, audit, clock, dispatcher, certificateCache, null);
+    }
+
+    /**
+     * @param dispatcher       null = modo síncrono (gateway chamado na própria requisição).
+     * @param certificateCache null = sem cache (toda solicitação consulta o portal).
+     * @param gatewayFlights   null = sem coalescência (cada solicitação faz a própria consulta).
+     */
+    public RequestCndUseCase(ServiceRequestRepositoryPort repository,
+                             CndGatewayPort cndGateway,
+                             RecordAuditEventUseCase audit,
+                             Clock clock,
+                             ServiceRequestDispatcherPort dispatcher,
+                             CndCertificateCachePort certificateCache,
+                             SingleFlight<CoalescingKey, CoalescedResult<CndGatewayPort.CndGatewayResult>> gatewayFlights) {
         this.repository = repository;
         this.cndGateway = cndGateway;
         this.audit = audit;
         this.clock = clock;
+        this.dispatcher = dispatcher;
+        this.certificateCache = certificateCache;
+        this.gatewayFlights = gatewayFlights;
     }
 
     public ServiceRequest request(RequestCndCommand cmd) {
         Instant now = Instant.now(clock);
 
-        String normalizedCnpj = normalizeCnpj(cmd.cnpj());
+        String normalizedCnpj = Cnpj.parse(cmd.cnpj()).value();
 
         // 1) cria request PENDING
         ServiceRequest pending = ServiceRequest.createPending(
@@ -54,74 +118,217 @@ public class RequestCndUseCase {
                 now
         );
 
+        Origin origin = Origin.of(cmd);
+
+        // Certidão válida em cache: conclui sem gravar PENDING nem consultar o portal.
+        Optional<CndCertificateCachePort.CachedCnd> cached = findCached(normalizedCnpj);
+        if (cached.isPresent()) {
+            auditRequested(origin, pending.id(), normalizedCnpj);
+            return finishFromCache(pending, origin, cached.get());
+        }
+
         // 2) persiste PENDING
         ServiceRequest savedPending = repository.save(pending);
 
         // 3) audita “solicitado”
+        auditRequested(origin, savedPending.id(), normalizedCnpj);
+
+        // Modo síncrono: coleta na própria requisição (cache já consultado acima).
+        if (dispatcher == null) {
+            return collect(savedPending, origin);
+        }
+
+        // Modo assíncrono: agenda e devolve PENDING.
+        if (!dispatcher.dispatch(ServiceType.CND, savedPending.id())) {
+            // Sem capacidade: encerra a solicitação para não deixar PENDING órfã.
+            finish(savedPending, origin, false, "SERVICE_BUSY",
+                    "Capacidade de processamento esgotada. Tente novamente em instantes.", null);
+            throw new ServiceBusyException("Capacidade de processamento esgotada. Tente novamente em instantes.");
+        }
+
+        return savedPending;
+    }
+
+    /**
+     * Executa a coleta de uma solicitação PENDING (chamado pelo worker).
+     *
+     * Idempotência:
+     * - Se a solicitação já saiu de PENDING (ex.: processada por outro worker), não chama o gateway de novo.
+     */
+    @Override
+    public ServiceRequest process(UUID serviceRequestId) {
+        ServiceRequest req = repository.findById(serviceRequestId)
+                .orElseThrow(() -> new IllegalArgumentException("Solicitação não encontrada."));
+
+        if (req.status() != ServiceRequestStatus.PENDING) {
+            return req;
+        }
+
+        // Fora da thread HTTP não há IP/UA: auditamos em nome de quem solicitou.
+        Origin origin = new Origin(req.requestedByUserId(), req.requestedByEmail(), null, null, null, null);
+
+        // Outra solicitação do mesmo CNPJ pode ter trazido a certidão enquanto esta esperava na fila.
+        Optional<CndCertificateCachePort.CachedCnd> cached = findCached(req.cnpj());
+        if (cached.isPresent()) {
+            return finishFromCache(req, origin, cached.get());
+        }
+
+        return collect(req, origin);
+    }
+
+    @Override
+    public ServiceType serviceType() {
+        return ServiceType.CND;
+    }
+
+    private ServiceRequest collect(ServiceRequest pending, Origin origin) {
+        // 4) chama gateway (ou acompanha a consulta já em andamento para o mesmo CNPJ)
+        CoalescedResult<CndGatewayPort.CndGatewayResult> shared = callGateway(pending);
+        CndGatewayPort.CndGatewayResult result = shared.value();
+
+        boolean leader = pending.id().equals(shared.leaderRequestId());
+        ServiceRequest req = leader ? pending : pending.coalescedWith(shared.leaderRequestId());
+
+        if (leader && result.success() && certificateCache != null) {
+            certificateCache.put(req.cnpj(), req.id(), result);
+        }
+
+        // 5) e 6) completa conforme resultado e audita
+        return finish(req, origin, result.success(), result.resultCode(), result.message(), result.payloadJson());
+    }
+
+    private CoalescedResult<CndGatewayPort.CndGatewayResult> callGateway(ServiceRequest pending) {
+        if (gatewayFlights == null) {
+            return new CoalescedResult<>(pending.id(), requestCnd(pending.cnpj()));
+        }
+        return gatewayFlights.execute(
+                new CoalescingKey(ServiceType.CND, pending.cnpj()),
+                () -> new CoalescedResult<>(pending.id(), requestCnd(pending.cnpj()))
+        ).value();
+    }
+
+    private CndGatewayPort.CndGatewayResult requestCnd(String normalizedCnpj) {
+        try {
+            return cndGateway.requestCnd(normalizedCnpj);
+        } catch (RuntimeException ex) {
+            // Falha técnica do gateway: registramos FAILURE em vez de deixar a solicitação PENDING.
+            return new CndGatewayPort.CndGatewayResult(
+                    false,
+                    "GATEWAY_ERROR",
+                    "Falha ao consultar o portal. Tente novamente mais tarde.",
+                    null
+            );
+        }
+    }
+
+    private Optional<CndCertificateCachePort.CachedCnd> findCached(String normalizedCnpj) {
+        return certificateCache == null ? Optional.empty() : certificateCache.find(normalizedCnpj);
+    }
+
+    private void auditRequested(Origin origin, UUID serviceRequestId, String normalizedCnpj) {
         audit.record(new RecordAuditEventCommand(
                 AuditEventType.SERVICE_REQUESTED,
-                cmd.actorUserId(),
-                cmd.actorEmail(),
-                cmd.requestIp(),
-                cmd.requestMethod(),
-                cmd.requestPath(),
-                cmd.userAgent(),
+                origin.actorUserId(),
+                origin.actorEmail(),
+                origin.requestIp(),
+                origin.requestMethod(),
+                origin.requestPath(),
+                origin.userAgent(),
                 true,
                 "SERVICE_REQUEST",
-                savedPending.id(),
+                serviceRequestId,
                 "{\"serviceType\":\"CND\",\"cnpj\":\"" + normalizedCnpj + "\"}"
         ));
+    }
+
+    private ServiceRequest finishFromCache(ServiceRequest pending, Origin origin, CndCertificateCachePort.CachedCnd cached) {
+        ServiceRequest completed = pending.completeFromCache(
+                Instant.now(clock),
+                cached.resultCode(),
+                cached.message(),
+                cached.payloadJson()
+        );
+
+        ServiceRequest savedCompleted = repository.save(completed);
+
+        audit.record(new RecordAuditEventCommand(
+                AuditEventType.SERVICE_REQUEST_SUCCESS,
+                origin.actorUserId(),
+                origin.actorEmail(),
+                origin.requestIp(),
+                origin.requestMethod(),
+                origin.requestPath(),
+                origin.userAgent(),
+                true,
+                "SERVICE_REQUEST",
+                savedCompleted.id(),
+                "{\"serviceType\":\"CND\",\"resultCode\":\"" + cached.resultCode() + "\",\"servedFromCache\":true}"
+        ));
+
+        return savedCompleted;
+    }
 
-        // 4) chama gateway (stub por enquanto)
-        var result = cndGateway.requestCnd(normalizedCnpj);
+    private ServiceRequest finish(ServiceRequest pending,
+                                  Origin origin,
+                                  boolean success,
+                                  String resultCode,
+                                  String message,
+                                  String payloadJson) {
 
-        // 5) completa conforme resultado
-        ServiceRequestStatus finalStatus = result.success()
+        ServiceRequestStatus finalStatus = success
                 ? ServiceRequestStatus.SUCCESS
                 : ServiceRequestStatus.FAILURE;
 
-        ServiceRequest completed = savedPending.complete(
+        ServiceRequest completed = pending.complete(
                 finalStatus,
                 Instant.now(clock),
-                result.resultCode(),
-                result.message(),
-                result.payloadJson()
+                resultCode,
+                message,
+                payloadJson
         );
 
         ServiceRequest savedCompleted = repository.save(completed);
 
-        // 6) audita sucesso/falha
         audit.record(new RecordAuditEventCommand(
-                result.success() ? AuditEventType.SERVICE_REQUEST_SUCCESS : AuditEventType.SERVICE_REQUEST_FAILURE,
-                cmd.actorUserId(),
-                cmd.actorEmail(),
-                cmd.requestIp(),
-                cmd.requestMethod(),
-                cmd.requestPath(),
-                cmd.userAgent(),
-                result.success(),
+                success ? AuditEventType.SERVICE_REQUEST_SUCCESS : AuditEventType.SERVICE_REQUEST_FAILURE,
+                origin.actorUserId(),
+                origin.actorEmail(),
+                origin.requestIp(),
+                origin.requestMethod(),
+                origin.requestPath(),
+                origin.userAgent(),
+                success,
                 "SERVICE_REQUEST",
                 savedCompleted.id(),
-                "{\"serviceType\":\"CND\",\"resultCode\":\"" + result.resultCode() + "\"}"
+                "{\"serviceType\":\"CND\",\"resultCode\":\"" + resultCode + "\""
+                        + (pending.coalescedWithRequestId() == null
+                        ? ""
+                        : ",\"coalescedWith\":\"" + pending.coalescedWithRequestId() + "\"")
+                        + "}"
         ));
 
         return savedCompleted;
     }
 
     /**
-     * Normaliza CNPJ removendo símbolos e garantindo 14 dígitos.
-     * Regra simples neste commit; podemos evoluir para validação completa de dígitos verificadores depois.
+     * Quem originou a solicitação (metadados de auditoria).
      */
-    private static String normalizeCnpj(String raw) {
-        if (raw == null) {
-            throw new IllegalArgumentException("CNPJ é obrigatório.");
-        }
+    private record Origin(UUID actorUserId,
+                          String actorEmail,
+                          String requestIp,
+                          String requestMethod,
+                          String requestPath,
+                          String userAgent) {
 
-        String digits = raw.replaceAll("\\D", "");
-        if (digits.length() != 14) {
-            throw new IllegalArgumentException("CNPJ inválido. Deve conter 14 dígitos.");
+        static Origin of(RequestCndCommand cmd) {
+            return new Origin(
+                    cmd.actorUserId(),
+                    cmd.actorEmail(),
+                    cmd.requestIp(),
+                    cmd.requestMethod(),
+                    cmd.requestPath(),
+                    cmd.userAgent()
+            );
         }
-
-        return digits;
     }
 }
@@ -0,0 +1,123 @@
+package br.com.hubinfo.service.usecase;
+
+import br.com.hubinfo.audit.domain.AuditEventType;
+import br.com.hubinfo.audit.usecase.RecordAuditEventCommand;
+import br.com.hubinfo.audit.usecase.RecordAuditEventUseCase;
+import br.com.hubinfo.service.domain.ServiceRequest;
+import br.com.hubinfo.service.domain.ServiceRequestStatus;
+import br.com.hubinfo.service.usecase.port.CaptchaContinuationGatewayPort;
+import br.com.hubinfo.service.usecase.port.ServiceRequestRepositoryPort;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Caso de uso: continuar a coleta de uma solicitação CAPTCHA_REQUIRED com o token resolvido.
+ *
+ * Fluxo:
+ * 1) Carrega a solicitação ligada ao desafio (a líder da rajada)
+ * 2) Chama a coleta do serviço com o token (uma vez só: o token é de uso único)
+ * 3) Conclui a líder e as solicitações que reaproveitaram o mesmo desafio (SUCCESS/FAILURE)
+ * 4) Audita SERVICE_REQUEST_SUCCESS / SERVICE_REQUEST_FAILURE de cada uma
+ *
+ * Regras:
+ * - Idempotente: solicitação fora de CAPTCHA_REQUIRED não é coletada de novo.
+ * - Falha técnica da coleta vira FAILURE (o token já foi gasto; nova tentativa exige novo desafio).
+ */
+public class ResumeAfterCaptchaUseCase {
+
+    private final ServiceRequestRepositoryPort repository;
+    private final CaptchaContinuationGatewayPort gateway;
+    private final RecordAuditEventUseCase audit;
+    private final Clock clock;
+
+    public ResumeAfterCaptchaUseCase(ServiceRequestRepositoryPort repository,
+                                     CaptchaContinuationGatewayPort gateway,
+                                     RecordAuditEventUseCase audit,
+                                     Clock clock) {
+        this.repository = repository;
+        this.gateway = gateway;
+        this.audit = audit;
+        this.clock = clock;
+    }
+
+    /**
+     * @return as solicitações concluídas agora (líder primeiro); vazio se já não havia o que continuar.
+     */
+    public List<ServiceRequest> resume(UUID serviceRequestId, String captchaToken) {
+        if (serviceRequestId == null) throw new IllegalArgumentException("serviceRequestId é obrigatório.");
+        if (captchaToken == null || captchaToken.isBlank()) throw new IllegalArgumentException("Token do CAPTCHA é obrigatório.");
+
+        ServiceRequest leader = repository.findById(serviceRequestId)
+                .orElseThrow(() -> new IllegalArgumentException("Solicitação não encontrada."));
+        if (leader.status() != ServiceRequestStatus.CAPTCHA_REQUIRED) {
+            return List.of();
+        }
+
+        CaptchaContinuationGatewayPort.ContinuationResult result = collect(leader, captchaToken);
+
+        List<ServiceRequest> completed = new ArrayList<>();
+        completed.add(finish(leader, result));
+        for (ServiceRequest follower : repository.findCoalescedWith(leader.id(), ServiceRequestStatus.CAPTCHA_REQUIRED)) {
+            completed.add(finish(follower, result));
+        }
+        return completed;
+    }
+
+    private CaptchaContinuationGatewayPort.ContinuationResult collect(ServiceRequest request, String captchaToken) {
+        if (!gateway.supports(request.serviceType())) {
+            return new CaptchaContinuationGatewayPort.ContinuationResult(
+                    false,
+                    "UNSUPPORTED_SERVICE",
+                    "Serviço sem coleta após CAPTCHA: " + request.serviceType() + ".",
+                    null
+            );
+        }
+        try {
+            return gateway.resume(request.serviceType(), request.cnpj(), captchaToken);
+        } catch (RuntimeException ex) {
+            // Falha técnica: FAILURE em vez de deixar a solicitação presa em CAPTCHA_REQUIRED.
+            return new CaptchaContinuationGatewayPort.ContinuationResult(
+                    false,
+                    "GATEWAY_ERROR",
+                    "Falha ao consultar o portal. Tente novamente mais tarde.",
+                    null
+            );
+        }
+    }
+
+    private ServiceRequest finish(ServiceRequest request, CaptchaContinuationGatewayPort.ContinuationResult result) {
+        ServiceRequest saved = repository.save(request.complete(
+                result.success() ? ServiceRequestStatus.SUCCESS : ServiceRequestStatus.FAILURE,
+                Instant.now(clock),
+                result.resultCode(),
+                result.message(),
+                result.payloadJson()
+        ));
+
+        // Fora da thread HTTP não há IP/UA: auditamos em nome de quem solicitou.
+        audit.record(new RecordAuditEventCommand(
+                result.success() ? AuditEventType.SERVICE_REQUEST_SUCCESS : AuditEventType.SERVICE_REQUEST_FAILURE,
+                request.requestedByUserId(),
+                request.requestedByEmail(),
+                null,
+                null,
+                null,
+                null,
+                result.success(),
+                "SERVICE_REQUEST",
+                saved.id(),
+                "{\"serviceType\":\"" + request.serviceType() + "\",\"resultCode\":\"" + result.resultCode() + "\""
+                        + ",\"resumedAfterCaptcha\":true"
+                        + (request.coalescedWithRequestId() == null
+                        ? ""
+                        : ",\"coalescedWith\":\"" + request.coalescedWithRequestId() + "\"")
+                        + "}"
+        ));
+
+        return saved;
+    }
+}
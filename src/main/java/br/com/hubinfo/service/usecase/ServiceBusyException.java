@@ -0,0 +1,13 @@
+package br.com.hubinfo.service.usecase;
+
+/**
+ * Lançada quando o processamento assíncrono está sem capacidade (backpressure).
+ *
+ * A API traduz para 503 + Retry-After: o cliente deve tentar novamente depois.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
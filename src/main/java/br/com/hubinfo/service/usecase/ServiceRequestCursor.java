@@ -0,0 +1,40 @@
+package br.com.hubinfo.service.usecase;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição de continuação no histórico (keyset em requested_at DESC, id DESC).
+ *
+ * Para o cliente é um token opaco (Base64 URL-safe); não deve ser montado nem interpretado fora daqui.
+ */
+public record ServiceRequestCursor(Instant requestedAt, UUID id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        String raw = requestedAt.getEpochSecond() + "." + requestedAt.getNano() + "." + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @throws IllegalArgumentException se o token não foi gerado por {@link #encode()}.
+     */
+    public static ServiceRequestCursor decode(String token) {
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.US_ASCII);
+            String[] parts = raw.split("\\.", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Cursor inválido.");
+            }
+            Instant at = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new ServiceRequestCursor(at, UUID.fromString(parts[2]));
+        } catch (RuntimeException ex) {
+            // Base64/número/UUID malformado: mesma resposta para qualquer token adulterado.
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.hubinfo.service.usecase;
+
+import br.com.hubinfo.service.domain.ServiceRequest;
+
+import java.util.List;
+
+/**
+ * Página do histórico.
+ *
+ * @param nextCursor token para a próxima página; null quando não há mais itens.
+ */
+public record ServiceRequestPage(List<ServiceRequest> items, String nextCursor) {
+}
@@ -0,0 +1,20 @@
+package br.com.hubinfo.service.usecase;
+
+import br.com.hubinfo.service.domain.ServiceRequest;
+import br.com.hubinfo.service.domain.ServiceType;
+
+import java.util.UUID;
+
+/**
+ * Processador de solicitações PENDING de um tipo de serviço.
+ *
+ * Contrato:
+ * - Carrega a solicitação pelo ID, executa a coleta e grava o resultado.
+ * - Deve ser idempotente: se a solicitação não estiver mais PENDING, apenas retorna o estado atual.
+ */
+public interface ServiceRequestProcessor {
+
+    ServiceType serviceType();
+
+    ServiceRequest process(UUID serviceRequestId);
+}
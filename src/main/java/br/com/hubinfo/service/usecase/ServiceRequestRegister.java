@@ -12,18 +12,32 @@ import java.util.UUID;
  * Caso de uso para registrar solicitações de serviço.
  *
  * Observação:
- * - O contrato principal é o método com ServiceType + payload genérico + status + requestedAt.
+ * - O contrato principal é o método com ServiceType + payload genérico + status + requestedAt
+ *   (+ solicitação líder, quando o resultado é compartilhado por coalescência).
  * - Métodos overload (default) existem apenas para compatibilidade com código legado
  *   e devem ser removidos quando todas as classes forem migradas.
  */
 public interface ServiceRequestRegister {
 
+    /**
+     * @param coalescedWithRequestId solicitação líder cujo resultado esta compartilha (null = nenhuma).
+     */
     UUID register(UUID actorUserId,
                   String actorEmail,
                   ServiceType type,
                   Map<String, Object> payload,
                   ServiceRequestStatus status,
-                  Instant requestedAt);
+                  Instant requestedAt,
+                  UUID coalescedWithRequestId);
+
+    default UUID register(UUID actorUserId,
+                          String actorEmail,
+                          ServiceType type,
+                          Map<String, Object> payload,
+                          ServiceRequestStatus status,
+                          Instant requestedAt) {
+        return register(actorUserId, actorEmail, type, payload, status, requestedAt, null);
+    }
 
     /**
      * Overload de compatibilidade (LEGADO):
@@ -0,0 +1,147 @@
+package br.com.hubinfo.service.usecase;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight: chamadas concorrentes com a mesma chave compartilham uma única execução.
+ *
+ * Regras:
+ * - O primeiro chamador (líder) executa a chamada na própria thread.
+ * - Quem chega enquanto ela está em andamento espera o mesmo futuro e recebe o mesmo valor.
+ * - O valor continua sendo compartilhado por mais "window" após concluir (rajadas em segundos),
+ *   se passar no filtro "retain" (ex.: só resultados de sucesso).
+ * - Falha não é compartilhada depois de concluída: a próxima chamada executa de novo.
+ *
+ * Observação:
+ * - Sem synchronized (threads virtuais): apenas operações atômicas do ConcurrentHashMap.
+ * - Entradas vencidas são removidas de forma oportunista, no máximo uma varredura por janela.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final Predicate<? super V> retain;
+    private final LongSupplier nanoTime;
+    private final AtomicLong nextSweepAt;
+
+    public SingleFlight(Duration window) {
+        this(window, v -> true);
+    }
+
+    /**
+     * @param window tempo que o valor concluído continua compartilhado (zero = só durante a execução).
+     * @param retain quais valores continuam compartilhados após concluir.
+     */
+    public SingleFlight(Duration window, Predicate<? super V> retain) {
+        this(window, retain, System::nanoTime);
+    }
+
+    SingleFlight(Duration window, Predicate<? super V> retain, LongSupplier nanoTime) {
+        this.windowNanos = Math.max(0, window.toNanos());
+        this.retain = retain;
+        this.nanoTime = nanoTime;
+        this.nextSweepAt = new AtomicLong(nanoTime.getAsLong() + windowNanos);
+    }
+
+    /**
+     * Executa (ou acompanha) a chamada da chave.
+     *
+     * @throws RuntimeException a mesma falha do líder, para ele e para quem o acompanhava.
+     */
+    public Result<V> execute(K key, Supplier<V> call) {
+        while (true) {
+            long now = nanoTime.getAsLong();
+            Flight<V> current = flights.get(key);
+
+            if (current != null && current.isShared(now)) {
+                return new Result<>(await(current.future), false);
+            }
+
+            Flight<V> mine = new Flight<>();
+            boolean won = current == null
+                    ? flights.putIfAbsent(key, mine) == null
+                    : flights.replace(key, current, mine);
+            if (!won) {
+                continue; // outro chamador virou líder no meio do caminho
+            }
+
+            sweep(now);
+            return new Result<>(lead(key, mine, call), true);
+        }
+    }
+
+    private V lead(K key, Flight<V> mine, Supplier<V> call) {
+        V value;
+        try {
+            value = call.get();
+        } catch (RuntimeException | Error ex) {
+            flights.remove(key, mine);
+            mine.future.completeExceptionally(ex);
+            throw ex;
+        }
+
+        boolean retained = windowNanos > 0 && retain.test(value);
+        mine.sharedUntil = nanoTime.getAsLong() + (retained ? windowNanos : 0);
+        mine.future.complete(value);
+        if (!retained) {
+            flights.remove(key, mine);
+        }
+        return value;
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (ex.getCause() instanceof Error err) {
+                throw err;
+            }
+            throw ex;
+        }
+    }
+
+    private void sweep(long now) {
+        long at = nextSweepAt.get();
+        if (now - at < 0 || !nextSweepAt.compareAndSet(at, now + Math.max(windowNanos, 1))) {
+            return;
+        }
+        flights.entrySet().removeIf(e -> e.getValue().isExpired(now));
+    }
+
+    int size() {
+        return flights.size();
+    }
+
+    /**
+     * Valor devolvido e se foi este chamador que executou a chamada.
+     */
+    public record Result<V>(V value, boolean leader) {
+    }
+
+    private static final class Flight<V> {
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        volatile long sharedUntil;
+
+        boolean isShared(long now) {
+            if (!future.isDone()) {
+                return true;
+            }
+            return !future.isCompletedExceptionally() && now - sharedUntil < 0;
+        }
+
+        boolean isExpired(long now) {
+            return future.isDone() && !isShared(now);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.hubinfo.service.usecase;
+
+import java.util.UUID;
+
+/**
+ * Command do envio em massa de CND.
+ *
+ * items é lido uma única vez, em streaming (o arquivo não é carregado inteiro em memória).
+ */
+public record SubmitCndBatchCommand(
+        Iterable<BatchInputItem> items,
+        String sourceFormat,
+        UUID actorUserId,
+        String actorEmail,
+        String requestIp,
+        String requestMethod,
+        String requestPath,
+        String userAgent
+) {
+}
@@ -0,0 +1,293 @@
+package br.com.hubinfo.service.usecase;
+
+import br.com.hubinfo.audit.domain.AuditEventType;
+import br.com.hubinfo.audit.usecase.RecordAuditEventCommand;
+import br.com.hubinfo.audit.usecase.RecordAuditEventUseCase;
+import br.com.hubinfo.cnpj.domain.Cnpj;
+import br.com.hubinfo.service.domain.ServiceRequest;
+import br.com.hubinfo.service.domain.ServiceRequestBatch;
+import br.com.hubinfo.service.domain.ServiceRequestBatchStatus;
+import br.com.hubinfo.service.domain.ServiceRequestStatus;
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.ServiceRequestBatchRepositoryPort;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caso de uso: envio em massa de CNPJs para CND (carteira inteira no fechamento do mês).
+ *
+ * Fluxo:
+ * 1) Cria o lote (RECEIVING).
+ * 2) Lê os itens em streaming: normaliza e valida (Cnpj) e descarta repetidos.
+ * 3) A cada chunk-size aceitos, grava as solicitações PENDING e os jobs da fila em um JDBC batch.
+ * 4) Fecha o lote (ENQUEUED) com os contadores e audita o lote inteiro em um único evento.
+ *
+ * Regras:
+ * - Itens inválidos não interrompem o lote: viram rejeições (linha + motivo).
+ * - Acima de max-items, o restante é rejeitado (LIMIT_EXCEEDED).
+ * - Falha no meio (leitura/banco): o lote fica FAILED e o que já foi gravado segue na fila.
+ *
+ * Auditoria (SERVICE_BATCH_REQUESTED):
+ * - Contadores, CNPJs aceitos compactados ("items": um por linha, gzip + base64)
+ *   e até max-rejection-details rejeições.
+ */
+public class SubmitCndBatchUseCase {
+
+    public static final String MALFORMED = "MALFORMED";
+    public static final String MISSING_CNPJ = "MISSING_CNPJ";
+    public static final String INVALID_CHARACTERS = "INVALID_CHARACTERS";
+    public static final String INVALID_LENGTH = "INVALID_LENGTH";
+    public static final String INVALID_CHECK_DIGITS = "INVALID_CHECK_DIGITS";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String LIMIT_EXCEEDED = "LIMIT_EXCEEDED";
+
+    private final ServiceRequestBatchRepositoryPort repository;
+    private final RecordAuditEventUseCase audit;
+    private final Clock clock;
+    private final int maxItems;
+    private final int chunkSize;
+    private final int maxRejectionDetails;
+
+    public SubmitCndBatchUseCase(ServiceRequestBatchRepositoryPort repository,
+                                 RecordAuditEventUseCase audit,
+                                 Clock clock,
+                                 int maxItems,
+                                 int chunkSize,
+                                 int maxRejectionDetails) {
+        this.repository = repository;
+        this.audit = audit;
+        this.clock = clock;
+        this.maxItems = maxItems;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxRejectionDetails = maxRejectionDetails;
+    }
+
+    public Submitted submit(SubmitCndBatchCommand cmd) {
+        Iterator<BatchInputItem> items = cmd.items().iterator();
+        if (!items.hasNext()) {
+            throw new IllegalArgumentException("Arquivo sem itens.");
+        }
+
+        Instant now = Instant.now(clock);
+        ServiceRequestBatch batch = ServiceRequestBatch.receiving(
+                ServiceType.CND, cmd.sourceFormat(), cmd.actorUserId(), cmd.actorEmail(), now);
+        repository.create(batch);
+
+        Reception reception = new Reception(maxRejectionDetails);
+        Set<String> seen = new HashSet<>();
+        List<ServiceRequest> chunk = new ArrayList<>(chunkSize);
+
+        try {
+            while (items.hasNext()) {
+                BatchInputItem item = items.next();
+                reception.total++;
+
+                String reason = reject(item);
+                String cnpj = reason == null ? Cnpj.parse(item.cnpj()).value() : null;
+                if (reason == null) {
+                    reason = admit(cnpj, seen);
+                }
+                if (reason != null) {
+                    reception.reject(item.line(), reason);
+                    continue;
+                }
+
+                chunk.add(ServiceRequest.createPending(
+                        ServiceType.CND, cnpj, cmd.actorUserId(), cmd.actorEmail(), now, batch.id()));
+
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, reception);
+                }
+            }
+            flush(chunk, reception);
+        } catch (RuntimeException ex) {
+            // Itens no chunk não gravado não contam como aceitos.
+            ServiceRequestBatch failed = batch.received(ServiceRequestBatchStatus.FAILED, Instant.now(clock),
+                    reception.total, reception.enqueued, reception.rejected);
+            repository.update(failed);
+            auditBatch(cmd, failed, reception, false);
+            throw ex;
+        }
+
+        ServiceRequestBatch received = batch.received(ServiceRequestBatchStatus.ENQUEUED, Instant.now(clock),
+                reception.total, reception.enqueued, reception.rejected);
+        repository.update(received);
+        auditBatch(cmd, received, reception, true);
+
+        return new Submitted(received, List.copyOf(reception.rejections), reception.rejectionsTruncated());
+    }
+
+    /**
+     * Andamento do lote com controle de acesso (ADMIN vê qualquer lote; USER só os próprios).
+     */
+    public Progress progress(UUID batchId, UUID actorUserId, boolean isAdmin) {
+        ServiceRequestBatch batch = repository.findById(batchId)
+                .filter(b -> isAdmin || (b.requestedByUserId() != null && b.requestedByUserId().equals(actorUserId)))
+                .orElseThrow(() -> new IllegalArgumentException("Lote não encontrado."));
+
+        return new Progress(batch, repository.countByStatus(batchId));
+    }
+
+    private void flush(List<ServiceRequest> chunk, Reception reception) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        repository.insertPending(chunk, Instant.now(clock));
+        for (ServiceRequest r : chunk) {
+            reception.enqueued(r.cnpj());
+        }
+        chunk.clear();
+    }
+
+    /**
+     * Motivo da rejeição pelo formato do item, ou null se o CNPJ é válido.
+     */
+    private static String reject(BatchInputItem item) {
+        if (item.error() != null) {
+            return MALFORMED;
+        }
+        Cnpj.Validation validation = Cnpj.validate(item.cnpj());
+        return switch (validation) {
+            case VALID -> null;
+            case MISSING -> MISSING_CNPJ;
+            default -> validation.name(); // INVALID_CHARACTERS, INVALID_LENGTH, INVALID_CHECK_DIGITS
+        };
+    }
+
+    /**
+     * Motivo da rejeição de um CNPJ válido (limite/repetido), ou null se aceito (e marcado como visto).
+     */
+    private String admit(String cnpj, Set<String> seen) {
+        if (seen.size() >= maxItems && !seen.contains(cnpj)) {
+            return LIMIT_EXCEEDED;
+        }
+        if (!seen.add(cnpj)) {
+            return DUPLICATE;
+        }
+        return null;
+    }
+
+    private void auditBatch(SubmitCndBatchCommand cmd, ServiceRequestBatch batch, Reception reception, boolean success) {
+        StringBuilder details = new StringBuilder(256)
+                .append("{\"serviceType\":\"CND\"")
+                .append(",\"format\":\"").append(batch.sourceFormat()).append('"')
+                .append(",\"status\":\"").append(batch.status()).append('"')
+                .append(",\"total\":").append(batch.totalItems())
+                .append(",\"accepted\":").append(batch.acceptedItems())
+                .append(",\"rejected\":").append(batch.rejectedItems())
+                .append(",\"itemsEncoding\":\"gzip+base64\"")
+                .append(",\"items\":\"").append(reception.compactItems()).append('"')
+                .append(",\"rejections\":[");
+        for (int i = 0; i < reception.rejections.size(); i++) {
+            Rejection r = reception.rejections.get(i);
+            if (i > 0) {
+                details.append(',');
+            }
+            details.append("{\"line\":").append(r.line()).append(",\"reason\":\"").append(r.reason()).append("\"}");
+        }
+        details.append("],\"rejectionsTruncated\":").append(reception.rejectionsTruncated()).append('}');
+
+        audit.record(new RecordAuditEventCommand(
+                AuditEventType.SERVICE_BATCH_REQUESTED,
+                cmd.actorUserId(),
+                cmd.actorEmail(),
+                cmd.requestIp(),
+                cmd.requestMethod(),
+                cmd.requestPath(),
+                cmd.userAgent(),
+                success,
+                "SERVICE_REQUEST_BATCH",
+                batch.id(),
+                details.toString()
+        ));
+    }
+
+    /**
+     * Lote recebido e as rejeições (até max-rejection-details; as demais só contam).
+     */
+    public record Submitted(ServiceRequestBatch batch, List<Rejection> rejections, boolean rejectionsTruncated) {
+    }
+
+    public record Rejection(int line, String reason) {
+    }
+
+    /**
+     * Lote e quantidade de solicitações por status (PENDING = ainda na fila ou em execução).
+     */
+    public record Progress(ServiceRequestBatch batch, Map<ServiceRequestStatus, Integer> countsByStatus) {
+
+        public int count(ServiceRequestStatus status) {
+            return countsByStatus.getOrDefault(status, 0);
+        }
+
+        public int completed() {
+            return batch.acceptedItems() - count(ServiceRequestStatus.PENDING);
+        }
+    }
+
+    /**
+     * Estado da leitura do arquivo.
+     */
+    private static final class Reception {
+        final int maxRejectionDetails;
+        final List<Rejection> rejections = new ArrayList<>();
+        final ByteArrayOutputStream itemsBytes = new ByteArrayOutputStream();
+        final GZIPOutputStream items;
+        int total;
+        int enqueued;
+        int rejected;
+
+        Reception(int maxRejectionDetails) {
+            this.maxRejectionDetails = maxRejectionDetails;
+            try {
+                this.items = new GZIPOutputStream(itemsBytes);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        void enqueued(String cnpj) {
+            enqueued++;
+            try {
+                items.write(cnpj.getBytes(StandardCharsets.US_ASCII));
+                items.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        void reject(int line, String reason) {
+            rejected++;
+            if (rejections.size() < maxRejectionDetails) {
+                rejections.add(new Rejection(line, reason));
+            }
+        }
+
+        boolean rejectionsTruncated() {
+            return rejected > rejections.size();
+        }
+
+        String compactItems() {
+            try {
+                items.finish();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return Base64.getEncoder().encodeToString(itemsBytes.toByteArray());
+        }
+    }
+}
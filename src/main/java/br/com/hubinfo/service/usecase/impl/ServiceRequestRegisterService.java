@@ -1,5 +1,7 @@
 package br.com.hubinfo.service.usecase.impl;
 
+import br.com.hubinfo.cnpj.domain.Cnpj;
+import br.com.hubinfo.common.id.UuidV7;
 import br.com.hubinfo.service.adapter.out.persistence.ServiceRequestJpaEntity;
 import br.com.hubinfo.service.adapter.out.persistence.SpringDataServiceRequestRepository;
 import br.com.hubinfo.service.domain.ServiceRequestStatus;
@@ -36,14 +38,15 @@ public class ServiceRequestRegisterService implements ServiceRequestRegister {
                          ServiceType type,
                          Map<String, Object> payload,
                          ServiceRequestStatus status,
-                         Instant requestedAt) {
+                         Instant requestedAt,
+                         UUID coalescedWithRequestId) {
 
         // 1) Pelo schema atual, CNPJ é obrigatório.
         String cnpj = extractAndNormalizeCnpj(payload);
 
         // 2) Cria a entidade JPA usando factory interna (evita problema com construtor protected).
         ServiceRequestJpaEntity entity = ServiceRequestJpaEntity.newRequest(
-                UUID.randomUUID(),
+                UuidV7.next(),
                 type.name(),
                 status.name(),
                 cnpj,
@@ -51,18 +54,18 @@ public class ServiceRequestRegisterService implements ServiceRequestRegister {
                 actorEmail,
                 requestedAt
         );
+        entity.setCoalescedWithRequestId(coalescedWithRequestId);
 
         // 3) Persiste e retorna o id.
         return repository.save(entity).getId();
     }
 
     /**
-     * Extrai e normaliza CNPJ para exatamente 14 dígitos.
+     * Extrai e normaliza o CNPJ do payload.
      *
      * Regras:
      * - Campo "cnpj" precisa existir no payload.
-     * - Remove máscara e qualquer caractere não numérico.
-     * - Valida tamanho final (14).
+     * - Normalização e dígitos verificadores: ver Cnpj.
      */
     private static String extractAndNormalizeCnpj(Map<String, Object> payload) {
         if (payload == null) {
@@ -74,11 +77,6 @@ public class ServiceRequestRegisterService implements ServiceRequestRegister {
             throw new IllegalArgumentException("Payload inválido: campo 'cnpj' é obrigatório.");
         }
 
-        String digits = raw.toString().replaceAll("\\D", "");
-        if (digits.length() != 14) {
-            throw new IllegalArgumentException("CNPJ inválido: deve conter 14 dígitos.");
-        }
-
-        return digits;
+        return Cnpj.parse(raw.toString()).value();
     }
 }
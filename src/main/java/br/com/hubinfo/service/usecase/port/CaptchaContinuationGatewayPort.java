@@ -0,0 +1,24 @@
+package br.com.hubinfo.service.usecase.port;
+
+import br.com.hubinfo.service.domain.ServiceType;
+
+/**
+ * Porta para a coleta que continua depois do CAPTCHA resolvido (CNPJReva, DT-e, ...).
+ *
+ * Contrato:
+ * - Recebe o token do hCaptcha já consumido (uso único): deve ir ao portal na hora, sem fila.
+ * - Falha de negócio volta em ContinuationResult (success=false); exceção = falha técnica.
+ */
+public interface CaptchaContinuationGatewayPort {
+
+    boolean supports(ServiceType serviceType);
+
+    ContinuationResult resume(ServiceType serviceType, String normalizedCnpj, String captchaToken);
+
+    record ContinuationResult(
+            boolean success,
+            String resultCode,        // ex: COLLECTED, NOT_FOUND, CAPTCHA_REJECTED, UNAVAILABLE
+            String message,
+            String payloadJson
+    ) {}
+}
@@ -0,0 +1,35 @@
+package br.com.hubinfo.service.usecase.port;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Porta para o cache de certidões (CND) por CNPJ.
+ *
+ * Observação:
+ * - Uma CND vale semanas; enquanto estiver válida, novas solicitações do mesmo CNPJ
+ *   são atendidas daqui, sem consultar o portal.
+ * - Quem decide a validade (leitura do payload do portal) e onde guardar fica no adapter.
+ */
+public interface CndCertificateCachePort {
+
+    /**
+     * Certidão ainda válida para o CNPJ (já normalizado), se houver.
+     */
+    Optional<CachedCnd> find(String normalizedCnpj);
+
+    /**
+     * Guarda um resultado de sucesso do portal.
+     *
+     * @return false quando o resultado não é cacheável (sem validade no payload, ou já vencido).
+     */
+    boolean put(String normalizedCnpj, UUID sourceRequestId, CndGatewayPort.CndGatewayResult result);
+
+    record CachedCnd(
+            String resultCode,
+            String message,
+            String payloadJson,
+            Instant validUntil
+    ) {}
+}
@@ -0,0 +1,17 @@
+package br.com.hubinfo.service.usecase.port;
+
+/**
+ * Porta para o orçamento de chamadas por portal compartilhado entre os nós.
+ *
+ * Contrato:
+ * - lease(...) retira até "requested" permissões do host, já somando o que acumulou desde a
+ *   última retirada (permitsPerSecond, limitado a burst). Atômico entre nós.
+ * - Permissão retirada não volta: quem não usar, perde.
+ */
+public interface PortalRateBudgetPort {
+
+    /**
+     * @return permissões concedidas (0..requested).
+     */
+    int lease(String portalHost, double permitsPerSecond, int burst, int requested);
+}
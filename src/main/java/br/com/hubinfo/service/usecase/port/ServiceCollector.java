@@ -0,0 +1,35 @@
+package br.com.hubinfo.service.usecase.port;
+
+import br.com.hubinfo.service.domain.ServiceType;
+
+/**
+ * SPI de coleta: um bean por ServiceType faz a consulta ao portal daquele serviço.
+ *
+ * Como adicionar um serviço:
+ * - Implementar ServiceCollector (adapter/out) e registrar como bean; o tipo passa a ser processado
+ *   pela fila/dispatch e pela continuação após CAPTCHA, sem mexer no pipeline.
+ * - Limites (concorrência, taxa, timeout, novas tentativas) vêm de hubinfo.services.collectors
+ *   e são aplicados por fora (ServiceCollectorRegistry), não pela implementação.
+ *
+ * Contrato:
+ * - Falha de negócio (não encontrado, CAPTCHA recusado, ...) volta em CollectorResult com success=false.
+ * - Exceção = falha técnica (portal fora, timeout de rede): pode ser tentada de novo pela política.
+ */
+public interface ServiceCollector {
+
+    ServiceType serviceType();
+
+    CollectorResult collect(CollectorRequest request);
+
+    /**
+     * @param captchaToken token do hCaptcha resolvido (uso único); null quando o serviço não exigiu.
+     */
+    record CollectorRequest(String normalizedCnpj, String captchaToken) {}
+
+    record CollectorResult(
+            boolean success,
+            String resultCode,        // ex: ISSUED, COLLECTED, CAPTCHA_REQUIRED, UNAVAILABLE
+            String message,
+            String payloadJson
+    ) {}
+}
@@ -0,0 +1,40 @@
+package br.com.hubinfo.service.usecase.port;
+
+import br.com.hubinfo.service.domain.ServiceRequest;
+import br.com.hubinfo.service.domain.ServiceRequestBatch;
+import br.com.hubinfo.service.domain.ServiceRequestStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Porta de persistência dos lotes de envio em massa.
+ *
+ * Observação:
+ * - insertPending grava em lote (JDBC batch) as solicitações e os jobs da fila, na mesma transação:
+ *   ou o pedaço inteiro entra na fila, ou nada dele é gravado.
+ */
+public interface ServiceRequestBatchRepositoryPort {
+
+    void create(ServiceRequestBatch batch);
+
+    /**
+     * Grava as solicitações PENDING do lote e os jobs correspondentes (disponíveis a partir de availableAt).
+     */
+    void insertPending(List<ServiceRequest> requests, Instant availableAt);
+
+    /**
+     * Atualiza status e contadores da recepção.
+     */
+    void update(ServiceRequestBatch batch);
+
+    Optional<ServiceRequestBatch> findById(UUID batchId);
+
+    /**
+     * Quantidade de solicitações do lote por status (status sem solicitações ficam de fora).
+     */
+    Map<ServiceRequestStatus, Integer> countByStatus(UUID batchId);
+}
@@ -0,0 +1,22 @@
+package br.com.hubinfo.service.usecase.port;
+
+import br.com.hubinfo.service.domain.ServiceType;
+
+import java.util.UUID;
+
+/**
+ * Porta para agendar o processamento de uma solicitação fora da thread HTTP.
+ *
+ * Observação:
+ * - O caso de uso só registra a solicitação (PENDING) e pede o agendamento.
+ * - Quem executa (pool local, fila persistente, etc.) fica no adapter.
+ */
+public interface ServiceRequestDispatcherPort {
+
+    /**
+     * Agenda o processamento da solicitação.
+     *
+     * @return false quando não há capacidade disponível (backpressure).
+     */
+    boolean dispatch(ServiceType serviceType, UUID serviceRequestId);
+}
@@ -0,0 +1,72 @@
+package br.com.hubinfo.service.usecase.port;
+
+import br.com.hubinfo.service.domain.ServiceType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Porta da fila persistente de processamento (tabela service_request_jobs).
+ *
+ * Garantias esperadas da implementação:
+ * - claim é atômico entre nós (um job RUNNING pertence a um único lease_owner).
+ * - Operações de conclusão só têm efeito para o dono atual do lease.
+ * - Leases expirados voltam para a fila (requeueExpired).
+ */
+public interface ServiceRequestJobQueuePort {
+
+    /**
+     * Enfileira a solicitação. Idempotente: se já existir job para o ID, não faz nada.
+     */
+    void enqueue(UUID serviceRequestId, ServiceType serviceType, Instant availableAt);
+
+    /**
+     * Reivindica até {@code max} jobs disponíveis, marcando-os RUNNING com lease até now + lease.
+     */
+    List<ClaimedJob> claim(String owner, Set<ServiceType> types, int max, Instant now, Duration lease);
+
+    /**
+     * Renova o lease dos jobs ainda em execução pelo dono.
+     */
+    int heartbeat(String owner, Collection<UUID> serviceRequestIds, Instant leaseExpiresAt);
+
+    void complete(UUID serviceRequestId, String owner, Instant now);
+
+    /**
+     * Devolve o job para a fila (nova tentativa a partir de availableAt).
+     */
+    void release(UUID serviceRequestId, String owner, Instant availableAt, String error);
+
+    /**
+     * Devolve o job reivindicado que nem chegou a executar (ex.: sem vaga local), sem contar a tentativa.
+     */
+    void releaseUnstarted(UUID serviceRequestId, String owner, Instant availableAt);
+
+    /**
+     * Leases expirados: volta para a fila ou, se esgotou as tentativas, marca FAILED
+     * (e a solicitação vinculada como FAILURE).
+     *
+     * @return quantidade de jobs afetados.
+     */
+    int recoverExpiredLeases(Instant now, int maxAttempts);
+
+    /**
+     * Enfileira solicitações PENDING sem job (ex.: processo caiu entre gravar a solicitação e enfileirar).
+     *
+     * @return quantidade de jobs criados.
+     */
+    int enqueueOrphans(Set<ServiceType> types, Instant requestedBefore, Instant now, int max);
+
+    /**
+     * Remove jobs encerrados (DONE/FAILED) sem alteração desde finishedBefore, até max por chamada.
+     *
+     * @return quantidade de jobs removidos.
+     */
+    int purgeFinished(Instant finishedBefore, int max);
+
+    record ClaimedJob(UUID serviceRequestId, ServiceType serviceType, int attempts) {}
+}
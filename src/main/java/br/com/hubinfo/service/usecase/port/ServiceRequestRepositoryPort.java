@@ -4,6 +4,7 @@ import br.com.hubinfo.service.domain.ServiceRequest;
 import br.com.hubinfo.service.domain.ServiceRequestStatus;
 import br.com.hubinfo.service.domain.ServiceType;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,4 +25,23 @@ public interface ServiceRequestRepositoryPort {
                                     ServiceType serviceTypeOrNull,
                                     ServiceRequestStatus statusOrNull,
                                     int limit);
-}
\ No newline at end of file
+
+    /**
+     * Página seguinte do histórico por keyset, na ordem (requested_at DESC, id DESC).
+     *
+     * Retorna apenas itens estritamente "depois" de (beforeRequestedAt, beforeId) nessa ordem.
+     * Ambos null = primeira página. Custo constante independente da profundidade (sem OFFSET).
+     */
+    List<ServiceRequest> findPage(UUID requestedByUserIdOrNull,
+                                  ServiceType serviceTypeOrNull,
+                                  ServiceRequestStatus statusOrNull,
+                                  Instant beforeRequestedAt,
+                                  UUID beforeId,
+                                  int limit);
+
+    /**
+     * Solicitações ligadas à líder (coalesced_with_request_id) que ainda estão no status informado.
+     * Uso: a continuação após o captcha conclui a líder e as que reaproveitaram o mesmo desafio.
+     */
+    List<ServiceRequest> findCoalescedWith(UUID leaderRequestId, ServiceRequestStatus status);
+}
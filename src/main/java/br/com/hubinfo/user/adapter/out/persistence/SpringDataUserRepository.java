@@ -1,6 +1,9 @@
 package br.com.hubinfo.user.adapter.out.persistence;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -18,4 +21,8 @@ public interface SpringDataUserRepository extends JpaRepository<UserJpaEntity, U
     boolean existsByEmail(String email);
 
     Optional<UserJpaEntity> findByEmail(String email);
+
+    @Modifying
+    @Query("update UserJpaEntity u set u.passwordHash = :passwordHash where u.email = :email")
+    int updatePasswordHash(@Param("email") String email, @Param("passwordHash") String passwordHash);
 }
@@ -0,0 +1,17 @@
+package br.com.hubinfo.user.adapter.out.persistence;
+
+import java.util.UUID;
+
+/**
+ * Gancho para invalidar o {@link UserProjectionCache} dos outros nós.
+ *
+ * Observação:
+ * - Sem implementação registrada (nó único), nada é enviado; cada nó conta só com a própria invalidação
+ *   e com o expire-after-write do cache.
+ * - Quem implementar (ex.: Redis pub/sub, fila) deve chamar {@link UserProjectionCache#invalidate(UUID)}
+ *   ao receber a mensagem nos demais nós.
+ */
+public interface UserCacheInvalidationBroadcaster {
+
+    void userChanged(UUID userId);
+}
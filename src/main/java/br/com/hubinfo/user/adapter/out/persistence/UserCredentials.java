@@ -0,0 +1,19 @@
+package br.com.hubinfo.user.adapter.out.persistence;
+
+import br.com.hubinfo.user.domain.Role;
+
+import java.util.Set;
+
+/**
+ * Credencial do usuário para o login: sempre lida do banco, nunca do cache.
+ *
+ * Observação:
+ * - Senha trocada (ou re-hash) em outro nó vale no próximo login, sem depender de invalidação entre nós.
+ */
+public record UserCredentials(String email, String passwordHash, Set<Role> roles) {
+
+    static UserCredentials of(UserJpaEntity entity) {
+        return new UserCredentials(entity.getEmail(), entity.getPasswordHash(),
+                UserProjection.parseRoles(entity.getRolesCsv()));
+    }
+}
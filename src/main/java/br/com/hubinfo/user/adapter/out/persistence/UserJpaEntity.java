@@ -1,5 +1,6 @@
 package br.com.hubinfo.user.adapter.out.persistence;
 
+import br.com.hubinfo.common.persistence.UuidBinary;
 import jakarta.persistence.*;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
@@ -8,6 +9,10 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.util.UUID;
 
+/**
+ * Observação:
+ * - id_bin: cópia BINARY(16) do id, gravada junto (fase de expansão da V026; ver UuidBinary).
+ */
 @Entity
 @Table(name = "users")
 public class UserJpaEntity {
@@ -17,6 +22,9 @@ public class UserJpaEntity {
     @Column(name = "id", nullable = false, length = 36, columnDefinition = "char(36)")
     private UUID id;
 
+    @Column(name = "id_bin", length = 16, columnDefinition = "binary(16)")
+    private byte[] idBin;
+
     @Column(name = "first_name", nullable = false, length = 120)
     private String firstName;
 
@@ -41,7 +49,10 @@ public class UserJpaEntity {
     protected UserJpaEntity() {}
 
     public UUID getId() { return id; }
-    public void setId(UUID id) { this.id = id; }
+    public void setId(UUID id) {
+        this.id = id;
+        this.idBin = UuidBinary.toBytes(id);
+    }
 
     public String getFirstName() { return firstName; }
     public void setFirstName(String firstName) { this.firstName = firstName; }
@@ -5,6 +5,7 @@ import br.com.hubinfo.user.domain.Role;
 import br.com.hubinfo.user.domain.User;
 import br.com.hubinfo.user.usecase.port.UserRepositoryPort;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
 import java.util.Optional;
@@ -18,14 +19,19 @@ import java.util.stream.Collectors;
  * Clean Architecture:
  * - Use case depende do port (interface).
  * - Adapter depende de Spring/JPA e converte para/da entidade de domínio.
+ *
+ * Observação:
+ * - save invalida o {@link UserProjectionCache} (deste nó e, via gancho, dos demais).
  */
 @Component
 public class UserPersistenceAdapter implements UserRepositoryPort {
 
     private final SpringDataUserRepository repository;
+    private final UserProjectionCache cache;
 
-    public UserPersistenceAdapter(SpringDataUserRepository repository) {
+    public UserPersistenceAdapter(SpringDataUserRepository repository, UserProjectionCache cache) {
         this.repository = repository;
+        this.cache = cache;
     }
 
     @Override
@@ -37,9 +43,33 @@ public class UserPersistenceAdapter implements UserRepositoryPort {
     public User save(User user) {
         UserJpaEntity entity = toJpa(user);
         UserJpaEntity saved = repository.save(entity);
+        // Toda escrita de usuário passa por aqui: /me e login deixam de ver a versão antiga.
+        cache.userChanged(saved.getId());
         return toDomain(saved);
     }
 
+    /**
+     * Credencial para autenticação, direto do banco (não passa pelo UserProjectionCache).
+     */
+    public Optional<UserCredentials> findCredentials(String email) {
+        return repository.findByEmail(email).map(UserCredentials::of);
+    }
+
+    /**
+     * Regrava só o hash da senha (re-hash no login quando o cost do BCrypt muda).
+     *
+     * @return id do usuário atualizado, ou vazio se o e-mail não existir.
+     */
+    @Transactional
+    public Optional<UUID> updatePasswordHash(String email, String passwordHash) {
+        Optional<UUID> id = repository.findByEmail(email).map(UserJpaEntity::getId);
+        id.ifPresent(userId -> {
+            repository.updatePasswordHash(email, passwordHash);
+            cache.userChanged(userId);
+        });
+        return id;
+    }
+
     @Override
     public Optional<User> findById(UUID id) {
         return repository.findById(id).map(this::toDomain);
@@ -0,0 +1,40 @@
+package br.com.hubinfo.user.adapter.out.persistence;
+
+import br.com.hubinfo.user.domain.Role;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Projeção do usuário para emissão de token e /me (sem nome, data de nascimento etc.).
+ *
+ * Observação:
+ * - Sem hash de senha: a projeção vive no cache (UserProjectionCache), e troca de senha tem de valer
+ *   na hora em todos os nós. A credencial é lida do banco a cada login (UserCredentials).
+ * - roles já vem convertido do roles_csv para EnumSet (somente leitura): quem lê não refaz split/parse.
+ */
+public record UserProjection(UUID id, String email, Set<Role> roles) {
+
+    public UserProjection {
+        roles = Collections.unmodifiableSet(roles.isEmpty() ? EnumSet.noneOf(Role.class) : EnumSet.copyOf(roles));
+    }
+
+    static UserProjection of(UserJpaEntity entity) {
+        return new UserProjection(entity.getId(), entity.getEmail(), parseRoles(entity.getRolesCsv()));
+    }
+
+    static Set<Role> parseRoles(String rolesCsv) {
+        EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+        if (rolesCsv == null || rolesCsv.isBlank()) {
+            return roles;
+        }
+        for (String role : rolesCsv.split(",")) {
+            if (!role.isBlank()) {
+                roles.add(Role.valueOf(role.trim()));
+            }
+        }
+        return roles;
+    }
+}
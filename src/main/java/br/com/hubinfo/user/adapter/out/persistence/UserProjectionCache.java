@@ -0,0 +1,166 @@
+package br.com.hubinfo.user.adapter.out.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache em memória da {@link UserProjection}, por id e por e-mail.
+ *
+ * Por que existe:
+ * - /me (consultado em polling pelo front) e o login buscavam o usuário no banco a cada chamada
+ *   e refaziam o parse do roles_csv.
+ * - A conferência da senha não passa por aqui (UserCredentials, lido do banco): o que fica em cache
+ *   não decide autenticação, então o ttl só atrasa papéis/e-mail em nós sem o gancho de invalidação.
+ *
+ * Regras:
+ * - Limitado (max-size por índice) e com expire-after-write (ttl) como rede de segurança.
+ * - Invalidação em toda gravação via {@link UserPersistenceAdapter#save}: na hora e de novo após o commit,
+ *   e nos outros nós pelo {@link UserCacheInvalidationBroadcaster}, se houver um registrado.
+ * - Leitura concorrente com invalidação não repõe o valor antigo: só entra no cache o que foi lido
+ *   sem nenhuma invalidação no meio (contador de gerações).
+ * - "Não encontrado" não é guardado.
+ */
+@Component
+public class UserProjectionCache {
+
+    private final Function<UUID, Optional<UserProjection>> loadById;
+    private final Function<String, Optional<UserProjection>> loadByEmail;
+    private final ObjectProvider<UserCacheInvalidationBroadcaster> broadcaster;
+    private final Cache<UUID, UserProjection> byId;
+    private final Cache<String, UserProjection> byEmail;
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public UserProjectionCache(SpringDataUserRepository repository,
+                               ObjectProvider<UserCacheInvalidationBroadcaster> broadcaster,
+                               ObjectProvider<MeterRegistry> meters,
+                               @Value("${hubinfo.users.cache.max-size:10000}") long maxSize,
+                               @Value("${hubinfo.users.cache.ttl:PT10M}") Duration ttl) {
+        this(id -> repository.findById(id).map(UserProjection::of),
+                email -> repository.findByEmail(email).map(UserProjection::of),
+                broadcaster, maxSize, ttl, Ticker.systemTicker());
+
+        MeterRegistry registry = meters.getIfAvailable();
+        if (registry != null) {
+            CaffeineCacheMetrics.monitor(registry, byId, "users-by-id");
+            CaffeineCacheMetrics.monitor(registry, byEmail, "users-by-email");
+        }
+    }
+
+    UserProjectionCache(Function<UUID, Optional<UserProjection>> loadById,
+                        Function<String, Optional<UserProjection>> loadByEmail,
+                        ObjectProvider<UserCacheInvalidationBroadcaster> broadcaster,
+                        long maxSize,
+                        Duration ttl,
+                        Ticker ticker) {
+        this.loadById = loadById;
+        this.loadByEmail = loadByEmail;
+        this.broadcaster = broadcaster;
+        this.byId = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).ticker(ticker).recordStats().build();
+        this.byEmail = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).ticker(ticker).recordStats().build();
+    }
+
+    public Optional<UserProjection> findById(UUID id) {
+        UserProjection cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long seen = generation.get();
+        Optional<UserProjection> loaded = loadById.apply(id);
+        loaded.ifPresent(user -> cache(user, seen));
+        return loaded;
+    }
+
+    public Optional<UserProjection> findByEmail(String email) {
+        String key = emailKey(email);
+        UserProjection cached = byEmail.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long seen = generation.get();
+        Optional<UserProjection> loaded = loadByEmail.apply(email);
+        loaded.ifPresent(user -> cache(user, seen));
+        return loaded;
+    }
+
+    /**
+     * Descarta o usuário deste nó (entrada do gancho de invalidação entre nós).
+     */
+    public void invalidate(UUID id) {
+        generation.incrementAndGet();
+        UserProjection previous = byId.asMap().remove(id);
+        if (previous != null) {
+            byEmail.invalidate(emailKey(previous.email()));
+        }
+        // E-mail pode ter mudado ou só estar no índice por e-mail: varre as entradas do id.
+        byEmail.asMap().values().removeIf(user -> user.id().equals(id));
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        byId.invalidateAll();
+        byEmail.invalidateAll();
+    }
+
+    /**
+     * Chamado após gravar o usuário: invalida aqui, de novo após o commit (se houver transação),
+     * e avisa os outros nós.
+     */
+    void userChanged(UUID id) {
+        invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(id);
+                    broadcaster.ifAvailable(b -> b.userChanged(id));
+                }
+            });
+        } else {
+            broadcaster.ifAvailable(b -> b.userChanged(id));
+        }
+    }
+
+    long size() {
+        byId.cleanUp();
+        byEmail.cleanUp();
+        return byId.estimatedSize() + byEmail.estimatedSize();
+    }
+
+    private void cache(UserProjection user, long seenGeneration) {
+        if (generation.get() != seenGeneration) {
+            return;
+        }
+        byId.put(user.id(), user);
+        byEmail.put(emailKey(user.email()), user);
+        // Invalidação entre a checagem e o put: desfaz.
+        if (generation.get() != seenGeneration) {
+            byId.invalidate(user.id());
+            byEmail.invalidate(emailKey(user.email()));
+        }
+    }
+
+    /**
+     * E-mails são gravados normalizados (EmailAddress: trim + minúsculas) e a collation do MySQL
+     * ignora caixa; a chave segue a mesma regra.
+     */
+    private static String emailKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,7 +1,7 @@
 package br.com.hubinfo.user.adapter.out.security;
 
 import br.com.hubinfo.user.usecase.port.PasswordHasherPort;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 /**
@@ -19,11 +19,15 @@ import org.springframework.stereotype.Component;
 public class BCryptPasswordHasherAdapter implements PasswordHasherPort {
 
     /**
-     * Strength (cost) padrão:
-     * - 10 a 12 costuma ser um bom equilíbrio para ambientes corporativos.
-     * - Ajustaremos conforme desempenho/ambiente.
+     * Mesmo PasswordEncoder do login (SecurityConfig):
+     * - Strength (cost) calibrado na subida ou fixado em hubinfo.security.password.cost.
+     * - O hash roda no pool dedicado (PasswordHashingExecutor), não na thread HTTP.
      */
-    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(12);
+    private final PasswordEncoder encoder;
+
+    public BCryptPasswordHasherAdapter(PasswordEncoder encoder) {
+        this.encoder = encoder;
+    }
 
     @Override
     public String hash(String rawPassword) {
@@ -1,5 +1,7 @@
 package br.com.hubinfo.user.domain;
 
+import br.com.hubinfo.common.id.UuidV7;
+
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.Period;
@@ -79,7 +81,7 @@ public final class User {
             throw new UserDomainException("Usuário deve possuir ao menos um perfil (USER/ADMIN).");
         }
 
-        UUID id = UUID.randomUUID();
+        UUID id = UuidV7.next();
 
         // Set imutável para garantir integridade do agregado no domínio.
         Set<Role> safeRoles = Collections.unmodifiableSet(Set.copyOf(roles));
@@ -0,0 +1,140 @@
+-- UUIDs de CHAR(36) para BINARY(16): etapa CONTRACT (3 de 3; ver V026__expand_uuid_binary_columns.sql).
+--
+-- Fora de db/migration de propósito: o Flyway não aplica este arquivo. Na versão seguinte à do expand,
+-- mover para db/migration com o próximo número livre, junto com a troca das entidades/adapters para
+-- BINARY(16) puro (sem *_bin, sem COALESCE, filtros binários).
+--
+-- Pré-condições (todas):
+-- 1) Todos os nós rodam a versão do expand (dual-write). Nenhum nó anterior gravando só CHAR(36).
+-- 2) Backfill concluído: log "Backfill de UUID binário concluído" (UuidBinaryBackfill) e as consultas
+--    abaixo devolvendo 0 linhas:
+--      SELECT COUNT(*) FROM users WHERE id_bin IS NULL;
+--      SELECT COUNT(*) FROM audit_events WHERE id_bin IS NULL
+--         OR (actor_user_id_bin IS NULL AND actor_user_id IS NOT NULL)
+--         OR (target_id_bin IS NULL AND target_id IS NOT NULL);
+--      SELECT COUNT(*) FROM service_requests WHERE id_bin IS NULL
+--         OR (requested_by_user_id_bin IS NULL AND requested_by_user_id IS NOT NULL)
+--         OR (coalesced_with_request_id_bin IS NULL AND coalesced_with_request_id IS NOT NULL)
+--         OR (batch_id_bin IS NULL AND batch_id IS NOT NULL);
+--      SELECT COUNT(*) FROM service_request_jobs WHERE service_request_id_bin IS NULL;
+--      SELECT COUNT(*) FROM service_request_batches WHERE id_bin IS NULL
+--         OR (requested_by_user_id_bin IS NULL AND requested_by_user_id IS NOT NULL);
+--      SELECT COUNT(*) FROM captcha_challenges WHERE id_bin IS NULL OR service_request_id_bin IS NULL
+--         OR (created_by_user_id_bin IS NULL AND created_by_user_id IS NOT NULL);
+--      SELECT COUNT(*) FROM cnd_certificate_cache WHERE source_request_id_bin IS NULL;
+-- 3) A versão que aplica o contract já lê e grava só as colunas binárias (rolling deploy: a versão do
+--    expand continua funcionando até o ALTER da tabela, pois grava as duas colunas).
+--
+-- Execução:
+-- - Cada ALTER de UUID troca PK e índices num único comando (DROP COLUMN removeria a coluna do índice
+--   em silêncio): reconstrução INPLACE da tabela, com escrita liberada durante a cópia (LOCK=NONE),
+--   exceto audit_events (particionada, ver abaixo).
+--   O NOT NULL falha se ainda houver linha sem *_bin (pré-condição 2).
+-- - Os CNPJs (só [0-9A-Z], ver Cnpj) passam a ASCII no fim: troca de charset é ALGORITHM=COPY e bloqueia
+--   escrita durante a cópia; aplicar em horário de menor uso.
+-- - Estime o tempo numa cópia da base antes (audit_events e service_requests dominam).
+
+-- users -------------------------------------------------------------------------------------------
+ALTER TABLE users
+  DROP PRIMARY KEY,
+  DROP COLUMN id,
+  CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST,
+  ADD PRIMARY KEY (id),
+  ALGORITHM = INPLACE, LOCK = NONE;
+
+-- audit_events (PK e índices de keyset da V027/V028 terminam em id) -------------------------------
+-- Tabela particionada: troca de PK não é INPLACE, a cópia bloqueia escrita. Em produção, como na V027,
+-- rodar fora do horário ou com pt-online-schema-change/gh-ost (mesmas definições).
+ALTER TABLE audit_events
+  DROP PRIMARY KEY,
+  DROP INDEX idx_audit_occurred_at,
+  DROP INDEX idx_audit_actor_occurred_at,
+  DROP INDEX idx_audit_type_occurred_at,
+  DROP INDEX idx_audit_target_occurred_at,
+  DROP COLUMN id,
+  DROP COLUMN actor_user_id,
+  DROP COLUMN target_id,
+  CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST,
+  CHANGE COLUMN actor_user_id_bin actor_user_id BINARY(16) NULL,
+  CHANGE COLUMN target_id_bin target_id BINARY(16) NULL,
+  ADD PRIMARY KEY (id, occurred_at),
+  ADD INDEX idx_audit_occurred_at (occurred_at, id),
+  ADD INDEX idx_audit_actor_occurred_at (actor_user_id, occurred_at, id),
+  ADD INDEX idx_audit_type_occurred_at (event_type, occurred_at, id),
+  ADD INDEX idx_audit_target_occurred_at (target_type, target_id, occurred_at, id);
+
+-- service_requests --------------------------------------------------------------------------------
+ALTER TABLE service_requests
+  DROP PRIMARY KEY,
+  DROP INDEX idx_sr_user_requested_at,
+  DROP INDEX idx_sr_type_status_requested_at,
+  DROP INDEX idx_sr_status_requested_at,
+  DROP INDEX idx_sr_coalesced_with,
+  DROP INDEX idx_sr_batch_status,
+  DROP COLUMN id,
+  DROP COLUMN requested_by_user_id,
+  DROP COLUMN coalesced_with_request_id,
+  DROP COLUMN batch_id,
+  CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST,
+  CHANGE COLUMN requested_by_user_id_bin requested_by_user_id BINARY(16) NULL,
+  CHANGE COLUMN coalesced_with_request_id_bin coalesced_with_request_id BINARY(16) NULL,
+  CHANGE COLUMN batch_id_bin batch_id BINARY(16) NULL,
+  ADD PRIMARY KEY (id),
+  ADD INDEX idx_sr_user_requested_at (requested_by_user_id, requested_at, id),
+  ADD INDEX idx_sr_type_status_requested_at (service_type, status, requested_at, id),
+  ADD INDEX idx_sr_status_requested_at (status, requested_at, id),
+  ADD INDEX idx_sr_coalesced_with (coalesced_with_request_id),
+  ADD INDEX idx_sr_batch_status (batch_id, status),
+  ALGORITHM = INPLACE, LOCK = NONE;
+
+-- service_request_jobs ----------------------------------------------------------------------------
+ALTER TABLE service_request_jobs
+  DROP PRIMARY KEY,
+  DROP COLUMN service_request_id,
+  CHANGE COLUMN service_request_id_bin service_request_id BINARY(16) NOT NULL FIRST,
+  ADD PRIMARY KEY (service_request_id),
+  ALGORITHM = INPLACE, LOCK = NONE;
+
+-- service_request_batches -------------------------------------------------------------------------
+ALTER TABLE service_request_batches
+  DROP PRIMARY KEY,
+  DROP INDEX idx_srb_user_created_at,
+  DROP COLUMN id,
+  DROP COLUMN requested_by_user_id,
+  CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST,
+  CHANGE COLUMN requested_by_user_id_bin requested_by_user_id BINARY(16) NULL,
+  ADD PRIMARY KEY (id),
+  ADD INDEX idx_srb_user_created_at (requested_by_user_id, created_at),
+  ALGORITHM = INPLACE, LOCK = NONE;
+
+-- captcha_challenges (índice da fila da V030 termina em id) ---------------------------------------
+ALTER TABLE captcha_challenges
+  DROP PRIMARY KEY,
+  DROP INDEX idx_captcha_service_request_id,
+  DROP INDEX idx_captcha_challenges_status_created_at,
+  DROP COLUMN id,
+  DROP COLUMN service_request_id,
+  DROP COLUMN created_by_user_id,
+  CHANGE COLUMN id_bin id BINARY(16) NOT NULL FIRST,
+  CHANGE COLUMN service_request_id_bin service_request_id BINARY(16) NOT NULL,
+  CHANGE COLUMN created_by_user_id_bin created_by_user_id BINARY(16) NULL,
+  ADD PRIMARY KEY (id),
+  ADD INDEX idx_captcha_service_request_id (service_request_id),
+  ADD INDEX idx_captcha_challenges_status_created_at (status, created_at, id),
+  ALGORITHM = INPLACE, LOCK = NONE;
+
+-- cnd_certificate_cache ---------------------------------------------------------------------------
+ALTER TABLE cnd_certificate_cache
+  DROP COLUMN source_request_id,
+  CHANGE COLUMN source_request_id_bin source_request_id BINARY(16) NOT NULL,
+  ALGORITHM = INPLACE, LOCK = NONE;
+
+-- CNPJs em ASCII (COPY: escrita bloqueada durante a cópia) -----------------------------------------
+ALTER TABLE service_requests
+  MODIFY COLUMN cnpj CHAR(14) CHARACTER SET ascii COLLATE ascii_bin NOT NULL;
+
+ALTER TABLE captcha_challenges
+  MODIFY COLUMN cnpj VARCHAR(14) CHARACTER SET ascii COLLATE ascii_bin NOT NULL;
+
+ALTER TABLE cnd_certificate_cache
+  MODIFY COLUMN cnpj CHAR(14) CHARACTER SET ascii COLLATE ascii_bin NOT NULL;
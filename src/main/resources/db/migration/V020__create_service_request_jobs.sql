@@ -0,0 +1,25 @@
+-- Fila persistente de processamento das solicitações (service_requests).
+-- Uma linha por solicitação; workers de vários nós reivindicam com SELECT ... FOR UPDATE SKIP LOCKED
+-- e mantêm um lease renovado por heartbeat. Leases expirados voltam para a fila.
+
+CREATE TABLE IF NOT EXISTS service_request_jobs (
+  service_request_id  CHAR(36)      NOT NULL,
+  service_type        VARCHAR(40)   NOT NULL,
+  status              VARCHAR(20)   NOT NULL,  -- QUEUED, RUNNING, DONE, FAILED
+
+  attempts            INT           NOT NULL DEFAULT 0,
+  available_at        TIMESTAMP(6)  NOT NULL,  -- não reivindicar antes disso (backoff)
+
+  lease_owner         VARCHAR(120)  NULL,
+  lease_expires_at    TIMESTAMP(6)  NULL,
+  heartbeat_at        TIMESTAMP(6)  NULL,
+
+  last_error          VARCHAR(500)  NULL,
+
+  created_at          TIMESTAMP(6)  NOT NULL,
+  updated_at          TIMESTAMP(6)  NOT NULL,
+
+  PRIMARY KEY (service_request_id),
+  INDEX idx_srj_status_available (status, available_at),
+  INDEX idx_srj_status_lease (status, lease_expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,6 @@
+-- Paginação por keyset do histórico: ORDER BY requested_at DESC, id DESC.
+--
+-- Escopo ALL: idx_sr_requested_at já serve (InnoDB anexa a PK ao índice secundário,
+-- então ele é efetivamente (requested_at, id)).
+-- Escopo ME: precisa do usuário à frente para o range continuar no mesmo índice.
+CREATE INDEX idx_sr_user_requested_at ON service_requests (requested_by_user_id, requested_at, id);
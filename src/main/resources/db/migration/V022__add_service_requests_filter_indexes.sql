@@ -0,0 +1,13 @@
+-- Índices compostos para as combinações de filtro do histórico (ORDER BY requested_at DESC, id DESC).
+--
+-- A consulta agora só emite os filtros informados (ServiceRequestSpecifications), então:
+-- - serviceType [+ status]  -> idx_sr_type_status_requested_at
+-- - status                  -> idx_sr_status_requested_at
+-- - usuário [+ filtros]     -> idx_sr_user_requested_at (V021)
+--
+-- idx_sr_service_type e idx_sr_status viram prefixos redundantes dos novos índices.
+CREATE INDEX idx_sr_type_status_requested_at ON service_requests (service_type, status, requested_at, id);
+CREATE INDEX idx_sr_status_requested_at ON service_requests (status, requested_at, id);
+
+DROP INDEX idx_sr_service_type ON service_requests;
+DROP INDEX idx_sr_status ON service_requests;
@@ -0,0 +1,20 @@
+-- Cache persistente de CND por CNPJ (camada MySQL atrás do cache em memória).
+-- Uma linha por CNPJ com a última certidão emitida com sucesso; vale até valid_until
+-- (validade lida do payload do portal). Linhas vencidas são ignoradas e removidas periodicamente.
+
+CREATE TABLE IF NOT EXISTS cnd_certificate_cache (
+  cnpj                CHAR(14)      NOT NULL,
+  result_code         VARCHAR(60)   NOT NULL,
+  result_message      VARCHAR(255)  NULL,
+  result_payload_json JSON          NULL,
+  valid_until         TIMESTAMP(6)  NOT NULL,
+  source_request_id   CHAR(36)      NOT NULL,  -- solicitação que consultou o portal
+  cached_at           TIMESTAMP(6)  NOT NULL,
+
+  PRIMARY KEY (cnpj),
+  INDEX idx_ccc_valid_until (valid_until)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Solicitações atendidas pelo cache (sem consulta ao portal).
+ALTER TABLE service_requests
+  ADD COLUMN served_from_cache BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,5 @@
+-- Coalescência de solicitações idênticas (mesmo serviço + CNPJ em rajada):
+-- a solicitação que reaproveitou o resultado de outra aponta para a líder (que consultou o portal).
+ALTER TABLE service_requests
+  ADD COLUMN coalesced_with_request_id CHAR(36) NULL,
+  ADD INDEX idx_sr_coalesced_with (coalesced_with_request_id);
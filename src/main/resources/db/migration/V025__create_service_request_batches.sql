@@ -0,0 +1,24 @@
+-- Envio em massa (CSV/NDJSON): um lote por arquivo; cada CNPJ aceito vira uma service_request ligada ao lote.
+-- Os contadores aqui são da recepção; o andamento do processamento é contado em service_requests por status.
+
+CREATE TABLE IF NOT EXISTS service_request_batches (
+  id                   CHAR(36)      NOT NULL,
+  service_type         VARCHAR(40)   NOT NULL,
+  status               VARCHAR(20)   NOT NULL,  -- RECEIVING | ENQUEUED | FAILED
+  source_format        VARCHAR(10)   NOT NULL,  -- CSV | NDJSON
+  requested_by_user_id CHAR(36)      NULL,
+  requested_by_email   VARCHAR(255)  NULL,
+  created_at           TIMESTAMP(6)  NOT NULL,
+  received_at          TIMESTAMP(6)  NULL,
+  total_items          INT           NOT NULL DEFAULT 0,
+  accepted_items       INT           NOT NULL DEFAULT 0,
+  rejected_items       INT           NOT NULL DEFAULT 0,
+
+  PRIMARY KEY (id),
+  INDEX idx_srb_user_created_at (requested_by_user_id, created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Progresso do lote: COUNT(*) GROUP BY status só no índice.
+ALTER TABLE service_requests
+  ADD COLUMN batch_id CHAR(36) NULL,
+  ADD INDEX idx_sr_batch_status (batch_id, status);
@@ -0,0 +1,47 @@
+-- UUIDs de CHAR(36) para BINARY(16), online em três etapas (expand / backfill / contract). Esta é a EXPAND.
+--
+-- Por que:
+-- - PK CHAR(36) utf8mb4 ocupa 36+ bytes e é copiada em todo índice secundário (InnoDB anexa a PK).
+-- - Com IDs UUIDv7 (UuidV7) as chaves novas crescem com o tempo: inserções no fim do índice clusterizado.
+--
+-- Etapas:
+-- 1) Expand (aqui): cada coluna UUID ganha uma irmã *_bin BINARY(16) NULL. Só ADD COLUMN NULL sem
+--    default: no MySQL 8.0.29+ / MariaDB 10.4+ é INSTANT (metadado), sem cópia da tabela nem bloqueio de escrita.
+--    Nós da versão anterior continuam funcionando (não conhecem as colunas novas).
+-- 2) Backfill (UuidBinaryBackfill): lotes curtos por faixa de PK preenchem *_bin das linhas antigas.
+--    A aplicação desta versão grava as duas colunas (dual-write) e lê *_bin quando preenchida, senão o texto;
+--    filtros, joins e a PK continuam no CHAR(36) até o contract.
+-- 3) Contract (db/contract/uuid_binary_contract.sql): numa versão seguinte, com o backfill concluído e
+--    todos os nós gravando *_bin, troca PK/índices para as colunas binárias e remove as de texto.
+--
+-- Layout: UNHEX(REPLACE(id, '-', '')) = bytes na ordem do texto (UuidBinary.toBytes). A ordem no índice
+-- continua a mesma do texto, então a paginação por (requested_at, id) não muda de resultado no contract.
+
+ALTER TABLE users
+  ADD COLUMN id_bin BINARY(16) NULL AFTER id;
+
+ALTER TABLE audit_events
+  ADD COLUMN id_bin BINARY(16) NULL AFTER id,
+  ADD COLUMN actor_user_id_bin BINARY(16) NULL AFTER actor_user_id,
+  ADD COLUMN target_id_bin BINARY(16) NULL AFTER target_id;
+
+ALTER TABLE service_requests
+  ADD COLUMN id_bin BINARY(16) NULL AFTER id,
+  ADD COLUMN requested_by_user_id_bin BINARY(16) NULL AFTER requested_by_user_id,
+  ADD COLUMN coalesced_with_request_id_bin BINARY(16) NULL AFTER coalesced_with_request_id,
+  ADD COLUMN batch_id_bin BINARY(16) NULL AFTER batch_id;
+
+ALTER TABLE service_request_jobs
+  ADD COLUMN service_request_id_bin BINARY(16) NULL AFTER service_request_id;
+
+ALTER TABLE service_request_batches
+  ADD COLUMN id_bin BINARY(16) NULL AFTER id,
+  ADD COLUMN requested_by_user_id_bin BINARY(16) NULL AFTER requested_by_user_id;
+
+ALTER TABLE captcha_challenges
+  ADD COLUMN id_bin BINARY(16) NULL AFTER id,
+  ADD COLUMN service_request_id_bin BINARY(16) NULL AFTER service_request_id,
+  ADD COLUMN created_by_user_id_bin BINARY(16) NULL AFTER created_by_user_id;
+
+ALTER TABLE cnd_certificate_cache
+  ADD COLUMN source_request_id_bin BINARY(16) NULL AFTER source_request_id;
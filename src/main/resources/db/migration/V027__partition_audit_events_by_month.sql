@@ -0,0 +1,34 @@
+-- audit_events particionada por mês (RANGE em occurred_at), para retenção sem DELETE.
+--
+-- - Partição pYYYYMM guarda os eventos ANTERIORES ao 1º dia do mês seguinte (UTC); p202512 recebe todo o histórico.
+-- - pmax (MAXVALUE) só existe para nunca rejeitar INSERT; o AuditPartitionMaintenance mantém meses
+--   futuros criados (REORGANIZE de pmax vazia = só metadado) e arquiva os antigos (EXCHANGE + DROP).
+-- - Limites em segundos UTC literais: UNIX_TIMESTAMP(TIMESTAMP) independe do time_zone da sessão,
+--   e é a única função aceita pelo MySQL para particionar coluna TIMESTAMP (com pruning por faixa).
+-- - Toda chave única precisa conter a coluna de particionamento: PK passa a (id, occurred_at).
+--   O INSERT IGNORE continua idempotente (o reenvio de um evento traz o mesmo id e occurred_at).
+--
+-- Tabelas grandes: o PARTITION BY reescreve a tabela; em produção, rodar fora do horário
+-- ou com pt-online-schema-change/gh-ost (mesmas definições).
+
+ALTER TABLE audit_events
+  DROP PRIMARY KEY,
+  ADD PRIMARY KEY (id, occurred_at);
+
+ALTER TABLE audit_events
+  PARTITION BY RANGE (UNIX_TIMESTAMP(occurred_at)) (
+    PARTITION p202512 VALUES LESS THAN (1767225600), -- 2026-01-01
+    PARTITION p202601 VALUES LESS THAN (1769904000),
+    PARTITION p202602 VALUES LESS THAN (1772323200),
+    PARTITION p202603 VALUES LESS THAN (1775001600),
+    PARTITION p202604 VALUES LESS THAN (1777593600),
+    PARTITION p202605 VALUES LESS THAN (1780272000),
+    PARTITION p202606 VALUES LESS THAN (1782864000),
+    PARTITION p202607 VALUES LESS THAN (1785542400),
+    PARTITION p202608 VALUES LESS THAN (1788220800),
+    PARTITION p202609 VALUES LESS THAN (1790812800),
+    PARTITION p202610 VALUES LESS THAN (1793491200),
+    PARTITION p202611 VALUES LESS THAN (1796083200),
+    PARTITION p202612 VALUES LESS THAN (1798761600), -- 2027-01-01
+    PARTITION pmax VALUES LESS THAN MAXVALUE
+  );
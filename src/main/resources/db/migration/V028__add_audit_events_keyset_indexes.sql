@@ -0,0 +1,20 @@
+-- Índices da consulta de auditoria (GET /api/v1/admin/audit/events), keyset em (occurred_at DESC, id DESC).
+--
+-- - Cada filtro de igualdade vira prefixo de um índice terminado em (occurred_at, id): o filtro, a faixa
+--   de tempo e a ordem saem do mesmo índice, sem filesort, e a página N custa o mesmo que a primeira.
+-- - Os índices de uma coluna só (V5) não servem para ordenar; são substituídos.
+-- - O MySQL não tem índice parcial (WHERE): o "filtro" é o prefixo do índice composto.
+-- - Tabela particionada (V027): cada partição tem seu índice; a faixa de occurred_at poda as partições.
+--
+-- Tabelas grandes: ADD INDEX é online no InnoDB (INPLACE, sem bloquear escrita).
+
+ALTER TABLE audit_events
+  DROP INDEX idx_audit_occurred_at,
+  DROP INDEX idx_audit_event_type,
+  DROP INDEX idx_audit_actor_user,
+  DROP INDEX idx_audit_target,
+  ADD INDEX idx_audit_occurred_at (occurred_at, id),
+  ADD INDEX idx_audit_actor_occurred_at (actor_user_id, occurred_at, id),
+  ADD INDEX idx_audit_type_occurred_at (event_type, occurred_at, id),
+  ADD INDEX idx_audit_target_occurred_at (target_type, target_id, occurred_at, id),
+  ALGORITHM = INPLACE, LOCK = NONE;
@@ -0,0 +1,41 @@
+-- Refresh tokens com rotação e lista de revogação de access tokens (por jti).
+--
+-- refresh_tokens:
+-- - O token em si nunca é gravado: só o SHA-256 (token_hash).
+-- - family_id agrupa a cadeia de rotação; reuso de um token já usado revoga a família inteira.
+-- - access_jti/access_expires_at: access token emitido junto, revogado com a família.
+--
+-- revoked_access_tokens:
+-- - Lida de forma incremental por revoked_at (cada nó mantém a lista em memória).
+-- - Linha só é útil até expires_at (exp do access token); depois é apagada.
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+  id                 BINARY(16)    NOT NULL,
+  family_id          BINARY(16)    NOT NULL,
+  user_id            BINARY(16)    NOT NULL,
+  token_hash         BINARY(32)    NOT NULL,
+
+  access_jti         BINARY(16)    NULL,
+  access_expires_at  TIMESTAMP(6)  NULL,
+
+  issued_at          TIMESTAMP(6)  NOT NULL,
+  expires_at         TIMESTAMP(6)  NOT NULL,
+  used_at            TIMESTAMP(6)  NULL,
+  revoked_at         TIMESTAMP(6)  NULL,
+
+  PRIMARY KEY (id),
+  UNIQUE KEY uk_rt_token_hash (token_hash),
+  INDEX idx_rt_family (family_id),
+  INDEX idx_rt_user (user_id),
+  INDEX idx_rt_expires_at (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS revoked_access_tokens (
+  jti         BINARY(16)    NOT NULL,
+  expires_at  TIMESTAMP(6)  NOT NULL,
+  revoked_at  TIMESTAMP(6)  NOT NULL,
+
+  PRIMARY KEY (jti),
+  INDEX idx_rat_revoked_at (revoked_at),
+  INDEX idx_rat_expires_at (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
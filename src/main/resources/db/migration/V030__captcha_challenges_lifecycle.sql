@@ -0,0 +1,16 @@
+-- Ciclo de vida do desafio de CAPTCHA: PENDING -> SOLVED -> CONSUMED, ou EXPIRED por prazo.
+--
+-- - O índice (status, created_at) declarado na V016 nunca existiu: a tabela já vinha da V15 e o
+--   CREATE TABLE IF NOT EXISTS da V016 não fez nada. Criado aqui, com id no fim para o keyset
+--   (created_at DESC, id DESC) da fila de operadores e para o UPDATE ... ORDER BY created_at LIMIT n
+--   da varredura de expiração.
+-- - idx_captcha_status (só status) fica redundante com o prefixo do novo índice.
+-- - consumed_at: quando o token foi entregue à continuação da coleta.
+
+ALTER TABLE captcha_challenges
+  ADD COLUMN consumed_at DATETIME(6) NULL AFTER solved_at;
+
+ALTER TABLE captcha_challenges
+  DROP INDEX idx_captcha_status,
+  ADD INDEX idx_captcha_challenges_status_created_at (status, created_at, id),
+  ALGORITHM = INPLACE, LOCK = NONE;
@@ -0,0 +1,10 @@
+-- Fila de resolvedores: POST /api/v1/captcha/challenges/claim reserva um PENDING por um tempo (lease).
+--
+-- - claimed_by_user_id: quem reservou por último (fica gravado depois da solução, para consulta).
+-- - claim_expires_at: fim da reserva; NULL ou no passado = livre. A solução zera a coluna.
+-- - Sem índice novo: o claim percorre (status, created_at, id) da V030 e filtra a reserva na linha;
+--   as linhas reservadas ao mesmo tempo são no máximo uma por resolvedor.
+
+ALTER TABLE captcha_challenges
+  ADD COLUMN claimed_by_user_id BINARY(16) NULL AFTER consumed_at,
+  ADD COLUMN claim_expires_at DATETIME(6) NULL AFTER claimed_by_user_id;
@@ -0,0 +1,15 @@
+-- Orçamento de chamadas por portal (host), compartilhado pelo cluster.
+--
+-- - Token bucket no banco: tokens acumulam a rate-per-second desde refilled_at, até o burst.
+-- - Cada nó retira lotes (lease) com SELECT ... FOR UPDATE + UPDATE e gasta localmente;
+--   o banco só é tocado uma vez por lote, não por chamada.
+-- - refilled_at usa o relógio do banco (UTC_TIMESTAMP(6)): um relógio só para todos os nós.
+-- - Uma linha por host, criada no primeiro lease.
+
+CREATE TABLE IF NOT EXISTS portal_rate_budgets (
+  portal_host  VARCHAR(255)  NOT NULL,
+  tokens       DOUBLE        NOT NULL,
+  refilled_at  DATETIME(6)   NOT NULL,
+
+  PRIMARY KEY (portal_host)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,6 @@
+-- Limpeza dos jobs encerrados (ServiceRequestJobWorker.purgeFinished):
+-- DELETE ... WHERE status IN ('DONE', 'FAILED') AND updated_at < ? LIMIT ? lê só a faixa antiga de cada status.
+-- Sem limpeza, service_request_jobs crescia para sempre (uma linha por solicitação processada).
+
+ALTER TABLE service_request_jobs
+  ADD INDEX idx_srj_status_updated (status, updated_at);
@@ -0,0 +1,194 @@
+package br.com.hubinfo.audit.adapter.in.maintenance;
+
+import br.com.hubinfo.audit.adapter.out.persistence.AuditPartitionJdbcAdapter;
+import br.com.hubinfo.audit.config.AuditPartitionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do arquivamento de partições, retomado após quedas no meio (sem banco: partições em memória).
+ */
+class AuditPartitionMaintenanceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-18T03:30:00Z"), ZoneOffset.UTC);
+
+    /** Único mês fora da retenção (13 meses) com as partições abaixo. */
+    private static final YearMonth OLD = YearMonth.of(2025, 8);
+    private static final String OLD_TABLE = AuditPartitionJdbcAdapter.detachedTableName(OLD);
+
+    @TempDir
+    Path dir;
+
+    private FakePartitions partitions;
+    private AuditPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        partitions = new FakePartitions();
+        for (YearMonth m = OLD; !m.isAfter(YearMonth.of(2027, 1)); m = m.plusMonths(1)) {
+            partitions.monthRows.put(m, 1L);
+        }
+
+        AuditPartitionProperties properties = new AuditPartitionProperties();
+        properties.setArchiveDir(dir.toString());
+        maintenance = new AuditPartitionMaintenance(partitions, properties, CLOCK);
+    }
+
+    @Test
+    void shouldArchiveOldMonthAndDropIt() throws IOException {
+        partitions.monthRows.put(OLD, 4L);
+
+        maintenance.maintain();
+
+        assertEquals(4, lines(dir.resolve(OLD_TABLE + ".ndjson.gz")));
+        assertFalse(partitions.monthRows.containsKey(OLD));
+        assertTrue(partitions.tables.isEmpty());
+    }
+
+    @Test
+    void crashBetweenExchangeAndDropShouldNotOverwriteTheArchive() throws IOException {
+        // Rodada anterior caiu depois do EXCHANGE: linhas na tabela destacada, partição vazia no lugar.
+        partitions.monthRows.put(OLD, 0L);
+        partitions.tables.put(OLD_TABLE, 3L);
+
+        maintenance.maintain();
+
+        assertEquals(List.of(OLD_TABLE + ".ndjson.gz"), archiveFiles());
+        assertEquals(3, lines(dir.resolve(OLD_TABLE + ".ndjson.gz")));
+        assertFalse(partitions.monthRows.containsKey(OLD));
+        assertTrue(partitions.tables.isEmpty());
+    }
+
+    @Test
+    void crashBeforeDropTableShouldKeepTheFirstArchive() throws IOException {
+        // Rodada anterior caiu depois de mover o arquivo e antes do DROP TABLE.
+        partitions.monthRows.remove(OLD);
+        partitions.tables.put(OLD_TABLE, 3L);
+        Path first = dir.resolve(OLD_TABLE + ".ndjson.gz");
+        Files.write(first, new byte[]{1, 2, 3});
+
+        maintenance.maintain();
+
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(first));
+        assertEquals(3, lines(dir.resolve(OLD_TABLE + "-1.ndjson.gz")));
+        assertTrue(partitions.tables.isEmpty());
+    }
+
+    @Test
+    void emptyDetachedTableShouldBeDroppedWithoutArchive() throws IOException {
+        // Rodada anterior caiu entre o CREATE TABLE e o EXCHANGE.
+        partitions.tables.put(OLD_TABLE, 0L);
+        partitions.monthRows.put(OLD, 2L);
+
+        maintenance.maintain();
+
+        assertEquals(List.of(OLD_TABLE + ".ndjson.gz"), archiveFiles());
+        assertEquals(2, lines(dir.resolve(OLD_TABLE + ".ndjson.gz")));
+    }
+
+    private List<String> archiveFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private static long lines(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().count();
+        }
+    }
+
+    // -----------------------
+    // Fake (partições em memória)
+    // -----------------------
+
+    /**
+     * Partições (mês -> linhas) e tabelas destacadas (nome -> linhas), com a mesma semântica do adapter.
+     */
+    static class FakePartitions extends AuditPartitionJdbcAdapter {
+        final TreeMap<YearMonth, Long> monthRows = new TreeMap<>();
+        final TreeMap<String, Long> tables = new TreeMap<>();
+
+        FakePartitions() {
+            super(null, null);
+        }
+
+        @Override
+        public List<YearMonth> monthlyPartitions() {
+            return new ArrayList<>(monthRows.keySet());
+        }
+
+        @Override
+        public void addMonth(YearMonth month) {
+            monthRows.put(month, 0L);
+        }
+
+        @Override
+        public Optional<String> detach(YearMonth month) {
+            long rows = monthRows.remove(month);
+            if (rows == 0) {
+                return Optional.empty();
+            }
+            String table = detachedTableName(month);
+            if (tables.putIfAbsent(table, rows) != null) {
+                throw new IllegalStateException("Table '" + table + "' already exists");
+            }
+            return Optional.of(table);
+        }
+
+        @Override
+        public List<String> detachedTables() {
+            return new ArrayList<>(tables.keySet());
+        }
+
+        @Override
+        public long count(String detachedTable) {
+            return tables.get(detachedTable);
+        }
+
+        @Override
+        public long export(String detachedTable, OutputStream out, int batchSize) {
+            long rows = tables.get(detachedTable);
+            try {
+                for (long i = 0; i < rows; i++) {
+                    out.write(("{\"n\":" + i + "}\n").getBytes(StandardCharsets.UTF_8));
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return rows;
+        }
+
+        @Override
+        public void drop(String detachedTable) {
+            tables.remove(detachedTable);
+        }
+
+        @Override
+        public <T> Optional<T> withLock(String name, Supplier<T> task) {
+            return Optional.ofNullable(task.get());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.hubinfo.audit.adapter.in.maintenance;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditPartitionPlanTest {
+
+    private static final YearMonth OCT_2026 = YearMonth.of(2026, 10);
+
+    @Test
+    void shouldCreateMissingFutureMonthsInOrder() {
+        AuditPartitionPlan plan = AuditPartitionPlan.of(OCT_2026, months(2026, 1, 2026, 11), 3, 13);
+
+        assertEquals(List.of(YearMonth.of(2026, 12), YearMonth.of(2027, 1)), plan.toCreate());
+        assertTrue(plan.toArchive().isEmpty());
+    }
+
+    @Test
+    void shouldFillGapWhenMaintenanceWasStopped() {
+        // Última partição em junho; a rotina ficou parada até outubro.
+        AuditPartitionPlan plan = AuditPartitionPlan.of(OCT_2026, months(2026, 1, 2026, 6), 1, 13);
+
+        assertEquals(months(2026, 7, 2026, 11), plan.toCreate());
+    }
+
+    @Test
+    void shouldArchiveOnlyMonthsBeyondRetention() {
+        AuditPartitionPlan plan = AuditPartitionPlan.of(OCT_2026, months(2025, 6, 2027, 1), 3, 13);
+
+        // Mantém set/2025 (13 meses antes de out/2026) em diante.
+        assertEquals(months(2025, 6, 2025, 8), plan.toArchive());
+        assertTrue(plan.toCreate().isEmpty());
+    }
+
+    @Test
+    void shouldNeverArchiveCurrentMonth() {
+        AuditPartitionPlan plan = AuditPartitionPlan.of(OCT_2026, months(2026, 8, 2026, 10), 0, 0);
+
+        assertEquals(months(2026, 8, 2026, 9), plan.toArchive());
+    }
+
+    @Test
+    void unpartitionedTableShouldBeLeftAlone() {
+        assertTrue(AuditPartitionPlan.of(OCT_2026, List.of(), 3, 13).isEmpty());
+    }
+
+    private static List<YearMonth> months(int fromYear, int fromMonth, int toYear, int toMonth) {
+        YearMonth to = YearMonth.of(toYear, toMonth);
+        return Stream.iterate(YearMonth.of(fromYear, fromMonth), m -> !m.isAfter(to), m -> m.plusMonths(1))
+                .toList();
+    }
+}
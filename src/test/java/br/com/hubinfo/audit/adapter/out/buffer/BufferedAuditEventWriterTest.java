@@ -0,0 +1,220 @@
+package br.com.hubinfo.audit.adapter.out.buffer;
+
+import br.com.hubinfo.audit.config.AuditWriterProperties;
+import br.com.hubinfo.audit.domain.AuditEvent;
+import br.com.hubinfo.audit.domain.AuditEventType;
+import br.com.hubinfo.audit.usecase.port.AuditEventRepositoryPort;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do writer de auditoria em lote (sem Spring/banco).
+ */
+class BufferedAuditEventWriterTest {
+
+    @Test
+    void shouldKeepOrderAndDrainEverythingOnClose() {
+        FakeRepository repo = new FakeRepository();
+        AuditWriterProperties props = props(10_000, 50, Duration.ofSeconds(10));
+        BufferedAuditEventWriter writer = new BufferedAuditEventWriter(repo, props, null, null);
+        writer.start();
+
+        List<UUID> expected = new ArrayList<>();
+        for (int i = 0; i < 1234; i++) {
+            AuditEvent e = event();
+            expected.add(e.id());
+            writer.save(e);
+        }
+
+        writer.close();
+
+        assertEquals(expected, repo.savedIds());
+        // Nenhum lote passa do batch-size; nada foi gravado um a um.
+        assertTrue(repo.batches.stream().allMatch(b -> b.size() <= 50));
+        assertEquals(0, repo.singleSaves.size());
+    }
+
+    @Test
+    void shouldFlushPartialBatchAfterInterval() throws Exception {
+        FakeRepository repo = new FakeRepository();
+        BufferedAuditEventWriter writer = new BufferedAuditEventWriter(
+                repo, props(100, 500, Duration.ofMillis(50)), null, null);
+        writer.start();
+
+        writer.save(event());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (repo.savedIds().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, repo.savedIds().size(), "Lote parcial deveria ser gravado pelo tempo, sem close().");
+        writer.close();
+    }
+
+    @Test
+    void shouldDropWhenFullAndPolicyIsDrop() throws Exception {
+        FakeRepository repo = new FakeRepository();
+        repo.stall = new CountDownLatch(1);
+
+        AuditWriterProperties props = props(2, 1, Duration.ofMillis(10));
+        props.setOverflow(AuditWriterProperties.Overflow.DROP);
+
+        BufferedAuditEventWriter writer = new BufferedAuditEventWriter(repo, props, null, null);
+        writer.start();
+
+        // 1 preso na gravação + 2 no buffer; os demais são descartados.
+        writer.save(event());
+        assertTrue(repo.firstBatch.await(2, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            writer.save(event());
+        }
+
+        assertEquals(3, writer.droppedCount());
+        assertEquals(0, repo.singleSaves.size());
+
+        repo.stall.countDown();
+        writer.close();
+        assertEquals(3, repo.savedIds().size());
+    }
+
+    @Test
+    void shouldWriteOnCallerThreadWhenBlockTimesOut() throws Exception {
+        FakeRepository repo = new FakeRepository();
+        repo.stall = new CountDownLatch(1);
+
+        AuditWriterProperties props = props(1, 1, Duration.ofMillis(10));
+        props.setBlockTimeout(Duration.ofMillis(20));
+
+        BufferedAuditEventWriter writer = new BufferedAuditEventWriter(repo, props, null, null);
+        writer.start();
+
+        writer.save(event());
+        assertTrue(repo.firstBatch.await(2, TimeUnit.SECONDS));
+        writer.save(event()); // ocupa a única vaga
+        writer.save(event()); // espera block-timeout e grava direto
+
+        assertEquals(1, repo.singleSaves.size());
+
+        repo.stall.countDown();
+        writer.close();
+        assertEquals(3, repo.savedIds().size());
+    }
+
+    @Test
+    void shouldRetryFailedBatchWithoutLosingEvents() {
+        FakeRepository repo = new FakeRepository();
+        repo.failures = 2;
+
+        AuditWriterProperties props = props(100, 10, Duration.ofMillis(10));
+        props.setRetryBackoff(Duration.ofMillis(10));
+
+        BufferedAuditEventWriter writer = new BufferedAuditEventWriter(repo, props, null, null);
+        writer.start();
+
+        List<UUID> expected = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            AuditEvent e = event();
+            expected.add(e.id());
+            writer.save(e);
+        }
+        writer.close();
+
+        assertEquals(expected, repo.savedIds());
+    }
+
+    @Test
+    void shouldSpillBatchWhenDatabaseFails() {
+        FakeRepository repo = new FakeRepository();
+        repo.failures = Integer.MAX_VALUE;
+        List<AuditEvent> spilled = new CopyOnWriteArrayList<>();
+
+        AuditWriterProperties props = props(100, 10, Duration.ofMillis(10));
+        BufferedAuditEventWriter writer = new BufferedAuditEventWriter(repo, props, e -> spilled.add(e), null);
+        writer.start();
+
+        List<UUID> expected = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            AuditEvent e = event();
+            expected.add(e.id());
+            writer.save(e);
+        }
+        writer.close();
+
+        assertEquals(expected, spilled.stream().map(AuditEvent::id).toList());
+        assertTrue(repo.savedIds().isEmpty());
+    }
+
+    private static AuditWriterProperties props(int capacity, int batchSize, Duration flushInterval) {
+        AuditWriterProperties p = new AuditWriterProperties();
+        p.setCapacity(capacity);
+        p.setBatchSize(batchSize);
+        p.setFlushInterval(flushInterval);
+        p.setShutdownTimeout(Duration.ofSeconds(5));
+        return p;
+    }
+
+    private static AuditEvent event() {
+        return new AuditEvent(
+                UUID.randomUUID(),
+                AuditEventType.SERVICE_REQUESTED,
+                Instant.now(),
+                null, null, null, null, null, null,
+                true,
+                "SERVICE_REQUEST",
+                null,
+                null
+        );
+    }
+
+    // -----------------------
+    // Fake (port) para teste
+    // -----------------------
+
+    static class FakeRepository implements AuditEventRepositoryPort {
+        final List<List<AuditEvent>> batches = new CopyOnWriteArrayList<>();
+        final List<AuditEvent> singleSaves = new CopyOnWriteArrayList<>();
+        final CountDownLatch firstBatch = new CountDownLatch(1);
+        volatile CountDownLatch stall;
+        volatile int failures;
+
+        @Override
+        public AuditEvent save(AuditEvent event) {
+            singleSaves.add(event);
+            return event;
+        }
+
+        @Override
+        public void saveAll(List<AuditEvent> events) {
+            firstBatch.countDown();
+            if (stall != null) {
+                try {
+                    stall.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("banco indisponível");
+            }
+            batches.add(List.copyOf(events));
+        }
+
+        List<UUID> savedIds() {
+            List<UUID> ids = new ArrayList<>();
+            batches.forEach(b -> b.forEach(e -> ids.add(e.id())));
+            singleSaves.forEach(e -> ids.add(e.id()));
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.hubinfo.audit.adapter.out.persistence;
+
+import br.com.hubinfo.audit.domain.AuditEventType;
+import br.com.hubinfo.audit.usecase.AuditEventFilter;
+import br.com.hubinfo.common.id.UuidV7;
+import br.com.hubinfo.common.persistence.UuidBinary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Confere, via EXPLAIN no MySQL real, que cada filtro da consulta de auditoria usa o índice composto de V028.
+ *
+ * Observação:
+ * - Depende de banco (como HubInfoApiApplicationTests); roda só com HUBINFO_IT_DB_URL definido.
+ * - O SQL analisado é o mesmo que o adapter executa ({@link AuditEventQueryJdbcAdapter#build}).
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "HUBINFO_IT_DB_URL", matches = ".+")
+@TestPropertySource(properties = "spring.datasource.url=${HUBINFO_IT_DB_URL}")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuditEventQueryIndexTest {
+
+    private static final String MARKER_EMAIL = "explain-test@hubinfo.local";
+    private static final int ROWS = 5000;
+    private static final int ACTORS = 100;
+    private static final Instant BASE = Instant.parse("2026-10-01T00:00:00Z");
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private UUID someActor;
+    private UUID someTarget;
+
+    @BeforeEach
+    void seed() {
+        cleanup();
+
+        List<UUID> actors = new ArrayList<>(ACTORS);
+        for (int i = 0; i < ACTORS; i++) {
+            actors.add(UUID.randomUUID());
+        }
+        someActor = actors.get(0);
+        someTarget = UUID.randomUUID();
+
+        AuditEventType[] types = AuditEventType.values();
+        List<Object[]> batch = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            UUID id = UuidV7.next();
+            UUID actor = actors.get(i % ACTORS);
+            UUID target = i % 50 == 0 ? someTarget : UUID.randomUUID();
+            batch.add(new Object[]{
+                    id.toString(),
+                    UuidBinary.toBytes(id),
+                    types[i % types.length].name(),
+                    Timestamp.from(BASE.plusSeconds(i)),
+                    actor.toString(),
+                    UuidBinary.toBytes(actor),
+                    target.toString(),
+                    UuidBinary.toBytes(target)
+            });
+        }
+        jdbc.batchUpdate("""
+                INSERT INTO audit_events
+                  (id, id_bin, event_type, occurred_at, actor_user_id, actor_user_id_bin, actor_email, target_type,
+                   target_id, target_id_bin)
+                VALUES (?, ?, ?, ?, ?, ?, '""" + MARKER_EMAIL + "', 'SERVICE_REQUEST', ?, ?)", batch);
+
+        // Estatísticas atualizadas para o otimizador enxergar a distribuição real.
+        jdbc.queryForList("ANALYZE TABLE audit_events");
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbc.update("DELETE FROM audit_events WHERE actor_email = ?", MARKER_EMAIL);
+    }
+
+    @Test
+    void actorUsesActorIndex() {
+        assertKey("idx_audit_actor_occurred_at", new AuditEventFilter(someActor, null, null, null, null, null), false);
+    }
+
+    @Test
+    void actorKeysetPageUsesActorIndex() {
+        assertKey("idx_audit_actor_occurred_at", new AuditEventFilter(someActor, null, null, null, null, null), true);
+    }
+
+    @Test
+    void targetUsesTargetIndex() {
+        assertKey("idx_audit_target_occurred_at",
+                new AuditEventFilter(null, null, "SERVICE_REQUEST", someTarget, null, null), false);
+    }
+
+    @Test
+    void timeRangeOnlyUsesOccurredAtIndex() {
+        assertKey("idx_audit_occurred_at",
+                new AuditEventFilter(null, null, null, null, BASE.plusSeconds(100), BASE.plusSeconds(200)), false);
+    }
+
+    @Test
+    void shouldNotEmitAbsentFilters() {
+        String sql = AuditEventQueryJdbcAdapter.build(
+                new AuditEventFilter(null, AuditEventType.AUTH_LOGIN_FAILURE, null, null, null, null), null, null, 20).sql();
+
+        assertFalse(sql.toLowerCase().contains("is null"), sql);
+        assertFalse(sql.contains("actor_user_id ="), sql);
+        assertFalse(sql.contains("details_json"), sql);
+    }
+
+    private void assertKey(String expectedIndex, AuditEventFilter filter, boolean keyset) {
+        AuditEventQueryJdbcAdapter.Query query = keyset
+                ? AuditEventQueryJdbcAdapter.build(filter, BASE.plusSeconds(3000), UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff"), 20)
+                : AuditEventQueryJdbcAdapter.build(filter, null, null, 20);
+
+        List<Map<String, Object>> plan = jdbc.query("EXPLAIN " + query.sql(), query::bind, new ColumnMapRowMapper());
+
+        assertEquals(1, plan.size(), plan.toString());
+        assertEquals(expectedIndex, plan.get(0).get("key"), "Plano: " + plan + "\nSQL: " + query.sql());
+    }
+}
@@ -0,0 +1,223 @@
+package br.com.hubinfo.audit.adapter.out.spill;
+
+import br.com.hubinfo.audit.config.AuditSpillProperties;
+import br.com.hubinfo.audit.domain.AuditEvent;
+import br.com.hubinfo.audit.domain.AuditEventType;
+import br.com.hubinfo.audit.usecase.port.AuditEventRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do spill de auditoria em segmentos mapeados (usa diretório temporário, sem banco).
+ */
+class MappedAuditSpillLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldRotateSegmentsAndReplayInOrder() throws IOException {
+        MappedAuditSpillLog spill = new MappedAuditSpillLog(props(DataSize.ofKilobytes(4)));
+
+        List<AuditEvent> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            AuditEvent e = event(i % 3 == 0 ? "{\"n\":" + i + "}" : null);
+            expected.add(e);
+            assertTrue(spill.spill(e));
+        }
+        assertTrue(segmentFiles() > 1, "200 eventos não cabem em um segmento de 4 KB.");
+
+        FakeRepository repo = new FakeRepository();
+        int replayed = spill.replay(repo, 50);
+
+        assertEquals(200, replayed);
+        assertEquals(expected, repo.saved);
+        assertTrue(repo.batchSizes.stream().allMatch(n -> n <= 50));
+        assertEquals(0, segmentFiles());
+        assertEquals(0, spill.pendingSegments());
+        assertEquals(Duration.ZERO, spill.replayLag(Instant.now()));
+    }
+
+    @Test
+    void shouldKeepSegmentWhenDatabaseFailsAndRetryLater() {
+        MappedAuditSpillLog spill = new MappedAuditSpillLog(props(DataSize.ofMegabytes(1)));
+        AuditEvent e = event(null);
+        spill.spill(e);
+
+        FakeRepository repo = new FakeRepository();
+        repo.failures = 1;
+        assertThrows(IllegalStateException.class, () -> spill.replay(repo, 10));
+        assertEquals(1, spill.pendingSegments());
+        assertTrue(spill.replayLag(e.occurredAt().plusSeconds(30)).toSeconds() >= 30);
+
+        spill.replay(repo, 10);
+        assertEquals(List.of(e), repo.saved);
+        assertEquals(0, spill.pendingSegments());
+    }
+
+    @Test
+    void shouldNotOpenNewSegmentsWhileDatabaseStaysDown() throws IOException {
+        MappedAuditSpillLog spill = new MappedAuditSpillLog(props(DataSize.ofMegabytes(1)));
+        FakeRepository repo = new FakeRepository();
+        repo.failures = Integer.MAX_VALUE;
+
+        List<AuditEvent> expected = new ArrayList<>();
+        for (int tick = 0; tick < 5; tick++) {
+            AuditEvent e = event(null);
+            expected.add(e);
+            assertTrue(spill.spill(e));
+
+            assertThrows(IllegalStateException.class, () -> spill.replay(repo, 10));
+            assertEquals(1, segmentFiles(), "Replay com o banco fora não pode selar o segmento ativo.");
+            assertEquals(1, spill.pendingSegments());
+        }
+
+        repo.failures = 0;
+        assertEquals(5, spill.replay(repo, 10));
+        assertEquals(expected, repo.saved);
+        assertEquals(0, segmentFiles());
+        assertEquals(0, spill.pendingSegments());
+    }
+
+    @Test
+    void shouldKeepEventsSpilledWhileReplaying() {
+        MappedAuditSpillLog spill = new MappedAuditSpillLog(props(DataSize.ofMegabytes(1)));
+        AuditEvent a = event(null);
+        AuditEvent b = event(null);
+        spill.spill(a);
+
+        FakeRepository repo = new FakeRepository();
+        repo.onSave = () -> spill.spill(b);
+        assertEquals(1, spill.replay(repo, 10));
+        assertEquals(1, spill.pendingSegments());
+
+        repo.onSave = null;
+        spill.replay(repo, 10);
+        assertTrue(repo.saved.contains(b));
+        assertEquals(0, spill.pendingSegments());
+    }
+
+    @Test
+    void shouldRecoverSegmentsLeftByPreviousProcess() {
+        MappedAuditSpillLog first = new MappedAuditSpillLog(props(DataSize.ofMegabytes(1)));
+        AuditEvent a = event(null);
+        AuditEvent b = event("{\"x\":true}");
+        first.spill(a);
+        first.spill(b);
+        first.close();
+
+        MappedAuditSpillLog second = new MappedAuditSpillLog(props(DataSize.ofMegabytes(1)));
+        assertEquals(1, second.pendingSegments());
+
+        // Novo processo continua escrevendo em segmento novo.
+        AuditEvent c = event(null);
+        second.spill(c);
+
+        FakeRepository repo = new FakeRepository();
+        second.replay(repo, 10);
+        assertEquals(List.of(a, b, c), repo.saved);
+    }
+
+    @Test
+    void shouldStopAtCorruptedRecord() throws IOException {
+        MappedAuditSpillLog spill = new MappedAuditSpillLog(props(DataSize.ofMegabytes(1)));
+        AuditEvent a = event(null);
+        AuditEvent b = event(null);
+        spill.spill(a);
+        spill.spill(b);
+        spill.close();
+
+        // Corrompe um byte do payload do segundo registro (simula escrita interrompida).
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        int firstRecordSize = 8 + AuditEventCodec.encode(a).length;
+        long corruptAt = 4 + firstRecordSize + 8 + 5;
+        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(new byte[]{0x7f}), corruptAt);
+        }
+
+        List<AuditEvent> read = new ArrayList<>();
+        MappedAuditSpillLog.read(segment, Integer.MAX_VALUE, read::add);
+
+        assertEquals(List.of(a), read);
+    }
+
+    private AuditSpillProperties props(DataSize segmentSize) {
+        AuditSpillProperties p = new AuditSpillProperties();
+        p.setDir(dir.toString());
+        p.setSegmentSize(segmentSize);
+        return p;
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private static AuditEvent event(String detailsJson) {
+        return new AuditEvent(
+                UUID.randomUUID(),
+                AuditEventType.SERVICE_REQUESTED,
+                Instant.parse("2026-01-10T12:00:00.123456Z"),
+                UUID.randomUUID(),
+                "user@exemplo.com",
+                "127.0.0.1",
+                "POST",
+                "/api/v1/services/cnd/requests",
+                "JUnit",
+                true,
+                "SERVICE_REQUEST",
+                UUID.randomUUID(),
+                detailsJson
+        );
+    }
+
+    // -----------------------
+    // Fake (port) para teste
+    // -----------------------
+
+    static class FakeRepository implements AuditEventRepositoryPort {
+        final List<AuditEvent> saved = new ArrayList<>();
+        final List<Integer> batchSizes = new ArrayList<>();
+        int failures;
+        Runnable onSave;
+
+        @Override
+        public AuditEvent save(AuditEvent event) {
+            saved.add(event);
+            return event;
+        }
+
+        @Override
+        public void saveAll(List<AuditEvent> events) {
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("banco indisponível");
+            }
+            if (onSave != null) {
+                onSave.run();
+            }
+            batchSizes.add(events.size());
+            saved.addAll(events);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package br.com.hubinfo.audit.usecase;
+
+import br.com.hubinfo.audit.domain.AuditEventType;
+import br.com.hubinfo.audit.usecase.port.AuditEventQueryPort;
+import br.com.hubinfo.common.id.UuidV7;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da consulta de auditoria: keyset, filtros e exportação (sem Spring/banco).
+ */
+class ListAuditEventsUseCaseTest {
+
+    private static final UUID ACTOR = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID OTHER = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    private static final Instant BASE = Instant.parse("2026-09-10T12:00:00Z");
+
+    @Test
+    void shouldWalkAllEventsOfActorFollowingCursor() {
+        FakeQueryPort port = new FakeQueryPort();
+        // Vários eventos no mesmo instante: o desempate por id evita perdas/duplicidades.
+        for (int i = 0; i < 230; i++) {
+            port.add(ACTOR, AuditEventType.AUTH_LOGIN_SUCCESS, BASE.plusSeconds(i / 4));
+            port.add(OTHER, AuditEventType.AUTH_LOGIN_SUCCESS, BASE.plusSeconds(i / 4));
+        }
+
+        ListAuditEventsUseCase useCase = new ListAuditEventsUseCase(port);
+        AuditEventFilter filter = new AuditEventFilter(ACTOR, null, null, null, null, null);
+
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            AuditEventPage page = useCase.page(true, filter, 100, cursor);
+            page.items().forEach(e -> seen.add(e.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(230, new HashSet<>(seen).size());
+        assertEquals(port.sortedIds(filter), seen);
+    }
+
+    @Test
+    void lastFullPageShouldNotReturnCursor() {
+        FakeQueryPort port = new FakeQueryPort();
+        for (int i = 0; i < 20; i++) {
+            port.add(ACTOR, AuditEventType.USER_CREATED, BASE.plusSeconds(i));
+        }
+
+        AuditEventPage page = new ListAuditEventsUseCase(port).page(true, AuditEventFilter.none(), 20, null);
+
+        assertEquals(20, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void shouldRejectNonAdminAndInvalidFilters() {
+        ListAuditEventsUseCase useCase = new ListAuditEventsUseCase(new FakeQueryPort());
+
+        assertThrows(IllegalArgumentException.class, () -> useCase.page(false, AuditEventFilter.none(), 10, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> useCase.page(true, new AuditEventFilter(null, null, null, ACTOR, null, null), 10, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> useCase.page(true, new AuditEventFilter(null, null, null, null, BASE, BASE), 10, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> useCase.page(true, AuditEventFilter.none(), 10, "não-é-um-cursor"));
+    }
+
+    @Test
+    void shouldRoundTripCursor() {
+        AuditEventCursor cursor = new AuditEventCursor(Instant.parse("2026-09-10T12:00:00.123456Z"), ACTOR);
+
+        assertEquals(cursor, AuditEventCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void shouldExportLazilyInBatches() {
+        FakeQueryPort port = new FakeQueryPort();
+        int total = ListAuditEventsUseCase.EXPORT_BATCH_SIZE * 2 + 3;
+        for (int i = 0; i < total; i++) {
+            port.add(i % 2 == 0 ? ACTOR : OTHER, AuditEventType.SERVICE_REQUESTED, BASE.plusMillis(i));
+        }
+
+        ListAuditEventsUseCase useCase = new ListAuditEventsUseCase(port);
+
+        assertThrows(IllegalArgumentException.class, () -> useCase.exportAll(false, AuditEventFilter.none()));
+
+        Iterable<AuditEventSummary> rows = useCase.exportAll(true, AuditEventFilter.none());
+        // Nada é lido antes de percorrer.
+        assertEquals(0, port.pageCalls.get());
+
+        int count = 0;
+        for (AuditEventSummary ignored : rows) {
+            count++;
+        }
+
+        assertEquals(total, count);
+        assertEquals(3, port.pageCalls.get());
+    }
+
+    // -----------------------
+    // Fake (port) para teste
+    // -----------------------
+
+    /**
+     * Simula o banco: filtros de igualdade, faixa [from, to) e ordem occurred_at DESC, id DESC
+     * (id comparado como texto: no BINARY(16) a ordem dos bytes é a mesma do texto).
+     */
+    static class FakeQueryPort implements AuditEventQueryPort {
+        private static final Comparator<AuditEventSummary> ORDER = Comparator
+                .comparing(AuditEventSummary::occurredAt)
+                .thenComparing(e -> e.id().toString())
+                .reversed();
+
+        final List<AuditEventSummary> db = new ArrayList<>();
+        final AtomicInteger pageCalls = new AtomicInteger();
+
+        void add(UUID actor, AuditEventType type, Instant occurredAt) {
+            db.add(new AuditEventSummary(UuidV7.next(), type.name(), occurredAt, actor, "user@exemplo.com",
+                    "127.0.0.1", "POST", "/api/v1/auth/login", true, null, null));
+        }
+
+        List<UUID> sortedIds(AuditEventFilter filter) {
+            return db.stream().filter(e -> matches(filter, e)).sorted(ORDER).map(AuditEventSummary::id).toList();
+        }
+
+        @Override
+        public List<AuditEventSummary> findPage(AuditEventFilter filter, Instant beforeOccurredAt, UUID beforeId, int limit) {
+            pageCalls.incrementAndGet();
+            return db.stream()
+                    .filter(e -> matches(filter, e))
+                    .filter(e -> beforeOccurredAt == null
+                            || e.occurredAt().isBefore(beforeOccurredAt)
+                            || (e.occurredAt().equals(beforeOccurredAt) && e.id().toString().compareTo(beforeId.toString()) < 0))
+                    .sorted(ORDER)
+                    .limit(limit)
+                    .toList();
+        }
+
+        private static boolean matches(AuditEventFilter f, AuditEventSummary e) {
+            return (f.actorUserId() == null || f.actorUserId().equals(e.actorUserId()))
+                    && (f.eventType() == null || f.eventType().name().equals(e.eventType()))
+                    && (f.targetType() == null || f.targetType().equals(e.targetType()))
+                    && (f.targetId() == null || f.targetId().equals(e.targetId()))
+                    && (f.from() == null || !e.occurredAt().isBefore(f.from()))
+                    && (f.to() == null || e.occurredAt().isBefore(f.to()));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.hubinfo.bench;
+
+import br.com.hubinfo.cnpj.domain.Cnpj;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Normalização de CNPJ por requisição/item de lote.
+ *
+ * - regexReplaceAll: caminho anterior (replaceAll("\\D", "") + checagem de tamanho, sem dígitos verificadores).
+ * - cnpjValidate: Cnpj.validate (uma passada, sem alocação).
+ * - cnpjParse: Cnpj.parse (validação + String normalizada; sem cópia quando já normalizado).
+ *
+ * Execução: mvn -Pbench test-compile exec:exec -Dbench=CnpjNormalizationBenchmark
+ * (para ver B/op, rodar org.openjdk.jmh.Main com "-prof gc" no classpath de teste).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CnpjNormalizationBenchmark {
+
+    @Param({"11.222.333/0001-81", "11222333000181"})
+    public String raw;
+
+    @Benchmark
+    public String regexReplaceAll() {
+        String digits = raw.replaceAll("\\D", "");
+        if (digits.length() != 14) {
+            throw new IllegalArgumentException("CNPJ inválido. Deve conter 14 dígitos.");
+        }
+        return digits;
+    }
+
+    @Benchmark
+    public Cnpj.Validation cnpjValidate() {
+        return Cnpj.validate(raw);
+    }
+
+    @Benchmark
+    public String cnpjParse() {
+        return Cnpj.parse(raw).value();
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.hubinfo.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gerador de carga HTTP para comparar o perfil virtual-threads com o padrão (threads de plataforma).
+ *
+ * Cada cliente é uma virtual thread; todos começam juntos e repetem GET na URL
+ * (conexões simultâneas = clientes). Saída: throughput, latências (p50/p99/max) e contagem por status.
+ *
+ * Execução (app rodando; token opcional em HUBINFO_BENCH_TOKEN):
+ *   mvn -Pbench test-compile exec:exec \
+ *     -Dexec.args="-classpath %classpath br.com.hubinfo.bench.HttpLoadDriver http://localhost:8080/api/v1/services/requests?limit=20 10000 5"
+ *
+ * Argumentos: url [clientes=10000] [requisições por cliente=5] [timeout em segundos=60]
+ */
+public final class HttpLoadDriver {
+
+    private HttpLoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args[0]);
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int perClient = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        Duration timeout = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 60);
+        String token = System.getenv("HUBINFO_BENCH_TOKEN");
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(timeout).GET();
+        if (token != null && !token.isBlank()) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+
+        long[] latencies = new long[clients * perClient];
+        AtomicInteger next = new AtomicInteger();
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        CountDownLatch ready = new CountDownLatch(clients);
+        CountDownLatch go = new CountDownLatch(1);
+
+        // HTTP/1.1 sem limite de pool: cada requisição simultânea abre/usa sua própria conexão.
+        try (HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                executor.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    for (int i = 0; i < perClient; i++) {
+                        long start = System.nanoTime();
+                        String outcome;
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            outcome = String.valueOf(response.statusCode());
+                        } catch (Exception ex) {
+                            outcome = ex.getClass().getSimpleName();
+                        }
+                        latencies[next.getAndIncrement()] = System.nanoTime() - start;
+                        outcomes.computeIfAbsent(outcome, k -> new LongAdder()).increment();
+                    }
+                    return null;
+                });
+            }
+
+            ready.await();
+            long started = System.nanoTime();
+            go.countDown();
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.HOURS);
+            report(uri, clients, perClient, System.nanoTime() - started, latencies, outcomes);
+        }
+    }
+
+    private static void report(URI uri, int clients, int perClient, long elapsedNanos,
+                               long[] latencies, Map<String, LongAdder> outcomes) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1e9;
+
+        System.out.printf("url=%s clients=%d requests=%d elapsed=%.1fs%n", uri, clients, sorted.length, seconds);
+        System.out.printf("throughput=%.0f req/s%n", sorted.length / seconds);
+        System.out.printf("latency p50=%dms p99=%dms max=%dms%n",
+                millis(sorted, 0.50), millis(sorted, 0.99), sorted[sorted.length - 1] / 1_000_000);
+        new TreeMap<>(outcomes).forEach((k, v) -> System.out.printf("  %s: %d%n", k, v.sum()));
+    }
+
+    private static long millis(long[] sorted, double percentile) {
+        int idx = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, idx)] / 1_000_000;
+    }
+}
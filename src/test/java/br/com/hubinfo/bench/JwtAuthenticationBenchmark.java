@@ -0,0 +1,91 @@
+package br.com.hubinfo.bench;
+
+import br.com.hubinfo.security.HubInfoPrincipal;
+import br.com.hubinfo.security.jwt.JwtAuthenticationCache;
+import br.com.hubinfo.security.jwt.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Custo de autenticação por requisição no JwtAuthenticationFilter (mesmo token reutilizado).
+ *
+ * - rebuildParserPerRequest: comportamento anterior (parser novo + verificação + montagem da autenticação).
+ * - sharedParser: parser construído uma vez no JwtService, ainda verificando a cada requisição.
+ * - cached: JwtAuthenticationCache (SHA-256 do token + lookup).
+ *
+ * Execução: mvn -Pbench test-compile exec:exec -Dbench=JwtAuthenticationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "bench-secret-bench-secret-bench-secret-0123456789";
+
+    private SecretKey key;
+    private JwtService jwtService;
+    private JwtAuthenticationCache cache;
+    private String token;
+
+    @Setup
+    public void setup() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtService = new JwtService(SECRET, "hubinfo-bench", 60);
+        cache = new JwtAuthenticationCache(jwtService, 10_000);
+        token = jwtService.issueAccessToken(UUID.randomUUID(), "bench@hubinfo.local", Set.of("ADMIN", "USER")).value();
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken rebuildParserPerRequest() {
+        Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        return toAuthentication(claims);
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken sharedParser() {
+        return toAuthentication(jwtService.parse(token));
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken cached() {
+        return cache.authenticate(token);
+    }
+
+    // Mesma montagem que o filtro fazia antes do cache.
+    private static UsernamePasswordAuthenticationToken toAuthentication(Claims claims) {
+        UUID userId = UUID.fromString(claims.getSubject());
+        String email = claims.get("email", String.class);
+
+        @SuppressWarnings("unchecked")
+        Set<String> roles = Set.copyOf((Collection<String>) claims.get("roles"));
+        var authorities = roles.stream()
+                .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
+                .collect(Collectors.toSet());
+
+        return new UsernamePasswordAuthenticationToken(new HubInfoPrincipal(userId, email), null, authorities);
+    }
+}
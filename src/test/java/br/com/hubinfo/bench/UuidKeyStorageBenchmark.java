@@ -0,0 +1,136 @@
+package br.com.hubinfo.bench;
+
+import br.com.hubinfo.common.id.UuidV7;
+import br.com.hubinfo.common.persistence.UuidBinary;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Compara o layout antigo das chaves (CHAR(36) + UUID v4) com o novo (BINARY(16) + UUID v7) no MySQL real.
+ *
+ * Para cada layout cria uma tabela no formato de service_requests (PK + índice por usuário/data),
+ * insere N linhas em lotes (rewriteBatchedStatements) e mede linhas/s e o tamanho de dados/índices
+ * (information_schema, depois de ANALYZE). As tabelas bench_* são apagadas ao final.
+ *
+ * Execução:
+ *   mvn -Pbench test-compile exec:exec \
+ *     -Dexec.args="-classpath %classpath br.com.hubinfo.bench.UuidKeyStorageBenchmark jdbc:mysql://127.0.0.1:3306/hubinfo?rewriteBatchedStatements=true hubinfo hubinfo 500000"
+ *
+ * Argumentos: url usuário senha [linhas=500000] [lote=1000]
+ */
+public final class UuidKeyStorageBenchmark {
+
+    private static final int USERS = 200;
+
+    private UuidKeyStorageBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = args[0];
+        int rows = args.length > 3 ? Integer.parseInt(args[3]) : 500_000;
+        int batch = args.length > 4 ? Integer.parseInt(args[4]) : 1_000;
+
+        try (Connection c = DriverManager.getConnection(url, args[1], args[2])) {
+            run(c, new Layout("bench_keys_char36_v4", "CHAR(36) CHARACTER SET utf8mb4", "VARCHAR(14)") {
+                @Override
+                void bind(PreparedStatement ps, int index, UUID id) throws SQLException {
+                    ps.setString(index, id.toString());
+                }
+
+                @Override
+                UUID nextId() {
+                    return UUID.randomUUID();
+                }
+            }, rows, batch);
+
+            run(c, new Layout("bench_keys_binary16_v7", "BINARY(16)", "CHAR(14) CHARACTER SET ascii COLLATE ascii_bin") {
+                @Override
+                void bind(PreparedStatement ps, int index, UUID id) throws SQLException {
+                    UuidBinary.bind(ps, index, id);
+                }
+
+                @Override
+                UUID nextId() {
+                    return UuidV7.next();
+                }
+            }, rows, batch);
+        }
+    }
+
+    private static void run(Connection c, Layout layout, int rows, int batch) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS " + layout.table);
+            st.execute("CREATE TABLE " + layout.table + " ("
+                    + " id " + layout.keyType + " NOT NULL,"
+                    + " cnpj " + layout.cnpjType + " NOT NULL,"
+                    + " requested_by_user_id " + layout.keyType + " NULL,"
+                    + " requested_at DATETIME(6) NOT NULL,"
+                    + " PRIMARY KEY (id),"
+                    + " KEY idx_user_requested_at (requested_by_user_id, requested_at, id)"
+                    + ") ENGINE=InnoDB");
+        }
+
+        UUID[] users = new UUID[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = layout.nextId();
+        }
+
+        String sql = "INSERT INTO " + layout.table + " (id, cnpj, requested_by_user_id, requested_at) VALUES (?, ?, ?, NOW(6))";
+        boolean autoCommit = c.getAutoCommit();
+        c.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            for (int i = 1; i <= rows; i++) {
+                layout.bind(ps, 1, layout.nextId());
+                ps.setString(2, String.format("%014d", i));
+                layout.bind(ps, 3, users[i % USERS]);
+                ps.addBatch();
+                if (i % batch == 0 || i == rows) {
+                    ps.executeBatch();
+                    c.commit();
+                }
+            }
+        } finally {
+            c.setAutoCommit(autoCommit);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long data;
+        long index;
+        try (Statement st = c.createStatement()) {
+            st.execute("ANALYZE TABLE " + layout.table);
+            try (ResultSet rs = st.executeQuery("SELECT data_length, index_length FROM information_schema.tables"
+                    + " WHERE table_schema = DATABASE() AND table_name = '" + layout.table + "'")) {
+                rs.next();
+                data = rs.getLong(1);
+                index = rs.getLong(2);
+            }
+            st.execute("DROP TABLE " + layout.table);
+        }
+
+        System.out.printf("%-24s rows=%d  %.1fs  %,.0f rows/s  data=%.1f MiB  index=%.1f MiB%n",
+                layout.table, rows, seconds, rows / seconds, data / 1048576.0, index / 1048576.0);
+    }
+
+    private abstract static class Layout {
+        final String table;
+        final String keyType;
+        final String cnpjType;
+
+        Layout(String table, String keyType, String cnpjType) {
+            this.table = table;
+            this.keyType = keyType;
+            this.cnpjType = cnpjType;
+        }
+
+        abstract void bind(PreparedStatement ps, int index, UUID id) throws SQLException;
+
+        abstract UUID nextId();
+    }
+}
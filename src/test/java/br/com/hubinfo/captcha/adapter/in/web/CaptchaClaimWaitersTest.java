@@ -0,0 +1,156 @@
+package br.com.hubinfo.captcha.adapter.in.web;
+
+import br.com.hubinfo.captcha.config.CaptchaClaimProperties;
+import br.com.hubinfo.captcha.domain.CaptchaChallengeStatus;
+import br.com.hubinfo.captcha.usecase.CaptchaChallengeService;
+import br.com.hubinfo.service.domain.ServiceType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do long-poll de reserva (fila de espera e despacho), sem servlet/banco.
+ */
+class CaptchaClaimWaitersTest {
+
+    private final FakeService service = new FakeService();
+    private final CaptchaClaimProperties properties = new CaptchaClaimProperties();
+    private final CaptchaClaimWaiters waiters = new CaptchaClaimWaiters(service, properties, new SimpleMeterRegistry());
+
+    @Test
+    void freeChallengeShouldBeClaimedImmediately() {
+        UUID challenge = service.add();
+
+        var result = waiters.claim(UUID.randomUUID(), Duration.ofSeconds(30));
+
+        assertEquals(challenge, claimed(result));
+        assertEquals(0, waiters.waiting());
+    }
+
+    @Test
+    void zeroWaitShouldAnswerNoContentWhenPoolIsEmpty() {
+        var result = waiters.claim(UUID.randomUUID(), Duration.ZERO);
+
+        assertEquals(HttpStatus.NO_CONTENT, ((ResponseEntity<?>) result.getResult()).getStatusCode());
+    }
+
+    @Test
+    void waitersShouldBeServedInArrivalOrderWhenChallengesAppear() throws InterruptedException {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        var firstResult = waiters.claim(first, Duration.ofSeconds(30));
+        var secondResult = waiters.claim(second, Duration.ofSeconds(30));
+        assertEquals(2, waiters.waiting());
+
+        UUID challenge = service.add();
+        waiters.challengesAvailable();
+        awaitResult(firstResult);
+
+        assertEquals(challenge, claimed(firstResult));
+        assertEquals(List.of(first), service.claimedBy);
+        assertFalse(secondResult.hasResult());
+        assertEquals(1, waiters.waiting());
+    }
+
+    @Test
+    void tooManyWaitersShouldBeRejected() {
+        properties.setMaxWaiters(1);
+        waiters.claim(UUID.randomUUID(), Duration.ofSeconds(30));
+
+        assertThrows(CaptchaClaimBusyException.class, () -> waiters.claim(UUID.randomUUID(), Duration.ofSeconds(30)));
+        assertEquals(1, waiters.waiting());
+    }
+
+    private static UUID claimed(DeferredResult<ResponseEntity<CaptchaChallengeService.CaptchaClaim>> result) {
+        @SuppressWarnings("unchecked")
+        ResponseEntity<CaptchaChallengeService.CaptchaClaim> response =
+                (ResponseEntity<CaptchaChallengeService.CaptchaClaim>) result.getResult();
+        assertNotNull(response);
+        return response.getBody().challenge().id();
+    }
+
+    private static void awaitResult(DeferredResult<?> result) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!result.hasResult() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Pool em memória: claimNext entrega o próximo desafio livre e anota para quem.
+     */
+    static class FakeService implements CaptchaChallengeService {
+
+        final ConcurrentLinkedQueue<UUID> free = new ConcurrentLinkedQueue<>();
+        final List<UUID> claimedBy = new ArrayList<>();
+
+        UUID add() {
+            UUID id = UUID.randomUUID();
+            free.add(id);
+            return id;
+        }
+
+        @Override
+        public Optional<CaptchaClaim> claimNext(UUID solverUserId) {
+            UUID id = free.poll();
+            if (id == null) {
+                return Optional.empty();
+            }
+            claimedBy.add(solverUserId);
+            Instant now = Instant.now();
+            CaptchaChallengeView view = new CaptchaChallengeView(id, UUID.randomUUID(), "11222333000181", "HCAPTCHA",
+                    "site-key", "https://portal.example/page", "cnpjreva", CaptchaChallengeStatus.PENDING, now, null,
+                    now.plusSeconds(300));
+            return Optional.of(new CaptchaClaim(view, now.plusSeconds(90)));
+        }
+
+        @Override
+        public void releaseClaim(UUID challengeId, UUID solverUserId) {
+            free.add(challengeId);
+        }
+
+        @Override
+        public CaptchaChallengeView get(UUID id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public UUID createForServiceRequest(UUID actorUserId, String actorEmail, ServiceType serviceType, String cnpj,
+                                            UUID serviceRequestId, String provider, String siteKey, String pageUrl,
+                                            String contextKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void submitSolution(UUID challengeId, UUID solvedByUserId, String solvedByEmail, String solutionToken) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<String> consumeSolution(UUID challengeId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CaptchaChallengePage listOpen(CaptchaChallengeStatus status, int limit, String cursor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int expireStale() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
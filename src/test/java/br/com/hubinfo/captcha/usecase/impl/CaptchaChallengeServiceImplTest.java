@@ -0,0 +1,433 @@
+package br.com.hubinfo.captcha.usecase.impl;
+
+import br.com.hubinfo.audit.domain.AuditEventType;
+import br.com.hubinfo.audit.usecase.AuditService;
+import br.com.hubinfo.captcha.config.CaptchaClaimProperties;
+import br.com.hubinfo.captcha.config.CaptchaLifecycleProperties;
+import br.com.hubinfo.captcha.domain.CaptchaChallengeStatus;
+import br.com.hubinfo.captcha.usecase.CaptchaChallengeService.CaptchaChallengePage;
+import br.com.hubinfo.captcha.usecase.CaptchaChallengeService.CaptchaClaim;
+import br.com.hubinfo.captcha.usecase.port.CaptchaChallengeAvailability;
+import br.com.hubinfo.captcha.usecase.port.CaptchaChallengeRepositoryPort;
+import br.com.hubinfo.captcha.usecase.port.CaptchaSolvedListener;
+import br.com.hubinfo.notification.domain.UserEvent;
+import br.com.hubinfo.notification.domain.UserEventType;
+import br.com.hubinfo.service.domain.ServiceType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do ciclo de vida do desafio (PENDING → SOLVED → CONSUMED / EXPIRED), sem Spring/banco.
+ */
+class CaptchaChallengeServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private final FakeRepository repository = new FakeRepository();
+    private final CaptchaLifecycleProperties lifecycle = new CaptchaLifecycleProperties();
+    private final CaptchaClaimProperties claims = new CaptchaClaimProperties();
+    private final List<UserEvent> events = new ArrayList<>();
+    private final AtomicInteger availabilitySignals = new AtomicInteger();
+    private final List<UUID> solvedForRequests = new ArrayList<>();
+    private final CaptchaChallengeServiceImpl service = new CaptchaChallengeServiceImpl(repository,
+            new NoopAuditService(), lifecycle, claims, events::add,
+            provider(CaptchaChallengeAvailability.class, availabilitySignals::incrementAndGet),
+            provider(CaptchaSolvedListener.class, (challengeId, serviceRequestId, solvedAt) -> solvedForRequests.add(serviceRequestId)),
+            clock);
+
+    @Test
+    void solutionShouldNotifyChallengeCreator() {
+        UUID id = create();
+        UUID creator = repository.rows.get(id).createdByUserId;
+
+        service.submitSolution(id, UUID.randomUUID(), "op@hubinfo.local", "token");
+        service.submitSolution(id, UUID.randomUUID(), "op@hubinfo.local", "token");
+
+        assertEquals(1, events.size());
+        UserEvent event = events.get(0);
+        assertEquals(creator, event.userId());
+        assertEquals(UserEventType.CAPTCHA_CHALLENGE, event.type());
+        assertEquals(id, event.subjectId());
+        assertEquals("SOLVED", event.status());
+    }
+
+    @Test
+    void solutionShouldTriggerContinuationOnce() {
+        UUID id = create();
+        UUID serviceRequestId = repository.rows.get(id).serviceRequestId;
+
+        service.submitSolution(id, UUID.randomUUID(), "op@hubinfo.local", "token");
+        service.submitSolution(id, UUID.randomUUID(), "op@hubinfo.local", "token");
+
+        assertEquals(List.of(serviceRequestId), solvedForRequests);
+    }
+
+    @Test
+    void solutionShouldBeConsumedOnlyOnce() {
+        UUID id = create();
+        service.submitSolution(id, UUID.randomUUID(), "op@hubinfo.local", "token-1");
+
+        assertEquals(Optional.of("token-1"), service.consumeSolution(id));
+        assertEquals(Optional.empty(), service.consumeSolution(id));
+        assertEquals(CaptchaChallengeStatus.CONSUMED, service.get(id).status());
+
+        // Reenvio depois do consumo é idempotente e não devolve o desafio para SOLVED.
+        service.submitSolution(id, UUID.randomUUID(), "op@hubinfo.local", "token-2");
+        assertEquals(CaptchaChallengeStatus.CONSUMED, service.get(id).status());
+    }
+
+    @Test
+    void stalePendingShouldRejectSolutionEvenBeforeSweep() {
+        UUID id = create();
+        clock.advance(lifecycle.getPendingTtl().plusSeconds(1));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.submitSolution(id, UUID.randomUUID(), "op@hubinfo.local", "token"));
+        assertEquals(CaptchaChallengeStatus.PENDING, service.get(id).status());
+    }
+
+    @Test
+    void expiredTokenShouldNotBeConsumed() {
+        UUID id = create();
+        service.submitSolution(id, UUID.randomUUID(), "op@hubinfo.local", "token");
+        clock.advance(lifecycle.getSolvedTtl().plusSeconds(1));
+
+        assertEquals(Optional.empty(), service.consumeSolution(id));
+    }
+
+    @Test
+    void sweepShouldExpireInBatchesAndClearTokens() {
+        lifecycle.setSweepBatchSize(2);
+        for (int i = 0; i < 5; i++) {
+            create();
+        }
+        UUID solved = create();
+        service.submitSolution(solved, UUID.randomUUID(), "op@hubinfo.local", "token");
+
+        clock.advance(lifecycle.getPendingTtl().plusSeconds(1));
+        UUID fresh = create();
+
+        assertEquals(6, service.expireStale());
+        assertEquals(0, service.expireStale());
+        assertEquals(CaptchaChallengeStatus.EXPIRED, service.get(solved).status());
+        assertNull(repository.rows.get(solved).token);
+        assertEquals(CaptchaChallengeStatus.PENDING, service.get(fresh).status());
+        // 5 PENDING em lotes de 2 = 3 UPDATEs; SOLVED = 1 UPDATE (segunda rodada: mais 2).
+        assertEquals(6, repository.expireCalls);
+    }
+
+    @Test
+    void openQueueShouldListOnlyValidChallengesNewestFirstWithCursor() {
+        UUID stale = create();
+        clock.advance(lifecycle.getPendingTtl().plusSeconds(1));
+        List<UUID> created = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            created.add(create());
+            clock.advance(Duration.ofSeconds(1));
+        }
+
+        CaptchaChallengePage first = service.listOpen(CaptchaChallengeStatus.PENDING, 2, null);
+        assertEquals(List.of(created.get(2), created.get(1)), first.items().stream().map(v -> v.id()).toList());
+        assertNotNull(first.nextCursor());
+
+        CaptchaChallengePage second = service.listOpen(CaptchaChallengeStatus.PENDING, 2, first.nextCursor());
+        assertEquals(List.of(created.get(0)), second.items().stream().map(v -> v.id()).toList());
+        assertNull(second.nextCursor());
+        assertFalse(second.items().stream().anyMatch(v -> v.id().equals(stale)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.listOpen(CaptchaChallengeStatus.EXPIRED, 10, null));
+    }
+
+    @Test
+    void claimShouldHandOutOldestChallengeWithEnoughTimeLeft() {
+        UUID almostExpired = create();
+        clock.advance(lifecycle.getPendingTtl().minus(claims.getMinRemaining()).plusSeconds(1));
+        UUID oldest = create();
+        clock.advance(Duration.ofSeconds(1));
+        UUID newest = create();
+
+        UUID solverA = UUID.randomUUID();
+        UUID solverB = UUID.randomUUID();
+        CaptchaClaim first = service.claimNext(solverA).orElseThrow();
+        CaptchaClaim second = service.claimNext(solverB).orElseThrow();
+
+        assertEquals(oldest, first.challenge().id());
+        assertEquals(newest, second.challenge().id());
+        assertEquals(Optional.empty(), service.claimNext(UUID.randomUUID()));
+        assertEquals(CaptchaChallengeStatus.PENDING, service.get(almostExpired).status());
+        assertEquals(clock.instant().plus(claims.getLease()), second.leaseExpiresAt());
+    }
+
+    @Test
+    void leaseShouldNeverOutliveChallenge() {
+        claims.setLease(lifecycle.getPendingTtl());
+        UUID id = create();
+        clock.advance(Duration.ofMinutes(1));
+
+        CaptchaClaim claim = service.claimNext(UUID.randomUUID()).orElseThrow();
+
+        assertEquals(service.get(id).expiresAt(), claim.leaseExpiresAt());
+    }
+
+    @Test
+    void claimedChallengeShouldOnlyBeSolvedByItsSolverWhileLeaseIsActive() {
+        UUID id = create();
+        UUID owner = UUID.randomUUID();
+        service.claimNext(owner).orElseThrow();
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.submitSolution(id, UUID.randomUUID(), "other@hubinfo.local", "token"));
+        assertTrue(ex.getMessage().contains("reservado"));
+        assertTrue(service.listOpen(CaptchaChallengeStatus.PENDING, 10, null).items().isEmpty());
+
+        service.submitSolution(id, owner, "owner@hubinfo.local", "token");
+        assertEquals(CaptchaChallengeStatus.SOLVED, service.get(id).status());
+    }
+
+    @Test
+    void expiredLeaseShouldReturnChallengeToPool() {
+        UUID id = create();
+        service.claimNext(UUID.randomUUID()).orElseThrow();
+        clock.advance(claims.getLease().plusSeconds(1));
+
+        UUID next = UUID.randomUUID();
+        assertEquals(id, service.claimNext(next).orElseThrow().challenge().id());
+    }
+
+    @Test
+    void releaseShouldReturnChallengeAndSignalWaiters() {
+        UUID id = create();
+        UUID owner = UUID.randomUUID();
+        service.claimNext(owner).orElseThrow();
+        int signalsBefore = availabilitySignals.get();
+
+        service.releaseClaim(id, UUID.randomUUID()); // não é o dono: sem efeito
+        assertEquals(Optional.empty(), service.claimNext(UUID.randomUUID()));
+
+        service.releaseClaim(id, owner);
+        assertEquals(signalsBefore + 1, availabilitySignals.get());
+        assertEquals(id, service.claimNext(UUID.randomUUID()).orElseThrow().challenge().id());
+    }
+
+    private static <T> ObjectProvider<T> provider(Class<T> type, T bean) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean(type.getSimpleName(), bean);
+        return beans.getBeanProvider(type);
+    }
+
+    private UUID create() {
+        return service.createForServiceRequest(UUID.randomUUID(), "agent@hubinfo.local",
+                ServiceType.CNPJ_DADOS_CADASTRAIS, "11222333000181", UUID.randomUUID(),
+                "HCAPTCHA", "site-key", "https://portal.example/page", "cnpjreva");
+    }
+
+    /**
+     * Simula as transições condicionais do banco (UPDATE ... WHERE status = ?).
+     */
+    static class FakeRepository implements CaptchaChallengeRepositoryPort {
+
+        final Map<UUID, Row> rows = new LinkedHashMap<>();
+        int expireCalls;
+
+        static class Row {
+            UUID id;
+            UUID serviceRequestId;
+            UUID createdByUserId;
+            CaptchaChallengeStatus status;
+            Instant createdAt;
+            Instant solvedAt;
+            String token;
+            UUID claimedByUserId;
+            Instant claimExpiresAt;
+        }
+
+        @Override
+        public Optional<CaptchaChallengeView> findById(UUID id) {
+            return Optional.ofNullable(rows.get(id)).map(FakeRepository::view);
+        }
+
+        @Override
+        public UUID create(UUID serviceRequestId, String cnpj, UUID createdByUserId, String createdByEmail,
+                           String pageUrl, String siteKey, String provider, String contextKey,
+                           CaptchaChallengeStatus status, Instant createdAt) {
+            Row r = new Row();
+            r.id = UUID.randomUUID();
+            r.serviceRequestId = serviceRequestId;
+            r.createdByUserId = createdByUserId;
+            r.status = status;
+            r.createdAt = createdAt;
+            rows.put(r.id, r);
+            return r.id;
+        }
+
+        @Override
+        public boolean markSolved(UUID id, UUID solverUserId, String solutionToken, Instant solvedAt,
+                                  Instant createdAfter) {
+            Row r = rows.get(id);
+            if (r == null || r.status != CaptchaChallengeStatus.PENDING || r.createdAt.isBefore(createdAfter)
+                    || (claimed(r, solvedAt) && !solverUserId.equals(r.claimedByUserId))) {
+                return false;
+            }
+            r.status = CaptchaChallengeStatus.SOLVED;
+            r.solvedAt = solvedAt;
+            r.token = solutionToken;
+            r.claimExpiresAt = null;
+            return true;
+        }
+
+        @Override
+        public Optional<CaptchaChallengeView> claimNext(UUID solverUserId, Instant createdFrom, Instant now,
+                                                        Instant leaseExpiresAt) {
+            Optional<Row> next = rows.values().stream()
+                    .filter(r -> r.status == CaptchaChallengeStatus.PENDING && !r.createdAt.isBefore(createdFrom))
+                    .filter(r -> !claimed(r, now))
+                    .min(Comparator.<Row, Instant>comparing(r -> r.createdAt).thenComparing(r -> r.id));
+            next.ifPresent(r -> {
+                r.claimedByUserId = solverUserId;
+                r.claimExpiresAt = leaseExpiresAt;
+            });
+            return next.map(FakeRepository::view);
+        }
+
+        @Override
+        public boolean releaseClaim(UUID id, UUID solverUserId, Instant now) {
+            Row r = rows.get(id);
+            if (r == null || r.status != CaptchaChallengeStatus.PENDING || !claimed(r, now)
+                    || !solverUserId.equals(r.claimedByUserId)) {
+                return false;
+            }
+            r.claimExpiresAt = null;
+            return true;
+        }
+
+        private static boolean claimed(Row r, Instant now) {
+            return r.claimExpiresAt != null && r.claimExpiresAt.isAfter(now);
+        }
+
+        @Override
+        public Optional<String> consume(UUID id, Instant solvedAfter, Instant consumedAt) {
+            Row r = rows.get(id);
+            if (r == null || r.status != CaptchaChallengeStatus.SOLVED || r.solvedAt.isBefore(solvedAfter)) {
+                return Optional.empty();
+            }
+            String token = r.token;
+            r.status = CaptchaChallengeStatus.CONSUMED;
+            r.token = null;
+            return Optional.of(token);
+        }
+
+        @Override
+        public int expirePending(Instant createdBefore, int limit) {
+            return expire(CaptchaChallengeStatus.PENDING, r -> r.createdAt.isBefore(createdBefore), limit);
+        }
+
+        @Override
+        public int expireSolved(Instant solvedBefore, int limit) {
+            return expire(CaptchaChallengeStatus.SOLVED, r -> r.solvedAt.isBefore(solvedBefore), limit);
+        }
+
+        private int expire(CaptchaChallengeStatus status, Predicate<Row> due, int limit) {
+            expireCalls++;
+            List<Row> batch = rows.values().stream()
+                    .filter(r -> r.status == status && due.test(r))
+                    .sorted(Comparator.comparing(r -> r.createdAt))
+                    .limit(limit)
+                    .toList();
+            batch.forEach(r -> {
+                r.status = CaptchaChallengeStatus.EXPIRED;
+                r.token = null;
+            });
+            return batch.size();
+        }
+
+        @Override
+        public List<CaptchaChallengeView> findOpenPage(CaptchaChallengeStatus status, Instant createdFrom,
+                                                       Instant solvedFrom, Instant now, Instant beforeCreatedAt,
+                                                       UUID beforeId, int limit) {
+            Comparator<Row> newestFirst = Comparator.<Row, Instant>comparing(r -> r.createdAt)
+                    .thenComparing(r -> r.id)
+                    .reversed();
+            return rows.values().stream()
+                    .filter(r -> r.status == status && !r.createdAt.isBefore(createdFrom))
+                    .filter(r -> r.solvedAt == null || !r.solvedAt.isBefore(solvedFrom))
+                    .filter(r -> !claimed(r, now))
+                    .filter(r -> beforeCreatedAt == null || r.createdAt.isBefore(beforeCreatedAt)
+                            || (r.createdAt.equals(beforeCreatedAt) && r.id.compareTo(beforeId) < 0))
+                    .sorted(newestFirst)
+                    .limit(limit)
+                    .map(FakeRepository::view)
+                    .toList();
+        }
+
+        private static CaptchaChallengeView view(Row r) {
+            return new CaptchaChallengeView(r.id, r.serviceRequestId, "11222333000181", "HCAPTCHA", "site-key",
+                    "https://portal.example/page", "cnpjreva", r.status, r.createdAt, r.solvedAt, r.createdByUserId,
+                    r.claimedByUserId, r.claimExpiresAt);
+        }
+    }
+
+    static class NoopAuditService implements AuditService {
+
+        @Override
+        public void auditServiceRequestCreated(UUID actorUserId, String actorEmail, String serviceType,
+                                               String requestId, boolean success) {
+        }
+
+        @Override
+        public void record(AuditEventType eventType, UUID actorUserId, String actorEmail, boolean success,
+                           String targetType, UUID targetId, Map<String, Object> details) {
+        }
+
+        @Override
+        public void serviceRequestCreated(UUID actorUserId, String actorEmail, String serviceType,
+                                          UUID requestId, boolean success, Map<String, Object> details) {
+        }
+    }
+
+    static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package br.com.hubinfo.cnpj.domain;
+
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do Cnpj: exemplos conhecidos + propriedades (jqwik) contra uma implementação de referência
+ * escrita direto da regra da Receita (sem otimização), e contra o caminho antigo por regex.
+ */
+class CnpjTest {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    @Example
+    void knownNumericAndAlphanumericCnpjs() {
+        assertEquals("11222333000181", Cnpj.parse("11.222.333/0001-81").value());
+        assertEquals("11444777000161", Cnpj.parse(" 11444777000161 ").value());
+        // Exemplo publicado pela Receita para o formato alfanumérico.
+        Cnpj alpha = Cnpj.parse("12.abc.345/01de-35");
+        assertEquals("12ABC34501DE35", alpha.value());
+        assertTrue(alpha.isAlphanumeric());
+        assertEquals("12.ABC.345/01DE-35", alpha.formatted());
+        assertFalse(Cnpj.parse("11222333000181").isAlphanumeric());
+    }
+
+    @Example
+    void rejectionReasons() {
+        assertEquals(Cnpj.Validation.MISSING, Cnpj.validate(null));
+        assertEquals(Cnpj.Validation.MISSING, Cnpj.validate(" ./- "));
+        assertEquals(Cnpj.Validation.INVALID_LENGTH, Cnpj.validate("1122233300018"));
+        assertEquals(Cnpj.Validation.INVALID_LENGTH, Cnpj.validate("112223330001811"));
+        assertEquals(Cnpj.Validation.INVALID_CHARACTERS, Cnpj.validate("11#222333000181"));
+        assertEquals(Cnpj.Validation.INVALID_CHARACTERS, Cnpj.validate("112223330001A1"));
+        assertEquals(Cnpj.Validation.INVALID_CHECK_DIGITS, Cnpj.validate("11222333000182"));
+        assertEquals(Cnpj.Validation.INVALID_CHECK_DIGITS, Cnpj.validate("11111111111111"));
+        assertEquals(Cnpj.Validation.INVALID_CHECK_DIGITS, Cnpj.validate("00000000000000"));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> Cnpj.parse(null));
+        assertEquals("CNPJ é obrigatório.", ex.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> new Cnpj("11.222.333/0001-81"));
+    }
+
+    @Property
+    void everyBaseWithReferenceCheckDigitsIsValidWithOrWithoutMask(@ForAll("bases") String base,
+                                                                  @ForAll boolean masked,
+                                                                  @ForAll boolean lowercase) {
+        String expected = withReferenceCheckDigits(base);
+        String input = masked ? mask(expected) : expected;
+        if (lowercase) {
+            input = input.toLowerCase(Locale.ROOT);
+        }
+
+        assertEquals(Cnpj.Validation.VALID, Cnpj.validate(input));
+        assertEquals(expected, Cnpj.parse(input).value());
+    }
+
+    @Property
+    void anyOtherCheckDigitsAreRejected(@ForAll("bases") String base, @ForAll("checkDigits") String dv) {
+        String expected = withReferenceCheckDigits(base);
+        String candidate = base + dv;
+        if (candidate.equals(expected)) {
+            return;
+        }
+        assertEquals(Cnpj.Validation.INVALID_CHECK_DIGITS, Cnpj.validate(candidate));
+    }
+
+    @Property
+    void parseAgreesWithValidateOnArbitraryInput(@ForAll("noisy") String raw) {
+        Cnpj.Validation validation = Cnpj.validate(raw);
+        if (validation == Cnpj.Validation.VALID) {
+            Cnpj cnpj = Cnpj.parse(raw);
+            assertEquals(Cnpj.LENGTH, cnpj.value().length());
+            // Idempotente: normalizado e com máscara voltam ao mesmo valor.
+            assertEquals(cnpj, Cnpj.parse(cnpj.value()));
+            assertEquals(cnpj, Cnpj.parse(cnpj.formatted()));
+        } else {
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> Cnpj.parse(raw));
+            assertEquals(Cnpj.message(validation), ex.getMessage());
+        }
+    }
+
+    @Property
+    void numericInputNormalizesLikeTheOldRegexPath(@ForAll("numericWithMask") String raw) {
+        String digits = raw.replaceAll("\\D", "");
+        if (Cnpj.isValid(raw)) {
+            assertEquals(digits, Cnpj.parse(raw).value());
+        } else if (digits.length() == 14) {
+            // Antes aceito; agora só rejeitado por dígito verificador.
+            assertEquals(Cnpj.Validation.INVALID_CHECK_DIGITS, Cnpj.validate(raw));
+        }
+    }
+
+    @Provide
+    Arbitrary<String> bases() {
+        return Arbitraries.oneOf(
+                        Arbitraries.strings().numeric().ofLength(12),
+                        Arbitraries.strings().withChars(ALPHABET).ofLength(12))
+                .filter(base -> !isRepeated(withReferenceCheckDigits(base)));
+    }
+
+    @Provide
+    Arbitrary<String> checkDigits() {
+        return Arbitraries.strings().numeric().ofLength(2);
+    }
+
+    @Provide
+    Arbitrary<String> noisy() {
+        return Arbitraries.oneOf(
+                Arbitraries.strings().withChars(ALPHABET + "abcxyz./- #_").ofMinLength(0).ofMaxLength(24),
+                bases().map(CnpjTest::withReferenceCheckDigits).map(CnpjTest::mask),
+                Arbitraries.strings().all().ofMaxLength(20));
+    }
+
+    @Provide
+    Arbitrary<String> numericWithMask() {
+        return Arbitraries.oneOf(
+                Arbitraries.strings().withChars("0123456789./-").ofMinLength(12).ofMaxLength(20),
+                bases().filter(b -> b.chars().allMatch(Character::isDigit))
+                        .map(CnpjTest::withReferenceCheckDigits).map(CnpjTest::mask));
+    }
+
+    /**
+     * Referência: valor de cada caractere = código ASCII - 48; pesos 2..9 da direita para a esquerda;
+     * DV = 0 se resto < 2, senão 11 - resto.
+     */
+    private static String withReferenceCheckDigits(String base) {
+        String withDv1 = base + referenceDigit(base);
+        return withDv1 + referenceDigit(withDv1);
+    }
+
+    private static int referenceDigit(String prefix) {
+        int sum = 0;
+        int weight = 2;
+        for (int i = prefix.length() - 1; i >= 0; i--) {
+            sum += (prefix.charAt(i) - 48) * weight;
+            weight = weight == 9 ? 2 : weight + 1;
+        }
+        int mod = sum % 11;
+        return mod < 2 ? 0 : 11 - mod;
+    }
+
+    private static boolean isRepeated(String cnpj) {
+        return cnpj.chars().distinct().count() == 1;
+    }
+
+    private static String mask(String cnpj) {
+        return cnpj.substring(0, 2) + "." + cnpj.substring(2, 5) + "." + cnpj.substring(5, 8)
+                + "/" + cnpj.substring(8, 12) + "-" + cnpj.substring(12);
+    }
+}
@@ -0,0 +1,157 @@
+package br.com.hubinfo.cnpj.usecase.impl;
+
+import br.com.hubinfo.audit.domain.AuditEventType;
+import br.com.hubinfo.audit.usecase.AuditService;
+import br.com.hubinfo.captcha.config.HcaptchaChallengeResolver;
+import br.com.hubinfo.captcha.domain.CaptchaChallengeStatus;
+import br.com.hubinfo.captcha.usecase.CaptchaChallengeService;
+import br.com.hubinfo.cnpj.usecase.RequestCnpjDataUseCase;
+import br.com.hubinfo.service.ServiceConfig;
+import br.com.hubinfo.service.domain.ServiceRequestStatus;
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.ServiceRequestRegister;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da coalescência de desafios do CNPJReva (sem Spring/banco).
+ */
+class RequestCnpjDataServiceTest {
+
+    private static final String CNPJ = "11222333000181";
+
+    private final FakeRegister register = new FakeRegister();
+    private final FakeChallenges challenges = new FakeChallenges();
+    private final RequestCnpjDataService service = new RequestCnpjDataService(
+            register,
+            challenges,
+            new HcaptchaChallengeResolver(new MockEnvironment()
+                    .withProperty("hubinfo.captcha.hcaptcha.challenges.CNPJ_DADOS_CADASTRAIS.siteKey", "k")
+                    .withProperty("hubinfo.captcha.hcaptcha.challenges.CNPJ_DADOS_CADASTRAIS.pageUrl", "https://portal")),
+            new NoopAudit(),
+            new ServiceConfig().captchaChallengeFlights()
+    );
+
+    @Test
+    void lateFollowerShouldGetItsOwnChallenge() {
+        RequestCnpjDataUseCase.Result first = service.request(null, "a@hubinfo.local", CNPJ);
+        // O desafio da primeira pode ser resolvido e consumido a qualquer momento depois de criado.
+        RequestCnpjDataUseCase.Result late = service.request(null, "b@hubinfo.local", CNPJ);
+
+        assertNotEquals(first.captchaChallengeId(), late.captchaChallengeId());
+        assertEquals(2, challenges.created.get());
+        assertNull(register.coalescedWith.get(late.requestId()));
+    }
+
+    @Test
+    void concurrentRequestsShouldShareTheChallengeBeingCreated() throws Exception {
+        challenges.block = new CountDownLatch(1);
+        RequestCnpjDataUseCase.Result[] results = new RequestCnpjDataUseCase.Result[2];
+
+        Thread leader = Thread.ofVirtual().start(() -> results[0] = service.request(null, "a@hubinfo.local", CNPJ));
+        assertTrue(challenges.entered.await(5, TimeUnit.SECONDS));
+        Thread follower = Thread.ofVirtual().start(() -> results[1] = service.request(null, "b@hubinfo.local", CNPJ));
+        while (follower.getState() != Thread.State.WAITING && follower.isAlive()) {
+            Thread.onSpinWait();
+        }
+        challenges.block.countDown();
+        leader.join();
+        follower.join();
+
+        assertEquals(results[0].captchaChallengeId(), results[1].captchaChallengeId());
+        assertEquals(1, challenges.created.get());
+        assertEquals(results[0].requestId(), register.coalescedWith.get(results[1].requestId()));
+    }
+
+    static final class FakeRegister implements ServiceRequestRegister {
+
+        final Map<UUID, UUID> coalescedWith = new ConcurrentHashMap<>();
+
+        @Override
+        public UUID register(UUID actorUserId, String actorEmail, ServiceType type, Map<String, Object> payload,
+                             ServiceRequestStatus status, Instant requestedAt, UUID coalescedWithRequestId) {
+            UUID id = UUID.randomUUID();
+            if (coalescedWithRequestId != null) {
+                coalescedWith.put(id, coalescedWithRequestId);
+            }
+            return id;
+        }
+    }
+
+    static final class FakeChallenges implements CaptchaChallengeService {
+
+        final AtomicInteger created = new AtomicInteger();
+        final CountDownLatch entered = new CountDownLatch(1);
+        volatile CountDownLatch block;
+
+        @Override
+        public UUID createForServiceRequest(UUID actorUserId, String actorEmail, ServiceType serviceType, String cnpj,
+                                            UUID serviceRequestId, String provider, String siteKey, String pageUrl,
+                                            String contextKey) {
+            entered.countDown();
+            if (block != null) {
+                try {
+                    block.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            created.incrementAndGet();
+            return UUID.randomUUID();
+        }
+
+        @Override
+        public CaptchaChallengeView get(UUID id) { throw new UnsupportedOperationException(); }
+
+        @Override
+        public void submitSolution(UUID challengeId, UUID solvedByUserId, String solvedByEmail, String solutionToken) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<String> consumeSolution(UUID challengeId) { throw new UnsupportedOperationException(); }
+
+        @Override
+        public Optional<CaptchaClaim> claimNext(UUID solverUserId) { throw new UnsupportedOperationException(); }
+
+        @Override
+        public void releaseClaim(UUID challengeId, UUID solverUserId) { throw new UnsupportedOperationException(); }
+
+        @Override
+        public CaptchaChallengePage listOpen(CaptchaChallengeStatus status, int limit, String cursor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int expireStale() { throw new UnsupportedOperationException(); }
+    }
+
+    static final class NoopAudit implements AuditService {
+
+        @Override
+        public void auditServiceRequestCreated(UUID actorUserId, String actorEmail, String serviceType,
+                                               String requestId, boolean success) {
+        }
+
+        @Override
+        public void record(AuditEventType eventType, UUID actorUserId, String actorEmail, boolean success,
+                           String targetType, UUID targetId, Map<String, Object> details) {
+        }
+
+        @Override
+        public void serviceRequestCreated(UUID actorUserId, String actorEmail, String serviceType, UUID requestId,
+                                          boolean success, Map<String, Object> details) {
+        }
+    }
+}
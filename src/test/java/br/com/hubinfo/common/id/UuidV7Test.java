@@ -0,0 +1,95 @@
+package br.com.hubinfo.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do gerador UUID v7 (o estado é global: os testes só assumem "cresce", nunca valores exatos).
+ */
+class UuidV7Test {
+
+    @Test
+    void shouldSetVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertFalse(UuidV7.timestamp(id).isBefore(Instant.ofEpochMilli(before)));
+    }
+
+    @Test
+    void shouldBeStrictlyIncreasingWithinTheSameMillisecond() {
+        long now = System.currentTimeMillis();
+
+        UUID previous = UuidV7.next(now);
+        for (int i = 0; i < 10_000; i++) { // passa do limite de 4096 por ms
+            UUID current = UuidV7.next(now);
+            assertTrue(compareAsText(previous, current) < 0, previous + " >= " + current);
+            previous = current;
+        }
+    }
+
+    @Test
+    void shouldNotGoBackwardsWhenClockDoes() {
+        long now = System.currentTimeMillis();
+
+        UUID later = UuidV7.next(now);
+        UUID afterRewind = UuidV7.next(now - 5_000);
+
+        assertTrue(compareAsText(later, afterRewind) < 0);
+        assertFalse(UuidV7.timestamp(afterRewind).isBefore(UuidV7.timestamp(later)));
+    }
+
+    @Test
+    void shouldBeUniqueAcrossThreads() throws Exception {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        ids.add(UuidV7.next());
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        }
+        assertEquals(40_000, ids.size());
+    }
+
+    @Test
+    void shouldRejectOtherVersions() {
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestamp(UUID.randomUUID()));
+    }
+
+    @Test
+    void randomPartShouldVary() {
+        Set<Long> lsb = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            lsb.add(UuidV7.next().getLeastSignificantBits());
+        }
+        assertEquals(100, lsb.size());
+    }
+
+    /**
+     * Ordem do banco: BINARY(16) compara bytes sem sinal, que é a ordem do texto em hexa.
+     */
+    private static int compareAsText(UUID a, UUID b) {
+        return a.toString().compareTo(b.toString());
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.hubinfo.common.persistence;
+
+import br.com.hubinfo.common.id.UuidV7;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Confere no MySQL real o backfill das colunas *_bin (V026) sobre linhas gravadas só em texto.
+ *
+ * Observação:
+ * - Depende de banco (como ServiceRequestJobQueueQueryTest); roda só com HUBINFO_IT_DB_URL definido.
+ * - Linhas do teste simulam um nó da versão anterior (sem *_bin) e são marcadas pelo e-mail.
+ * - O backfill percorre o banco inteiro: linhas reais sem *_bin também são preenchidas (é o objetivo do job).
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "HUBINFO_IT_DB_URL", matches = ".+")
+@TestPropertySource(properties = "spring.datasource.url=${HUBINFO_IT_DB_URL}")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UuidBinaryBackfillTest {
+
+    private static final String MARKER_EMAIL = "backfill-test@hubinfo.local";
+    private static final int MAX_STEPS = 100_000;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void cleanup() {
+        jdbc.update("DELETE FROM service_request_batches WHERE requested_by_email = ?", MARKER_EMAIL);
+    }
+
+    @Test
+    void shouldFillBinaryCopiesInKeyRangeBatches() {
+        List<UUID> ids = new ArrayList<>();
+        UUID user = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            ids.add(insertTextOnly(UuidV7.next(), i % 2 == 0 ? user : null));
+        }
+
+        UuidBinaryBackfill backfill = backfill(2);
+        for (int i = 0; i < MAX_STEPS && !backfill.isComplete(); i++) {
+            backfill.runBatches(1);
+        }
+
+        assertTrue(backfill.isComplete());
+        for (int i = 0; i < ids.size(); i++) {
+            Map<String, Object> row = row(ids.get(i));
+            assertArrayEquals(UuidBinary.toBytes(ids.get(i)), (byte[]) row.get("id_bin"));
+            assertArrayEquals(i % 2 == 0 ? UuidBinary.toBytes(user) : null, (byte[]) row.get("requested_by_user_id_bin"));
+        }
+    }
+
+    @Test
+    void rowWrittenBehindTheCursorShouldTriggerAnotherPass() {
+        UUID first = insertTextOnly(UuidV7.next(), null);
+        insertTextOnly(UuidV7.next(), null);
+        // Menor que qualquer UUIDv7: fica atrás do cursor assim que a primeira linha é preenchida.
+        UUID late = UUID.fromString("00000000-0000-7000-8000-" + UUID.randomUUID().toString().substring(24));
+
+        UuidBinaryBackfill backfill = backfill(1);
+        boolean inserted = false;
+        for (int i = 0; i < MAX_STEPS && !backfill.isComplete(); i++) {
+            backfill.runBatches(1);
+            if (!inserted && row(first).get("id_bin") != null) {
+                insertTextOnly(late, null);
+                inserted = true;
+            }
+        }
+
+        assertTrue(inserted);
+        assertTrue(backfill.isComplete());
+        assertArrayEquals(UuidBinary.toBytes(late), (byte[]) row(late).get("id_bin"));
+    }
+
+    private UuidBinaryBackfill backfill(int batchSize) {
+        UuidBinaryBackfillProperties properties = new UuidBinaryBackfillProperties();
+        properties.setBatchSize(batchSize);
+        return new UuidBinaryBackfill(jdbc, properties);
+    }
+
+    /**
+     * INSERT de um nó da versão anterior: só as colunas CHAR(36).
+     */
+    private UUID insertTextOnly(UUID id, UUID user) {
+        jdbc.update("""
+                INSERT INTO service_request_batches
+                  (id, service_type, status, source_format, requested_by_user_id, requested_by_email, created_at)
+                VALUES (?, 'CND', 'ENQUEUED', 'CSV', ?, ?, ?)
+                """, id.toString(), UuidBinary.toText(user), MARKER_EMAIL, Timestamp.from(Instant.now()));
+        return id;
+    }
+
+    private Map<String, Object> row(UUID id) {
+        return jdbc.queryForMap(
+                "SELECT id_bin, requested_by_user_id_bin FROM service_request_batches WHERE id = ?", id.toString());
+    }
+}
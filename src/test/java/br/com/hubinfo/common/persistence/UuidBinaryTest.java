@@ -0,0 +1,58 @@
+package br.com.hubinfo.common.persistence;
+
+import br.com.hubinfo.common.id.UuidV7;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidBinaryTest {
+
+    private static final UUID ID = UUID.fromString("0190f3a2-7b1c-7d4e-9f00-0123456789ab");
+
+    @Test
+    void shouldUseTextByteOrder() {
+        // Igual a UNHEX(REPLACE(id, '-', '')) do UuidBinaryBackfill.
+        assertEquals("0190f3a27b1c7d4e9f000123456789ab", HexFormat.of().formatHex(UuidBinary.toBytes(ID)));
+        assertEquals(ID, UuidBinary.fromBytes(UuidBinary.toBytes(ID)));
+    }
+
+    @Test
+    void shouldReadBinaryAndLegacyTextColumns() {
+        assertEquals(ID, UuidBinary.fromColumn(UuidBinary.toBytes(ID)));
+        assertEquals(ID, UuidBinary.fromColumn(ID.toString()));
+        assertEquals(ID, UuidBinary.fromColumn(ID.toString().getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(ID, UuidBinary.fromColumn(ID));
+        assertNull(UuidBinary.fromColumn(null));
+        assertNull(UuidBinary.toBytes(null));
+    }
+
+    @Test
+    void shouldPreferBinaryCopyAndFallBackToText() {
+        UUID other = UUID.randomUUID();
+
+        assertEquals(ID, UuidBinary.orText(UuidBinary.toBytes(ID), other));
+        assertEquals(other, UuidBinary.orText(null, other));
+        assertNull(UuidBinary.orText(null, null));
+        assertEquals(ID.toString(), UuidBinary.toText(ID));
+        assertNull(UuidBinary.toText(null));
+    }
+
+    @Test
+    void shouldRejectWrongLength() {
+        assertThrows(IllegalArgumentException.class, () -> UuidBinary.fromBytes(new byte[8]));
+    }
+
+    @Test
+    void byteOrderShouldFollowCreationOrder() {
+        byte[] first = UuidBinary.toBytes(UuidV7.next());
+        byte[] second = UuidBinary.toBytes(UuidV7.next());
+
+        // BINARY compara bytes sem sinal.
+        assertTrue(Arrays.compareUnsigned(first, second) < 0);
+    }
+}
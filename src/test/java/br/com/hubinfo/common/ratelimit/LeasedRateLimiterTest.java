@@ -0,0 +1,137 @@
+package br.com.hubinfo.common.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do limitador com orçamento compartilhado (fonte em memória no lugar do banco).
+ */
+class LeasedRateLimiterTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+    private static final Duration BACKOFF = Duration.ofMillis(20);
+
+    @Test
+    void nodesSharingABudgetShouldNeverExceedIt() throws Exception {
+        SharedBudget budget = new SharedBudget(12);
+        LeasedRateLimiter nodeA = new LeasedRateLimiter("a", budget, 5, TTL, BACKOFF);
+        LeasedRateLimiter nodeB = new LeasedRateLimiter("b", budget, 5, TTL, BACKOFF);
+
+        int acquired = 0;
+        for (int i = 0; i < 20; i++) {
+            if (nodeA.tryAcquire(Duration.ofMillis(50))) acquired++;
+            if (nodeB.tryAcquire(Duration.ofMillis(50))) acquired++;
+        }
+
+        assertEquals(12, acquired);
+        assertEquals(0, budget.left.get());
+    }
+
+    @Test
+    void shouldLeaseOncePerBatchAndServeTheRestLocally() throws Exception {
+        SharedBudget budget = new SharedBudget(100);
+        LeasedRateLimiter limiter = new LeasedRateLimiter("p", budget, 10, TTL, BACKOFF);
+
+        assertTrue(limiter.tryAcquire(Duration.ofMillis(50)));
+        int leasesAfterFirst = budget.leases.get();
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        // Ainda acima da metade do lote: nenhuma ida extra à fonte.
+        assertEquals(1, leasesAfterFirst);
+        assertEquals(1, budget.leases.get());
+        assertEquals(5, limiter.available());
+    }
+
+    @Test
+    void concurrentWaitersShouldShareASingleLease() throws Exception {
+        // Corrida entre a busca em segundo plano e a do waiter: repetida para aparecer com frequência.
+        for (int round = 0; round < 200; round++) {
+            SharedBudget budget = new SharedBudget(1000);
+            LeasedRateLimiter limiter = new LeasedRateLimiter("p", budget, 100, TTL, BACKOFF);
+
+            List<Thread> waiters = new ArrayList<>();
+            AtomicInteger acquired = new AtomicInteger();
+            for (int i = 0; i < 8; i++) {
+                waiters.add(Thread.ofVirtual().start(() -> {
+                    try {
+                        if (limiter.tryAcquire(Duration.ofSeconds(1))) acquired.incrementAndGet();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+            }
+            for (Thread waiter : waiters) {
+                waiter.join();
+            }
+            Thread.sleep(2);
+
+            assertEquals(8, acquired.get());
+            assertEquals(1, budget.leases.get(), "round " + round);
+        }
+    }
+
+    @Test
+    void emptyBudgetShouldWaitUpToMaxWaitAndBackOff() throws Exception {
+        SharedBudget budget = new SharedBudget(0);
+        LeasedRateLimiter limiter = new LeasedRateLimiter("p", budget, 5, TTL, Duration.ofSeconds(10));
+
+        long start = System.nanoTime();
+        assertFalse(limiter.tryAcquire(Duration.ofMillis(100)));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(100)) >= 0);
+
+        // Com backoff de 10s, a fonte vazia foi consultada uma vez só.
+        assertEquals(1, budget.leases.get());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    void expiredLeaseShouldNotBeSpent() throws Exception {
+        SharedBudget budget = new SharedBudget(5);
+        LeasedRateLimiter limiter = new LeasedRateLimiter("p", budget, 5, Duration.ofMillis(30), BACKOFF);
+
+        assertTrue(limiter.tryAcquire(Duration.ofMillis(50)));
+        Thread.sleep(60);
+
+        assertEquals(0, limiter.available());
+        assertFalse(limiter.tryAcquire(Duration.ofMillis(50)));
+    }
+
+    @Test
+    void sourceFailureShouldCountAsEmptyBudget() throws Exception {
+        LeasedRateLimiter limiter = new LeasedRateLimiter("p", requested -> {
+            throw new IllegalStateException("banco fora");
+        }, 5, TTL, BACKOFF);
+
+        assertFalse(limiter.tryAcquire(Duration.ofMillis(30)));
+    }
+
+    static final class SharedBudget implements LeasedRateLimiter.BudgetSource {
+
+        final AtomicInteger left;
+        final AtomicInteger leases = new AtomicInteger();
+
+        SharedBudget(int total) {
+            this.left = new AtomicInteger(total);
+        }
+
+        @Override
+        public int lease(int requested) {
+            leases.incrementAndGet();
+            while (true) {
+                int current = left.get();
+                int granted = Math.min(current, requested);
+                if (left.compareAndSet(current, current - granted)) {
+                    return granted;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.hubinfo.common.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do token bucket com relógio controlado (nanos).
+ */
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void burstShouldPassImmediatelyThenFollowTheRate() {
+        TokenBucket bucket = new TokenBucket(2.0, 3, 0L);
+
+        assertEquals(0, bucket.tryReserve(0L, SECOND));
+        assertEquals(0, bucket.tryReserve(0L, SECOND));
+        assertEquals(0, bucket.tryReserve(0L, SECOND));
+
+        // Rajada esgotada: a próxima sai depois de um intervalo (0,5s), a seguinte depois de dois.
+        assertEquals(SECOND / 2, bucket.tryReserve(0L, SECOND));
+        assertEquals(SECOND, bucket.tryReserve(0L, SECOND));
+    }
+
+    @Test
+    void shouldNotReserveWhenWaitExceedsMaxWait() {
+        TokenBucket bucket = new TokenBucket(1.0, 1, 0L);
+
+        assertEquals(0, bucket.tryReserve(0L, 0L));
+        assertEquals(-1, bucket.tryReserve(0L, SECOND / 2));
+
+        // A recusa não consumiu a vez: após 1s a permissão sai sem espera.
+        assertEquals(0, bucket.tryReserve(SECOND, 0L));
+    }
+
+    @Test
+    void idleTimeShouldRefillUpToBurstOnly() {
+        TokenBucket bucket = new TokenBucket(10.0, 2, 0L);
+
+        long later = 60 * SECOND;
+        assertEquals(0, bucket.tryReserve(later, 0L));
+        assertEquals(0, bucket.tryReserve(later, 0L));
+        assertEquals(-1, bucket.tryReserve(later, 0L));
+    }
+
+    @Test
+    void shouldRejectNonPositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0.0, 1));
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.hubinfo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guarda do perfil virtual-threads: adapters não podem usar synchronized.
+ *
+ * Por que existe:
+ * - No Java 21, I/O bloqueante dentro de synchronized prende a virtual thread à carrier (pinning).
+ * - Adapters são justamente onde ficam JDBC, arquivos e chamadas aos portais.
+ *
+ * Regras:
+ * - Analisa o bytecode compilado (métodos ACC_SYNCHRONIZED e blocos MONITORENTER), não o texto.
+ * - Alternativa esperada: ReentrantLock / coleções concorrentes.
+ */
+class NoSynchronizedInAdaptersTest {
+
+    private static final String ADAPTER_CLASSES = "classpath*:br/com/hubinfo/**/adapter/**/*.class";
+
+    @Test
+    void adaptersShouldNotUseSynchronized() throws IOException {
+        Resource[] classes = new PathMatchingResourcePatternResolver().getResources(ADAPTER_CLASSES);
+        assertTrue(classes.length > 0, "Nenhuma classe de adapter encontrada no classpath.");
+
+        List<String> violations = new ArrayList<>();
+        for (Resource resource : classes) {
+            try (InputStream in = resource.getInputStream()) {
+                new ClassReader(in).accept(new SynchronizedFinder(violations), ClassReader.SKIP_DEBUG);
+            }
+        }
+
+        assertEquals(List.of(), violations,
+                "synchronized em adapter causa pinning de virtual thread; use ReentrantLock.");
+    }
+
+    @Test
+    void guardShouldDetectSynchronizedBlocksAndMethods() throws IOException {
+        // Garante que o detector não passa "no vazio".
+        List<String> violations = new ArrayList<>();
+        try (InputStream in = getClass().getResourceAsStream("NoSynchronizedInAdaptersTest$Offender.class")) {
+            new ClassReader(in).accept(new SynchronizedFinder(violations), ClassReader.SKIP_DEBUG);
+        }
+
+        assertEquals(2, violations.size(), violations.toString());
+    }
+
+    private static final class SynchronizedFinder extends ClassVisitor {
+
+        private final List<String> violations;
+        private String className;
+
+        SynchronizedFinder(List<String> violations) {
+            super(SpringAsmInfo.ASM_VERSION);
+            this.violations = violations;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            this.className = name.replace('/', '.');
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            String method = className + "." + name;
+            if ((access & Opcodes.ACC_SYNCHRONIZED) != 0) {
+                violations.add(method + " (método synchronized)");
+            }
+            return new MethodVisitor(SpringAsmInfo.ASM_VERSION) {
+                @Override
+                public void visitInsn(int opcode) {
+                    if (opcode == Opcodes.MONITORENTER) {
+                        violations.add(method + " (bloco synchronized)");
+                    }
+                }
+            };
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class Offender {
+        private final Object lock = new Object();
+
+        synchronized void method() {
+        }
+
+        void block() {
+            synchronized (lock) {
+                lock.hashCode();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.hubinfo.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Confere que o monitor recebe o evento JFR quando uma virtual thread fica presa (sem Spring).
+ */
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    void shouldCountPinnedVirtualThread() throws Exception {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10), meters);
+        monitor.start();
+        try {
+            // sleep dentro de synchronized: a virtual thread não desmonta da carrier (pinning no Java 21).
+            Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    sleep(50);
+                }
+            }).join();
+
+            // O stream JFR entrega os eventos em lotes (~1s).
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (meters.counter("hubinfo.vthreads.pinned").count() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            assertTrue(meters.counter("hubinfo.vthreads.pinned").count() >= 1);
+        } finally {
+            monitor.close();
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.hubinfo.notification.adapter.in.web;
+
+import br.com.hubinfo.notification.domain.UserEvent;
+import br.com.hubinfo.notification.domain.UserEventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da conexão SSE com um emitter que só registra os frames (sem container).
+ */
+class UserEventConnectionTest {
+
+    private static final UUID USER = UUID.randomUUID();
+
+    private final RecordingEmitter emitter = new RecordingEmitter();
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final Executor manual = tasks::add;
+
+    @Test
+    void liveEventsShouldWaitForHeadAndSkipReplayedOnes() {
+        UserEventConnection connection = new UserEventConnection(USER, null, emitter, Runnable::run, 10);
+        UserEvent replayed = event();
+        UserEvent live = event();
+
+        // Chegam entre o registro e o start (concorrência com a montagem da retomada).
+        connection.offer(replayed);
+        connection.offer(live);
+        assertTrue(emitter.frames.isEmpty());
+
+        connection.start(List.of(SseEmitter.event().name("ready").data("{}"), UserEventConnection.frame(replayed)),
+                Set.of(replayed.id()));
+
+        assertEquals(3, emitter.frames.size());
+        assertTrue(emitter.frames.get(0).contains("event:ready"));
+        assertTrue(emitter.frames.get(1).contains("id:" + replayed.id()));
+        assertTrue(emitter.frames.get(2).contains("id:" + live.id()));
+    }
+
+    @Test
+    void slowClientShouldBeDisconnectedInsteadOfBufferingForever() {
+        UserEventConnection connection = new UserEventConnection(USER, null, emitter, manual, 3);
+        connection.start(List.of(), Set.of());
+
+        for (int i = 0; i < 4; i++) {
+            connection.offer(event());
+        }
+
+        assertTrue(connection.isClosed());
+        assertTrue(emitter.completed);
+    }
+
+    @Test
+    void sendFailureShouldCloseConnection() {
+        emitter.failOnSend = true;
+        UserEventConnection connection = new UserEventConnection(USER, null, emitter, Runnable::run, 10);
+        connection.start(List.of(), Set.of());
+
+        connection.offer(event());
+
+        assertTrue(connection.isClosed());
+    }
+
+    @Test
+    void heartbeatShouldOnlyBeSentWhenIdle() {
+        UserEventConnection connection = new UserEventConnection(USER, null, emitter, manual, 10);
+        connection.start(List.of(), Set.of());
+        connection.offer(event());
+
+        connection.heartbeat();
+        tasks.forEach(Runnable::run);
+
+        assertEquals(1, emitter.frames.size());
+
+        connection.heartbeat();
+        tasks.subList(1, tasks.size()).forEach(Runnable::run);
+        assertTrue(emitter.frames.get(1).startsWith(":hb"));
+    }
+
+    private static UserEvent event() {
+        return UserEvent.of(USER, UserEventType.CAPTCHA_CHALLENGE, UUID.randomUUID(), "SOLVED", Instant.now());
+    }
+
+    static class RecordingEmitter extends SseEmitter {
+        final List<String> frames = new ArrayList<>();
+        boolean failOnSend;
+        boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failOnSend) {
+                throw new IOException("broken pipe");
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            frames.add(text.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
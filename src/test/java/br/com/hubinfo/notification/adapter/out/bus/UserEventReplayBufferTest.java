@@ -0,0 +1,61 @@
+package br.com.hubinfo.notification.adapter.out.bus;
+
+import br.com.hubinfo.notification.domain.UserEvent;
+import br.com.hubinfo.notification.domain.UserEventType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserEventReplayBufferTest {
+
+    private static final UUID ALICE = UUID.randomUUID();
+    private static final UUID BOB = UUID.randomUUID();
+
+    @Test
+    void shouldReplayOnlyUserEventsAfterLastId() {
+        UserEventReplayBuffer buffer = new UserEventReplayBuffer(16);
+        UserEvent a1 = event(ALICE);
+        UserEvent b1 = event(BOB);
+        UserEvent a2 = event(ALICE);
+        UserEvent a3 = event(ALICE);
+        List.of(a1, b1, a2, a3).forEach(buffer::add);
+
+        UserEventReplayBuffer.Replay replay = buffer.after(ALICE, a1.id());
+
+        assertTrue(replay.complete());
+        assertEquals(List.of(a2, a3), replay.events());
+    }
+
+    @Test
+    void replayShouldBeIncompleteWhenEventsAfterLastIdWereOverwritten() {
+        UserEventReplayBuffer buffer = new UserEventReplayBuffer(2);
+        UserEvent a1 = event(ALICE);
+        UserEvent a2 = event(ALICE);
+        UserEvent b1 = event(BOB);
+        UserEvent b2 = event(BOB);
+        List.of(a1, a2, b1, b2).forEach(buffer::add);
+
+        // a2 saiu do buffer: quem parou em a1 perdeu um evento.
+        assertFalse(buffer.after(ALICE, a1.id()).complete());
+        // Quem já tinha visto a2 não perdeu nada.
+        UserEventReplayBuffer.Replay replay = buffer.after(ALICE, a2.id());
+        assertTrue(replay.complete());
+        assertTrue(replay.events().isEmpty());
+    }
+
+    @Test
+    void idsFromBeforeStartupShouldNotBeTrusted() {
+        UserEvent before = event(ALICE);
+        UserEventReplayBuffer buffer = new UserEventReplayBuffer(16);
+
+        assertFalse(buffer.after(ALICE, before.id()).complete());
+    }
+
+    private static UserEvent event(UUID userId) {
+        return UserEvent.of(userId, UserEventType.SERVICE_REQUEST, UUID.randomUUID(), "SUCCESS", Instant.now());
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.hubinfo.security.jwt;
+
+import br.com.hubinfo.security.HubInfoPrincipal;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do cache de autenticação JWT (sem Spring).
+ */
+class JwtAuthenticationCacheTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private final JwtService jwtService = new JwtService(SECRET, "hubinfo-test", 1);
+    private final AtomicLong nanos = new AtomicLong();
+    private final JwtAuthenticationCache cache =
+            new JwtAuthenticationCache(jwtService, 100, nanos::get, Clock.systemUTC());
+
+    @Test
+    void shouldReuseAuthenticationForSameToken() {
+        UUID userId = UUID.randomUUID();
+        String token = jwtService.issueAccessToken(userId, "a@b.com", Set.of("ADMIN", "USER")).value();
+
+        UsernamePasswordAuthenticationToken first = cache.authenticate(token);
+        UsernamePasswordAuthenticationToken second = cache.authenticate(token);
+
+        assertSame(first, second);
+        assertTrue(first.isAuthenticated());
+        assertEquals(new HubInfoPrincipal(userId, "a@b.com"), first.getPrincipal());
+        assertEquals(2, first.getAuthorities().size());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void shouldEvictEntryAtTokenExpiration() {
+        String token = jwtService.issueAccessToken(UUID.randomUUID(), "a@b.com", Set.of("USER")).value();
+        cache.authenticate(token);
+
+        // Token de 1 minuto (exp com precisão de segundos: restam entre 59 e 60s).
+        // 58s depois ainda está no cache; depois do exp, não.
+        nanos.addAndGet(Duration.ofSeconds(58).toNanos());
+        assertEquals(1, cache.size());
+
+        nanos.addAndGet(Duration.ofSeconds(3).toNanos());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldNotCacheInvalidTokens() {
+        String token = jwtService.issueAccessToken(UUID.randomUUID(), "a@b.com", Set.of("USER")).value();
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> cache.authenticate(tampered));
+        assertThrows(JwtException.class, () -> cache.authenticate(tampered));
+        assertEquals(0, cache.size());
+    }
+}
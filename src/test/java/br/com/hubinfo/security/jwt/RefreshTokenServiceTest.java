@@ -0,0 +1,237 @@
+package br.com.hubinfo.security.jwt;
+
+import br.com.hubinfo.user.adapter.out.persistence.UserCacheInvalidationBroadcaster;
+import br.com.hubinfo.user.adapter.out.persistence.UserProjection;
+import br.com.hubinfo.user.adapter.out.persistence.UserProjectionCache;
+import br.com.hubinfo.user.domain.Role;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de rotação, detecção de reuso e logout dos refresh tokens (store em memória, sem Spring/banco).
+ *
+ * Observação:
+ * - BadCredentialsException é o 401 da API (tratado pelo Spring Security).
+ */
+class RefreshTokenServiceTest {
+
+    // JwtService calcula o exp do access token pelo relógio do sistema: o relógio do teste parte de agora.
+    private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    private final RevokedTokenListTest.MutableClock clock = new RevokedTokenListTest.MutableClock(NOW);
+    private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore();
+    private final RevokedTokenList revokedTokens =
+            new RevokedTokenList(new RevokedTokenListTest.FakeStore(), clock, 1000, Duration.ofMinutes(1));
+    private final Map<UUID, UserProjection> users = new HashMap<>();
+
+    private final RefreshTokenService service = new RefreshTokenService(
+            new JwtService("test-secret-with-at-least-32-chars!!", "hub-info-api", 15),
+            store, revokedTokens, new FakeUsers(users), clock, 14);
+
+    @Test
+    void rotationShouldReturnNewTokenOfTheSameFamily() {
+        UserProjection ana = user("ana@hubinfo.local");
+        RefreshTokenService.TokenPair first = service.issue(ana);
+
+        RefreshTokenService.TokenPair second = service.refresh(first.refreshToken());
+
+        assertNotEquals(first.refreshToken(), second.refreshToken());
+        assertNotEquals(first.access().jti(), second.access().jti());
+        RefreshTokenRecord old = store.byToken(first.refreshToken());
+        RefreshTokenRecord rotated = store.byToken(second.refreshToken());
+        assertEquals(old.familyId(), rotated.familyId());
+        assertEquals(ana.id(), rotated.userId());
+        assertEquals(NOW, old.usedAt());
+        assertNull(rotated.usedAt());
+    }
+
+    @Test
+    void reuseShouldRevokeTheFamilyAndItsAccessTokens() {
+        RefreshTokenService.TokenPair first = service.issue(user("ana@hubinfo.local"));
+        RefreshTokenService.TokenPair second = service.refresh(first.refreshToken());
+
+        // Cópia vazada do token já trocado.
+        BadCredentialsException reuse = assertThrows(BadCredentialsException.class,
+                () -> service.refresh(first.refreshToken()));
+        assertEquals("Refresh token reutilizado.", reuse.getMessage());
+
+        assertTrue(revokedTokens.isRevoked(first.access().jti()));
+        assertTrue(revokedTokens.isRevoked(second.access().jti()));
+        assertNotNull(store.byToken(second.refreshToken()).revokedAt());
+
+        // O cliente legítimo também perde a sessão.
+        assertThrows(BadCredentialsException.class, () -> service.refresh(second.refreshToken()));
+    }
+
+    @Test
+    void reuseShouldNotTouchOtherFamiliesOfTheSameUser() {
+        UserProjection ana = user("ana@hubinfo.local");
+        RefreshTokenService.TokenPair leaked = service.issue(ana);
+        RefreshTokenService.TokenPair otherDevice = service.issue(ana);
+        service.refresh(leaked.refreshToken());
+
+        assertThrows(BadCredentialsException.class, () -> service.refresh(leaked.refreshToken()));
+
+        assertFalse(revokedTokens.isRevoked(otherDevice.access().jti()));
+        assertNotNull(service.refresh(otherDevice.refreshToken()));
+    }
+
+    @Test
+    void expiredTokenShouldBeRejected() {
+        RefreshTokenService.TokenPair pair = service.issue(user("ana@hubinfo.local"));
+
+        clock.advance(Duration.ofDays(14));
+
+        BadCredentialsException ex = assertThrows(BadCredentialsException.class,
+                () -> service.refresh(pair.refreshToken()));
+        assertEquals("Refresh token expirado.", ex.getMessage());
+    }
+
+    @Test
+    void revokedOrUnknownTokenShouldBeRejected() {
+        UserProjection ana = user("ana@hubinfo.local");
+        RefreshTokenService.TokenPair pair = service.issue(ana);
+        service.logout(ana.id(), null, pair.refreshToken());
+
+        BadCredentialsException revoked = assertThrows(BadCredentialsException.class,
+                () -> service.refresh(pair.refreshToken()));
+        assertEquals("Refresh token revogado.", revoked.getMessage());
+
+        BadCredentialsException unknown = assertThrows(BadCredentialsException.class,
+                () -> service.refresh("token-que-nunca-existiu"));
+        assertEquals("Refresh token inválido.", unknown.getMessage());
+    }
+
+    @Test
+    void logoutShouldRevokeCurrentAccessToken() {
+        UserProjection ana = user("ana@hubinfo.local");
+        RefreshTokenService.TokenPair pair = service.issue(ana);
+
+        service.logout(ana.id(), new JwtTokenDetails(pair.access().jti(), NOW.plusSeconds(600)), null);
+
+        assertTrue(revokedTokens.isRevoked(pair.access().jti()));
+        // Sem refresh token informado a família continua valendo.
+        assertNotNull(service.refresh(pair.refreshToken()));
+    }
+
+    @Test
+    void logoutShouldIgnoreRefreshTokenOfAnotherUser() {
+        RefreshTokenService.TokenPair anas = service.issue(user("ana@hubinfo.local"));
+        UserProjection bruno = user("bruno@hubinfo.local");
+
+        service.logout(bruno.id(), null, anas.refreshToken());
+
+        assertNull(store.byToken(anas.refreshToken()).revokedAt());
+        assertFalse(revokedTokens.isRevoked(anas.access().jti()));
+        assertNotNull(service.refresh(anas.refreshToken()));
+    }
+
+    private UserProjection user(String email) {
+        UserProjection user = new UserProjection(UUID.randomUUID(), email, Set.of(Role.USER));
+        users.put(user.id(), user);
+        return user;
+    }
+
+    // -----------------------
+    // Fakes para teste
+    // -----------------------
+
+    /**
+     * refresh_tokens em memória, com as mesmas regras do JDBC (markUsed condicional, revogação por família).
+     */
+    static class InMemoryRefreshTokenStore implements RefreshTokenStore {
+        final Map<UUID, RefreshTokenRecord> rows = new LinkedHashMap<>();
+
+        RefreshTokenRecord byToken(String token) {
+            return findByHash(RefreshTokenService.hash(token)).orElseThrow();
+        }
+
+        @Override
+        public void insert(RefreshTokenRecord token) {
+            rows.put(token.id(), token);
+        }
+
+        @Override
+        public Optional<RefreshTokenRecord> findByHash(byte[] tokenHash) {
+            return rows.values().stream().filter(r -> Arrays.equals(r.tokenHash(), tokenHash)).findFirst();
+        }
+
+        @Override
+        public boolean markUsed(UUID id, Instant usedAt) {
+            RefreshTokenRecord r = rows.get(id);
+            if (r == null || r.usedAt() != null || r.revokedAt() != null) {
+                return false;
+            }
+            rows.put(id, new RefreshTokenRecord(r.id(), r.familyId(), r.userId(), r.tokenHash(), r.accessJti(),
+                    r.accessExpiresAt(), r.issuedAt(), r.expiresAt(), usedAt, null));
+            return true;
+        }
+
+        @Override
+        public List<RevokedAccessToken> revokeFamily(UUID familyId, Instant now) {
+            List<RevokedAccessToken> access = new ArrayList<>();
+            for (RefreshTokenRecord r : List.copyOf(rows.values())) {
+                if (!r.familyId().equals(familyId)) {
+                    continue;
+                }
+                if (r.revokedAt() == null) {
+                    rows.put(r.id(), new RefreshTokenRecord(r.id(), r.familyId(), r.userId(), r.tokenHash(),
+                            r.accessJti(), r.accessExpiresAt(), r.issuedAt(), r.expiresAt(), r.usedAt(), now));
+                }
+                if (r.accessExpiresAt().isAfter(now)) {
+                    access.add(new RevokedAccessToken(r.accessJti(), r.accessExpiresAt(), now));
+                }
+            }
+            return access;
+        }
+
+        @Override
+        public int deleteExpired(Instant now) {
+            int before = rows.size();
+            rows.values().removeIf(r -> !r.expiresAt().isAfter(now));
+            return before - rows.size();
+        }
+    }
+
+    /**
+     * Cache de usuários servido por um mapa (o repositório nunca é consultado).
+     */
+    static class FakeUsers extends UserProjectionCache {
+        private final Map<UUID, UserProjection> users;
+
+        FakeUsers(Map<UUID, UserProjection> users) {
+            super(null,
+                    new StaticListableBeanFactory().getBeanProvider(UserCacheInvalidationBroadcaster.class),
+                    new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class),
+                    10, Duration.ofMinutes(10));
+            this.users = users;
+        }
+
+        @Override
+        public Optional<UserProjection> findById(UUID id) {
+            return Optional.ofNullable(users.get(id));
+        }
+
+        @Override
+        public Optional<UserProjection> findByEmail(String email) {
+            return users.values().stream().filter(u -> u.email().equals(email)).findFirst();
+        }
+    }
+}
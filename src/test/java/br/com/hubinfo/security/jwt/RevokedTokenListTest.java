@@ -0,0 +1,184 @@
+package br.com.hubinfo.security.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da lista de revogação (filtro de Bloom + conjunto exato), sem Spring/banco.
+ */
+class RevokedTokenListTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private final FakeStore store = new FakeStore();
+
+    @Test
+    void shouldAnswerRevokedOnlyForRevokedJtis() {
+        RevokedTokenList list = new RevokedTokenList(store, clock, 1000, Duration.ofMinutes(1));
+        UUID revoked = UUID.randomUUID();
+
+        list.revoke(revoked, NOW.plusSeconds(600));
+
+        assertTrue(list.isRevoked(revoked));
+        assertFalse(list.isRevoked(UUID.randomUUID()));
+        assertFalse(list.isRevoked(null));
+        assertEquals(1, store.rows.size());
+    }
+
+    @Test
+    void shouldPickUpRevocationsFromOtherNodesIncrementally() {
+        RevokedTokenList list = new RevokedTokenList(store, clock, 1000, Duration.ofMinutes(1));
+        list.load();
+
+        // Outro nó grava no banco; este só vê depois do próximo refresh.
+        UUID jti = UUID.randomUUID();
+        store.rows.add(new RevokedAccessToken(jti, NOW.plusSeconds(600), NOW.minusSeconds(10)));
+        assertFalse(list.isRevoked(jti));
+
+        clock.advance(Duration.ofSeconds(5));
+        list.refresh();
+
+        assertTrue(list.isRevoked(jti));
+        // Leitura incremental: desde a última leitura menos o overlap, não desde o início.
+        assertEquals(NOW.minus(Duration.ofMinutes(1)), store.lastSince);
+    }
+
+    @Test
+    void shouldDropExpiredEntriesAndKeepTheRest() {
+        RevokedTokenList list = new RevokedTokenList(store, clock, 10, Duration.ofMinutes(1));
+        List<UUID> shortLived = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            UUID jti = UUID.randomUUID();
+            shortLived.add(jti);
+            list.revoke(jti, NOW.plusSeconds(60));
+        }
+        UUID longLived = UUID.randomUUID();
+        list.revoke(longLived, NOW.plusSeconds(3600));
+
+        clock.advance(Duration.ofMinutes(2));
+        list.refresh();
+
+        assertEquals(1, list.size());
+        assertTrue(list.isRevoked(longLived));
+        shortLived.forEach(jti -> assertFalse(list.isRevoked(jti)));
+    }
+
+    @Test
+    void shouldNeverLoseRevocationAcrossRebuilds() {
+        // Capacidade pequena força reconstruções frequentes do filtro.
+        RevokedTokenList list = new RevokedTokenList(store, clock, 8, Duration.ofMinutes(1));
+        List<UUID> all = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            UUID jti = UUID.randomUUID();
+            all.add(jti);
+            list.revoke(jti, NOW.plusSeconds(3600));
+            if (i % 100 == 0) {
+                list.refresh();
+            }
+        }
+
+        all.forEach(jti -> assertTrue(list.isRevoked(jti)));
+    }
+
+    @Test
+    void shouldKeepCurrentListWhenDatabaseFails() {
+        RevokedTokenList list = new RevokedTokenList(store, clock, 1000, Duration.ofMinutes(1));
+        UUID jti = UUID.randomUUID();
+        list.revoke(jti, NOW.plusSeconds(600));
+
+        store.failing.set(true);
+        list.refresh();
+
+        assertTrue(list.isRevoked(jti));
+    }
+
+    @Test
+    void bloomFilterShouldStayNearConfiguredFalsePositiveRate() {
+        JtiBloomFilter filter = new JtiBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UUID.randomUUID());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 2_000, "falsos positivos: " + falsePositives);
+    }
+
+    // -----------------------
+    // Fakes para teste
+    // -----------------------
+
+    static class FakeStore implements RevokedAccessTokenStore {
+        final List<RevokedAccessToken> rows = new ArrayList<>();
+        final AtomicBoolean failing = new AtomicBoolean();
+        Instant lastSince;
+
+        @Override
+        public void saveAll(Collection<RevokedAccessToken> tokens) {
+            rows.addAll(tokens);
+        }
+
+        @Override
+        public List<RevokedAccessToken> findRevokedSince(Instant since, Instant now) {
+            if (failing.get()) {
+                throw new DataAccessResourceFailureException("banco fora");
+            }
+            lastSince = since;
+            return rows.stream()
+                    .filter(r -> !r.revokedAt().isBefore(since) && r.expiresAt().isAfter(now))
+                    .toList();
+        }
+
+        @Override
+        public int deleteExpired(Instant now) {
+            int before = rows.size();
+            rows.removeIf(r -> !r.expiresAt().isAfter(now));
+            return before - rows.size();
+        }
+    }
+
+    static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.hubinfo.security.password;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do encoder BCrypt adaptativo e do pool de hashing (sem Spring).
+ */
+class AdaptiveBCryptPasswordEncoderTest {
+
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldMatchHashesOfAnyCostAndAskUpgradeOnlyWhenCostIsLower() {
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5, executor);
+
+        String older = new BCryptPasswordEncoder(6).encode("Senha@123");
+        String current = encoder.encode("Senha@123");
+
+        assertTrue(encoder.matches("Senha@123", older));
+        assertTrue(encoder.matches("Senha@123", current));
+        assertFalse(encoder.matches("outra", current));
+
+        assertTrue(current.startsWith("$2a$05$"));
+        // Hash mais forte que o cost atual não é regravado (não enfraquece senha gravada).
+        assertFalse(encoder.upgradeEncoding(older));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("x")));
+        assertFalse(encoder.upgradeEncoding(current));
+        assertFalse(encoder.upgradeEncoding("não-é-bcrypt"));
+    }
+
+    @Test
+    void shouldRejectImmediatelyWhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // 1 thread ocupada + 1 na fila; a terceira chamada deve falhar na hora.
+        Thread busy = Thread.ofVirtual().start(() -> executor.call(() -> {
+            running.countDown();
+            await(release);
+            return null;
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        Thread queued = Thread.ofVirtual().start(() -> executor.call(() -> null));
+        while (queued.isAlive() && executor.queued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(PasswordHashingBusyException.class, () -> executor.call(() -> "x"));
+
+        release.countDown();
+        busy.join();
+        queued.join();
+        assertEquals("ok", executor.call(() -> "ok"));
+    }
+
+    @Test
+    void shouldPropagateTaskException() {
+        assertThrows(IllegalArgumentException.class, () -> executor.call(() -> {
+            throw new IllegalArgumentException("hash inválido");
+        }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.hubinfo.security.password;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da escolha do cost (tempo medido simulado).
+ */
+class BCryptCostCalibratorTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void shouldPickHighestCostWithinTarget() {
+        // 60 ms no cost 10 => 120 (11), 240 (12), 480 (13).
+        assertEquals(12, BCryptCostCalibrator.calibrate(Duration.ofMillis(250), 10, 14, fixed(60 * MS)));
+    }
+
+    @Test
+    void shouldUseBestSampleIgnoringWarmup() {
+        long[] samples = {900 * MS, 70 * MS, 60 * MS, 65 * MS};
+        int[] call = {0};
+
+        int cost = BCryptCostCalibrator.calibrate(Duration.ofMillis(250), 10, 14, c -> samples[call[0]++]);
+
+        assertEquals(12, cost);
+        assertEquals(4, call[0]);
+    }
+
+    @Test
+    void shouldStayWithinBounds() {
+        assertEquals(10, BCryptCostCalibrator.calibrate(Duration.ofMillis(250), 10, 14, fixed(400 * MS)));
+        assertEquals(14, BCryptCostCalibrator.calibrate(Duration.ofMillis(250), 10, 14, fixed(MS)));
+        assertThrows(IllegalArgumentException.class,
+                () -> BCryptCostCalibrator.calibrate(Duration.ofMillis(250), 3, 14, fixed(MS)));
+    }
+
+    private static IntToLongFunction fixed(long nanos) {
+        return cost -> nanos;
+    }
+}
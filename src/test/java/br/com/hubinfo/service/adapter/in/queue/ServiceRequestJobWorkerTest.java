@@ -0,0 +1,298 @@
+package br.com.hubinfo.service.adapter.in.queue;
+
+import br.com.hubinfo.service.adapter.out.collector.ServiceCollectorRegistry;
+import br.com.hubinfo.service.adapter.out.dispatch.BoundedServiceRequestExecutor;
+import br.com.hubinfo.service.adapter.out.dispatch.ServiceRequestProcessorRegistry;
+import br.com.hubinfo.service.config.ServiceCollectorProperties;
+import br.com.hubinfo.service.config.ServiceDispatchProperties;
+import br.com.hubinfo.service.domain.ServiceRequest;
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.ServiceRequestProcessor;
+import br.com.hubinfo.service.usecase.port.ServiceCollector;
+import br.com.hubinfo.service.usecase.port.ServiceRequestJobQueuePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do worker da fila persistente contra uma fila em memória (sem Spring/banco).
+ */
+class ServiceRequestJobWorkerTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    private final FakeQueue queue = new FakeQueue();
+    private final ServiceDispatchProperties properties = new ServiceDispatchProperties();
+    private final Map<UUID, Consumer<UUID>> behavior = new ConcurrentHashMap<>();
+    private final List<BoundedServiceRequestExecutor> executors = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        for (BoundedServiceRequestExecutor executor : executors) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void failedJobShouldBeReleasedWithBackoffGrowingWithAttempts() throws Exception {
+        properties.getQueue().setRetryBackoff(Duration.ofSeconds(30));
+        UUID id = job(3, req -> { throw new IllegalStateException("portal fora"); });
+        ServiceRequestJobWorker worker = worker(10);
+
+        worker.poll();
+
+        Call release = queue.next();
+        assertEquals("release", release.op());
+        assertEquals(id, release.id());
+        assertEquals(NOW.plus(Duration.ofSeconds(90)), release.availableAt());
+        assertEquals("portal fora", release.error());
+    }
+
+    @Test
+    void exhaustedJobShouldKeepTheLeaseForTheReaper() throws Exception {
+        properties.getQueue().setMaxAttempts(3);
+        CountDownLatch failed = new CountDownLatch(1);
+        job(3, req -> {
+            failed.countDown();
+            throw new IllegalStateException("portal fora");
+        });
+        ServiceRequestJobWorker worker = worker(10);
+
+        worker.poll();
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+
+        // Nem release nem complete: o lease expira e o reaper marca FAILED.
+        assertNull(queue.calls.poll(200, TimeUnit.MILLISECONDS));
+        awaitIdle(worker);
+    }
+
+    @Test
+    void jobRejectedByTheExecutorShouldGoBackWithoutSpendingAnAttempt() throws Exception {
+        CountDownLatch hold = new CountDownLatch(1);
+        BoundedServiceRequestExecutor executor = executor(1);
+        UUID id = job(1, req -> { });
+        // Outra submissão toma a única vaga entre availableCapacity() e trySubmit().
+        queue.onClaim = () -> executor.trySubmit(ServiceType.CND, () -> await(hold));
+        ServiceRequestJobWorker worker = worker(executor);
+
+        worker.poll();
+
+        Call call = queue.next();
+        assertEquals("releaseUnstarted", call.op());
+        assertEquals(id, call.id());
+        assertEquals(NOW, call.availableAt());
+        assertTrue(queue.heartbeats.isEmpty());
+        worker.heartbeat();
+        assertTrue(queue.heartbeats.isEmpty(), "Job devolvido não pode continuar com heartbeat.");
+        hold.countDown();
+    }
+
+    @Test
+    void heartbeatShouldCoverOnlyJobsStillRunning() throws Exception {
+        CountDownLatch hold = new CountDownLatch(1);
+        UUID slow = job(1, req -> await(hold));
+        UUID fast = job(1, req -> { });
+        ServiceRequestJobWorker worker = worker(10);
+
+        worker.poll();
+        Call done = queue.next();
+        assertEquals("complete", done.op());
+        assertEquals(fast, done.id());
+
+        worker.heartbeat();
+        assertEquals(List.of(List.of(slow)), queue.heartbeats);
+        assertEquals(NOW.plus(properties.getQueue().getLease()), queue.lastLeaseExpiresAt);
+
+        hold.countDown();
+        assertEquals("complete", queue.next().op());
+        awaitIdle(worker);
+        assertEquals(1, queue.heartbeats.size());
+    }
+
+    @Test
+    void purgeShouldDeleteFinishedJobsInBatchesUntilExhausted() {
+        properties.getQueue().setRetention(Duration.ofDays(30));
+        properties.getQueue().setPurgeBatchSize(100);
+        queue.finished = 250;
+        ServiceRequestJobWorker worker = worker(10);
+
+        worker.purgeFinished();
+
+        assertEquals(0, queue.finished);
+        assertEquals(List.of(100, 100, 100), queue.purgeBatches);
+        assertEquals(NOW.minus(Duration.ofDays(30)), queue.lastPurgeBefore);
+    }
+
+    private UUID job(int attempts, Consumer<UUID> body) {
+        UUID id = UUID.randomUUID();
+        behavior.put(id, body);
+        queue.available.add(new ServiceRequestJobQueuePort.ClaimedJob(id, ServiceType.CND, attempts));
+        return id;
+    }
+
+    private ServiceRequestJobWorker worker(int maxPending) {
+        return worker(executor(maxPending));
+    }
+
+    private ServiceRequestJobWorker worker(BoundedServiceRequestExecutor executor) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("cnd", new FakeProcessor(behavior));
+        ServiceCollectorRegistry noCollectors = new ServiceCollectorRegistry(
+                new StaticListableBeanFactory().getBeanProvider(ServiceCollector.class),
+                new ServiceCollectorProperties(), null, new SimpleMeterRegistry());
+        ServiceRequestProcessorRegistry processors = new ServiceRequestProcessorRegistry(
+                beans.getBeanProvider(ServiceRequestProcessor.class), noCollectors, null, null, CLOCK);
+        return new ServiceRequestJobWorker(queue, executor, processors, properties, CLOCK);
+    }
+
+    private BoundedServiceRequestExecutor executor(int maxPending) {
+        ServiceDispatchProperties p = new ServiceDispatchProperties();
+        p.setMaxPending(maxPending);
+        p.setShutdownTimeout(Duration.ofSeconds(1));
+        BoundedServiceRequestExecutor executor = new BoundedServiceRequestExecutor(p);
+        executors.add(executor);
+        return executor;
+    }
+
+    /**
+     * O job sai de inFlight no finally de run(), logo depois da última chamada à fila.
+     */
+    private void awaitIdle(ServiceRequestJobWorker worker) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            int before = queue.heartbeats.size();
+            worker.heartbeat();
+            if (queue.heartbeats.size() == before) {
+                return;
+            }
+            queue.heartbeats.remove(queue.heartbeats.size() - 1);
+            Thread.sleep(20);
+        }
+        fail("Job continua em execução.");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // -----------------------
+    // Fakes para teste
+    // -----------------------
+
+    record Call(String op, UUID id, Instant availableAt, String error) {}
+
+    /**
+     * Fila em memória: claim entrega os jobs cadastrados; as demais operações são registradas em ordem.
+     */
+    static class FakeQueue implements ServiceRequestJobQueuePort {
+        final List<ClaimedJob> available = new CopyOnWriteArrayList<>();
+        final BlockingQueue<Call> calls = new LinkedBlockingQueue<>();
+        final List<List<UUID>> heartbeats = new CopyOnWriteArrayList<>();
+        final List<Integer> purgeBatches = new ArrayList<>();
+        volatile Instant lastLeaseExpiresAt;
+        Instant lastPurgeBefore;
+        int finished;
+        Runnable onClaim;
+
+        Call next() throws InterruptedException {
+            Call call = calls.poll(5, TimeUnit.SECONDS);
+            assertNotNull(call, "Nenhuma chamada à fila.");
+            return call;
+        }
+
+        @Override
+        public void enqueue(UUID serviceRequestId, ServiceType serviceType, Instant availableAt) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ClaimedJob> claim(String owner, Set<ServiceType> types, int max, Instant now, Duration lease) {
+            List<ClaimedJob> claimed = available.stream().filter(j -> types.contains(j.serviceType())).limit(max).toList();
+            available.removeAll(claimed);
+            if (onClaim != null) {
+                onClaim.run();
+            }
+            return claimed;
+        }
+
+        @Override
+        public int heartbeat(String owner, Collection<UUID> serviceRequestIds, Instant leaseExpiresAt) {
+            heartbeats.add(List.copyOf(serviceRequestIds));
+            lastLeaseExpiresAt = leaseExpiresAt;
+            return serviceRequestIds.size();
+        }
+
+        @Override
+        public void complete(UUID serviceRequestId, String owner, Instant now) {
+            calls.add(new Call("complete", serviceRequestId, null, null));
+        }
+
+        @Override
+        public void release(UUID serviceRequestId, String owner, Instant availableAt, String error) {
+            calls.add(new Call("release", serviceRequestId, availableAt, error));
+        }
+
+        @Override
+        public void releaseUnstarted(UUID serviceRequestId, String owner, Instant availableAt) {
+            calls.add(new Call("releaseUnstarted", serviceRequestId, availableAt, null));
+        }
+
+        @Override
+        public int recoverExpiredLeases(Instant now, int maxAttempts) {
+            return 0;
+        }
+
+        @Override
+        public int enqueueOrphans(Set<ServiceType> types, Instant requestedBefore, Instant now, int max) {
+            return 0;
+        }
+
+        @Override
+        public int purgeFinished(Instant finishedBefore, int max) {
+            lastPurgeBefore = finishedBefore;
+            int removed = Math.min(max, finished);
+            finished -= removed;
+            purgeBatches.add(max);
+            return removed;
+        }
+    }
+
+    record FakeProcessor(Map<UUID, Consumer<UUID>> behavior) implements ServiceRequestProcessor {
+
+        @Override
+        public ServiceType serviceType() {
+            return ServiceType.CND;
+        }
+
+        @Override
+        public ServiceRequest process(UUID serviceRequestId) {
+            behavior.get(serviceRequestId).accept(serviceRequestId);
+            return null;
+        }
+    }
+}
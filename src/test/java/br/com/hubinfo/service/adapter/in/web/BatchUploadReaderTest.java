@@ -0,0 +1,77 @@
+package br.com.hubinfo.service.adapter.in.web;
+
+import br.com.hubinfo.service.usecase.BatchInputItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da leitura do arquivo do envio em massa (CSV/NDJSON).
+ */
+class BatchUploadReaderTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void csvWithHeaderShouldUseCnpjColumn() {
+        List<BatchInputItem> items = read(BatchUploadReader.Format.CSV,
+                "\uFEFFrazao;cnpj\r\n\"Empresa; Ltda\";11.222.333/0001-81\r\n\r\nOutra;11444777000161\r\nSem CNPJ\r\n");
+
+        assertEquals(List.of(
+                BatchInputItem.of(2, "11.222.333/0001-81"),
+                BatchInputItem.of(4, "11444777000161"),
+                BatchInputItem.of(5, null)
+        ), items);
+    }
+
+    @Test
+    void csvWithoutHeaderShouldUseFirstColumn() {
+        List<BatchInputItem> items = read(BatchUploadReader.Format.CSV, "11222333000181,a\n11444777000161,b");
+
+        assertEquals(List.of(
+                BatchInputItem.of(1, "11222333000181"),
+                BatchInputItem.of(2, "11444777000161")
+        ), items);
+    }
+
+    @Test
+    void splitShouldHonorQuotes() {
+        assertEquals(List.of("a;b", "c\"d", ""), BatchUploadReader.split("\"a;b\";\"c\"\"d\";", ';'));
+    }
+
+    @Test
+    void ndjsonShouldReadCnpjFieldAndFlagMalformedLines() {
+        List<BatchInputItem> items = read(BatchUploadReader.Format.NDJSON,
+                "{\"cnpj\":\"11222333000181\"}\n[1,2]\n{oops\n{\"outro\":1}\n");
+
+        assertEquals(4, items.size());
+        assertEquals(BatchInputItem.of(1, "11222333000181"), items.get(0));
+        assertNotNull(items.get(1).error());
+        assertNotNull(items.get(2).error());
+        assertEquals(BatchInputItem.of(4, null), items.get(3));
+    }
+
+    @Test
+    void tooLongLineShouldBecomeMalformedItem() {
+        String longLine = "1".repeat(BatchUploadReader.MAX_LINE_CHARS + 10);
+        List<BatchInputItem> items = read(BatchUploadReader.Format.CSV, longLine + "\n11222333000181\n");
+
+        assertEquals(2, items.size());
+        assertNotNull(items.get(0).error());
+        assertEquals(BatchInputItem.of(2, "11222333000181"), items.get(1));
+    }
+
+    private static List<BatchInputItem> read(BatchUploadReader.Format format, String content) {
+        BatchUploadReader reader = new BatchUploadReader(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, MAPPER);
+        List<BatchInputItem> out = new ArrayList<>();
+        reader.forEach(out::add);
+        return out;
+    }
+}
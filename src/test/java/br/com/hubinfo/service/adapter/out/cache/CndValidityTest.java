@@ -0,0 +1,41 @@
+package br.com.hubinfo.service.adapter.out.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da leitura de validade da CND no payload do portal.
+ */
+class CndValidityTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ZoneId SP = ZoneId.of("America/Sao_Paulo");
+
+    @Test
+    void dateOnlyShouldBeValidUntilEndOfDayInZone() {
+        assertEquals(Optional.of(Instant.parse("2026-03-02T03:00:00Z")),
+                CndValidity.validUntil(MAPPER, "{\"validUntil\":\"2026-03-01\"}", SP));
+        assertEquals(Optional.of(Instant.parse("2026-03-02T03:00:00Z")),
+                CndValidity.validUntil(MAPPER, "{\"dataValidade\":\"01/03/2026\"}", SP));
+    }
+
+    @Test
+    void shouldAcceptIsoInstantWithOffset() {
+        assertEquals(Optional.of(Instant.parse("2026-03-01T15:00:00Z")),
+                CndValidity.validUntil(MAPPER, "{\"validade\":\"2026-03-01T12:00:00-03:00\"}", SP));
+    }
+
+    @Test
+    void shouldIgnoreMissingOrUnknownValidity() {
+        assertTrue(CndValidity.validUntil(MAPPER, "{}", SP).isEmpty());
+        assertTrue(CndValidity.validUntil(MAPPER, "{\"validUntil\":\"em breve\"}", SP).isEmpty());
+        assertTrue(CndValidity.validUntil(MAPPER, "não é json", SP).isEmpty());
+        assertTrue(CndValidity.validUntil(MAPPER, null, SP).isEmpty());
+    }
+}
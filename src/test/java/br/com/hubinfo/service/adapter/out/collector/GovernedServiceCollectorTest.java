@@ -0,0 +1,199 @@
+package br.com.hubinfo.service.adapter.out.collector;
+
+import br.com.hubinfo.common.ratelimit.LeasedRateLimiter;
+import br.com.hubinfo.service.config.ServiceCollectorProperties;
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.ServiceCollector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da política por tipo aplicada aos coletores (sem Spring).
+ */
+class GovernedServiceCollectorTest {
+
+    private static final ServiceCollector.CollectorResult OK =
+            new ServiceCollector.CollectorResult(true, "COLLECTED", null, "{}");
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final List<GovernedServiceCollector> created = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        created.forEach(GovernedServiceCollector::shutdown);
+    }
+
+    @Test
+    void shouldRetryTechnicalFailuresUpToMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+        GovernedServiceCollector collector = governed(policy(p -> p.setMaxAttempts(3)), req -> {
+            if (calls.incrementAndGet() < 3) throw new IllegalStateException("portal fora");
+            return OK;
+        });
+
+        ServiceCollector.CollectorResult result = collector.collect(request(null));
+
+        assertTrue(result.success());
+        assertEquals(3, calls.get());
+        assertEquals(3, meters.find("hubinfo.collector.calls").timers().stream()
+                .mapToLong(t -> t.count()).sum());
+    }
+
+    @Test
+    void shouldNotRetryWithCaptchaToken() {
+        AtomicInteger calls = new AtomicInteger();
+        GovernedServiceCollector collector = governed(policy(p -> p.setMaxAttempts(3)), req -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("portal fora");
+        });
+
+        ServiceCollector.CollectorResult result = collector.collect(request("token"));
+
+        assertFalse(result.success());
+        assertEquals("GATEWAY_ERROR", result.resultCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void shouldTimeOutAndInterruptSlowCollector() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        GovernedServiceCollector collector = governed(policy(p -> p.setTimeout(Duration.ofMillis(100))), req -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+            }
+            return OK;
+        });
+
+        ServiceCollector.CollectorResult result = collector.collect(request(null));
+
+        assertEquals("TIMEOUT", result.resultCode());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void slowTypeShouldNotConsumeCapacityOfOtherTypes() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        GovernedServiceCollector slow = governed(ServiceType.SITUACAO_FISCAL_FEDERAL,
+                policy(p -> { p.setMaxConcurrent(1); p.setTimeout(Duration.ofMillis(200)); }),
+                req -> {
+                    // Portal travado que ignora o interrupt: a vaga só volta quando ele responder.
+                    started.countDown();
+                    while (true) {
+                        try {
+                            release.await();
+                            return OK;
+                        } catch (InterruptedException ignored) {
+                        }
+                    }
+                });
+        GovernedServiceCollector fast = governed(ServiceType.CND, policy(p -> p.setMaxConcurrent(1)), req -> OK);
+
+        assertEquals("TIMEOUT", slow.collect(request(null)).resultCode());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // O tipo lento continua sem vaga; o outro tipo segue atendendo.
+        assertTrue(fast.collect(request(null)).success());
+        assertEquals("COLLECTOR_BUSY", slow.collect(request(null)).resultCode());
+
+        release.countDown();
+    }
+
+    @Test
+    void shouldRejectWhenRateWaitExceedsTimeout() {
+        GovernedServiceCollector collector = governed(policy(p -> {
+            p.setRatePerSecond(0.1);
+            p.setTimeout(Duration.ofMillis(100));
+        }), req -> OK);
+
+        assertTrue(collector.collect(request(null)).success());
+        assertEquals("RATE_LIMITED", collector.collect(request(null)).resultCode());
+    }
+
+    @Test
+    void typesOfTheSamePortalShouldShareItsBudget() {
+        AtomicInteger budget = new AtomicInteger(1);
+        LeasedRateLimiter portal = new LeasedRateLimiter("solucoes.receita.fazenda.gov.br",
+                requested -> budget.getAndSet(0), 5, Duration.ofMinutes(1), Duration.ofSeconds(10));
+        ServiceCollectorProperties.Policy policy = policy(p -> p.setTimeout(Duration.ofMillis(100)));
+        GovernedServiceCollector cnpj = governed(ServiceType.CNPJ_DADOS_CADASTRAIS, policy, portal, req -> OK);
+        GovernedServiceCollector cnd = governed(ServiceType.CND, policy, portal, req -> OK);
+
+        assertTrue(cnpj.collect(request(null)).success());
+        assertEquals("RATE_LIMITED", cnd.collect(request(null)).resultCode());
+    }
+
+    @Test
+    void portalDenialShouldNotSpendTheTypeRate() {
+        AtomicInteger budget = new AtomicInteger(0);
+        LeasedRateLimiter portal = new LeasedRateLimiter("solucoes.receita.fazenda.gov.br",
+                requested -> budget.getAndSet(0), 5, Duration.ofMinutes(1), Duration.ofMillis(1));
+        GovernedServiceCollector collector = governed(ServiceType.CND, policy(p -> {
+            p.setRatePerSecond(0.1);
+            p.setTimeout(Duration.ofMillis(100));
+            p.setMaxAttempts(1);
+        }), portal, req -> OK);
+
+        assertEquals("RATE_LIMITED", collector.collect(request(null)).resultCode());
+
+        // Portal liberou: a única vez do bucket do tipo (0,1/s) continua disponível.
+        budget.set(5);
+        assertTrue(collector.collect(request(null)).success());
+    }
+
+    private GovernedServiceCollector governed(ServiceCollectorProperties.Policy policy,
+                                              Function<ServiceCollector.CollectorRequest, ServiceCollector.CollectorResult> body) {
+        return governed(ServiceType.CNPJ_DADOS_CADASTRAIS, policy, body);
+    }
+
+    private GovernedServiceCollector governed(ServiceType type,
+                                              ServiceCollectorProperties.Policy policy,
+                                              Function<ServiceCollector.CollectorRequest, ServiceCollector.CollectorResult> body) {
+        return governed(type, policy, null, body);
+    }
+
+    private GovernedServiceCollector governed(ServiceType type,
+                                              ServiceCollectorProperties.Policy policy,
+                                              LeasedRateLimiter portal,
+                                              Function<ServiceCollector.CollectorRequest, ServiceCollector.CollectorResult> body) {
+        GovernedServiceCollector collector = new GovernedServiceCollector(new FakeCollector(type, body), policy, portal, meters);
+        created.add(collector);
+        return collector;
+    }
+
+    private static ServiceCollectorProperties.Policy policy(Consumer<ServiceCollectorProperties.Policy> override) {
+        ServiceCollectorProperties properties = new ServiceCollectorProperties();
+        ServiceCollectorProperties.Policy policy = new ServiceCollectorProperties.Policy();
+        policy.setRetryBackoff(Duration.ofMillis(10));
+        override.accept(policy);
+        properties.getTypes().put(ServiceType.CND, policy);
+        return properties.policyFor(ServiceType.CND);
+    }
+
+    private static ServiceCollector.CollectorRequest request(String token) {
+        return new ServiceCollector.CollectorRequest("11222333000181", token);
+    }
+
+    record FakeCollector(ServiceType serviceType,
+                         Function<CollectorRequest, CollectorResult> body) implements ServiceCollector {
+
+        @Override
+        public CollectorResult collect(CollectorRequest request) {
+            return body.apply(request);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.hubinfo.service.adapter.out.gateway;
+
+import br.com.hubinfo.service.config.PortalGatewayProperties;
+import br.com.hubinfo.service.usecase.port.CndGatewayPort.CndGatewayResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do gateway HTTP de CND contra um portal falso local (Reactor Netty, HTTP/1.1 + H2C).
+ */
+class WebClientCndGatewayTest {
+
+    private static final String CNPJ = "11222333000181";
+
+    private DisposableServer portal;
+    private volatile BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> handler;
+    private final List<String> seenProtocols = new CopyOnWriteArrayList<>();
+    private final List<String> seenCnpjs = new CopyOnWriteArrayList<>();
+
+    private PortalWebClientFactory factory;
+
+    @BeforeEach
+    void startPortal() {
+        portal = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .route(routes -> routes.get("/cnd", (req, res) -> {
+                    seenProtocols.add(req.protocol());
+                    seenCnpjs.addAll(new QueryStringDecoder(req.uri()).parameters().getOrDefault("cnpj", List.of()));
+                    return handler.apply(req, res);
+                }))
+                .bindNow();
+    }
+
+    @AfterEach
+    void stopPortal() {
+        if (factory != null) {
+            factory.close();
+        }
+        portal.disposeNow();
+    }
+
+    @Test
+    void shouldMapPortalJsonToResult() {
+        handler = (req, res) -> json(res, "{\"success\":true,\"resultCode\":\"NEGATIVE\",\"message\":\"Certidão emitida\"}");
+
+        CndGatewayResult result = gateway(props()).requestCnd(CNPJ);
+
+        assertTrue(result.success());
+        assertEquals("NEGATIVE", result.resultCode());
+        assertEquals("Certidão emitida", result.message());
+        assertTrue(result.payloadJson().contains("NEGATIVE"));
+        assertEquals(List.of(CNPJ), seenCnpjs);
+    }
+
+    @Test
+    void shouldReportUnavailableOnServerError() {
+        handler = (req, res) -> res.status(HttpResponseStatus.SERVICE_UNAVAILABLE).send();
+
+        CndGatewayResult result = gateway(props()).requestCnd(CNPJ);
+
+        assertFalse(result.success());
+        assertEquals("UNAVAILABLE", result.resultCode());
+    }
+
+    @Test
+    void shouldReportTimeoutWhenPortalIsSlow() {
+        handler = (req, res) -> json(res, "{}", Duration.ofSeconds(3));
+        PortalGatewayProperties props = props();
+        props.setResponseTimeout(Duration.ofMillis(200));
+
+        long start = System.nanoTime();
+        CndGatewayResult result = gateway(props).requestCnd(CNPJ);
+
+        assertEquals("TIMEOUT", result.resultCode());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2000);
+    }
+
+    @Test
+    void bulkheadShouldRejectBeyondLimitWithoutWaiting() {
+        handler = (req, res) -> json(res, "{}", Duration.ofMillis(500));
+        PortalGatewayProperties props = props();
+        props.getCnd().getBulkhead().setMaxConcurrent(2);
+        WebClientCndGateway gateway = gateway(props);
+
+        Mono<CndGatewayResult> first = gateway.requestCndAsync(CNPJ).cache();
+        Mono<CndGatewayResult> second = gateway.requestCndAsync(CNPJ).cache();
+        first.subscribe();
+        second.subscribe();
+
+        // As duas vagas estão ocupadas: a terceira falha na hora.
+        CndGatewayResult third = gateway.requestCnd(CNPJ);
+        assertEquals("PORTAL_BUSY", third.resultCode());
+
+        assertTrue(first.block().success());
+        assertTrue(second.block().success());
+
+        // Vagas devolvidas ao terminar.
+        assertTrue(gateway.requestCnd(CNPJ).success());
+    }
+
+    @Test
+    void shouldRespectPerHostConnectionLimit() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        handler = (req, res) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return res.header("Content-Type", "application/json")
+                    // Decrementa antes de escrever a resposta: o cliente só reusa a conexão depois disso.
+                    .sendString(Mono.just("{}").delayElement(Duration.ofMillis(100))
+                            .doOnNext(body -> inFlight.decrementAndGet()));
+        };
+        PortalGatewayProperties props = props();
+        props.setMaxConnectionsPerHost(Map.of("localhost:" + portal.port(), 1));
+        WebClientCndGateway gateway = gateway(props);
+
+        List<CndGatewayResult> results = Flux.range(0, 4)
+                .flatMap(i -> gateway.requestCndAsync(CNPJ))
+                .collectList()
+                .block();
+
+        assertEquals(4, results.size());
+        assertTrue(results.stream().allMatch(CndGatewayResult::success), results.toString());
+        assertEquals(1, maxInFlight.get(), "Com 1 conexão por host as chamadas devem ser serializadas.");
+    }
+
+    @Test
+    void shouldUseHttp2CleartextWhenConfigured() {
+        handler = (req, res) -> json(res, "{}");
+        PortalGatewayProperties props = props();
+        props.setProtocols(List.of("H2C", "HTTP11"));
+
+        assertTrue(gateway(props).requestCnd(CNPJ).success());
+        assertEquals(List.of("HTTP/2.0"), seenProtocols);
+    }
+
+    @Test
+    void shouldIgnoreProtocolsThatDoNotMatchScheme() {
+        assertArrayEquals(new HttpProtocol[]{HttpProtocol.HTTP11},
+                PortalWebClientFactory.protocols(List.of("H2", "HTTP11"), false));
+        assertArrayEquals(new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11},
+                PortalWebClientFactory.protocols(List.of("h2", "H2C", "HTTP11"), true));
+    }
+
+    private PortalGatewayProperties props() {
+        PortalGatewayProperties props = new PortalGatewayProperties();
+        props.setConnectTimeout(Duration.ofSeconds(2));
+        props.setResponseTimeout(Duration.ofSeconds(5));
+        props.getCnd().setMode("http");
+        props.getCnd().setBaseUrl("http://localhost:" + portal.port());
+        props.getCnd().setPath("/cnd");
+        props.getCnd().setTimeout(Duration.ofSeconds(10));
+        return props;
+    }
+
+    private WebClientCndGateway gateway(PortalGatewayProperties props) {
+        factory = new PortalWebClientFactory(props, WebClient.builder());
+        return new WebClientCndGateway(factory, props, new ObjectMapper());
+    }
+
+    private static Publisher<Void> json(HttpServerResponse res, String body) {
+        return res.header("Content-Type", "application/json").sendString(Mono.just(body));
+    }
+
+    private static Publisher<Void> json(HttpServerResponse res, String body, Duration delay) {
+        return res.header("Content-Type", "application/json").sendString(Mono.just(body).delayElement(delay));
+    }
+}
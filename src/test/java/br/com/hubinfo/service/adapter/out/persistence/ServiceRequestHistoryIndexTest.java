@@ -0,0 +1,194 @@
+package br.com.hubinfo.service.adapter.out.persistence;
+
+import br.com.hubinfo.common.id.UuidV7;
+import br.com.hubinfo.common.persistence.UuidBinary;
+import br.com.hubinfo.notification.usecase.port.UserEventPublisher;
+import br.com.hubinfo.service.domain.ServiceRequestStatus;
+import br.com.hubinfo.service.domain.ServiceType;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Confere, via EXPLAIN no MySQL real, que cada combinação de filtro do histórico usa o índice composto esperado.
+ *
+ * Observação:
+ * - Depende de banco (como HubInfoApiApplicationTests); roda só com HUBINFO_IT_DB_URL definido.
+ * - O SQL analisado é o que o Hibernate realmente emitiu para findPage (capturado pelo StatementInspector).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "HUBINFO_IT_DB_URL", matches = ".+")
+@TestPropertySource(properties = {
+        "spring.datasource.url=${HUBINFO_IT_DB_URL}",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "br.com.hubinfo.service.adapter.out.persistence.ServiceRequestHistoryIndexTest$CapturingInspector"
+})
+@Import({ServiceRequestPersistenceAdapter.class, ServiceRequestHistoryIndexTest.AdapterDependencies.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ServiceRequestHistoryIndexTest {
+
+    private static final String MARKER_EMAIL = "explain-test@hubinfo.local";
+    private static final int ROWS = 5000;
+    private static final int USERS = 100;
+
+    @Autowired
+    private ServiceRequestPersistenceAdapter adapter;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private UUID someUser;
+
+    @BeforeEach
+    void seed() {
+        cleanup();
+
+        List<UUID> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(UUID.randomUUID());
+        }
+        someUser = users.get(0);
+
+        ServiceType[] types = ServiceType.values();
+        ServiceRequestStatus[] statuses = ServiceRequestStatus.values();
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+
+        List<Object[]> batch = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            UUID id = UuidV7.next();
+            UUID user = users.get(i % USERS);
+            batch.add(new Object[]{
+                    id.toString(),
+                    UuidBinary.toBytes(id),
+                    types[i % types.length].name(),
+                    statuses[(i / types.length) % statuses.length].name(),
+                    user.toString(),
+                    UuidBinary.toBytes(user),
+                    Timestamp.from(base.plusSeconds(i))
+            });
+        }
+        jdbc.batchUpdate("""
+                INSERT INTO service_requests
+                  (id, id_bin, service_type, status, cnpj, requested_by_user_id, requested_by_user_id_bin,
+                   requested_by_email, requested_at)
+                VALUES (?, ?, ?, ?, '11222333000181', ?, ?, '""" + MARKER_EMAIL + "', ?)", batch);
+
+        // Estatísticas atualizadas para o otimizador enxergar a distribuição real.
+        jdbc.queryForList("ANALYZE TABLE service_requests");
+        CapturingInspector.SQL.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbc.update("DELETE FROM service_requests WHERE requested_by_email = ?", MARKER_EMAIL);
+    }
+
+    @Test
+    void userScopeUsesUserIndex() {
+        adapter.findPage(someUser, null, null, null, null, 20);
+
+        assertKey("idx_sr_user_requested_at", someUser.toString(), 20);
+    }
+
+    @Test
+    void userScopeKeysetPageUsesUserIndex() {
+        Instant at = Instant.parse("2026-01-01T01:00:00Z");
+        UUID id = UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff");
+
+        adapter.findPage(someUser, null, null, at, id, 20);
+
+        assertKey("idx_sr_user_requested_at", someUser.toString(), Timestamp.from(at), Timestamp.from(at),
+                id.toString(), 20);
+    }
+
+    @Test
+    void typeAndStatusUseCompositeIndex() {
+        adapter.findPage(null, ServiceType.CND, ServiceRequestStatus.SUCCESS, null, null, 20);
+
+        assertKey("idx_sr_type_status_requested_at", "CND", "SUCCESS", 20);
+    }
+
+    @Test
+    void statusOnlyUsesStatusIndex() {
+        adapter.findPage(null, null, ServiceRequestStatus.FAILURE, null, null, 20);
+
+        assertKey("idx_sr_status_requested_at", "FAILURE", 20);
+    }
+
+    @Test
+    void shouldNotEmitAbsentFilters() {
+        adapter.findPage(null, ServiceType.CND, null, null, null, 20);
+
+        String sql = lastSelect();
+        assertFalse(sql.toLowerCase().contains("is null"), sql);
+        assertFalse(sql.contains("requested_by_user_id="), sql);
+    }
+
+    private void assertKey(String expectedIndex, Object... args) {
+        String sql = lastSelect();
+        List<Map<String, Object>> plan = jdbc.queryForList("EXPLAIN " + sql, args);
+
+        assertEquals(1, plan.size(), plan.toString());
+        assertEquals(expectedIndex, plan.get(0).get("key"), "Plano: " + plan + "\nSQL: " + sql);
+    }
+
+    private static String lastSelect() {
+        return CapturingInspector.SQL.stream()
+                .filter(s -> s.toLowerCase().startsWith("select") && s.contains("service_requests"))
+                .reduce((a, b) -> b)
+                .orElseThrow(() -> new AssertionError("Nenhum SELECT capturado."));
+    }
+
+    /**
+     * Guarda o SQL gerado pelo Hibernate, sem alterá-lo.
+     */
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql.replaceAll("\\s+", " ").trim());
+            return sql;
+        }
+    }
+
+    /**
+     * Dependências do adapter fora do escopo do @DataJpaTest (eventos não importam para o plano de execução).
+     */
+    @TestConfiguration
+    static class AdapterDependencies {
+        @Bean
+        Clock clock() {
+            return Clock.systemUTC();
+        }
+
+        @Bean
+        UserEventPublisher userEventPublisher() {
+            return event -> { };
+        }
+    }
+}
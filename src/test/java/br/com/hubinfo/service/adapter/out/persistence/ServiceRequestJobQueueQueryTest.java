@@ -0,0 +1,209 @@
+package br.com.hubinfo.service.adapter.out.persistence;
+
+import br.com.hubinfo.common.id.UuidV7;
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.ServiceRequestJobQueuePort.ClaimedJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Confere no MySQL real as queries da fila persistente (SKIP LOCKED, recuperação de lease, purge).
+ *
+ * Observação:
+ * - Depende de banco (como ServiceRequestHistoryIndexTest); roda só com HUBINFO_IT_DB_URL definido.
+ * - Os jobs do teste ficam disponíveis no ano 2000 e os "now" passados às queries também: jobs reais
+ *   do banco (sempre mais novos) nunca são reivindicados, recuperados ou apagados pelo teste.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "HUBINFO_IT_DB_URL", matches = ".+")
+@TestPropertySource(properties = "spring.datasource.url=${HUBINFO_IT_DB_URL}")
+@Import({ServiceRequestJobPersistenceAdapter.class, ServiceRequestJobQueueQueryTest.ClockConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ServiceRequestJobQueueQueryTest {
+
+    private static final Instant T0 = Instant.parse("2000-01-01T00:00:00Z");
+    private static final Duration LEASE = Duration.ofMinutes(1);
+    private static final Set<ServiceType> TYPES = Set.of(ServiceType.CND);
+
+    @Autowired
+    private ServiceRequestJobPersistenceAdapter queue;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<UUID> created = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        for (UUID id : created) {
+            jdbc.update("DELETE FROM service_request_jobs WHERE service_request_id = ?", id.toString());
+        }
+    }
+
+    @Test
+    void concurrentClaimsShouldSkipLockedRowsInsteadOfWaiting() throws Exception {
+        enqueue(10);
+        CountDownLatch firstClaimed = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        // Primeiro worker reivindica e segura a transação aberta (linhas travadas até o commit).
+        CompletableFuture<List<ClaimedJob>> first = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(tx -> {
+                    List<ClaimedJob> jobs = queue.claim("node-a", TYPES, 4, T0, LEASE);
+                    firstClaimed.countDown();
+                    await(releaseFirst);
+                    return jobs;
+                }));
+        assertTrue(firstClaimed.await(10, TimeUnit.SECONDS));
+
+        // Sem SKIP LOCKED este claim ficaria bloqueado no lock do primeiro.
+        List<ClaimedJob> second = CompletableFuture
+                .supplyAsync(() -> queue.claim("node-b", TYPES, 10, T0, LEASE))
+                .get(10, TimeUnit.SECONDS);
+        releaseFirst.countDown();
+        List<ClaimedJob> firstJobs = first.get(10, TimeUnit.SECONDS);
+
+        assertEquals(4, firstJobs.size());
+        assertEquals(6, second.size());
+        Set<UUID> all = new HashSet<>(ids(firstJobs));
+        all.addAll(ids(second));
+        assertEquals(Set.copyOf(created), all);
+        assertTrue(second.stream().allMatch(j -> j.attempts() == 1));
+        assertEquals("node-a", row(firstJobs.get(0).serviceRequestId()).get("lease_owner"));
+        assertEquals("node-b", row(second.get(0).serviceRequestId()).get("lease_owner"));
+    }
+
+    @Test
+    void expiredLeaseShouldRequeueOrFailWhenAttemptsAreExhausted() {
+        UUID retried = enqueue(1).get(0);
+        UUID fresh = enqueue(1).get(0);
+        queue.claim("node-a", TYPES, 2, T0, LEASE);
+
+        // "retried" falhou uma vez e voltou a ser reivindicado (attempts = 2).
+        queue.release(retried, "node-a", T0, "portal fora");
+        assertEquals(List.of(retried), ids(queue.claim("node-a", TYPES, 2, T0, LEASE)));
+
+        assertEquals(0, queue.recoverExpiredLeases(T0.plusSeconds(30), 2), "Lease ainda válido.");
+        assertEquals(2, queue.recoverExpiredLeases(T0.plus(LEASE).plusSeconds(1), 2));
+
+        Map<String, Object> failed = row(retried);
+        assertEquals("FAILED", failed.get("status"));
+        assertEquals(2, ((Number) failed.get("attempts")).intValue());
+        assertNull(failed.get("lease_owner"));
+
+        Map<String, Object> requeued = row(fresh);
+        assertEquals("QUEUED", requeued.get("status"));
+        assertEquals(1, ((Number) requeued.get("attempts")).intValue());
+        assertNull(requeued.get("lease_owner"));
+    }
+
+    @Test
+    void heartbeatShouldKeepTheLeaseAlive() {
+        UUID id = enqueue(1).get(0);
+        queue.claim("node-a", TYPES, 1, T0, LEASE);
+
+        assertEquals(0, queue.heartbeat("node-b", List.of(id), T0.plus(LEASE).plus(LEASE)), "Só o dono renova.");
+        assertEquals(1, queue.heartbeat("node-a", List.of(id), T0.plus(LEASE).plus(LEASE)));
+
+        assertEquals(0, queue.recoverExpiredLeases(T0.plus(LEASE).plusSeconds(1), 5));
+        assertEquals("RUNNING", row(id).get("status"));
+    }
+
+    @Test
+    void unstartedReleaseShouldGiveTheAttemptBack() {
+        UUID id = enqueue(1).get(0);
+        queue.claim("node-a", TYPES, 1, T0, LEASE);
+
+        queue.releaseUnstarted(id, "node-a", T0);
+
+        Map<String, Object> row = row(id);
+        assertEquals("QUEUED", row.get("status"));
+        assertEquals(0, ((Number) row.get("attempts")).intValue());
+        assertEquals(1, queue.claim("node-a", TYPES, 1, T0, LEASE).get(0).attempts());
+    }
+
+    @Test
+    void purgeShouldDeleteOnlyFinishedJobsOlderThanTheCutoff() {
+        List<UUID> ids = enqueue(3);
+        queue.claim("node-a", TYPES, 3, T0, LEASE);
+        queue.complete(ids.get(0), "node-a", T0.plusSeconds(10));
+        queue.complete(ids.get(1), "node-a", T0.plus(Duration.ofDays(2)));
+
+        assertEquals(1, queue.purgeFinished(T0.plus(Duration.ofDays(1)), 100));
+
+        assertNull(row(ids.get(0)));
+        assertEquals("DONE", row(ids.get(1)).get("status"));
+        assertEquals("RUNNING", row(ids.get(2)).get("status"));
+    }
+
+    private List<UUID> enqueue(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID id = UuidV7.next();
+            created.add(id);
+            ids.add(id);
+            queue.enqueue(id, ServiceType.CND, T0);
+        }
+        return ids;
+    }
+
+    private Map<String, Object> row(UUID id) {
+        List<Map<String, Object>> rows = jdbc.queryForList(
+                "SELECT status, attempts, lease_owner FROM service_request_jobs WHERE service_request_id = ?",
+                id.toString());
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private static List<UUID> ids(List<ClaimedJob> jobs) {
+        return jobs.stream().map(ClaimedJob::serviceRequestId).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(20, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @TestConfiguration
+    static class ClockConfig {
+        @Bean
+        Clock clock() {
+            return Clock.systemUTC();
+        }
+    }
+}
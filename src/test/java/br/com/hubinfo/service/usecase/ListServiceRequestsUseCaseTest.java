@@ -0,0 +1,160 @@
+package br.com.hubinfo.service.usecase;
+
+import br.com.hubinfo.service.domain.ServiceRequest;
+import br.com.hubinfo.service.domain.ServiceRequestStatus;
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.ServiceRequestRepositoryPort;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da paginação por keyset e da exportação do histórico (sem Spring/banco).
+ */
+class ListServiceRequestsUseCaseTest {
+
+    private static final UUID USER = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID OTHER = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @Test
+    void shouldWalkWholeHistoryFollowingCursor() {
+        FakeRepository repo = new FakeRepository();
+        // Vários itens no mesmo instante: o desempate por id precisa evitar perdas/duplicidades.
+        Instant base = Instant.parse("2026-01-10T12:00:00Z");
+        for (int i = 0; i < 250; i++) {
+            repo.add(USER, base.plusSeconds(i / 3));
+        }
+        repo.add(OTHER, base);
+
+        ListServiceRequestsUseCase useCase = new ListServiceRequestsUseCase(repo);
+
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ServiceRequestPage page = useCase.page(USER, false, ListServiceRequestsUseCase.Scope.ME, null, null, 100, cursor);
+            page.items().forEach(r -> seen.add(r.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(250, seen.size());
+        assertEquals(250, new HashSet<>(seen).size());
+        assertEquals(repo.sortedIds(USER), seen);
+    }
+
+    @Test
+    void shouldRejectTamperedCursor() {
+        ListServiceRequestsUseCase useCase = new ListServiceRequestsUseCase(new FakeRepository());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> useCase.page(USER, false, ListServiceRequestsUseCase.Scope.ME, null, null, 10, "não-é-um-cursor"));
+    }
+
+    @Test
+    void shouldRoundTripCursor() {
+        ServiceRequestCursor cursor = new ServiceRequestCursor(Instant.parse("2026-01-10T12:00:00.123456Z"), USER);
+
+        assertEquals(cursor, ServiceRequestCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void shouldExportAllInBatchesOnlyForAdmin() {
+        FakeRepository repo = new FakeRepository();
+        Instant base = Instant.parse("2026-01-10T12:00:00Z");
+        int total = ListServiceRequestsUseCase.EXPORT_BATCH_SIZE * 2 + 7;
+        for (int i = 0; i < total; i++) {
+            repo.add(i % 2 == 0 ? USER : OTHER, base.plusMillis(i));
+        }
+
+        ListServiceRequestsUseCase useCase = new ListServiceRequestsUseCase(repo);
+
+        assertThrows(IllegalArgumentException.class, () -> useCase.exportAll(false, null, null));
+
+        Iterable<ServiceRequest> rows = useCase.exportAll(true, null, null);
+        // Nada é lido antes de percorrer.
+        assertEquals(0, repo.pageCalls.get());
+
+        int count = 0;
+        for (ServiceRequest ignored : rows) {
+            count++;
+        }
+
+        assertEquals(total, count);
+        assertEquals(3, repo.pageCalls.get());
+    }
+
+    // -----------------------
+    // Fake (port) para teste
+    // -----------------------
+
+    /**
+     * Simula a ordenação do banco: requested_at DESC, id DESC (id comparado como texto: no BINARY(16) a ordem dos bytes é a mesma do texto).
+     */
+    static class FakeRepository implements ServiceRequestRepositoryPort {
+        private static final Comparator<ServiceRequest> ORDER = Comparator
+                .comparing(ServiceRequest::requestedAt)
+                .thenComparing(r -> r.id().toString())
+                .reversed();
+
+        final List<ServiceRequest> db = new ArrayList<>();
+        final AtomicInteger pageCalls = new AtomicInteger();
+
+        void add(UUID user, Instant requestedAt) {
+            db.add(ServiceRequest.createPending(ServiceType.CND, "11222333000181", user, "user@exemplo.com", requestedAt));
+        }
+
+        List<UUID> sortedIds(UUID user) {
+            return db.stream().filter(r -> user.equals(r.requestedByUserId())).sorted(ORDER).map(ServiceRequest::id).toList();
+        }
+
+        @Override
+        public ServiceRequest save(ServiceRequest request) {
+            db.add(request);
+            return request;
+        }
+
+        @Override
+        public Optional<ServiceRequest> findById(UUID id) {
+            return db.stream().filter(r -> r.id().equals(id)).findFirst();
+        }
+
+        @Override
+        public List<ServiceRequest> findCoalescedWith(UUID leaderRequestId, ServiceRequestStatus status) {
+            return db.stream()
+                    .filter(r -> leaderRequestId.equals(r.coalescedWithRequestId()) && r.status() == status)
+                    .toList();
+        }
+
+        @Override
+        public List<ServiceRequest> findLatest(UUID requestedByUserIdOrNull,
+                                               ServiceType serviceTypeOrNull,
+                                               ServiceRequestStatus statusOrNull,
+                                               int limit) {
+            return findPage(requestedByUserIdOrNull, serviceTypeOrNull, statusOrNull, null, null, limit);
+        }
+
+        @Override
+        public List<ServiceRequest> findPage(UUID requestedByUserIdOrNull,
+                                             ServiceType serviceTypeOrNull,
+                                             ServiceRequestStatus statusOrNull,
+                                             Instant beforeRequestedAt,
+                                             UUID beforeId,
+                                             int limit) {
+            pageCalls.incrementAndGet();
+            return db.stream()
+                    .filter(r -> requestedByUserIdOrNull == null || requestedByUserIdOrNull.equals(r.requestedByUserId()))
+                    .filter(r -> beforeRequestedAt == null
+                            || r.requestedAt().isBefore(beforeRequestedAt)
+                            || (r.requestedAt().equals(beforeRequestedAt) && r.id().toString().compareTo(beforeId.toString()) < 0))
+                    .sorted(ORDER)
+                    .limit(limit)
+                    .toList();
+        }
+    }
+}
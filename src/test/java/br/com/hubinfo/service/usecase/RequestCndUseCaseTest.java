@@ -0,0 +1,351 @@
+package br.com.hubinfo.service.usecase;
+
+import br.com.hubinfo.audit.domain.AuditEvent;
+import br.com.hubinfo.audit.usecase.RecordAuditEventUseCase;
+import br.com.hubinfo.audit.usecase.port.AuditEventRepositoryPort;
+import br.com.hubinfo.service.domain.ServiceRequest;
+import br.com.hubinfo.service.domain.ServiceRequestStatus;
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.CndCertificateCachePort;
+import br.com.hubinfo.service.usecase.port.CndGatewayPort;
+import br.com.hubinfo.service.usecase.port.ServiceRequestDispatcherPort;
+import br.com.hubinfo.service.usecase.port.ServiceRequestRepositoryPort;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do caso de uso de CND nos modos síncrono e assíncrono (sem Spring/banco).
+ */
+class RequestCndUseCaseTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-10T12:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void shouldCompleteOnRequestThreadWhenNoDispatcher() {
+        FakeRepository repo = new FakeRepository();
+        FakeGateway gateway = new FakeGateway();
+        FakeAuditRepository auditRepo = new FakeAuditRepository();
+
+        RequestCndUseCase useCase = new RequestCndUseCase(repo, gateway, new RecordAuditEventUseCase(auditRepo, CLOCK), CLOCK);
+
+        ServiceRequest result = useCase.request(command("11.222.333/0001-81"));
+
+        assertEquals(ServiceRequestStatus.SUCCESS, result.status());
+        assertEquals("11222333000181", result.cnpj());
+        assertEquals(1, gateway.calls.get());
+        assertEquals(2, auditRepo.events.size());
+    }
+
+    @Test
+    void shouldReturnPendingAndProcessOnWorkerWhenDispatched() {
+        FakeRepository repo = new FakeRepository();
+        FakeGateway gateway = new FakeGateway();
+        FakeAuditRepository auditRepo = new FakeAuditRepository();
+        FakeDispatcher dispatcher = new FakeDispatcher(true);
+
+        RequestCndUseCase useCase = new RequestCndUseCase(
+                repo, gateway, new RecordAuditEventUseCase(auditRepo, CLOCK), CLOCK, dispatcher);
+
+        ServiceRequest accepted = useCase.request(command("11222333000181"));
+
+        assertEquals(ServiceRequestStatus.PENDING, accepted.status());
+        assertEquals(0, gateway.calls.get());
+        assertEquals(List.of(accepted.id()), dispatcher.dispatched);
+
+        ServiceRequest processed = useCase.process(accepted.id());
+        assertEquals(ServiceRequestStatus.SUCCESS, processed.status());
+
+        // Reprocessar não chama o gateway de novo (idempotência)
+        ServiceRequest again = useCase.process(accepted.id());
+        assertEquals(ServiceRequestStatus.SUCCESS, again.status());
+        assertEquals(1, gateway.calls.get());
+    }
+
+    @Test
+    void shouldFailFastWhenDispatcherHasNoCapacity() {
+        FakeRepository repo = new FakeRepository();
+        FakeGateway gateway = new FakeGateway();
+        FakeAuditRepository auditRepo = new FakeAuditRepository();
+
+        RequestCndUseCase useCase = new RequestCndUseCase(
+                repo, gateway, new RecordAuditEventUseCase(auditRepo, CLOCK), CLOCK, new FakeDispatcher(false));
+
+        assertThrows(ServiceBusyException.class, () -> useCase.request(command("11222333000181")));
+
+        ServiceRequest stored = repo.db.values().iterator().next();
+        assertEquals(ServiceRequestStatus.FAILURE, stored.status());
+        assertEquals("SERVICE_BUSY", stored.resultCode());
+        assertEquals(0, gateway.calls.get());
+    }
+
+    @Test
+    void shouldServeRepeatCnpjFromCacheWithoutCallingGateway() {
+        FakeRepository repo = new FakeRepository();
+        FakeGateway gateway = new FakeGateway();
+        FakeAuditRepository auditRepo = new FakeAuditRepository();
+        FakeCertificateCache cache = new FakeCertificateCache();
+
+        RequestCndUseCase useCase = new RequestCndUseCase(
+                repo, gateway, new RecordAuditEventUseCase(auditRepo, CLOCK), CLOCK, new FakeDispatcher(true), cache);
+
+        // Primeira solicitação vai ao portal (via worker) e alimenta o cache.
+        ServiceRequest first = useCase.request(command("11222333000181"));
+        useCase.process(first.id());
+        assertEquals(1, cache.puts.get());
+
+        // Segunda: SUCCESS na hora, sem agendar nem consultar o portal.
+        ServiceRequest second = useCase.request(command("11.222.333/0001-81"));
+
+        assertEquals(ServiceRequestStatus.SUCCESS, second.status());
+        assertTrue(second.servedFromCache());
+        assertEquals("ISSUED", second.resultCode());
+        assertEquals(1, gateway.calls.get());
+        assertEquals(second, repo.db.get(second.id()));
+        assertTrue(auditRepo.events.get(auditRepo.events.size() - 1).detailsJson().contains("\"servedFromCache\":true"));
+    }
+
+    @Test
+    void workerShouldUseCacheFilledWhileRequestWaited() {
+        FakeRepository repo = new FakeRepository();
+        FakeGateway gateway = new FakeGateway();
+        FakeCertificateCache cache = new FakeCertificateCache();
+
+        RequestCndUseCase useCase = new RequestCndUseCase(
+                repo, gateway, new RecordAuditEventUseCase(new FakeAuditRepository(), CLOCK), CLOCK,
+                new FakeDispatcher(true), cache);
+
+        ServiceRequest a = useCase.request(command("11222333000181"));
+        ServiceRequest b = useCase.request(command("11222333000181"));
+
+        useCase.process(a.id());
+        ServiceRequest processedB = useCase.process(b.id());
+
+        assertTrue(processedB.servedFromCache());
+        assertEquals(1, gateway.calls.get());
+    }
+
+    @Test
+    void shouldNotCacheGatewayFailures() {
+        FakeGateway gateway = new FakeGateway();
+        gateway.success = false;
+        FakeCertificateCache cache = new FakeCertificateCache();
+
+        RequestCndUseCase useCase = new RequestCndUseCase(
+                new FakeRepository(), gateway, new RecordAuditEventUseCase(new FakeAuditRepository(), CLOCK), CLOCK,
+                null, cache);
+
+        useCase.request(command("11222333000181"));
+        ServiceRequest second = useCase.request(command("11222333000181"));
+
+        assertFalse(second.servedFromCache());
+        assertEquals(0, cache.puts.get());
+        assertEquals(2, gateway.calls.get());
+    }
+
+    @Test
+    void concurrentRequestsForSameCnpjShouldShareOneGatewayCall() throws Exception {
+        FakeRepository repo = new FakeRepository();
+        FakeGateway gateway = new FakeGateway();
+        gateway.entered = new CountDownLatch(1);
+        gateway.release = new CountDownLatch(1);
+        FakeCertificateCache cache = new FakeCertificateCache();
+
+        RequestCndUseCase useCase = new RequestCndUseCase(
+                repo, gateway, new RecordAuditEventUseCase(new FakeAuditRepository(), CLOCK), CLOCK,
+                null, cache, new SingleFlight<>(Duration.ofSeconds(30), r -> r.value().success()));
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<ServiceRequest> leader = pool.submit(() -> useCase.request(command("11222333000181")));
+            assertTrue(gateway.entered.await(5, TimeUnit.SECONDS));
+
+            // Chegam com a consulta do líder em andamento.
+            List<Future<ServiceRequest>> followers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                followers.add(pool.submit(() -> useCase.request(command("11.222.333/0001-81"))));
+            }
+            // Só libera o líder depois que todas passaram pelo cache (vazio); senão a seguidora
+            // atrasada seria atendida pelo cache que o líder acabou de preencher, não pela coalescência.
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (cache.lookups.get() < 5 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            gateway.release.countDown();
+
+            ServiceRequest led = leader.get(5, TimeUnit.SECONDS);
+            assertNull(led.coalescedWithRequestId());
+            for (Future<ServiceRequest> f : followers) {
+                ServiceRequest r = f.get(5, TimeUnit.SECONDS);
+                assertNotEquals(led.id(), r.id());
+                assertEquals(ServiceRequestStatus.SUCCESS, r.status());
+                assertEquals(led.id(), r.coalescedWithRequestId());
+                assertEquals(r, repo.db.get(r.id()));
+            }
+        }
+
+        assertEquals(1, gateway.calls.get());
+        assertEquals(5, repo.db.size());
+        // Só a líder alimenta o cache.
+        assertEquals(1, cache.puts.get());
+    }
+
+    @Test
+    void failedGatewayResultShouldNotBeSharedAfterCompletion() {
+        FakeGateway gateway = new FakeGateway();
+        gateway.success = false;
+
+        RequestCndUseCase useCase = new RequestCndUseCase(
+                new FakeRepository(), gateway, new RecordAuditEventUseCase(new FakeAuditRepository(), CLOCK), CLOCK,
+                null, null, new SingleFlight<>(Duration.ofSeconds(30), r -> r.value().success()));
+
+        useCase.request(command("11222333000181"));
+        ServiceRequest second = useCase.request(command("11222333000181"));
+
+        assertNull(second.coalescedWithRequestId());
+        assertEquals(2, gateway.calls.get());
+    }
+
+    private static RequestCndCommand command(String cnpj) {
+        return new RequestCndCommand(
+                cnpj,
+                UUID.fromString("11111111-1111-1111-1111-111111111111"),
+                "user@exemplo.com",
+                "127.0.0.1",
+                "POST",
+                "/api/v1/services/cnd/requests",
+                "JUnit"
+        );
+    }
+
+    // -----------------------
+    // Fakes (ports) para teste
+    // -----------------------
+
+    static class FakeRepository implements ServiceRequestRepositoryPort {
+        final Map<UUID, ServiceRequest> db = new ConcurrentHashMap<>();
+
+        @Override
+        public ServiceRequest save(ServiceRequest request) {
+            db.put(request.id(), request);
+            return request;
+        }
+
+        @Override
+        public Optional<ServiceRequest> findById(UUID id) {
+            return Optional.ofNullable(db.get(id));
+        }
+
+        @Override
+        public List<ServiceRequest> findCoalescedWith(UUID leaderRequestId, ServiceRequestStatus status) {
+            return db.values().stream()
+                    .filter(r -> leaderRequestId.equals(r.coalescedWithRequestId()) && r.status() == status)
+                    .toList();
+        }
+
+        @Override
+        public List<ServiceRequest> findLatest(UUID requestedByUserIdOrNull,
+                                               ServiceType serviceTypeOrNull,
+                                               ServiceRequestStatus statusOrNull,
+                                               int limit) {
+            return List.copyOf(db.values());
+        }
+
+        @Override
+        public List<ServiceRequest> findPage(UUID requestedByUserIdOrNull,
+                                             ServiceType serviceTypeOrNull,
+                                             ServiceRequestStatus statusOrNull,
+                                             Instant beforeRequestedAt,
+                                             UUID beforeId,
+                                             int limit) {
+            return List.copyOf(db.values());
+        }
+    }
+
+    static class FakeGateway implements CndGatewayPort {
+        final AtomicInteger calls = new AtomicInteger();
+        volatile boolean success = true;
+        volatile CountDownLatch entered;
+        volatile CountDownLatch release;
+
+        @Override
+        public CndGatewayResult requestCnd(String normalizedCnpj) {
+            calls.incrementAndGet();
+            if (entered != null) {
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (!success) {
+                return new CndGatewayResult(false, "UNAVAILABLE", "Portal fora.", null);
+            }
+            return new CndGatewayResult(true, "ISSUED", "Certidão emitida.", "{}");
+        }
+    }
+
+    /**
+     * Cache em memória sem validade (a regra de validade é do adapter).
+     */
+    static class FakeCertificateCache implements CndCertificateCachePort {
+        final Map<String, CachedCnd> entries = new ConcurrentHashMap<>();
+        final AtomicInteger puts = new AtomicInteger();
+        final AtomicInteger lookups = new AtomicInteger();
+
+        @Override
+        public Optional<CachedCnd> find(String normalizedCnpj) {
+            lookups.incrementAndGet();
+            return Optional.ofNullable(entries.get(normalizedCnpj));
+        }
+
+        @Override
+        public boolean put(String normalizedCnpj, UUID sourceRequestId, CndGatewayPort.CndGatewayResult result) {
+            puts.incrementAndGet();
+            entries.put(normalizedCnpj, new CachedCnd(result.resultCode(), result.message(), result.payloadJson(),
+                    Instant.now(CLOCK).plusSeconds(86_400 * 30)));
+            return true;
+        }
+    }
+
+    static class FakeDispatcher implements ServiceRequestDispatcherPort {
+        final List<UUID> dispatched = new CopyOnWriteArrayList<>();
+        private final boolean accept;
+
+        FakeDispatcher(boolean accept) {
+            this.accept = accept;
+        }
+
+        @Override
+        public boolean dispatch(ServiceType serviceType, UUID serviceRequestId) {
+            if (accept) {
+                dispatched.add(serviceRequestId);
+            }
+            return accept;
+        }
+    }
+
+    static class FakeAuditRepository implements AuditEventRepositoryPort {
+        final List<AuditEvent> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public AuditEvent save(AuditEvent event) {
+            events.add(event);
+            return event;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.hubinfo.service.usecase;
+
+import br.com.hubinfo.audit.domain.AuditEventType;
+import br.com.hubinfo.audit.usecase.RecordAuditEventUseCase;
+import br.com.hubinfo.service.domain.ServiceRequest;
+import br.com.hubinfo.service.domain.ServiceRequestStatus;
+import br.com.hubinfo.service.domain.ServiceType;
+import br.com.hubinfo.service.usecase.port.CaptchaContinuationGatewayPort;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da continuação após o CAPTCHA (sem Spring/banco).
+ */
+class ResumeAfterCaptchaUseCaseTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-18T12:00:00Z"), ZoneOffset.UTC);
+
+    private final RequestCndUseCaseTest.FakeRepository repo = new RequestCndUseCaseTest.FakeRepository();
+    private final RequestCndUseCaseTest.FakeAuditRepository auditRepo = new RequestCndUseCaseTest.FakeAuditRepository();
+    private final FakeGateway gateway = new FakeGateway();
+    private final ResumeAfterCaptchaUseCase useCase =
+            new ResumeAfterCaptchaUseCase(repo, gateway, new RecordAuditEventUseCase(auditRepo, CLOCK), CLOCK);
+
+    @Test
+    void shouldCollectOnceAndCompleteLeaderAndCoalescedRequests() {
+        ServiceRequest leader = captchaRequired(null);
+        ServiceRequest follower = captchaRequired(leader.id());
+
+        List<ServiceRequest> completed = useCase.resume(leader.id(), "token-1");
+
+        assertEquals(List.of(leader.id(), follower.id()), completed.stream().map(ServiceRequest::id).toList());
+        assertEquals(List.of("token-1"), gateway.tokens);
+        assertEquals(ServiceRequestStatus.SUCCESS, repo.db.get(leader.id()).status());
+        assertEquals(ServiceRequestStatus.SUCCESS, repo.db.get(follower.id()).status());
+        assertEquals("COLLECTED", repo.db.get(follower.id()).resultCode());
+        assertEquals(2, auditRepo.events.stream().filter(e -> e.eventType() == AuditEventType.SERVICE_REQUEST_SUCCESS).count());
+    }
+
+    @Test
+    void shouldNotCollectAgainWhenAlreadyCompleted() {
+        ServiceRequest leader = captchaRequired(null);
+        useCase.resume(leader.id(), "token-1");
+
+        assertTrue(useCase.resume(leader.id(), "token-2").isEmpty());
+        assertEquals(List.of("token-1"), gateway.tokens);
+    }
+
+    @Test
+    void gatewayErrorShouldFailRequestInsteadOfLeavingItBlocked() {
+        gateway.fail = true;
+        ServiceRequest leader = captchaRequired(null);
+
+        useCase.resume(leader.id(), "token-1");
+
+        ServiceRequest failed = repo.db.get(leader.id());
+        assertEquals(ServiceRequestStatus.FAILURE, failed.status());
+        assertEquals("GATEWAY_ERROR", failed.resultCode());
+    }
+
+    private ServiceRequest captchaRequired(UUID coalescedWith) {
+        ServiceRequest pending = ServiceRequest.createPending(ServiceType.CNPJ_DADOS_CADASTRAIS, "11222333000181",
+                UUID.randomUUID(), "user@exemplo.com", Instant.now(CLOCK));
+        ServiceRequest request = new ServiceRequest(pending.id(), pending.serviceType(), ServiceRequestStatus.CAPTCHA_REQUIRED,
+                pending.cnpj(), pending.requestedByUserId(), pending.requestedByEmail(), pending.requestedAt(),
+                null, null, null, null, false, coalescedWith, null);
+        return repo.save(request);
+    }
+
+    static class FakeGateway implements CaptchaContinuationGatewayPort {
+        final List<String> tokens = new CopyOnWriteArrayList<>();
+        volatile boolean fail;
+
+        @Override
+        public boolean supports(ServiceType serviceType) {
+            return serviceType == ServiceType.CNPJ_DADOS_CADASTRAIS;
+        }
+
+        @Override
+        public ContinuationResult resume(ServiceType serviceType, String normalizedCnpj, String captchaToken) {
+            tokens.add(captchaToken);
+            if (fail) {
+                throw new IllegalStateException("portal fora");
+            }
+            return new ContinuationResult(true, "COLLECTED", "Dados coletados.", "{}");
+        }
+    }
+}
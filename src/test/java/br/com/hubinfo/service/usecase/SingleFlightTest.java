@@ -0,0 +1,144 @@
+package br.com.hubinfo.service.usecase;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do single-flight (relógio controlado, sem Spring).
+ */
+class SingleFlightTest {
+
+    @Test
+    void followersShouldWaitForLeaderAndShareItsValue() throws Exception {
+        SingleFlight<String, Integer> flights = new SingleFlight<>(Duration.ZERO);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<SingleFlight.Result<Integer>> leader = pool.submit(() -> flights.execute("k", () -> {
+                entered.countDown();
+                await(release);
+                return calls.incrementAndGet();
+            }));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            List<Future<SingleFlight.Result<Integer>>> followers = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                followers.add(pool.submit(() -> flights.execute("k", calls::incrementAndGet)));
+            }
+            release.countDown();
+
+            assertTrue(leader.get(5, TimeUnit.SECONDS).leader());
+            for (Future<SingleFlight.Result<Integer>> f : followers) {
+                SingleFlight.Result<Integer> r = f.get(5, TimeUnit.SECONDS);
+                assertFalse(r.leader());
+                assertEquals(1, r.value());
+            }
+        }
+
+        assertEquals(1, calls.get());
+        // Janela zero: nada fica retido após concluir.
+        assertEquals(0, flights.size());
+    }
+
+    @Test
+    void shouldShareCompletedValueOnlyWithinWindow() {
+        AtomicLong now = new AtomicLong();
+        SingleFlight<String, Integer> flights = new SingleFlight<>(Duration.ofSeconds(30), v -> true, now::get);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertTrue(flights.execute("k", calls::incrementAndGet).leader());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(29));
+        SingleFlight.Result<Integer> shared = flights.execute("k", calls::incrementAndGet);
+        assertFalse(shared.leader());
+        assertEquals(1, shared.value());
+
+        // Outra chave não é afetada.
+        assertTrue(flights.execute("outra", calls::incrementAndGet).leader());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        SingleFlight.Result<Integer> fresh = flights.execute("k", calls::incrementAndGet);
+        assertTrue(fresh.leader());
+        assertEquals(3, fresh.value());
+    }
+
+    @Test
+    void shouldNotRetainValuesRejectedByFilter() {
+        SingleFlight<String, Boolean> flights = new SingleFlight<>(Duration.ofSeconds(30), ok -> ok);
+
+        assertTrue(flights.execute("k", () -> false).leader());
+        assertTrue(flights.execute("k", () -> true).leader());
+        assertFalse(flights.execute("k", () -> true).leader());
+    }
+
+    @Test
+    void failureShouldReachFollowersAndNotBeShared() throws Exception {
+        SingleFlight<String, Integer> flights = new SingleFlight<>(Duration.ofSeconds(30));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<SingleFlight.Result<Integer>> leader = pool.submit(() -> flights.execute("k", () -> {
+                entered.countDown();
+                await(release);
+                throw new IllegalStateException("portal fora");
+            }));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            Future<SingleFlight.Result<Integer>> follower = pool.submit(() -> flights.execute("k", () -> {
+                throw new IllegalStateException("portal fora de novo");
+            }));
+            release.countDown();
+
+            Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, leaderError.getCause());
+
+            // O seguidor recebe a falha do líder (ou a própria, se chegou depois); nunca fica preso.
+            ExecutionException followerError = assertThrows(ExecutionException.class,
+                    () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, followerError.getCause());
+        }
+
+        // Depois da falha, a próxima chamada executa de novo.
+        assertTrue(flights.execute("k", () -> 3).leader());
+    }
+
+    @Test
+    void shouldSweepExpiredEntries() {
+        AtomicLong now = new AtomicLong();
+        SingleFlight<Integer, Integer> flights = new SingleFlight<>(Duration.ofSeconds(1), v -> true, now::get);
+
+        for (int i = 0; i < 100; i++) {
+            flights.execute(i, () -> 1);
+        }
+        assertEquals(100, flights.size());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        flights.execute(-1, () -> 1);
+
+        assertEquals(1, flights.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
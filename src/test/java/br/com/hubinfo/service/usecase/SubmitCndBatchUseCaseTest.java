@@ -0,0 +1,279 @@
+package br.com.hubinfo.service.usecase;
+
+import br.com.hubinfo.audit.domain.AuditEvent;
+import br.com.hubinfo.audit.domain.AuditEventType;
+import br.com.hubinfo.audit.usecase.RecordAuditEventUseCase;
+import br.com.hubinfo.audit.usecase.port.AuditEventRepositoryPort;
+import br.com.hubinfo.cnpj.domain.Cnpj;
+import br.com.hubinfo.service.domain.ServiceRequest;
+import br.com.hubinfo.service.domain.ServiceRequestBatch;
+import br.com.hubinfo.service.domain.ServiceRequestBatchStatus;
+import br.com.hubinfo.service.domain.ServiceRequestStatus;
+import br.com.hubinfo.service.usecase.port.ServiceRequestBatchRepositoryPort;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do envio em massa de CND (sem Spring/banco).
+ */
+class SubmitCndBatchUseCaseTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-31T22:00:00Z"), ZoneOffset.UTC);
+    private static final UUID USER = UUID.randomUUID();
+
+    @Test
+    void shouldEnqueueValidItemsInChunksAndRejectTheRest() throws IOException {
+        FakeBatchRepository repo = new FakeBatchRepository();
+        FakeAuditRepository auditRepo = new FakeAuditRepository();
+        SubmitCndBatchUseCase useCase = useCase(repo, auditRepo, 100, 2, 100);
+
+        List<String> valid = validCnpjs(5);
+        List<BatchInputItem> items = List.of(
+                BatchInputItem.of(1, "11.222.333/0001-81"),
+                BatchInputItem.of(2, valid.get(0)),
+                BatchInputItem.of(3, "11222333000182"),      // dígito errado
+                BatchInputItem.of(4, "123"),
+                BatchInputItem.of(5, " "),
+                BatchInputItem.malformed(6, "JSON inválido."),
+                BatchInputItem.of(7, "11222333000181"),      // repetido (linha 1)
+                BatchInputItem.of(8, "00000000000000"),
+                BatchInputItem.of(9, "11#222333000181"),
+                BatchInputItem.of(10, valid.get(1)),
+                BatchInputItem.of(11, valid.get(2))
+        );
+
+        SubmitCndBatchUseCase.Submitted submitted = useCase.submit(command(items));
+
+        ServiceRequestBatch batch = submitted.batch();
+        assertEquals(ServiceRequestBatchStatus.ENQUEUED, batch.status());
+        assertEquals(11, batch.totalItems());
+        assertEquals(4, batch.acceptedItems());
+        assertEquals(7, batch.rejectedItems());
+
+        // 4 aceitos em chunks de 2: duas chamadas de insertPending.
+        assertEquals(List.of(2, 2), repo.chunkSizes);
+        assertEquals("11222333000181", repo.requests.get(0).cnpj());
+        assertTrue(repo.requests.stream().allMatch(r ->
+                batch.id().equals(r.batchId()) && r.status() == ServiceRequestStatus.PENDING));
+
+        assertEquals(List.of(
+                new SubmitCndBatchUseCase.Rejection(3, SubmitCndBatchUseCase.INVALID_CHECK_DIGITS),
+                new SubmitCndBatchUseCase.Rejection(4, SubmitCndBatchUseCase.INVALID_LENGTH),
+                new SubmitCndBatchUseCase.Rejection(5, SubmitCndBatchUseCase.MISSING_CNPJ),
+                new SubmitCndBatchUseCase.Rejection(6, SubmitCndBatchUseCase.MALFORMED),
+                new SubmitCndBatchUseCase.Rejection(7, SubmitCndBatchUseCase.DUPLICATE),
+                new SubmitCndBatchUseCase.Rejection(8, SubmitCndBatchUseCase.INVALID_CHECK_DIGITS),
+                new SubmitCndBatchUseCase.Rejection(9, SubmitCndBatchUseCase.INVALID_CHARACTERS)
+        ), submitted.rejections());
+        assertFalse(submitted.rejectionsTruncated());
+    }
+
+    @Test
+    void shouldAuditWholeBatchInOneEventWithCompactItems() throws IOException {
+        FakeBatchRepository repo = new FakeBatchRepository();
+        FakeAuditRepository auditRepo = new FakeAuditRepository();
+        SubmitCndBatchUseCase useCase = useCase(repo, auditRepo, 100, 1000, 100);
+
+        List<String> valid = validCnpjs(3);
+        List<BatchInputItem> items = new ArrayList<>();
+        for (int i = 0; i < valid.size(); i++) {
+            items.add(BatchInputItem.of(i + 1, valid.get(i)));
+        }
+        items.add(BatchInputItem.of(4, "abc"));
+
+        SubmitCndBatchUseCase.Submitted submitted = useCase.submit(command(items));
+
+        assertEquals(1, auditRepo.events.size());
+        AuditEvent event = auditRepo.events.get(0);
+        assertEquals(AuditEventType.SERVICE_BATCH_REQUESTED, event.eventType());
+        assertEquals(submitted.batch().id(), event.targetId());
+        assertTrue(event.success());
+        assertTrue(event.detailsJson().contains("\"accepted\":3"));
+        assertTrue(event.detailsJson().contains("{\"line\":4,\"reason\":\"INVALID_LENGTH\"}"));
+
+        assertEquals(valid, decodeItems(event.detailsJson()));
+    }
+
+    @Test
+    void shouldRejectItemsAboveLimitAndTruncateRejectionDetails() {
+        FakeBatchRepository repo = new FakeBatchRepository();
+        SubmitCndBatchUseCase useCase = useCase(repo, new FakeAuditRepository(), 2, 1000, 1);
+
+        List<String> valid = validCnpjs(4);
+        List<BatchInputItem> items = List.of(
+                BatchInputItem.of(1, valid.get(0)),
+                BatchInputItem.of(2, valid.get(1)),
+                BatchInputItem.of(3, valid.get(2)),
+                BatchInputItem.of(4, valid.get(0)),
+                BatchInputItem.of(5, valid.get(3))
+        );
+
+        SubmitCndBatchUseCase.Submitted submitted = useCase.submit(command(items));
+
+        assertEquals(2, submitted.batch().acceptedItems());
+        assertEquals(3, submitted.batch().rejectedItems());
+        // Só o primeiro detalhe é guardado (max-rejection-details = 1).
+        assertEquals(List.of(new SubmitCndBatchUseCase.Rejection(3, SubmitCndBatchUseCase.LIMIT_EXCEEDED)),
+                submitted.rejections());
+        assertTrue(submitted.rejectionsTruncated());
+    }
+
+    @Test
+    void failureWhileWritingShouldMarkBatchFailedAndAuditOnlyWrittenItems() throws IOException {
+        FakeBatchRepository repo = new FakeBatchRepository();
+        repo.failOnChunk = 2;
+        FakeAuditRepository auditRepo = new FakeAuditRepository();
+        SubmitCndBatchUseCase useCase = useCase(repo, auditRepo, 100, 2, 100);
+
+        List<String> valid = validCnpjs(4);
+        List<BatchInputItem> items = new ArrayList<>();
+        for (int i = 0; i < valid.size(); i++) {
+            items.add(BatchInputItem.of(i + 1, valid.get(i)));
+        }
+
+        assertThrows(IllegalStateException.class, () -> useCase.submit(command(items)));
+
+        ServiceRequestBatch stored = repo.batches.values().iterator().next();
+        assertEquals(ServiceRequestBatchStatus.FAILED, stored.status());
+        assertEquals(2, stored.acceptedItems());
+
+        AuditEvent event = auditRepo.events.get(0);
+        assertFalse(event.success());
+        assertEquals(valid.subList(0, 2), decodeItems(event.detailsJson()));
+    }
+
+    @Test
+    void emptyFileShouldBeRejected() {
+        FakeBatchRepository repo = new FakeBatchRepository();
+        SubmitCndBatchUseCase useCase = useCase(repo, new FakeAuditRepository(), 100, 10, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> useCase.submit(command(List.of())));
+        assertTrue(repo.batches.isEmpty());
+    }
+
+    @Test
+    void progressShouldBeVisibleOnlyToOwnerOrAdmin() {
+        FakeBatchRepository repo = new FakeBatchRepository();
+        SubmitCndBatchUseCase useCase = useCase(repo, new FakeAuditRepository(), 100, 10, 10);
+
+        List<String> valid = validCnpjs(2);
+        SubmitCndBatchUseCase.Submitted submitted = useCase.submit(command(List.of(
+                BatchInputItem.of(1, valid.get(0)),
+                BatchInputItem.of(2, valid.get(1)))));
+        UUID batchId = submitted.batch().id();
+
+        // Um item concluído pelo worker.
+        ServiceRequest first = repo.requests.get(0);
+        repo.requests.set(0, first.complete(ServiceRequestStatus.SUCCESS, Instant.now(CLOCK), "OK", null, null));
+
+        SubmitCndBatchUseCase.Progress progress = useCase.progress(batchId, USER, false);
+        assertEquals(1, progress.count(ServiceRequestStatus.PENDING));
+        assertEquals(1, progress.completed());
+
+        assertNotNull(useCase.progress(batchId, UUID.randomUUID(), true));
+        assertThrows(IllegalArgumentException.class, () -> useCase.progress(batchId, UUID.randomUUID(), false));
+    }
+
+    private static SubmitCndBatchUseCase useCase(FakeBatchRepository repo, FakeAuditRepository auditRepo,
+                                                 int maxItems, int chunkSize, int maxRejectionDetails) {
+        return new SubmitCndBatchUseCase(repo, new RecordAuditEventUseCase(auditRepo, CLOCK), CLOCK,
+                maxItems, chunkSize, maxRejectionDetails);
+    }
+
+    private static SubmitCndBatchCommand command(List<BatchInputItem> items) {
+        return new SubmitCndBatchCommand(items, "CSV", USER, "user@hubinfo.local",
+                "127.0.0.1", "POST", "/api/v1/services/cnd/batches", "JUnit");
+    }
+
+    /**
+     * Gera CNPJs válidos variando a raiz e buscando os dígitos verificadores.
+     */
+    private static List<String> validCnpjs(int n) {
+        List<String> out = new ArrayList<>();
+        for (int root = 10_000_000; out.size() < n; root += 7) {
+            String base = root + "0001";
+            for (int dv = 0; dv < 100; dv++) {
+                String candidate = base + String.format("%02d", dv);
+                if (Cnpj.isValid(candidate)) {
+                    out.add(candidate);
+                    break;
+                }
+            }
+        }
+        return out;
+    }
+
+    private static List<String> decodeItems(String detailsJson) throws IOException {
+        String marker = "\"items\":\"";
+        int start = detailsJson.indexOf(marker) + marker.length();
+        String base64 = detailsJson.substring(start, detailsJson.indexOf('"', start));
+
+        byte[] gz = Base64.getDecoder().decode(base64);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gz))) {
+            String text = new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+            return text.isEmpty() ? List.of() : List.of(text.split("\n"));
+        }
+    }
+
+    static class FakeBatchRepository implements ServiceRequestBatchRepositoryPort {
+        final Map<UUID, ServiceRequestBatch> batches = new LinkedHashMap<>();
+        final List<ServiceRequest> requests = new ArrayList<>();
+        final List<Integer> chunkSizes = new ArrayList<>();
+        int failOnChunk = -1;
+
+        @Override
+        public void create(ServiceRequestBatch batch) {
+            batches.put(batch.id(), batch);
+        }
+
+        @Override
+        public void insertPending(List<ServiceRequest> chunk, Instant availableAt) {
+            if (chunkSizes.size() + 1 == failOnChunk) {
+                throw new IllegalStateException("banco fora");
+            }
+            chunkSizes.add(chunk.size());
+            requests.addAll(chunk);
+        }
+
+        @Override
+        public void update(ServiceRequestBatch batch) {
+            batches.put(batch.id(), batch);
+        }
+
+        @Override
+        public Optional<ServiceRequestBatch> findById(UUID batchId) {
+            return Optional.ofNullable(batches.get(batchId));
+        }
+
+        @Override
+        public Map<ServiceRequestStatus, Integer> countByStatus(UUID batchId) {
+            Map<ServiceRequestStatus, Integer> counts = new EnumMap<>(ServiceRequestStatus.class);
+            for (ServiceRequest r : requests) {
+                if (batchId.equals(r.batchId())) {
+                    counts.merge(r.status(), 1, Integer::sum);
+                }
+            }
+            return counts;
+        }
+    }
+
+    static class FakeAuditRepository implements AuditEventRepositoryPort {
+        final List<AuditEvent> events = new ArrayList<>();
+
+        @Override
+        public AuditEvent save(AuditEvent event) {
+            events.add(event);
+            return event;
+        }
+    }
+}
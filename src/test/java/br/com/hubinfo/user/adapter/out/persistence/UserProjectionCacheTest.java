@@ -0,0 +1,126 @@
+package br.com.hubinfo.user.adapter.out.persistence;
+
+import br.com.hubinfo.user.domain.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do cache de projeção de usuários (sem Spring/banco).
+ */
+class UserProjectionCacheTest {
+
+    private static final UUID ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    private final Map<UUID, UserProjection> db = new ConcurrentHashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<UUID> broadcasts = new ArrayList<>();
+    private final UserProjectionCache cache = newCache(this::loadById);
+
+    @Test
+    void shouldServeByIdAndEmailFromSingleLoad() {
+        db.put(ID, user("ana@hubinfo.local", Role.USER, Role.ADMIN));
+
+        UserProjection first = cache.findByEmail("Ana@HubInfo.local").orElseThrow();
+        UserProjection byId = cache.findById(ID).orElseThrow();
+        UserProjection again = cache.findByEmail("ana@hubinfo.local").orElseThrow();
+
+        assertSame(first, byId);
+        assertSame(first, again);
+        assertEquals(1, loads.get());
+        assertEquals(EnumSet.of(Role.USER, Role.ADMIN), first.roles());
+        assertThrows(UnsupportedOperationException.class, () -> first.roles().add(Role.USER));
+    }
+
+    @Test
+    void shouldReloadAfterUserChangedAndNotifyOtherNodes() {
+        db.put(ID, user("ana@hubinfo.local", Role.USER));
+        cache.findById(ID);
+
+        // Troca de e-mail e de papel: o e-mail antigo não pode continuar respondendo.
+        db.put(ID, user("ana.souza@hubinfo.local", Role.ADMIN));
+        cache.userChanged(ID);
+
+        assertEquals(Set.of(Role.ADMIN), cache.findById(ID).orElseThrow().roles());
+        assertEquals(2, loads.get());
+        assertEquals(List.of(ID), broadcasts);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void shouldNotCacheValueReadConcurrentlyWithInvalidation() {
+        db.put(ID, user("ana@hubinfo.local", Role.USER));
+        // A gravação (ou a invalidação vinda de outro nó) chega durante a leitura do banco:
+        // o valor lido já está velho e não pode ficar no cache.
+        UserProjectionCache[] racing = new UserProjectionCache[1];
+        racing[0] = newCache(id -> {
+            Optional<UserProjection> stale = loadById(id);
+            db.put(ID, user("ana@hubinfo.local", Role.ADMIN));
+            racing[0].invalidate(id);
+            return stale;
+        });
+
+        assertEquals(Set.of(Role.USER), racing[0].findById(ID).orElseThrow().roles());
+        assertEquals(0, racing[0].size());
+    }
+
+    @Test
+    void shouldNotCacheMissingUser() {
+        assertTrue(cache.findById(ID).isEmpty());
+        db.put(ID, user("ana@hubinfo.local", Role.USER));
+
+        assertTrue(cache.findById(ID).isPresent());
+    }
+
+    @Test
+    void shouldExpireAfterTtl() {
+        db.put(ID, user("ana@hubinfo.local", Role.USER));
+        cache.findById(ID);
+
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        assertEquals(0, cache.size());
+    }
+
+    private UserProjectionCache newCache(Function<UUID, Optional<UserProjection>> byId) {
+        return new UserProjectionCache(
+                byId,
+                email -> db.values().stream().filter(u -> u.email().equalsIgnoreCase(email)).findFirst()
+                        .map(u -> { loads.incrementAndGet(); return u; }),
+                broadcaster(),
+                100,
+                Duration.ofMinutes(10),
+                nanos::get);
+    }
+
+    private Optional<UserProjection> loadById(UUID id) {
+        loads.incrementAndGet();
+        return Optional.ofNullable(db.get(id));
+    }
+
+    private ObjectProvider<UserCacheInvalidationBroadcaster> broadcaster() {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("broadcaster", (UserCacheInvalidationBroadcaster) broadcasts::add);
+        return beans.getBeanProvider(UserCacheInvalidationBroadcaster.class);
+    }
+
+    private static UserProjection user(String email, Role... roles) {
+        return new UserProjection(ID, email, Set.of(roles));
+    }
+}